@@ -147,18 +147,21 @@ public abstract class AbstractParallelAnyArray {
      * classes to avoid per-element dispatching.
      */
 
+    @SuppressWarnings("overloads")
     void leafApply(int lo, int hi, Procedure procedure) {
         for (int i = lo; i < hi; ++i)
             if (isSelected(i))
                 procedure.op(oget(i));
     }
 
+    @SuppressWarnings("overloads")
     void leafApply(int lo, int hi, DoubleProcedure procedure) {
         for (int i = lo; i < hi; ++i)
             if (isSelected(i))
                 procedure.op(dget(i));
     }
 
+    @SuppressWarnings("overloads")
     void leafApply(int lo, int hi, LongProcedure procedure) {
         for (int i = lo; i < hi; ++i)
             if (isSelected(i))
@@ -182,6 +185,7 @@ public abstract class AbstractParallelAnyArray {
         return r;
     }
 
+    @SuppressWarnings("overloads")
     double leafReduce(int lo, int hi, DoubleReducer reducer, double base) {
         boolean gotFirst = false;
         double r = base;
@@ -199,6 +203,7 @@ public abstract class AbstractParallelAnyArray {
         return r;
     }
 
+    @SuppressWarnings("overloads")
     long leafReduce(int lo, int hi, LongReducer reducer, long base) {
         boolean gotFirst = false;
         long r = base;
@@ -372,8 +377,11 @@ public abstract class AbstractParallelAnyArray {
      * overridden only where applicable.
      */
 
+    @SuppressWarnings("overloads")
     void leafTransform(int l, int h, Op op) {}
+    @SuppressWarnings("overloads")
     void leafIndexMap(int l, int h, IntToObject op) {}
+    @SuppressWarnings("overloads")
     void leafBinaryIndexMap(int l, int h, IntAndObjectToObject op) {}
     void leafGenerate(int l, int h, Generator generator) {}
     void leafFill(int l, int h, Object value) {}
@@ -382,8 +390,11 @@ public abstract class AbstractParallelAnyArray {
     void leafCombineInPlace(int lo, int hi, ParallelArrayWithMapping other,
                             int otherOffset, BinaryOp combiner) {}
 
+    @SuppressWarnings("overloads")
     void leafTransform(int l, int h, DoubleOp op) {}
+    @SuppressWarnings("overloads")
     void leafIndexMap(int l, int h, IntToDouble array) {}
+    @SuppressWarnings("overloads")
     void leafBinaryIndexMap(int l, int h, IntAndDoubleToDouble op) {}
     void leafGenerate(int l, int h, DoubleGenerator generator) {}
     void leafFill(int l, int h, double value) {}
@@ -393,8 +404,11 @@ public abstract class AbstractParallelAnyArray {
                             ParallelDoubleArrayWithDoubleMapping other,
                             int otherOffset, BinaryDoubleOp combiner) {}
 
+    @SuppressWarnings("overloads")
     void leafTransform(int l, int h, LongOp op) {}
+    @SuppressWarnings("overloads")
     void leafIndexMap(int l, int h, IntToLong array) {}
+    @SuppressWarnings("overloads")
     void leafBinaryIndexMap(int l, int h, IntAndLongToLong op) {}
     void leafGenerate(int l, int h, LongGenerator generator) {}
     void leafFill(int l, int h, long value) {}
@@ -835,7 +849,14 @@ public abstract class AbstractParallelAnyArray {
 
         public ParallelDoubleArrayWithBounds sort() {
             ex.invoke(new PAS.FJDCSorter
-                      (this.array, new double[fence],
+                      (this.array, new double[fence - origin],
+                       origin, fence - origin, getThreshold()));
+            return this;
+        }
+
+        public ParallelDoubleArrayWithBounds radixSort() {
+            ex.invoke(new PAS.FJDRadixSorter
+                      (this.array, new double[fence - origin],
                        origin, fence - origin, getThreshold()));
             return this;
         }
@@ -1050,7 +1071,14 @@ public abstract class AbstractParallelAnyArray {
 
         public ParallelLongArrayWithBounds sort() {
             ex.invoke(new PAS.FJLCSorter
-                      (this.array, new long[fence],
+                      (this.array, new long[fence - origin],
+                       origin, fence - origin, getThreshold()));
+            return this;
+        }
+
+        public ParallelLongArrayWithBounds radixSort() {
+            ex.invoke(new PAS.FJLRadixSorter
+                      (this.array, new long[fence - origin],
                        origin, fence - origin, getThreshold()));
             return this;
         }
@@ -6965,6 +6993,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T,U,W> IntAndObjectToDouble<T> indexedMapper
         (final ObjectAndObjectToDouble<? super T, ? super U> combiner,
          final ParallelArrayWithMapping<W,U> u, final int origin) {
@@ -6974,6 +7003,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T,U,W> IntAndObjectToLong<T> indexedMapper
         (final ObjectAndObjectToLong<? super T, ? super U> combiner,
          final ParallelArrayWithMapping<W,U> u, final int origin) {
@@ -6983,6 +7013,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T,V> IntAndObjectToObject<T,V> indexedMapper
         (final ObjectAndDoubleToObject<? super T, ? extends V> combiner,
          final ParallelDoubleArrayWithDoubleMapping u, final int origin) {
@@ -6992,6 +7023,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T> IntAndObjectToDouble<T> indexedMapper
         (final ObjectAndDoubleToDouble<? super T> combiner,
          final ParallelDoubleArrayWithDoubleMapping u, final int origin) {
@@ -7001,6 +7033,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T,U> IntAndObjectToLong<T> indexedMapper
         (final ObjectAndDoubleToLong<? super T> combiner,
          final ParallelDoubleArrayWithDoubleMapping u, final int origin) {
@@ -7010,6 +7043,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T,V> IntAndObjectToObject<T,V> indexedMapper
         (final ObjectAndLongToObject<? super T, ? extends V> combiner,
          final ParallelLongArrayWithLongMapping u, final int origin) {
@@ -7019,6 +7053,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T> IntAndObjectToDouble<T> indexedMapper
         (final ObjectAndLongToDouble<? super T> combiner,
          final ParallelLongArrayWithLongMapping u, final int origin) {
@@ -7028,6 +7063,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T> IntAndObjectToLong<T> indexedMapper
         (final ObjectAndLongToLong<? super T> combiner,
          final ParallelLongArrayWithLongMapping u, final int origin) {
@@ -7037,6 +7073,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <U,V,W> IntAndDoubleToObject<V> indexedMapper
         (final DoubleAndObjectToObject<? super U, ? extends V> combiner,
          final ParallelArrayWithMapping<W,U> u, final int origin) {
@@ -7046,6 +7083,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <U,W> IntAndDoubleToDouble indexedMapper
         (final DoubleAndObjectToDouble<? super U> combiner,
          final ParallelArrayWithMapping<W,U> u, final int origin) {
@@ -7055,6 +7093,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <U,W> IntAndDoubleToLong indexedMapper
         (final DoubleAndObjectToLong<? super U> combiner,
          final ParallelArrayWithMapping<W,U> u, final int origin) {
@@ -7064,6 +7103,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <V> IntAndDoubleToObject<V> indexedMapper
         (final DoubleAndDoubleToObject<? extends V> combiner,
          final ParallelDoubleArrayWithDoubleMapping u, final int origin) {
@@ -7073,6 +7113,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoubleToDouble indexedMapper
         (final BinaryDoubleOp combiner,
          final ParallelDoubleArrayWithDoubleMapping u, final int origin) {
@@ -7082,6 +7123,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoubleToLong indexedMapper
         (final DoubleAndDoubleToLong combiner,
          final ParallelDoubleArrayWithDoubleMapping u, final int origin) {
@@ -7091,6 +7133,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <V> IntAndDoubleToObject<V> indexedMapper
         (final DoubleAndLongToObject<? extends V> combiner,
          final ParallelLongArrayWithLongMapping u, final int origin) {
@@ -7100,6 +7143,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoubleToDouble indexedMapper
         (final DoubleAndLongToDouble combiner,
          final ParallelLongArrayWithLongMapping u, final int origin) {
@@ -7109,6 +7153,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoubleToLong indexedMapper
         (final DoubleAndLongToLong combiner,
          final ParallelLongArrayWithLongMapping u, final int origin) {
@@ -7118,6 +7163,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <U,V,W> IntAndLongToObject<V> indexedMapper
         (final LongAndObjectToObject<? super U, ? extends V> combiner,
          final ParallelArrayWithMapping<W,U> u, final int origin) {
@@ -7127,6 +7173,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <U,W> IntAndLongToDouble indexedMapper
         (final LongAndObjectToDouble<? super U> combiner,
          final ParallelArrayWithMapping<W,U> u, final int origin) {
@@ -7136,6 +7183,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <U,W> IntAndLongToLong indexedMapper
         (final LongAndObjectToLong<? super U> combiner,
          final ParallelArrayWithMapping<W,U> u, final int origin) {
@@ -7145,6 +7193,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <V> IntAndLongToObject<V> indexedMapper
         (final LongAndDoubleToObject<? extends V> combiner,
          final ParallelDoubleArrayWithDoubleMapping u, final int origin) {
@@ -7154,6 +7203,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongToDouble indexedMapper
         (final LongAndDoubleToDouble combiner,
          final ParallelDoubleArrayWithDoubleMapping u, final int origin) {
@@ -7163,6 +7213,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongToLong indexedMapper
         (final LongAndDoubleToLong combiner,
          final ParallelDoubleArrayWithDoubleMapping u, final int origin) {
@@ -7172,6 +7223,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <V> IntAndLongToObject<V> indexedMapper
         (final LongAndLongToObject<? extends V> combiner,
          final ParallelLongArrayWithLongMapping u, final int origin) {
@@ -7181,6 +7233,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongToDouble indexedMapper
         (final LongAndLongToDouble combiner,
          final ParallelLongArrayWithLongMapping u, final int origin) {
@@ -7190,6 +7243,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongToLong indexedMapper
         (final BinaryLongOp combiner,
          final ParallelLongArrayWithLongMapping u, final int origin) {
@@ -7199,6 +7253,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <T,U,V> IntAndObjectToObject<T,V> compoundIndexedOp
         (final IntAndObjectToObject<? super T, ? extends U> fst,
          final IntAndObjectToObject<? super U, ? extends V> snd) {
@@ -7207,6 +7262,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T,U> IntAndObjectToDouble<T> compoundIndexedOp
         (final IntAndObjectToObject<? super T, ? extends U> fst,
          final IntAndObjectToDouble<? super U> snd) {
@@ -7215,6 +7271,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T,U> IntAndObjectToLong<T> compoundIndexedOp
         (final IntAndObjectToObject<? super T, ? extends U> fst,
          final IntAndObjectToLong<? super U> snd) {
@@ -7223,6 +7280,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <U,V> IntAndDoubleToObject<V> compoundIndexedOp
         (final IntAndDoubleToObject<? extends U> fst,
          final IntAndObjectToObject<? super U, ? extends V> snd) {
@@ -7231,6 +7289,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <U> IntAndDoubleToDouble compoundIndexedOp
         (final IntAndDoubleToObject<? extends U> fst,
          final IntAndObjectToDouble<? super U> snd) {
@@ -7239,6 +7298,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <U> IntAndDoubleToLong compoundIndexedOp
         (final IntAndDoubleToObject<? extends U> fst,
          final IntAndObjectToLong<? super U> snd) {
@@ -7247,6 +7307,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <U,V> IntAndLongToObject<V> compoundIndexedOp
         (final IntAndLongToObject<? extends U> fst,
          final IntAndObjectToObject<? super U, ? extends V> snd) {
@@ -7255,6 +7316,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <U> IntAndLongToDouble compoundIndexedOp
         (final IntAndLongToObject<? extends U> fst,
          final IntAndObjectToDouble<? super U> snd) {
@@ -7263,6 +7325,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <U> IntAndLongToLong compoundIndexedOp
         (final IntAndLongToObject<? extends U> fst,
          final IntAndObjectToLong<? super U> snd) {
@@ -7271,6 +7334,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <T,V> IntAndObjectToObject<T,V> compoundIndexedOp
         (final IntAndObjectToDouble<? super T> fst,
          final IntAndDoubleToObject<? extends V> snd) {
@@ -7279,6 +7343,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T> IntAndObjectToDouble<T> compoundIndexedOp
         (final IntAndObjectToDouble<? super T> fst,
          final IntAndDoubleToDouble snd) {
@@ -7287,6 +7352,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T> IntAndObjectToLong<T> compoundIndexedOp
         (final IntAndObjectToLong<? super T> fst,
          final IntAndLongToLong snd) {
@@ -7295,6 +7361,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <V> IntAndDoubleToObject<V> compoundIndexedOp
         (final IntAndDoubleToLong fst,
          final IntAndLongToObject<? extends V> snd) {
@@ -7303,6 +7370,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoubleToDouble compoundIndexedOp
         (final IntAndDoubleToDouble fst,
          final IntAndDoubleToDouble snd) {
@@ -7311,6 +7379,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoubleToLong compoundIndexedOp
         (final IntAndDoubleToDouble fst,
          final IntAndDoubleToLong snd) {
@@ -7319,6 +7388,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <V> IntAndLongToObject<V> compoundIndexedOp
         (final IntAndLongToDouble fst,
          final IntAndDoubleToObject<? extends V> snd) {
@@ -7327,6 +7397,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongToDouble compoundIndexedOp
         (final IntAndLongToDouble fst,
          final IntAndDoubleToDouble snd) {
@@ -7335,6 +7406,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongToLong compoundIndexedOp
         (final IntAndLongToDouble fst,
          final IntAndDoubleToLong snd) {
@@ -7343,6 +7415,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <T,V> IntAndObjectToObject<T,V> compoundIndexedOp
         (final IntAndObjectToLong<? super T> fst,
          final IntAndLongToObject<? extends V> snd) {
@@ -7351,6 +7424,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T> IntAndObjectToDouble<T> compoundIndexedOp
         (final IntAndObjectToLong<? super T> fst,
          final IntAndLongToDouble snd) {
@@ -7359,6 +7433,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T> IntAndObjectToLong<T> compoundIndexedOp
         (final IntAndObjectToDouble<? super T> fst,
          final IntAndDoubleToLong snd) {
@@ -7367,6 +7442,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <V> IntAndDoubleToObject<V> compoundIndexedOp
         (final IntAndDoubleToDouble fst,
          final IntAndDoubleToObject<? extends V> snd) {
@@ -7375,6 +7451,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoubleToDouble compoundIndexedOp
         (final IntAndDoubleToLong fst,
          final IntAndLongToDouble snd) {
@@ -7383,6 +7460,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoubleToLong compoundIndexedOp
         (final IntAndDoubleToLong fst,
          final IntAndLongToLong snd) {
@@ -7391,6 +7469,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <V> IntAndLongToObject<V> compoundIndexedOp
         (final IntAndLongToLong fst,
          final IntAndLongToObject<? extends V> snd) {
@@ -7399,6 +7478,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongToDouble compoundIndexedOp
         (final IntAndLongToLong fst,
          final IntAndLongToDouble snd) {
@@ -7407,6 +7487,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongToLong compoundIndexedOp
         (final IntAndLongToLong fst,
          final IntAndLongToLong snd) {
@@ -7415,6 +7496,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <T,U,V> IntAndObjectToObject<T,V> compoundIndexedOp
         (final IntAndObjectToObject<? super T, ? extends U> fst,
          final Op<? super U, ? extends V> snd) {
@@ -7423,6 +7505,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T,U> IntAndObjectToDouble<T> compoundIndexedOp
         (final IntAndObjectToObject<? super T, ? extends U> fst,
          final ObjectToDouble<? super U> snd) {
@@ -7431,6 +7514,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T,U> IntAndObjectToLong<T> compoundIndexedOp
         (final IntAndObjectToObject<? super T, ? extends U> fst,
          final ObjectToLong<? super U> snd) {
@@ -7439,6 +7523,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <U,V> IntAndDoubleToObject<V> compoundIndexedOp
         (final IntAndDoubleToObject<? extends U> fst,
          final Op<? super U, ? extends V> snd) {
@@ -7447,6 +7532,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <U> IntAndDoubleToDouble compoundIndexedOp
         (final IntAndDoubleToObject<? extends U> fst,
          final ObjectToDouble<? super U> snd) {
@@ -7455,6 +7541,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <U> IntAndDoubleToLong compoundIndexedOp
         (final IntAndDoubleToObject<? extends U> fst,
          final ObjectToLong<? super U> snd) {
@@ -7463,6 +7550,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <U,V> IntAndLongToObject<V> compoundIndexedOp
         (final IntAndLongToObject<? extends U> fst,
          final Op<? super U, ? extends V> snd) {
@@ -7471,6 +7559,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <U> IntAndLongToDouble compoundIndexedOp
         (final IntAndLongToObject<? extends U> fst,
          final ObjectToDouble<? super U> snd) {
@@ -7479,6 +7568,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <U> IntAndLongToLong compoundIndexedOp
         (final IntAndLongToObject<? extends U> fst,
          final ObjectToLong<? super U> snd) {
@@ -7487,6 +7577,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <T,V> IntAndObjectToObject<T,V> compoundIndexedOp
         (final IntAndObjectToDouble<? super T> fst,
          final DoubleToObject<? extends V> snd) {
@@ -7495,6 +7586,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T> IntAndObjectToDouble<T> compoundIndexedOp
         (final IntAndObjectToDouble<? super T> fst, final DoubleOp snd) {
         return new IntAndObjectToDouble<T>() {
@@ -7502,6 +7594,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T> IntAndObjectToLong<T> compoundIndexedOp
         (final IntAndObjectToDouble<? super T> fst, final DoubleToLong snd) {
         return new IntAndObjectToLong<T>() {
@@ -7509,6 +7602,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <V> IntAndDoubleToObject<V> compoundIndexedOp
         (final IntAndDoubleToDouble fst,
          final DoubleToObject<? extends V> snd) {
@@ -7517,6 +7611,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoubleToDouble compoundIndexedOp
         (final IntAndDoubleToDouble fst, final DoubleOp snd) {
         return new IntAndDoubleToDouble() {
@@ -7524,6 +7619,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoubleToLong compoundIndexedOp
         (final IntAndDoubleToDouble fst, final DoubleToLong snd) {
         return new IntAndDoubleToLong() {
@@ -7531,6 +7627,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <V> IntAndLongToObject<V> compoundIndexedOp
         (final IntAndLongToDouble fst, final DoubleToObject<? extends V> snd) {
         return new IntAndLongToObject<V>() {
@@ -7538,6 +7635,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongToDouble compoundIndexedOp
         (final IntAndLongToDouble fst, final DoubleOp snd) {
         return new IntAndLongToDouble() {
@@ -7545,6 +7643,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongToLong compoundIndexedOp
         (final IntAndLongToDouble fst, final DoubleToLong snd) {
         return new IntAndLongToLong() {
@@ -7552,6 +7651,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <T,V> IntAndObjectToObject<T,V> compoundIndexedOp
         (final IntAndObjectToLong<? super T> fst,
          final LongToObject<? extends V> snd) {
@@ -7560,6 +7660,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T> IntAndObjectToDouble<T> compoundIndexedOp
         (final IntAndObjectToLong<? super T> fst, final LongToDouble snd) {
         return new IntAndObjectToDouble<T>() {
@@ -7567,6 +7668,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T> IntAndObjectToLong<T> compoundIndexedOp
         (final IntAndObjectToLong<? super T> fst, final LongOp snd) {
         return new IntAndObjectToLong<T>() {
@@ -7574,6 +7676,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <V> IntAndDoubleToObject<V> compoundIndexedOp
         (final IntAndDoubleToLong fst, final LongToObject<? extends V> snd) {
         return new IntAndDoubleToObject<V>() {
@@ -7581,6 +7684,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoubleToDouble compoundIndexedOp
         (final IntAndDoubleToLong fst, final LongToDouble snd) {
         return new IntAndDoubleToDouble() {
@@ -7588,6 +7692,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoubleToLong compoundIndexedOp
         (final IntAndDoubleToLong fst, final LongOp snd) {
         return new IntAndDoubleToLong() {
@@ -7595,6 +7700,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <V> IntAndLongToObject<V> compoundIndexedOp
         (final IntAndLongToLong fst, final LongToObject<? extends V> snd) {
         return new IntAndLongToObject<V>() {
@@ -7602,6 +7708,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongToDouble compoundIndexedOp
         (final IntAndLongToLong fst, final LongToDouble snd) {
         return new IntAndLongToDouble() {
@@ -7609,6 +7716,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongToLong compoundIndexedOp
         (final IntAndLongToLong fst,
          final LongOp snd) {
@@ -7617,6 +7725,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <T,U,V> IntAndObjectToObject<T,V> compoundIndexedOp
         (final Op<? super T, ? extends U> fst,
          final IntAndObjectToObject<? super U, ? extends V> snd) {
@@ -7625,6 +7734,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T,U> IntAndObjectToDouble<T> compoundIndexedOp
         (final Op<? super T, ? extends U> fst,
          final IntAndObjectToDouble<? super U> snd) {
@@ -7633,6 +7743,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T,U> IntAndObjectToLong<T> compoundIndexedOp
         (final Op<? super T, ? extends U> fst,
          final IntAndObjectToLong<? super U> snd) {
@@ -7641,6 +7752,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <U,V> IntAndDoubleToObject<V> compoundIndexedOp
         (final DoubleToObject<? extends U> fst,
          final IntAndObjectToObject<? super U, ? extends V> snd) {
@@ -7649,6 +7761,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <U> IntAndDoubleToDouble compoundIndexedOp
         (final DoubleToObject<? extends U> fst,
          final IntAndObjectToDouble<? super U> snd) {
@@ -7657,6 +7770,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <U> IntAndDoubleToLong compoundIndexedOp
         (final DoubleToObject<? extends U> fst,
          final IntAndObjectToLong<? super U> snd) {
@@ -7665,6 +7779,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <U,V> IntAndLongToObject<V> compoundIndexedOp
         (final LongToObject<? extends U> fst,
          final IntAndObjectToObject<? super U, ? extends V> snd) {
@@ -7673,6 +7788,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <U> IntAndLongToDouble compoundIndexedOp
         (final LongToObject<? extends U> fst,
          final IntAndObjectToDouble<? super U> snd) {
@@ -7681,6 +7797,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <U> IntAndLongToLong compoundIndexedOp
         (final LongToObject<? extends U> fst,
          final IntAndObjectToLong<? super U> snd) {
@@ -7689,6 +7806,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <T,V> IntAndObjectToObject<T,V> compoundIndexedOp
         (final ObjectToDouble<? super T> fst,
          final IntAndDoubleToObject<? extends V> snd) {
@@ -7697,6 +7815,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T> IntAndObjectToDouble<T> compoundIndexedOp
         (final ObjectToDouble<? super T> fst, final IntAndDoubleToDouble snd) {
         return new IntAndObjectToDouble<T>() {
@@ -7704,6 +7823,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T> IntAndObjectToLong<T> compoundIndexedOp
         (final ObjectToDouble<? super T> fst, final IntAndDoubleToLong snd) {
         return new IntAndObjectToLong<T>() {
@@ -7711,6 +7831,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <V> IntAndDoubleToObject<V> compoundIndexedOp
         (final DoubleOp fst, final IntAndDoubleToObject<? extends V> snd) {
         return new IntAndDoubleToObject<V>() {
@@ -7718,6 +7839,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoubleToDouble compoundIndexedOp
         (final DoubleOp fst, final IntAndDoubleToDouble snd) {
         return new IntAndDoubleToDouble() {
@@ -7725,6 +7847,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoubleToLong compoundIndexedOp
         (final DoubleOp fst, final IntAndDoubleToLong snd) {
         return new IntAndDoubleToLong() {
@@ -7732,6 +7855,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <V> IntAndLongToObject<V> compoundIndexedOp
         (final LongToDouble fst, final IntAndDoubleToObject<? extends V> snd) {
         return new IntAndLongToObject<V>() {
@@ -7739,6 +7863,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongToDouble compoundIndexedOp
         (final LongToDouble fst, final IntAndDoubleToDouble snd) {
         return new IntAndLongToDouble() {
@@ -7746,6 +7871,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongToLong compoundIndexedOp
         (final LongToDouble fst, final IntAndDoubleToLong snd) {
         return new IntAndLongToLong() {
@@ -7753,6 +7879,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <T,V> IntAndObjectToObject<T,V> compoundIndexedOp
         (final ObjectToLong<? super T> fst,
          final IntAndLongToObject<? extends V> snd) {
@@ -7761,6 +7888,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T> IntAndObjectToDouble<T> compoundIndexedOp
         (final ObjectToLong<? super T> fst, final IntAndLongToDouble snd) {
         return new IntAndObjectToDouble<T>() {
@@ -7768,6 +7896,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <T> IntAndObjectToLong<T> compoundIndexedOp
         (final ObjectToLong<? super T> fst, final IntAndLongToLong snd) {
         return new IntAndObjectToLong<T>() {
@@ -7775,6 +7904,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <V> IntAndDoubleToObject<V> compoundIndexedOp
         (final DoubleToLong fst, final IntAndLongToObject<? extends V> snd) {
         return new IntAndDoubleToObject<V>() {
@@ -7782,6 +7912,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoubleToDouble compoundIndexedOp
         (final DoubleToLong fst, final IntAndLongToDouble snd) {
         return new IntAndDoubleToDouble() {
@@ -7789,6 +7920,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoubleToLong compoundIndexedOp
         (final DoubleToLong fst, final IntAndLongToLong snd) {
         return new IntAndDoubleToLong() {
@@ -7796,6 +7928,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <V> IntAndLongToObject<V> compoundIndexedOp
         (final LongOp fst, final IntAndLongToObject<? extends V> snd) {
         return new IntAndLongToObject<V>() {
@@ -7803,6 +7936,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongToDouble compoundIndexedOp
         (final LongOp fst, final IntAndLongToDouble snd) {
         return new IntAndLongToDouble() {
@@ -7810,6 +7944,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongToLong compoundIndexedOp
         (final LongOp fst, final IntAndLongToLong snd) {
         return new IntAndLongToLong() {
@@ -7855,6 +7990,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static <S, T extends S> IntAndObjectPredicate<T> compoundIndexedSelector
                          (final Predicate<S> fst, final IntAndObjectPredicate<? super T> snd) {
         return new IntAndObjectPredicate<T>() {
@@ -7862,6 +7998,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <S, T extends S> IntAndObjectPredicate<T> compoundIndexedSelector
                          (final IntAndObjectPredicate<S> fst,
                           final IntAndObjectPredicate<? super T> snd) {
@@ -7870,6 +8007,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static <S, T extends S> IntAndObjectPredicate<T> compoundIndexedSelector
                          (final IntAndObjectPredicate<S> fst, final Predicate<? super T> snd) {
         return new IntAndObjectPredicate<T>() {
@@ -7877,6 +8015,7 @@ public abstract class AbstractParallelAnyArray {
         };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoublePredicate compoundIndexedSelector
         (final DoublePredicate fst, final IntAndDoublePredicate snd) {
         return new IntAndDoublePredicate() {
@@ -7884,6 +8023,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoublePredicate compoundIndexedSelector
         (final IntAndDoublePredicate fst, final IntAndDoublePredicate snd) {
         return new IntAndDoublePredicate() {
@@ -7891,6 +8031,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndDoublePredicate compoundIndexedSelector
         (final IntAndDoublePredicate fst, final DoublePredicate snd) {
         return new IntAndDoublePredicate() {
@@ -7898,6 +8039,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongPredicate compoundIndexedSelector
         (final LongPredicate fst, final IntAndLongPredicate snd) {
         return new IntAndLongPredicate() {
@@ -7905,6 +8047,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongPredicate compoundIndexedSelector
         (final IntAndLongPredicate fst, final IntAndLongPredicate snd) {
         return new IntAndLongPredicate() {
@@ -7912,6 +8055,7 @@ public abstract class AbstractParallelAnyArray {
             };
     }
 
+    @SuppressWarnings("overloads")
     static IntAndLongPredicate compoundIndexedSelector
         (final IntAndLongPredicate fst, final LongPredicate snd) {
         return new IntAndLongPredicate() {
@@ -280,6 +280,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T,U,V> Op<T,V> compoundOp
         (final Op<? super T, ? extends U> first,
          final Op<? super U, ? extends V> second) {
@@ -292,6 +293,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T,V> Op<T,V> compoundOp
         (final ObjectToDouble<? super T> first,
          final DoubleToObject<? extends V> second) {
@@ -304,6 +306,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T,V> Op<T,V> compoundOp
         (final ObjectToLong<? super T> first,
          final LongToObject<? extends V> second) {
@@ -316,6 +319,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T,V> DoubleToObject<V> compoundOp
         (final DoubleToObject<? extends T> first,
          final Op<? super T,? extends V> second) {
@@ -328,6 +332,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T,V> LongToObject<V> compoundOp
         (final LongToObject<? extends T> first,
          final Op<? super T,? extends V> second) {
@@ -340,6 +345,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T,U> ObjectToDouble<T> compoundOp
         (final Op<? super T, ? extends U> first,
          final ObjectToDouble<? super U> second) {
@@ -352,6 +358,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T,U> ObjectToLong<T> compoundOp
         (final Op<? super T, ? extends U> first,
          final ObjectToLong<? super U> second) {
@@ -364,6 +371,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T> ObjectToDouble<T> compoundOp
         (final ObjectToDouble<? super T> first,
          final DoubleOp second) {
@@ -376,6 +384,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T> ObjectToLong<T> compoundOp
         (final ObjectToDouble<? super T> first,
          final DoubleToLong second) {
@@ -388,6 +397,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T> ObjectToLong<T> compoundOp
         (final ObjectToLong<? super T> first,
          final LongOp second) {
@@ -400,6 +410,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T> ObjectToDouble<T> compoundOp
         (final ObjectToLong<? super T> first,
          final LongToDouble second) {
@@ -412,6 +423,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static DoubleOp compoundOp
         (final DoubleOp first,
          final DoubleOp second) {
@@ -424,6 +436,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static DoubleToLong compoundOp
         (final DoubleOp first,
          final DoubleToLong second) {
@@ -436,6 +449,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static DoubleToLong compoundOp
         (final DoubleToLong first,
          final LongOp second) {
@@ -448,6 +462,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T> DoubleToObject<T> compoundOp
         (final DoubleToLong first,
          final LongToObject<? extends T> second) {
@@ -460,6 +475,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T> LongToObject<T> compoundOp
         (final LongToDouble first,
          final DoubleToObject<? extends T> second) {
@@ -472,6 +488,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static LongToDouble compoundOp
         (final LongOp first,
          final LongToDouble second) {
@@ -484,6 +501,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static LongToDouble compoundOp
         (final LongToDouble first,
          final DoubleOp second) {
@@ -496,6 +514,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T> DoubleToObject<T> compoundOp
         (final DoubleOp first,
          final DoubleToObject<? extends T> second) {
@@ -508,6 +527,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T> LongToObject<T> compoundOp
         (final LongOp first,
          final LongToObject<? extends T> second) {
@@ -520,6 +540,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T> DoubleOp compoundOp
         (final DoubleToObject<? extends T> first,
          final ObjectToDouble<? super T> second) {
@@ -532,6 +553,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T> LongToDouble compoundOp
         (final LongToObject<? extends T> first,
          final ObjectToDouble<? super T> second) {
@@ -544,6 +566,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T> DoubleToLong compoundOp
         (final DoubleToObject<? extends T> first,
          final ObjectToLong<? super T> second) {
@@ -556,6 +579,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static <T> LongOp compoundOp
         (final LongToObject<? extends T> first,
          final ObjectToLong<? super T> second) {
@@ -568,6 +592,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static LongOp compoundOp
         (final LongOp first,
          final LongOp second) {
@@ -580,6 +605,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static DoubleOp compoundOp
         (final DoubleToLong first,
          final LongToDouble second) {
@@ -592,6 +618,7 @@ public class CommonOps {
      * Returns a composite mapper that applies a second mapper to the results
      * of applying the first one.
      */
+    @SuppressWarnings("overloads")
     public static LongOp compoundOp
         (final LongToDouble first,
          final DoubleToLong second) {
@@ -603,6 +630,7 @@ public class CommonOps {
     /**
      * Returns a predicate evaluating to the negation of its contained predicate.
      */
+    @SuppressWarnings("overloads")
     public static <T> Predicate<T> notPredicate
         (final Predicate<T> pred) {
         return new Predicate<T>() {
@@ -613,6 +641,7 @@ public class CommonOps {
     /**
      * Returns a predicate evaluating to the negation of its contained predicate.
      */
+    @SuppressWarnings("overloads")
     public static DoublePredicate notPredicate
         (final DoublePredicate pred) {
         return new DoublePredicate() {
@@ -623,6 +652,7 @@ public class CommonOps {
     /**
      * Returns a predicate evaluating to the negation of its contained predicate.
      */
+    @SuppressWarnings("overloads")
     public static LongPredicate notPredicate
         (final LongPredicate pred) {
         return new LongPredicate() {
@@ -633,6 +663,7 @@ public class CommonOps {
     /**
      * Returns a predicate evaluating to the conjunction of its contained predicates.
      */
+    @SuppressWarnings("overloads")
     public static <S, T extends S> Predicate<T> andPredicate
                                 (final Predicate<S> first,
                                  final Predicate<? super T> second) {
@@ -646,6 +677,7 @@ public class CommonOps {
     /**
      * Returns a predicate evaluating to the disjunction of its contained predicates.
      */
+    @SuppressWarnings("overloads")
     public static <S, T extends S> Predicate<T> orPredicate
                                 (final Predicate<S> first,
                                  final Predicate<? super T> second) {
@@ -659,6 +691,7 @@ public class CommonOps {
     /**
      * Returns a predicate evaluating to the conjunction of its contained predicates.
      */
+    @SuppressWarnings("overloads")
     public static DoublePredicate andPredicate
         (final DoublePredicate first,
          final DoublePredicate second) {
@@ -672,6 +705,7 @@ public class CommonOps {
     /**
      * Returns a predicate evaluating to the disjunction of its contained predicates.
      */
+    @SuppressWarnings("overloads")
     public static DoublePredicate orPredicate
         (final DoublePredicate first,
          final DoublePredicate second) {
@@ -686,6 +720,7 @@ public class CommonOps {
     /**
      * Returns a predicate evaluating to the conjunction of its contained predicates.
      */
+    @SuppressWarnings("overloads")
     public static LongPredicate andPredicate
         (final LongPredicate first,
          final LongPredicate second) {
@@ -699,6 +734,7 @@ public class CommonOps {
     /**
      * Returns a predicate evaluating to the disjunction of its contained predicates.
      */
+    @SuppressWarnings("overloads")
     public static LongPredicate orPredicate
         (final LongPredicate first,
          final LongPredicate second) {
@@ -1097,6 +1097,7 @@ public class CustomConcurrentHashMap<K,V> extends AbstractMap<K,V>
      * @throws RuntimeException or Error if the mappingFunction does so,
      *         in which case the mapping is left unestablished
      */
+    @SuppressWarnings("overloads")
     public V computeIfAbsent(K key, MappingFunction<? super K, ? extends V> mappingFunction) {
         if (key == null || mappingFunction == null)
             throw new NullPointerException();
@@ -1170,6 +1171,7 @@ public class CustomConcurrentHashMap<K,V> extends AbstractMap<K,V>
      * @throws RuntimeException or Error if the remappingFunction does so,
      *         in which case the mapping is left in its previous state
      */
+    @SuppressWarnings("overloads")
     public V compute(K key, RemappingFunction<? super K, V> remappingFunction) {
         if (key == null || remappingFunction == null)
             throw new NullPointerException();
@@ -7,6 +7,7 @@
 package extra166y;
 
 import java.util.*;
+import java.util.function.*;
 
 /**
  * Interfaces and utilities declaring per-element operations used
@@ -29,6 +30,15 @@ import java.util.*;
  * <li>The name of the single method declared in each interface is
  * simply {@code op} (short for "operate").
  *
+ * <li>Interfaces with the same signature as one in package {@code
+ * java.util.function} extend it, implementing its method (for
+ * example {@code apply} or {@code test}) as a default method
+ * invoking {@code op}. So these operations may also be used
+ * wherever the corresponding {@code java.util.function} types are
+ * expected.  Conversely, any {@code java.util.function} instance
+ * {@code f} may be used as an operation via a method reference
+ * such as {@code f::apply}.
+ *
  * <li>An {@code Op} (short for "operation") maps a single argument to
  * a result. Example: negating a value.
  *
@@ -334,56 +344,158 @@ public class Ops {
     // Thanks to David Biesack for the above html table
     // You want to read/edit this with a wide editor panel
 
-    public static interface Op<A,R>                      { R       op(A a);}
-    public static interface BinaryOp<A,B,R>              { R       op(A a, B b);}
-    public static interface Predicate<A>                 { boolean op(A a);}
-    public static interface BinaryPredicate<A,B>         { boolean op(A a, B b);}
-    public static interface Procedure<A>                 { void    op(A a);}
-    public static interface Generator<R>                 { R       op();}
-    public static interface Reducer<A> extends BinaryOp<A,A,A> {}
+    public static interface Op<A,R> extends Function<A,R> {
+        R op(A a);
+        default R apply(A a) { return op(a); }
+    }
+    public static interface BinaryOp<A,B,R> extends BiFunction<A,B,R> {
+        R op(A a, B b);
+        default R apply(A a, B b) { return op(a, b); }
+    }
+    public static interface Predicate<A> extends java.util.function.Predicate<A> {
+        boolean op(A a);
+        default boolean test(A a) { return op(a); }
+    }
+    public static interface BinaryPredicate<A,B> extends BiPredicate<A,B> {
+        boolean op(A a, B b);
+        default boolean test(A a, B b) { return op(a, b); }
+    }
+    public static interface Procedure<A> extends Consumer<A> {
+        void op(A a);
+        default void accept(A a) { op(a); }
+    }
+    public static interface Generator<R> extends Supplier<R> {
+        R op();
+        default R get() { return op(); }
+    }
+    public static interface Reducer<A> extends BinaryOp<A,A,A>, BinaryOperator<A> {}
 
-    public static interface IntOp                        { int     op(int a);}
-    public static interface BinaryIntOp                  { int     op(int a, int b);}
-    public static interface IntPredicate                 { boolean op(int a);}
-    public static interface IntProcedure                 { void    op(int a);}
-    public static interface IntGenerator                 { int     op();}
+    public static interface IntOp extends IntUnaryOperator {
+        int op(int a);
+        default int applyAsInt(int a) { return op(a); }
+    }
+    public static interface BinaryIntOp extends IntBinaryOperator {
+        int op(int a, int b);
+        default int applyAsInt(int a, int b) { return op(a, b); }
+    }
+    public static interface IntPredicate extends java.util.function.IntPredicate {
+        boolean op(int a);
+        default boolean test(int a) { return op(a); }
+    }
+    public static interface IntProcedure extends IntConsumer {
+        void op(int a);
+        default void accept(int a) { op(a); }
+    }
+    public static interface IntGenerator extends IntSupplier {
+        int op();
+        default int getAsInt() { return op(); }
+    }
     public static interface BinaryIntPredicate           { boolean op(int a, int b);}
     public static interface IntReducer extends BinaryIntOp {}
     public static interface IntComparator                { int     compare(int a, int b);}
 
-    public static interface LongOp                       { long    op(long a);}
-    public static interface BinaryLongOp                 { long    op(long a, long b);}
-    public static interface LongPredicate                { boolean op(long a);}
+    public static interface LongOp extends LongUnaryOperator {
+        long op(long a);
+        default long applyAsLong(long a) { return op(a); }
+    }
+    public static interface BinaryLongOp extends LongBinaryOperator {
+        long op(long a, long b);
+        default long applyAsLong(long a, long b) { return op(a, b); }
+    }
+    public static interface LongPredicate extends java.util.function.LongPredicate {
+        boolean op(long a);
+        default boolean test(long a) { return op(a); }
+    }
     public static interface BinaryLongPredicate          { boolean op(long a, long b);}
-    public static interface LongProcedure                { void    op(long a);}
-    public static interface LongGenerator                { long    op();}
+    public static interface LongProcedure extends LongConsumer {
+        void op(long a);
+        default void accept(long a) { op(a); }
+    }
+    public static interface LongGenerator extends LongSupplier {
+        long op();
+        default long getAsLong() { return op(); }
+    }
     public static interface LongReducer extends BinaryLongOp {}
     public static interface LongComparator               { int     compare(long a, long b);}
 
-    public static interface DoubleOp                     { double  op(double a);}
-    public static interface BinaryDoubleOp               { double  op(double a, double b);}
-    public static interface DoublePredicate              { boolean op(double a);}
+    public static interface DoubleOp extends DoubleUnaryOperator {
+        double op(double a);
+        default double applyAsDouble(double a) { return op(a); }
+    }
+    public static interface BinaryDoubleOp extends DoubleBinaryOperator {
+        double op(double a, double b);
+        default double applyAsDouble(double a, double b) { return op(a, b); }
+    }
+    public static interface DoublePredicate extends java.util.function.DoublePredicate {
+        boolean op(double a);
+        default boolean test(double a) { return op(a); }
+    }
     public static interface BinaryDoublePredicate        { boolean op(double a, double b);}
-    public static interface DoubleProcedure              { void    op(double a);}
-    public static interface DoubleGenerator              { double  op();}
+    public static interface DoubleProcedure extends DoubleConsumer {
+        void op(double a);
+        default void accept(double a) { op(a); }
+    }
+    public static interface DoubleGenerator extends DoubleSupplier {
+        double op();
+        default double getAsDouble() { return op(); }
+    }
     public static interface DoubleReducer extends BinaryDoubleOp {}
     public static interface DoubleComparator             { int     compare(double a, double b);}
 
-    public static interface Action                       { void    op();}
+    public static interface Action extends Runnable {
+        void op();
+        default void run() { op(); }
+    }
 
     // mixed mode ops
-    public static interface IntToLong                    { long    op(int a);}
-    public static interface IntToDouble                  { double  op(int a);}
-    public static interface IntToObject<R>               { R       op(int a);}
-    public static interface LongToInt                    { int     op(long a);}
-    public static interface LongToDouble                 { double  op(long a);}
-    public static interface LongToObject<R>              { R       op(long a);}
-    public static interface DoubleToInt                  { int     op(double a);}
-    public static interface DoubleToLong                 { long    op(double a);}
-    public static interface DoubleToObject<R>            { R       op(double a);}
-    public static interface ObjectToInt<A>               { int     op(A a);}
-    public static interface ObjectToLong<A>              { long    op(A a);}
-    public static interface ObjectToDouble<A>            { double  op(A a);}
+    public static interface IntToLong extends IntToLongFunction {
+        long op(int a);
+        default long applyAsLong(int a) { return op(a); }
+    }
+    public static interface IntToDouble extends IntToDoubleFunction {
+        double op(int a);
+        default double applyAsDouble(int a) { return op(a); }
+    }
+    public static interface IntToObject<R> extends IntFunction<R> {
+        R op(int a);
+        default R apply(int a) { return op(a); }
+    }
+    public static interface LongToInt extends LongToIntFunction {
+        int op(long a);
+        default int applyAsInt(long a) { return op(a); }
+    }
+    public static interface LongToDouble extends LongToDoubleFunction {
+        double op(long a);
+        default double applyAsDouble(long a) { return op(a); }
+    }
+    public static interface LongToObject<R> extends LongFunction<R> {
+        R op(long a);
+        default R apply(long a) { return op(a); }
+    }
+    public static interface DoubleToInt extends DoubleToIntFunction {
+        int op(double a);
+        default int applyAsInt(double a) { return op(a); }
+    }
+    public static interface DoubleToLong extends DoubleToLongFunction {
+        long op(double a);
+        default long applyAsLong(double a) { return op(a); }
+    }
+    public static interface DoubleToObject<R> extends DoubleFunction<R> {
+        R op(double a);
+        default R apply(double a) { return op(a); }
+    }
+    public static interface ObjectToInt<A> extends ToIntFunction<A> {
+        int op(A a);
+        default int applyAsInt(A a) { return op(a); }
+    }
+    public static interface ObjectToLong<A> extends ToLongFunction<A> {
+        long op(A a);
+        default long applyAsLong(A a) { return op(a); }
+    }
+    public static interface ObjectToDouble<A> extends ToDoubleFunction<A> {
+        double op(A a);
+        default double applyAsDouble(A a) { return op(a); }
+    }
 
     public static interface IntAndIntProcedure           { void    op(int a, int b);}
     public static interface IntAndIntToLong              { long    op(int a, int b);}
@@ -451,26 +563,47 @@ public class Ops {
     public static interface DoubleAndObjectToLong<A>     { long    op(double a, A b);}
     public static interface DoubleAndObjectToDouble<A>   { double  op(double a, A b);}
     public static interface DoubleAndObjectToObject<A,R> { R       op(double a, A b);}
-    public static interface ObjectAndIntProcedure<A>     { void    op(A a, int b);}
+    public static interface ObjectAndIntProcedure<A> extends ObjIntConsumer<A> {
+        void op(A a, int b);
+        default void accept(A a, int b) { op(a, b); }
+    }
     public static interface ObjectAndIntPredicate<A>     { boolean op(A a, int b);}
     public static interface ObjectAndIntToInt<A>         { int     op(A a, int b);}
     public static interface ObjectAndIntToLong<A>        { long    op(A a, int b);}
     public static interface ObjectAndIntToDouble<A>      { double  op(A a, int b);}
     public static interface ObjectAndIntToObject<A,R>    { R       op(A a, int b);}
-    public static interface ObjectAndLongProcedure<A>    { void    op(A a, long b);}
+    public static interface ObjectAndLongProcedure<A> extends ObjLongConsumer<A> {
+        void op(A a, long b);
+        default void accept(A a, long b) { op(a, b); }
+    }
     public static interface ObjectAndLongPredicate<A>    { boolean op(A a, long b);}
     public static interface ObjectAndLongToInt<A>        { int     op(A a, long b);}
     public static interface ObjectAndLongToLong<A>       { long    op(A a, long b);}
     public static interface ObjectAndLongToDouble<A>     { double  op(A a, long b);}
     public static interface ObjectAndLongToObject<A,R>   { R       op(A a, long b);}
-    public static interface ObjectAndDoubleProcedure<A>  { void    op(A a, double b);}
+    public static interface ObjectAndDoubleProcedure<A> extends ObjDoubleConsumer<A> {
+        void op(A a, double b);
+        default void accept(A a, double b) { op(a, b); }
+    }
     public static interface ObjectAndDoublePredicate<A>  { boolean op(A a, double b);}
     public static interface ObjectAndDoubleToInt<A>      { int     op(A a, double b);}
     public static interface ObjectAndDoubleToLong<A>     { long    op(A a, double b);}
     public static interface ObjectAndDoubleToDouble<A>   { double  op(A a, double b);}
     public static interface ObjectAndDoubleToObject<A,R> { R       op(A a, double b);}
-    public static interface ObjectAndObjectProcedure<A,B>{ void    op(A a, B b);}
-    public static interface ObjectAndObjectToInt<A,B>    { int     op(A a, B b);}
-    public static interface ObjectAndObjectToLong<A,B>   { long    op(A a, B b);}
-    public static interface ObjectAndObjectToDouble<A,B> { double  op(A a, B b);}
+    public static interface ObjectAndObjectProcedure<A,B> extends BiConsumer<A,B> {
+        void op(A a, B b);
+        default void accept(A a, B b) { op(a, b); }
+    }
+    public static interface ObjectAndObjectToInt<A,B> extends ToIntBiFunction<A,B> {
+        int op(A a, B b);
+        default int applyAsInt(A a, B b) { return op(a, b); }
+    }
+    public static interface ObjectAndObjectToLong<A,B> extends ToLongBiFunction<A,B> {
+        long op(A a, B b);
+        default long applyAsLong(A a, B b) { return op(a, b); }
+    }
+    public static interface ObjectAndObjectToDouble<A,B> extends ToDoubleBiFunction<A,B> {
+        double op(A a, B b);
+        default double applyAsDouble(A a, B b) { return op(a, b); }
+    }
 }
@@ -48,10 +48,12 @@ class PAS {
      * a bit less overhead than pure recursive style -- there are only
      * as many tasks as leaves (no strictly internal nodes).
      *
-     * Split control relies on pap.getThreshold(), which is
-     * expected to err on the side of generating too many tasks. To
-     * counterbalance, if a task pops off its own smallest subtask, it
-     * directly runs its leaf action rather than possibly resplitting.
+     * Tasks split only while ForkJoinTask.shouldSplit advises, using
+     * pap.getThreshold() as the grain, so leaves are larger when
+     * other workers are too busy to steal them. To counterbalance
+     * splits that occur anyway, if a task pops off its own smallest
+     * subtask, it directly runs its leaf action rather than possibly
+     * resplitting.
      *
      * There are, with a few exceptions, three flavors of each FJBase
      * subclass, prefixed FJO (object reference), FJD (double) and FJL
@@ -73,7 +75,7 @@ class PAS {
             int g = pap.getThreshold();
             int l = lo;
             int h = hi;
-            if (h - l > g)
+            if (shouldSplit(h - l, g))
                 internalCompute(l, h, g);
             else
                 atLeaf(l, h);
@@ -85,7 +87,7 @@ class PAS {
                 int rh = h;
                 h = (l + h) >>> 1;
                 (r = newSubtask(h, rh, r)).fork();
-            } while (h - l > g);
+            } while (shouldSplit(h - l, g));
             atLeaf(l, h);
             do {
                 if (r.tryUnfork()) r.atLeaf(r.lo, r.hi); else r.join();
@@ -931,7 +933,7 @@ class PAS {
             int l = lo;
             int h = hi;
             int g = pap.getThreshold();
-            while (h - l > g) {
+            while (shouldSplit(h - l, g)) {
                 int rh = h;
                 h = (l + h) >>> 1;
                 (r = newSubtask(h, rh, r)).fork();
@@ -1083,7 +1085,7 @@ class PAS {
             FJSelectAllDriver d = driver;
             if (d.phase == 0) {
                 AbstractParallelAnyArray p = d.pap;
-                if (isInternal = (h - l > threshold))
+                if (isInternal = shouldSplit(h - l, threshold))
                     internalPhase0();
                 else
                     count = p.leafIndexSelected(l, h, true, d.indices);
@@ -1292,7 +1294,7 @@ class PAS {
             int l = lo;
             int h = hi;
             int g = threshold;
-            while (h - l > g) {
+            while (shouldSplit(h - l, g)) {
                 int rh = h;
                 h = (l + h) >>> 1;
                 (r = new FJRemoveAll(pap, h, rh, r, indices)).fork();
@@ -1365,7 +1367,7 @@ class PAS {
             int l = lo;
             int h = hi;
             int g = threshold;
-            while (h - l > g) {
+            while (shouldSplit(h - l, g)) {
                 int rh = h;
                 h = (l + h) >>> 1;
                 (r = new FJRemoveAll(pap, h, rh, r, indices)).fork();
@@ -2429,6 +2431,582 @@ class PAS {
         }
     }
 
+    /**
+     * Base for tasks proceeding in phases, each performed in parallel
+     * across a range of independent pieces (blocks or partitions).
+     */
+    abstract static class FJPhased extends RecursiveAction {
+        /** Performs the given phase for piece i */
+        abstract void leaf(int phase, int i);
+
+        /** Performs the given phase for pieces lo through hi-1 */
+        final void invokePhase(int phase, int lo, int hi) {
+            new FJPhasePass(null, this, phase, lo, hi).invoke();
+        }
+    }
+
+    /**
+     * Performs one phase of an FJPhased task across a range of
+     * pieces, forking right halves and completing when all are done.
+     */
+    static final class FJPhasePass extends CountedCompleter<Void> {
+        final FJPhased task;
+        final int phase;
+        final int lo;
+        final int hi;
+        FJPhasePass(FJPhasePass parent, FJPhased task,
+                    int phase, int lo, int hi) {
+            super(parent);
+            this.task = task;
+            this.phase = phase;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        public void compute() {
+            int l = lo, h = hi;
+            while (h - l > 1) {
+                int mid = (l + h) >>> 1;
+                addToPendingCount(1);
+                new FJPhasePass(this, task, phase, mid, h).fork();
+                h = mid;
+            }
+            task.leaf(phase, l);
+            tryComplete();
+        }
+    }
+
+    /**
+     * Base for FJPhased tasks over fixed blocks of a range, of at
+     * least the threshold size.
+     */
+    abstract static class FJBlocked extends FJPhased {
+        /** Minimum block size */
+        static final int MIN_BLOCK = 1 << 13;
+        /** Maximum number of blocks, bounding per-block table space */
+        static final int MAX_BLOCKS = 1 << 10;
+
+        final int origin;
+        final int n;
+        final int blockSize;
+        final int nblocks;
+
+        FJBlocked(int origin, int n, int gran) {
+            this.origin = origin;
+            this.n = n;
+            int b = Math.max(gran, MIN_BLOCK);
+            if (n / b >= MAX_BLOCKS)
+                b = 1 + n / MAX_BLOCKS;
+            this.blockSize = b;
+            this.nblocks = (int)(((long)n + b - 1) / b);
+        }
+
+        final int blockStart(int b) {
+            return origin + b * blockSize;
+        }
+
+        final int blockEnd(int b) {
+            return (b == nblocks - 1) ? origin + n :
+                origin + (b + 1) * blockSize;
+        }
+    }
+
+    /**
+     * Radix sort
+     *
+     * Least-significant-digit radix sort of long or double keys,
+     * RADIX_BITS at a time, alternating between the array and a
+     * workspace array holding only the range (so indexed relative to
+     * origin). The range is divided into fixed blocks, of at
+     * least the threshold size, and each pass over a digit proceeds
+     * in two parallel phases, in the manner of a two-pass scan:
+     *   Pass 1: Each block builds a histogram of its digits
+     *   Pass 2: Each block moves its elements to their positions,
+     *     starting at offsets found by a sequential prefix sum of the
+     *     histograms in digit-major, block-minor order
+     * Because blocks are processed in order within each digit, each
+     * pass (and so the sort) is stable. Passes in which all keys
+     * share the same digit (as is common for high digits of small
+     * values) skip the second phase. If the result ends up in the
+     * workspace, a final parallel phase copies it back.
+     *
+     * Keys are mapped to unsigned order by flipping the sign bit of
+     * longs, and for doubles, also flipping the other bits of
+     * negative values, so results are in the order of Double.compare.
+     * Ranges too small to be worth more than one block are instead
+     * sorted using Arrays.sort, which uses the same orderings.
+     */
+    abstract static class FJRadixSorter extends FJBlocked {
+        static final int RADIX_BITS = 11;
+        static final int RADIX_MASK = (1 << RADIX_BITS) - 1;
+
+        static final int COUNT   = 0;
+        static final int SCATTER = 1;
+        static final int COPY    = 2;
+
+        int[] counts;     // per-block histograms, indexed by block, digit
+        int shift;        // current digit position
+        boolean swapped;  // true when current source is workspace
+
+        FJRadixSorter(int origin, int n, int gran) {
+            super(origin, n, gran);
+        }
+
+        /** Sorts sequentially */
+        abstract void leafSort();
+
+        public final void compute() {
+            int nb = nblocks;
+            if (nb <= 1) {
+                leafSort();
+                return;
+            }
+            counts = new int[nb << RADIX_BITS];
+            for (int s = 0; s < 64; s += RADIX_BITS) {
+                shift = s;
+                invokePhase(COUNT, 0, nb);
+                if (prefixCounts()) {
+                    invokePhase(SCATTER, 0, nb);
+                    swapped = !swapped;
+                }
+            }
+            if (swapped)
+                invokePhase(COPY, 0, nb);
+        }
+
+        /**
+         * Replaces counts with starting offsets, returning false if
+         * all elements have the same digit, in which case the pass
+         * may be skipped.
+         */
+        final boolean prefixCounts() {
+            int[] c = counts;
+            int nb = nblocks, sum = 0;
+            for (int d = 0; d <= RADIX_MASK; ++d) {
+                int start = sum;
+                for (int b = 0; b < nb; ++b) {
+                    int k = (b << RADIX_BITS) + d;
+                    int x = c[k];
+                    c[k] = sum;
+                    sum += x;
+                }
+                if (sum - start == n)
+                    return false;
+            }
+            return true;
+        }
+    }
+
+    static final class FJDRadixSorter extends FJRadixSorter {
+        final double[] a; final double[] w;
+        FJDRadixSorter(double[] a, double[] w, int origin, int n, int gran) {
+            super(origin, n, gran);
+            this.a = a; this.w = w;
+        }
+
+        static long key(double x) {
+            long bits = Double.doubleToLongBits(x);
+            return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+        }
+
+        final void leafSort() {
+            Arrays.sort(a, origin, origin + n);
+        }
+
+        final void leaf(int phase, int b) {
+            // w holds only the range, so w[i] corresponds to a[origin + i];
+            // src indices are offset by -base, and dst indices by +base
+            double[] src, dst; int l, h, base;
+            if (swapped) { src = w; dst = a; base = origin; }
+            else         { src = a; dst = w; base = 0; }
+            l = blockStart(b) - base; h = blockEnd(b) - base;
+            int s = shift, cb = b << RADIX_BITS;
+            int[] c = counts;
+            if (phase == COUNT) {
+                Arrays.fill(c, cb, cb + RADIX_MASK + 1, 0);
+                for (int i = l; i < h; ++i)
+                    ++c[cb + ((int)(key(src[i]) >>> s) & RADIX_MASK)];
+            }
+            else if (phase == SCATTER) {
+                for (int i = l; i < h; ++i) {
+                    double x = src[i];
+                    dst[base + c[cb + ((int)(key(x) >>> s) &
+                                       RADIX_MASK)]++] = x;
+                }
+            }
+            else // swapped, so l and h index w
+                System.arraycopy(w, l, a, origin + l, h - l);
+        }
+    }
+
+    static final class FJLRadixSorter extends FJRadixSorter {
+        final long[] a; final long[] w;
+        FJLRadixSorter(long[] a, long[] w, int origin, int n, int gran) {
+            super(origin, n, gran);
+            this.a = a; this.w = w;
+        }
+
+        final void leafSort() {
+            Arrays.sort(a, origin, origin + n);
+        }
+
+        final void leaf(int phase, int b) {
+            // as in FJDRadixSorter.leaf
+            long[] src, dst; int l, h, base;
+            if (swapped) { src = w; dst = a; base = origin; }
+            else         { src = a; dst = w; base = 0; }
+            l = blockStart(b) - base; h = blockEnd(b) - base;
+            int s = shift, cb = b << RADIX_BITS;
+            int[] c = counts;
+            if (phase == COUNT) {
+                Arrays.fill(c, cb, cb + RADIX_MASK + 1, 0);
+                for (int i = l; i < h; ++i)
+                    ++c[cb + ((int)((src[i] ^ Long.MIN_VALUE) >>> s) &
+                              RADIX_MASK)];
+            }
+            else if (phase == SCATTER) {
+                for (int i = l; i < h; ++i) {
+                    long x = src[i];
+                    dst[base + c[cb + ((int)((x ^ Long.MIN_VALUE) >>> s) &
+                                       RADIX_MASK)]++] = x;
+                }
+            }
+            else // swapped, so l and h index w
+                System.arraycopy(w, l, a, origin + l, h - l);
+        }
+    }
+
+    /**
+     * Hash join and group-by
+     *
+     * Both operations first partition elements by the high bits of
+     * their spread key hashes, in the same blocked two-phase manner
+     * as a radix sort pass:
+     *   Pass 1: Each block computes the keys and hashes of its
+     *     elements (saved for later use), and a histogram of their
+     *     partitions
+     *   Pass 2: Each block places the indices of its elements at
+     *     offsets found by a sequential prefix sum of the histograms
+     * So the indices of the elements of each partition end up
+     * contiguous, and in ascending order. Partitions are then
+     * processed independently and in parallel, each using a
+     * sequential hash table, indexed by the low bits of hashes, that
+     * is sized to the partition and so usually fits in cache. This
+     * avoids the contention and cache misses encountered in a single
+     * shared table (compare UniquifierTable), at the price of an
+     * extra pass.
+     *
+     * Group-by places the groups of each partition in a HashMap,
+     * and because partitions have disjoint keys, merges these at the
+     * end without further checks. Join partitions both arrays into
+     * the same number of partitions, and then for each partition,
+     * builds a chained table of the elements of the other array, and
+     * probes it with those of this array; once to count matches, and
+     * after a prefix sum of counts across partitions, again to place
+     * combined results.  Skewed keys (when many elements share a key)
+     * lead to large partitions that are processed sequentially.
+     */
+
+    /** Minimum number of partition bits */
+    static final int MIN_PARTITION_BITS = 1;
+    /** Maximum number of partition bits, bounding histogram space */
+    static final int MAX_PARTITION_BITS = 10;
+    /** Target log2 of number of elements per partition */
+    static final int PARTITION_SIZE_BITS = 12;
+
+    /**
+     * Returns the number of partition bits to use for n elements.
+     */
+    static int partitionBits(int n) {
+        int b = MIN_PARTITION_BITS;
+        while (b < MAX_PARTITION_BITS &&
+               (1L << (b + PARTITION_SIZE_BITS)) < n)
+            ++b;
+        return b;
+    }
+
+    /**
+     * Spreads hash codes so that both high bits (used for partition
+     * indices) and low bits (used for table indices) depend on all
+     * low bits, as is needed for small integral keys.
+     */
+    static int spread(int h) {
+        h *= 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    abstract static class FJKeyPartitioner extends FJBlocked {
+        static final int COUNT   = 0;
+        static final int SCATTER = 1;
+        static final int GROUP   = 2;
+
+        final Object[] source;
+        final int pbits;
+        final int pshift;
+        final boolean grouping;
+        final int[] hashes;   // spread key hashes, indexed by element
+        final int[] order;    // element indices, grouped by partition
+        final int[] starts;   // offsets of partitions in order, plus n
+        int[] counts;         // per-block histograms, by block, partition
+        Map[] groups;         // per-partition groups, if grouping
+
+        FJKeyPartitioner(Object[] source, int n, int gran, int pbits,
+                         boolean grouping) {
+            super(0, n, gran);
+            this.source = source;
+            this.pbits = pbits;
+            this.pshift = 32 - pbits;
+            this.grouping = grouping;
+            this.hashes = new int[n];
+            this.order = new int[n];
+            this.starts = new int[(1 << pbits) + 1];
+        }
+
+        /** Computes keys and spread hashes for elements lo to hi-1 */
+        abstract void computeKeys(int lo, int hi);
+        /** Returns true if element i has the same key as other's j */
+        abstract boolean sameKey(int i, FJKeyPartitioner other, int j);
+        /** Returns the (possibly boxed) key of element i */
+        abstract Object keyAt(int i);
+
+        public final void compute() {
+            int nb = nblocks, np = 1 << pbits;
+            if (nb > 0) {
+                counts = new int[nb << pbits];
+                invokePhase(COUNT, 0, nb);
+                prefixCounts();
+                invokePhase(SCATTER, 0, nb);
+                counts = null;
+            }
+            if (grouping) {
+                groups = new Map[np];
+                invokePhase(GROUP, 0, np);
+            }
+        }
+
+        /**
+         * Replaces counts with starting offsets, also recording the
+         * start of each partition.
+         */
+        final void prefixCounts() {
+            int[] c = counts, st = starts;
+            int nb = nblocks, np = 1 << pbits, sum = 0;
+            for (int p = 0; p < np; ++p) {
+                st[p] = sum;
+                for (int b = 0; b < nb; ++b) {
+                    int k = (b << pbits) + p;
+                    int x = c[k];
+                    c[k] = sum;
+                    sum += x;
+                }
+            }
+            st[np] = sum;
+        }
+
+        final void leaf(int phase, int b) {
+            if (phase == GROUP) {
+                groups[b] = groupPartition(b);
+                return;
+            }
+            int l = blockStart(b), h = blockEnd(b);
+            int s = pshift, cb = b << pbits;
+            int[] c = counts, hs = hashes;
+            if (phase == COUNT) {
+                computeKeys(l, h);
+                for (int i = l; i < h; ++i)
+                    ++c[cb + (hs[i] >>> s)];
+            }
+            else {
+                int[] o = order;
+                for (int i = l; i < h; ++i)
+                    o[c[cb + (hs[i] >>> s)]++] = i;
+            }
+        }
+
+        /**
+         * Returns a map from keys to lists of elements for partition
+         * p, using an open-addressed table holding the index (plus
+         * one) of the first element of each group.
+         */
+        final Map groupPartition(int p) {
+            int l = starts[p], h = starts[p + 1];
+            HashMap m = new HashMap();
+            if (l < h) {
+                Object[] src = source;
+                int[] o = order, hs = hashes;
+                int size = UniquifierTable.tableSizeFor(h - l);
+                int mask = size - 1;
+                int[] firsts = new int[size];
+                ArrayList[] lists = new ArrayList[size];
+                for (int k = l; k < h; ++k) {
+                    int i = o[k], hash = hs[i], idx = hash & mask, f;
+                    while ((f = firsts[idx]) != 0 &&
+                           (hs[f - 1] != hash || !sameKey(i, this, f - 1)))
+                        idx = (idx + 1) & mask;
+                    if (f == 0) {
+                        firsts[idx] = i + 1;
+                        lists[idx] = new ArrayList();
+                    }
+                    lists[idx].add(src[i]);
+                }
+                for (int idx = 0; idx < size; ++idx) {
+                    int f = firsts[idx];
+                    if (f != 0)
+                        m.put(keyAt(f - 1), lists[idx]);
+                }
+            }
+            return m;
+        }
+
+        /** Returns the union of per-partition groups */
+        final HashMap mergeGroups() {
+            Map[] gs = groups;
+            long total = 0;
+            for (Map g : gs)
+                total += g.size();
+            HashMap m = new HashMap
+                ((int)Math.min(Integer.MAX_VALUE >>> 1,
+                               Math.max(16, total + (total >>> 1))));
+            for (Map g : gs)
+                m.putAll(g);
+            return m;
+        }
+    }
+
+    static final class FJOKeyPartitioner extends FJKeyPartitioner {
+        final Op keyFn;
+        final Object[] keys;
+        FJOKeyPartitioner(Object[] source, int n, int gran, int pbits,
+                          boolean grouping, Op keyFn) {
+            super(source, n, gran, pbits, grouping);
+            this.keyFn = keyFn;
+            this.keys = new Object[n];
+        }
+
+        final void computeKeys(int lo, int hi) {
+            Object[] src = source, ks = keys;
+            int[] hs = hashes;
+            Op f = keyFn;
+            for (int i = lo; i < hi; ++i) {
+                Object k = ks[i] = f.op(src[i]);
+                hs[i] = spread(k == null ? 0 : k.hashCode());
+            }
+        }
+
+        final boolean sameKey(int i, FJKeyPartitioner other, int j) {
+            Object x = keys[i], y = ((FJOKeyPartitioner)other).keys[j];
+            return x == y || (x != null && x.equals(y));
+        }
+
+        final Object keyAt(int i) { return keys[i]; }
+    }
+
+    static final class FJLKeyPartitioner extends FJKeyPartitioner {
+        final ObjectToLong keyFn;
+        final long[] keys;
+        FJLKeyPartitioner(Object[] source, int n, int gran, int pbits,
+                          boolean grouping, ObjectToLong keyFn) {
+            super(source, n, gran, pbits, grouping);
+            this.keyFn = keyFn;
+            this.keys = new long[n];
+        }
+
+        final void computeKeys(int lo, int hi) {
+            Object[] src = source;
+            long[] ks = keys;
+            int[] hs = hashes;
+            ObjectToLong f = keyFn;
+            for (int i = lo; i < hi; ++i) {
+                long k = ks[i] = f.op(src[i]);
+                hs[i] = spread((int)(k ^ (k >>> 32)));
+            }
+        }
+
+        final boolean sameKey(int i, FJKeyPartitioner other, int j) {
+            return keys[i] == ((FJLKeyPartitioner)other).keys[j];
+        }
+
+        final Object keyAt(int i) { return Long.valueOf(keys[i]); }
+    }
+
+    /**
+     * Equi-join of the elements of two partitioners, using the same
+     * number of partitions, placing combined results of matching
+     * pairs in order of partition, then index in a, then index in b.
+     */
+    static final class FJHashJoin extends FJPhased {
+        static final int COUNT = 0;
+        static final int EMIT  = 1;
+
+        final FJKeyPartitioner a;
+        final FJKeyPartitioner b;
+        final BinaryOp combiner;
+        final int[] offsets;  // per-partition counts, then offsets
+        Object[] results;
+
+        FJHashJoin(FJKeyPartitioner a, FJKeyPartitioner b,
+                   BinaryOp combiner) {
+            this.a = a;
+            this.b = b;
+            this.combiner = combiner;
+            this.offsets = new int[1 << a.pbits];
+        }
+
+        public void compute() {
+            invokeAll(a, b);
+            int[] offs = offsets;
+            int np = offs.length;
+            invokePhase(COUNT, 0, np);
+            long sum = 0;
+            for (int p = 0; p < np; ++p) {
+                int c = offs[p];
+                offs[p] = (int)sum;
+                sum += c;
+            }
+            if (sum > Integer.MAX_VALUE)
+                throw new OutOfMemoryError();
+            results = new Object[(int)sum];
+            invokePhase(EMIT, 0, np);
+        }
+
+        final void leaf(int phase, int p) {
+            FJKeyPartitioner a = this.a, b = this.b;
+            int al = a.starts[p], ah = a.starts[p + 1];
+            int bl = b.starts[p], bh = b.starts[p + 1];
+            long count = 0;
+            if (al < ah && bl < bh) {
+                int[] ao = a.order, ahs = a.hashes;
+                int[] bo = b.order, bhs = b.hashes;
+                int mask = UniquifierTable.tableSizeFor(bh - bl) - 1;
+                int[] heads = new int[mask + 1];
+                int[] next = new int[bh - bl];
+                Arrays.fill(heads, -1);
+                for (int k = bh - 1; k >= bl; --k) { // keep chains in order
+                    int idx = bhs[bo[k]] & mask;
+                    next[k - bl] = heads[idx];
+                    heads[idx] = k - bl;
+                }
+                Object[] as = a.source, bs = b.source, res = results;
+                BinaryOp fn = combiner;
+                int pos = (phase == EMIT) ? offsets[p] : 0;
+                for (int k = al; k < ah; ++k) {
+                    int i = ao[k], hash = ahs[i];
+                    for (int e = heads[hash & mask]; e >= 0; e = next[e]) {
+                        int j = bo[bl + e];
+                        if (bhs[j] == hash && a.sameKey(i, b, j)) {
+                            if (phase == COUNT)
+                                ++count;
+                            else
+                                res[pos++] = fn.op(as[i], bs[j]);
+                        }
+                    }
+                }
+            }
+            if (phase == COUNT)
+                offsets[p] = (int)Math.min(count, Integer.MAX_VALUE);
+        }
+    }
+
     /**
      * Cumulative scan
      *
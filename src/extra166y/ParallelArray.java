@@ -580,6 +580,107 @@ public class ParallelArray<T> extends AbstractParallelAnyArray.OUPap<T> implemen
         return super.allNonidenticalElements();
     }
 
+    /**
+     * Returns a map from each distinct key computed by the given
+     * function for elements of this array to a list of the elements
+     * with that key, in the order they appear in this array.  Keys
+     * are compared using their {@code equals} methods, and may be
+     * {@code null}. Elements are partitioned by key hash code, and
+     * partitions are grouped in parallel, so this method is most
+     * effective when there are many distinct keys.
+     * @param keyFn the key function
+     * @return the map
+     */
+    public <K> Map<K, List<T>> groupBy(Op<? super T, ? extends K> keyFn) {
+        PAS.FJOKeyPartitioner f = new PAS.FJOKeyPartitioner
+            (array, fence, getThreshold(), PAS.partitionBits(fence),
+             true, keyFn);
+        ex.invoke(f);
+        return (Map<K, List<T>>)f.mergeGroups();
+    }
+
+    /**
+     * Returns a map from each distinct key computed by the given
+     * function for elements of this array to a list of the elements
+     * with that key, in the order they appear in this array.  Keys
+     * are hashed and compared without boxing, which is performed
+     * only once per distinct key, when constructing the map.
+     * @param keyFn the key function
+     * @return the map
+     */
+    public Map<Long, List<T>> groupByLong(ObjectToLong<? super T> keyFn) {
+        PAS.FJLKeyPartitioner f = new PAS.FJLKeyPartitioner
+            (array, fence, getThreshold(), PAS.partitionBits(fence),
+             true, keyFn);
+        ex.invoke(f);
+        return (Map<Long, List<T>>)f.mergeGroups();
+    }
+
+    /**
+     * Returns a new ParallelArray holding the results of applying
+     * the given combiner to each pair of elements of this array and
+     * the other array whose keys, as computed by the given
+     * functions, are equal, using their {@code equals} methods (so
+     * {@code null} keys match each other).  This is a parallel hash
+     * join: both arrays are partitioned by key hash code, and then a
+     * hash table of each partition of the other array is built and
+     * probed by the corresponding partition of this array, in
+     * parallel. Results for each element of this array appear in
+     * the order of its matching elements of the other array, but
+     * the order of results for different elements is unspecified.
+     * @param other the other array
+     * @param keyFn the key function for elements of this array
+     * @param otherKeyFn the key function for elements of other array
+     * @param combiner the function combining matching pairs
+     * @return the new ParallelArray
+     */
+    public <U,V> ParallelArray<V> join
+        (ParallelArray<U> other,
+         Op<? super T, ?> keyFn,
+         Op<? super U, ?> otherKeyFn,
+         BinaryOp<? super T, ? super U, ? extends V> combiner) {
+        int pbits = PAS.partitionBits(Math.max(fence, other.fence));
+        PAS.FJHashJoin f = new PAS.FJHashJoin
+            (new PAS.FJOKeyPartitioner
+             (array, fence, getThreshold(), pbits, false, keyFn),
+             new PAS.FJOKeyPartitioner
+             (other.array, other.fence, other.getThreshold(), pbits,
+              false, otherKeyFn),
+             combiner);
+        ex.invoke(f);
+        return new ParallelArray<V>(ex, (V[])f.results);
+    }
+
+    /**
+     * Returns a new ParallelArray holding the results of applying
+     * the given combiner to each pair of elements of this array and
+     * the other array whose keys, as computed by the given
+     * functions, are equal. This method is the same as {@link
+     * #join}, except that keys are hashed and compared without
+     * boxing.
+     * @param other the other array
+     * @param keyFn the key function for elements of this array
+     * @param otherKeyFn the key function for elements of other array
+     * @param combiner the function combining matching pairs
+     * @return the new ParallelArray
+     */
+    public <U,V> ParallelArray<V> joinOnLong
+        (ParallelArray<U> other,
+         ObjectToLong<? super T> keyFn,
+         ObjectToLong<? super U> otherKeyFn,
+         BinaryOp<? super T, ? super U, ? extends V> combiner) {
+        int pbits = PAS.partitionBits(Math.max(fence, other.fence));
+        PAS.FJHashJoin f = new PAS.FJHashJoin
+            (new PAS.FJLKeyPartitioner
+             (array, fence, getThreshold(), pbits, false, keyFn),
+             new PAS.FJLKeyPartitioner
+             (other.array, other.fence, other.getThreshold(), pbits,
+              false, otherKeyFn),
+             combiner);
+        ex.invoke(f);
+        return new ParallelArray<V>(ex, (V[])f.results);
+    }
+
     /**
      * Removes from the array all elements for which the given
      * selector holds.
@@ -122,6 +122,7 @@ public abstract class ParallelArrayWithDoubleMapping<T> extends AbstractParallel
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelArrayWithDoubleMapping<T> withMapping(DoubleOp op);
 
     /**
@@ -130,6 +131,7 @@ public abstract class ParallelArrayWithDoubleMapping<T> extends AbstractParallel
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelArrayWithLongMapping<T> withMapping(DoubleToLong op);
 
     /**
@@ -138,6 +140,7 @@ public abstract class ParallelArrayWithDoubleMapping<T> extends AbstractParallel
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <U> ParallelArrayWithMapping<T,U> withMapping
         (DoubleToObject<? extends U> op);
 
@@ -162,6 +165,7 @@ public abstract class ParallelArrayWithDoubleMapping<T> extends AbstractParallel
      * @param other the other array
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelArrayWithMapping<T,V> withMapping
         (DoubleAndDoubleToObject<? extends V> combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -176,6 +180,7 @@ public abstract class ParallelArrayWithDoubleMapping<T> extends AbstractParallel
      * @param other the other array
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelArrayWithMapping<T,V> withMapping
         (DoubleAndLongToObject<? extends V> combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -190,6 +195,7 @@ public abstract class ParallelArrayWithDoubleMapping<T> extends AbstractParallel
      * @param other the other array
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelArrayWithDoubleMapping<T> withMapping
         (DoubleAndObjectToDouble<? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -204,6 +210,7 @@ public abstract class ParallelArrayWithDoubleMapping<T> extends AbstractParallel
      * @param other the other array
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public ParallelArrayWithDoubleMapping<T> withMapping
         (BinaryDoubleOp combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -218,6 +225,7 @@ public abstract class ParallelArrayWithDoubleMapping<T> extends AbstractParallel
      * @param other the other array
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public ParallelArrayWithDoubleMapping<T> withMapping
         (DoubleAndLongToDouble combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -232,6 +240,7 @@ public abstract class ParallelArrayWithDoubleMapping<T> extends AbstractParallel
      * @param other the other array
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelArrayWithLongMapping<T> withMapping
         (DoubleAndObjectToLong<? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -246,6 +255,7 @@ public abstract class ParallelArrayWithDoubleMapping<T> extends AbstractParallel
      * @param other the other array
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public ParallelArrayWithLongMapping<T> withMapping
         (DoubleAndDoubleToLong combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -260,6 +270,7 @@ public abstract class ParallelArrayWithDoubleMapping<T> extends AbstractParallel
      * @param other the other array
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public ParallelArrayWithLongMapping<T> withMapping
         (DoubleAndLongToLong combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -276,6 +287,7 @@ public abstract class ParallelArrayWithDoubleMapping<T> extends AbstractParallel
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <V> ParallelArrayWithMapping<T,V> withIndexedMapping
         (IntAndDoubleToObject<? extends V> mapper);
 
@@ -288,6 +300,7 @@ public abstract class ParallelArrayWithDoubleMapping<T> extends AbstractParallel
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelArrayWithDoubleMapping<T> withIndexedMapping
         (IntAndDoubleToDouble mapper);
 
@@ -300,6 +313,7 @@ public abstract class ParallelArrayWithDoubleMapping<T> extends AbstractParallel
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelArrayWithLongMapping<T> withIndexedMapping
         (IntAndDoubleToLong mapper);
 
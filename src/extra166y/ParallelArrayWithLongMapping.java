@@ -122,6 +122,7 @@ public abstract class ParallelArrayWithLongMapping<T> extends AbstractParallelAn
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelArrayWithDoubleMapping<T> withMapping(LongToDouble op);
 
     /**
@@ -130,6 +131,7 @@ public abstract class ParallelArrayWithLongMapping<T> extends AbstractParallelAn
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelArrayWithLongMapping<T> withMapping(LongOp op);
 
     /**
@@ -138,6 +140,7 @@ public abstract class ParallelArrayWithLongMapping<T> extends AbstractParallelAn
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <U> ParallelArrayWithMapping<T,U> withMapping
         (LongToObject<? extends U> op);
 
@@ -167,6 +170,7 @@ public abstract class ParallelArrayWithLongMapping<T> extends AbstractParallelAn
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelArrayWithMapping<T,V> withMapping
         (LongAndDoubleToObject<? extends V> combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -184,6 +188,7 @@ public abstract class ParallelArrayWithLongMapping<T> extends AbstractParallelAn
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelArrayWithMapping<T,V> withMapping
         (LongAndLongToObject<? extends V> combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -201,6 +206,7 @@ public abstract class ParallelArrayWithLongMapping<T> extends AbstractParallelAn
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelArrayWithDoubleMapping<T> withMapping
         (LongAndObjectToDouble<? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -218,6 +224,7 @@ public abstract class ParallelArrayWithLongMapping<T> extends AbstractParallelAn
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelArrayWithDoubleMapping<T> withMapping
         (LongAndDoubleToDouble combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -236,6 +243,7 @@ public abstract class ParallelArrayWithLongMapping<T> extends AbstractParallelAn
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelArrayWithDoubleMapping<T> withMapping
         (LongAndLongToDouble combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -253,6 +261,7 @@ public abstract class ParallelArrayWithLongMapping<T> extends AbstractParallelAn
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelArrayWithLongMapping<T> withMapping
         (LongAndObjectToLong<? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -271,6 +280,7 @@ public abstract class ParallelArrayWithLongMapping<T> extends AbstractParallelAn
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelArrayWithLongMapping<T> withMapping
         (LongAndDoubleToLong combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -289,6 +299,7 @@ public abstract class ParallelArrayWithLongMapping<T> extends AbstractParallelAn
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelArrayWithLongMapping<T> withMapping
         (BinaryLongOp combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -306,6 +317,7 @@ public abstract class ParallelArrayWithLongMapping<T> extends AbstractParallelAn
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <V> ParallelArrayWithMapping<T,V> withIndexedMapping
         (IntAndLongToObject<? extends V> mapper);
 
@@ -318,6 +330,7 @@ public abstract class ParallelArrayWithLongMapping<T> extends AbstractParallelAn
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelArrayWithDoubleMapping<T> withIndexedMapping
         (IntAndLongToDouble mapper);
 
@@ -330,6 +343,7 @@ public abstract class ParallelArrayWithLongMapping<T> extends AbstractParallelAn
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelArrayWithLongMapping<T> withIndexedMapping
         (IntAndLongToLong mapper);
 
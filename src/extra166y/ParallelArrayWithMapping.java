@@ -141,6 +141,7 @@ public abstract class ParallelArrayWithMapping<T,U> extends AbstractParallelAnyA
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <V> ParallelArrayWithMapping<T,V> withMapping
         (Op<? super U, ? extends V> op);
 
@@ -151,6 +152,7 @@ public abstract class ParallelArrayWithMapping<T,U> extends AbstractParallelAnyA
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelArrayWithDoubleMapping<T> withMapping
         (ObjectToDouble<? super U> op);
 
@@ -161,6 +163,7 @@ public abstract class ParallelArrayWithMapping<T,U> extends AbstractParallelAnyA
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelArrayWithLongMapping<T> withMapping
         (ObjectToLong<? super U> op);
 
@@ -190,6 +193,7 @@ public abstract class ParallelArrayWithMapping<T,U> extends AbstractParallelAnyA
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelArrayWithMapping<T,V> withMapping
         (ObjectAndDoubleToObject<? super U, ? extends V> combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -207,6 +211,7 @@ public abstract class ParallelArrayWithMapping<T,U> extends AbstractParallelAnyA
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelArrayWithMapping<T,V> withMapping
         (ObjectAndLongToObject<? super U, ? extends V> combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -224,6 +229,7 @@ public abstract class ParallelArrayWithMapping<T,U> extends AbstractParallelAnyA
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelArrayWithDoubleMapping<T> withMapping
         (ObjectAndObjectToDouble<? super U, ? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -241,6 +247,7 @@ public abstract class ParallelArrayWithMapping<T,U> extends AbstractParallelAnyA
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelArrayWithDoubleMapping<T> withMapping
         (ObjectAndDoubleToDouble<? super U> combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -258,6 +265,7 @@ public abstract class ParallelArrayWithMapping<T,U> extends AbstractParallelAnyA
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelArrayWithDoubleMapping<T> withMapping
         (ObjectAndLongToDouble<? super U> combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -275,6 +283,7 @@ public abstract class ParallelArrayWithMapping<T,U> extends AbstractParallelAnyA
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelArrayWithLongMapping<T> withMapping
         (ObjectAndObjectToLong<? super U, ? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -292,6 +301,7 @@ public abstract class ParallelArrayWithMapping<T,U> extends AbstractParallelAnyA
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelArrayWithLongMapping<T> withMapping
         (ObjectAndDoubleToLong<? super U> combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -309,6 +319,7 @@ public abstract class ParallelArrayWithMapping<T,U> extends AbstractParallelAnyA
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelArrayWithLongMapping<T> withMapping
         (ObjectAndLongToLong<? super U> combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -326,6 +337,7 @@ public abstract class ParallelArrayWithMapping<T,U> extends AbstractParallelAnyA
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <V> ParallelArrayWithMapping<T,V> withIndexedMapping
         (IntAndObjectToObject<? super U, ? extends V> mapper);
 
@@ -338,6 +350,7 @@ public abstract class ParallelArrayWithMapping<T,U> extends AbstractParallelAnyA
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelArrayWithDoubleMapping<T> withIndexedMapping
         (IntAndObjectToDouble<? super U> mapper);
 
@@ -350,6 +363,7 @@ public abstract class ParallelArrayWithMapping<T,U> extends AbstractParallelAnyA
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelArrayWithLongMapping<T> withIndexedMapping
         (IntAndObjectToLong<? super U> mapper);
 
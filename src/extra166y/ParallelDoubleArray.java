@@ -414,6 +414,21 @@ public class ParallelDoubleArray extends AbstractParallelAnyArray.DUPap {
         return this;
     }
 
+    /**
+     * Sorts the array into ascending numerical order using a
+     * parallel radix sort, which is usually faster than {@link
+     * #sort()} for large arrays, but requires a temporary array of
+     * the same size. Unlike {@code sort}, this sort is stable. Elements
+     * are ordered as by {@link Double#compare}, so {@code -0.0} is
+     * placed before {@code 0.0}, and {@code NaN} after all other
+     * values.
+     * @return this (to simplify use in expressions)
+     */
+    public ParallelDoubleArray radixSort() {
+        super.radixSort();
+        return this;
+    }
+
     /**
      * Removes consecutive elements that are equal,
      * shifting others leftward, and possibly decreasing size.  This
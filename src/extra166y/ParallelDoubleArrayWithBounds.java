@@ -118,4 +118,16 @@ public abstract class ParallelDoubleArrayWithBounds extends ParallelDoubleArrayW
      * @throws ClassCastException if any element is not Comparable
      */
     public abstract ParallelDoubleArrayWithBounds sort();
+
+    /**
+     * Sorts the elements into ascending numerical order using a
+     * parallel radix sort, which is usually faster than {@link
+     * #sort()} for large arrays, but requires a temporary array of
+     * the same size. Unlike {@code sort}, this sort is stable. Elements
+     * are ordered as by {@link Double#compare}, so {@code -0.0} is
+     * placed before {@code 0.0}, and {@code NaN} after all other
+     * values.
+     * @return this (to simplify use in expressions)
+     */
+    public abstract ParallelDoubleArrayWithBounds radixSort();
 }
@@ -122,6 +122,7 @@ public abstract class ParallelDoubleArrayWithDoubleMapping extends AbstractParal
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelDoubleArrayWithDoubleMapping withMapping
         (DoubleOp op);
 
@@ -131,6 +132,7 @@ public abstract class ParallelDoubleArrayWithDoubleMapping extends AbstractParal
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelDoubleArrayWithLongMapping withMapping
         (DoubleToLong op);
 
@@ -140,6 +142,7 @@ public abstract class ParallelDoubleArrayWithDoubleMapping extends AbstractParal
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <U> ParallelDoubleArrayWithMapping<U> withMapping
         (DoubleToObject<? extends U> op);
 
@@ -169,6 +172,7 @@ public abstract class ParallelDoubleArrayWithDoubleMapping extends AbstractParal
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelDoubleArrayWithMapping<V> withMapping
         (DoubleAndDoubleToObject<? extends V> combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -186,6 +190,7 @@ public abstract class ParallelDoubleArrayWithDoubleMapping extends AbstractParal
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelDoubleArrayWithMapping<V> withMapping
         (DoubleAndLongToObject<? extends V> combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -203,6 +208,7 @@ public abstract class ParallelDoubleArrayWithDoubleMapping extends AbstractParal
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelDoubleArrayWithDoubleMapping withMapping
         (DoubleAndObjectToDouble<? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -220,6 +226,7 @@ public abstract class ParallelDoubleArrayWithDoubleMapping extends AbstractParal
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelDoubleArrayWithDoubleMapping withMapping
         (BinaryDoubleOp combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -237,6 +244,7 @@ public abstract class ParallelDoubleArrayWithDoubleMapping extends AbstractParal
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelDoubleArrayWithDoubleMapping withMapping
         (DoubleAndLongToDouble combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -254,6 +262,7 @@ public abstract class ParallelDoubleArrayWithDoubleMapping extends AbstractParal
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelDoubleArrayWithLongMapping withMapping
         (DoubleAndObjectToLong<? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -271,6 +280,7 @@ public abstract class ParallelDoubleArrayWithDoubleMapping extends AbstractParal
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelDoubleArrayWithLongMapping withMapping
         (DoubleAndDoubleToLong combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -288,6 +298,7 @@ public abstract class ParallelDoubleArrayWithDoubleMapping extends AbstractParal
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelDoubleArrayWithLongMapping withMapping
         (DoubleAndLongToLong combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -305,6 +316,7 @@ public abstract class ParallelDoubleArrayWithDoubleMapping extends AbstractParal
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <V> ParallelDoubleArrayWithMapping<V> withIndexedMapping
         (IntAndDoubleToObject<? extends V> mapper);
 
@@ -317,6 +329,7 @@ public abstract class ParallelDoubleArrayWithDoubleMapping extends AbstractParal
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelDoubleArrayWithDoubleMapping withIndexedMapping
         (IntAndDoubleToDouble mapper);
 
@@ -329,6 +342,7 @@ public abstract class ParallelDoubleArrayWithDoubleMapping extends AbstractParal
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelDoubleArrayWithLongMapping withIndexedMapping
         (IntAndDoubleToLong mapper);
 
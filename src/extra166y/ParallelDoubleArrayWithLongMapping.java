@@ -122,6 +122,7 @@ public abstract class ParallelDoubleArrayWithLongMapping extends AbstractParalle
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelDoubleArrayWithDoubleMapping withMapping
         (LongToDouble op);
 
@@ -131,6 +132,7 @@ public abstract class ParallelDoubleArrayWithLongMapping extends AbstractParalle
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelDoubleArrayWithLongMapping withMapping
         (LongOp op);
 
@@ -140,6 +142,7 @@ public abstract class ParallelDoubleArrayWithLongMapping extends AbstractParalle
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <U> ParallelDoubleArrayWithMapping<U> withMapping
         (LongToObject<? extends U> op);
 
@@ -168,6 +171,7 @@ public abstract class ParallelDoubleArrayWithLongMapping extends AbstractParalle
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelDoubleArrayWithMapping<V> withMapping
         (LongAndDoubleToObject<? extends V> combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -184,6 +188,7 @@ public abstract class ParallelDoubleArrayWithLongMapping extends AbstractParalle
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelDoubleArrayWithMapping<V> withMapping
         (LongAndLongToObject<? extends V> combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -200,6 +205,7 @@ public abstract class ParallelDoubleArrayWithLongMapping extends AbstractParalle
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelDoubleArrayWithDoubleMapping withMapping
         (LongAndObjectToDouble<? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -216,6 +222,7 @@ public abstract class ParallelDoubleArrayWithLongMapping extends AbstractParalle
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelDoubleArrayWithDoubleMapping withMapping
         (LongAndDoubleToDouble combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -232,6 +239,7 @@ public abstract class ParallelDoubleArrayWithLongMapping extends AbstractParalle
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelDoubleArrayWithDoubleMapping withMapping
         (LongAndLongToDouble combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -248,6 +256,7 @@ public abstract class ParallelDoubleArrayWithLongMapping extends AbstractParalle
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelDoubleArrayWithLongMapping withMapping
         (LongAndObjectToLong<? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -264,6 +273,7 @@ public abstract class ParallelDoubleArrayWithLongMapping extends AbstractParalle
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelDoubleArrayWithLongMapping withMapping
         (LongAndDoubleToLong combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -280,6 +290,7 @@ public abstract class ParallelDoubleArrayWithLongMapping extends AbstractParalle
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelDoubleArrayWithLongMapping withMapping
         (BinaryLongOp combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -296,6 +307,7 @@ public abstract class ParallelDoubleArrayWithLongMapping extends AbstractParalle
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <V> ParallelDoubleArrayWithMapping<V> withIndexedMapping
         (IntAndLongToObject<? extends V> mapper);
 
@@ -308,6 +320,7 @@ public abstract class ParallelDoubleArrayWithLongMapping extends AbstractParalle
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelDoubleArrayWithDoubleMapping withIndexedMapping
         (IntAndLongToDouble mapper);
 
@@ -320,6 +333,7 @@ public abstract class ParallelDoubleArrayWithLongMapping extends AbstractParalle
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelDoubleArrayWithLongMapping withIndexedMapping
         (IntAndLongToLong mapper);
 
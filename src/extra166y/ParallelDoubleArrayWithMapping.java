@@ -141,6 +141,7 @@ public abstract class ParallelDoubleArrayWithMapping<U> extends AbstractParallel
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <V> ParallelDoubleArrayWithMapping<V> withMapping
         (Op<? super U, ? extends V> op);
 
@@ -151,6 +152,7 @@ public abstract class ParallelDoubleArrayWithMapping<U> extends AbstractParallel
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelDoubleArrayWithDoubleMapping withMapping
         (ObjectToDouble<? super U> op);
 
@@ -161,6 +163,7 @@ public abstract class ParallelDoubleArrayWithMapping<U> extends AbstractParallel
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelDoubleArrayWithLongMapping withMapping
         (ObjectToLong<? super U> op);
 
@@ -190,6 +193,7 @@ public abstract class ParallelDoubleArrayWithMapping<U> extends AbstractParallel
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelDoubleArrayWithMapping<V> withMapping
         (ObjectAndDoubleToObject<? super U, ? extends V> combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -207,6 +211,7 @@ public abstract class ParallelDoubleArrayWithMapping<U> extends AbstractParallel
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelDoubleArrayWithMapping<V> withMapping
         (ObjectAndLongToObject<? super U, ? extends V> combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -225,6 +230,7 @@ public abstract class ParallelDoubleArrayWithMapping<U> extends AbstractParallel
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelDoubleArrayWithDoubleMapping withMapping
         (ObjectAndObjectToDouble<? super U, ? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -242,6 +248,7 @@ public abstract class ParallelDoubleArrayWithMapping<U> extends AbstractParallel
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelDoubleArrayWithDoubleMapping withMapping
         (ObjectAndDoubleToDouble<? super U> combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -257,6 +264,7 @@ public abstract class ParallelDoubleArrayWithMapping<U> extends AbstractParallel
      * @param other the other array
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public ParallelDoubleArrayWithDoubleMapping withMapping
         (ObjectAndLongToDouble<? super U> combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -274,6 +282,7 @@ public abstract class ParallelDoubleArrayWithMapping<U> extends AbstractParallel
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelDoubleArrayWithLongMapping withMapping
         (ObjectAndObjectToLong<? super U, ? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -291,6 +300,7 @@ public abstract class ParallelDoubleArrayWithMapping<U> extends AbstractParallel
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelDoubleArrayWithLongMapping withMapping
         (ObjectAndDoubleToLong<? super U> combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -308,6 +318,7 @@ public abstract class ParallelDoubleArrayWithMapping<U> extends AbstractParallel
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelDoubleArrayWithLongMapping withMapping
         (ObjectAndLongToLong<? super U> combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -325,6 +336,7 @@ public abstract class ParallelDoubleArrayWithMapping<U> extends AbstractParallel
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <V> ParallelDoubleArrayWithMapping<V> withIndexedMapping
         (IntAndObjectToObject<? super U, ? extends V> mapper);
 
@@ -337,6 +349,7 @@ public abstract class ParallelDoubleArrayWithMapping<U> extends AbstractParallel
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelDoubleArrayWithDoubleMapping withIndexedMapping
         (IntAndObjectToDouble<? super U> mapper);
 
@@ -349,6 +362,7 @@ public abstract class ParallelDoubleArrayWithMapping<U> extends AbstractParallel
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelDoubleArrayWithLongMapping withIndexedMapping
         (IntAndObjectToLong<? super U> mapper);
 
@@ -453,6 +453,18 @@ public class ParallelLongArray extends AbstractParallelAnyArray.LUPap {
         return this;
     }
 
+    /**
+     * Sorts the array into ascending numerical order using a
+     * parallel radix sort, which is usually faster than {@link
+     * #sort()} for large arrays, but requires a temporary array of
+     * the same size. Unlike {@code sort}, this sort is stable.
+     * @return this (to simplify use in expressions)
+     */
+    public ParallelLongArray radixSort() {
+        super.radixSort();
+        return this;
+    }
+
     /**
      * Removes consecutive elements that are equal,
      * shifting others leftward, and possibly decreasing size.  This
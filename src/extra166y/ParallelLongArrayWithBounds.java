@@ -118,4 +118,13 @@ public abstract class ParallelLongArrayWithBounds extends ParallelLongArrayWithF
      */
     public abstract ParallelLongArrayWithBounds sort();
 
+    /**
+     * Sorts the elements into ascending numerical order using a
+     * parallel radix sort, which is usually faster than {@link
+     * #sort()} for large arrays, but requires a temporary array of
+     * the same size. Unlike {@code sort}, this sort is stable.
+     * @return this (to simplify use in expressions)
+     */
+    public abstract ParallelLongArrayWithBounds radixSort();
+
 }
@@ -122,6 +122,7 @@ public abstract class ParallelLongArrayWithDoubleMapping extends AbstractParalle
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelLongArrayWithLongMapping withMapping
         (DoubleToLong op);
 
@@ -131,6 +132,7 @@ public abstract class ParallelLongArrayWithDoubleMapping extends AbstractParalle
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelLongArrayWithDoubleMapping withMapping
         (DoubleOp op);
 
@@ -140,6 +142,7 @@ public abstract class ParallelLongArrayWithDoubleMapping extends AbstractParalle
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <U> ParallelLongArrayWithMapping<U> withMapping
         (DoubleToObject<? extends U> op);
 
@@ -169,6 +172,7 @@ public abstract class ParallelLongArrayWithDoubleMapping extends AbstractParalle
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelLongArrayWithMapping<V> withMapping
         (DoubleAndDoubleToObject<? extends V> combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -186,6 +190,7 @@ public abstract class ParallelLongArrayWithDoubleMapping extends AbstractParalle
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelLongArrayWithMapping<V> withMapping
         (DoubleAndLongToObject<? extends V> combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -203,6 +208,7 @@ public abstract class ParallelLongArrayWithDoubleMapping extends AbstractParalle
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelLongArrayWithDoubleMapping withMapping
         (DoubleAndObjectToDouble<? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -220,6 +226,7 @@ public abstract class ParallelLongArrayWithDoubleMapping extends AbstractParalle
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelLongArrayWithDoubleMapping withMapping
         (BinaryDoubleOp combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -237,6 +244,7 @@ public abstract class ParallelLongArrayWithDoubleMapping extends AbstractParalle
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelLongArrayWithDoubleMapping withMapping
         (DoubleAndLongToDouble combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -254,6 +262,7 @@ public abstract class ParallelLongArrayWithDoubleMapping extends AbstractParalle
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelLongArrayWithLongMapping withMapping
         (DoubleAndObjectToLong<? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -271,6 +280,7 @@ public abstract class ParallelLongArrayWithDoubleMapping extends AbstractParalle
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelLongArrayWithLongMapping withMapping
         (DoubleAndDoubleToLong combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -288,6 +298,7 @@ public abstract class ParallelLongArrayWithDoubleMapping extends AbstractParalle
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelLongArrayWithLongMapping withMapping
         (DoubleAndLongToLong combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -305,6 +316,7 @@ public abstract class ParallelLongArrayWithDoubleMapping extends AbstractParalle
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <V> ParallelLongArrayWithMapping<V> withIndexedMapping
         (IntAndDoubleToObject<? extends V> mapper);
 
@@ -317,6 +329,7 @@ public abstract class ParallelLongArrayWithDoubleMapping extends AbstractParalle
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelLongArrayWithDoubleMapping withIndexedMapping
         (IntAndDoubleToDouble mapper);
 
@@ -329,6 +342,7 @@ public abstract class ParallelLongArrayWithDoubleMapping extends AbstractParalle
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelLongArrayWithLongMapping withIndexedMapping
         (IntAndDoubleToLong mapper);
 
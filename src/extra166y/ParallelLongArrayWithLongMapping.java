@@ -122,6 +122,7 @@ public abstract class ParallelLongArrayWithLongMapping extends AbstractParallelA
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelLongArrayWithLongMapping withMapping(LongOp op);
 
     /**
@@ -130,6 +131,7 @@ public abstract class ParallelLongArrayWithLongMapping extends AbstractParallelA
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelLongArrayWithDoubleMapping withMapping
         (LongToDouble op);
 
@@ -139,6 +141,7 @@ public abstract class ParallelLongArrayWithLongMapping extends AbstractParallelA
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <U> ParallelLongArrayWithMapping<U> withMapping
         (LongToObject<? extends U> op);
 
@@ -168,6 +171,7 @@ public abstract class ParallelLongArrayWithLongMapping extends AbstractParallelA
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelLongArrayWithMapping<V> withMapping
         (LongAndDoubleToObject<? extends V> combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -186,6 +190,7 @@ public abstract class ParallelLongArrayWithLongMapping extends AbstractParallelA
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelLongArrayWithMapping<V> withMapping
         (LongAndLongToObject<? extends V> combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -203,6 +208,7 @@ public abstract class ParallelLongArrayWithLongMapping extends AbstractParallelA
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelLongArrayWithDoubleMapping withMapping
         (LongAndObjectToDouble<? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -220,6 +226,7 @@ public abstract class ParallelLongArrayWithLongMapping extends AbstractParallelA
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelLongArrayWithDoubleMapping withMapping
         (LongAndDoubleToDouble combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -237,6 +244,7 @@ public abstract class ParallelLongArrayWithLongMapping extends AbstractParallelA
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelLongArrayWithDoubleMapping withMapping
         (LongAndLongToDouble combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -254,6 +262,7 @@ public abstract class ParallelLongArrayWithLongMapping extends AbstractParallelA
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelLongArrayWithLongMapping withMapping
         (LongAndObjectToLong<? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -271,6 +280,7 @@ public abstract class ParallelLongArrayWithLongMapping extends AbstractParallelA
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelLongArrayWithLongMapping withMapping
         (LongAndDoubleToLong combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -288,6 +298,7 @@ public abstract class ParallelLongArrayWithLongMapping extends AbstractParallelA
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelLongArrayWithLongMapping withMapping
         (BinaryLongOp combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -305,6 +316,7 @@ public abstract class ParallelLongArrayWithLongMapping extends AbstractParallelA
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <V> ParallelLongArrayWithMapping<V> withIndexedMapping
         (IntAndLongToObject<? extends V> mapper);
 
@@ -317,6 +329,7 @@ public abstract class ParallelLongArrayWithLongMapping extends AbstractParallelA
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelLongArrayWithDoubleMapping withIndexedMapping
         (IntAndLongToDouble mapper);
 
@@ -329,6 +342,7 @@ public abstract class ParallelLongArrayWithLongMapping extends AbstractParallelA
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelLongArrayWithLongMapping withIndexedMapping
         (IntAndLongToLong mapper);
 
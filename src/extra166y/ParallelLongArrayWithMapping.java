@@ -141,6 +141,7 @@ public abstract class ParallelLongArrayWithMapping<U> extends AbstractParallelAn
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <V> ParallelLongArrayWithMapping<V> withMapping
         (Op<? super U, ? extends V> op);
 
@@ -151,6 +152,7 @@ public abstract class ParallelLongArrayWithMapping<U> extends AbstractParallelAn
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelLongArrayWithLongMapping withMapping
         (ObjectToLong<? super U> op);
 
@@ -161,6 +163,7 @@ public abstract class ParallelLongArrayWithMapping<U> extends AbstractParallelAn
      * @param op the op
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelLongArrayWithDoubleMapping withMapping
         (ObjectToDouble<? super U> op);
 
@@ -190,6 +193,7 @@ public abstract class ParallelLongArrayWithMapping<U> extends AbstractParallelAn
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelLongArrayWithMapping<V> withMapping
         (ObjectAndDoubleToObject<? super U, ? extends V> combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -206,6 +210,7 @@ public abstract class ParallelLongArrayWithMapping<U> extends AbstractParallelAn
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V> ParallelLongArrayWithMapping<V> withMapping
         (ObjectAndLongToObject<? super U, ? extends V> combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -223,6 +228,7 @@ public abstract class ParallelLongArrayWithMapping<U> extends AbstractParallelAn
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelLongArrayWithDoubleMapping withMapping
         (ObjectAndObjectToDouble<? super U, ? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -240,6 +246,7 @@ public abstract class ParallelLongArrayWithMapping<U> extends AbstractParallelAn
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelLongArrayWithDoubleMapping withMapping
         (ObjectAndDoubleToDouble<? super U> combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -257,6 +264,7 @@ public abstract class ParallelLongArrayWithMapping<U> extends AbstractParallelAn
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelLongArrayWithDoubleMapping withMapping
         (ObjectAndLongToDouble<? super U> combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -274,6 +282,7 @@ public abstract class ParallelLongArrayWithMapping<U> extends AbstractParallelAn
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public <V,W> ParallelLongArrayWithLongMapping withMapping
         (ObjectAndObjectToLong<? super U, ? super V> combiner,
          ParallelArrayWithMapping<W,V> other) {
@@ -291,6 +300,7 @@ public abstract class ParallelLongArrayWithMapping<U> extends AbstractParallelAn
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelLongArrayWithLongMapping withMapping
         (ObjectAndDoubleToLong<? super U> combiner,
          ParallelDoubleArrayWithDoubleMapping other) {
@@ -308,6 +318,7 @@ public abstract class ParallelLongArrayWithMapping<U> extends AbstractParallelAn
      * @throws IllegalArgumentException if other array is a
      * filtered view (all filters must precede all mappings)
      */
+    @SuppressWarnings("overloads")
     public ParallelLongArrayWithLongMapping withMapping
         (ObjectAndLongToLong<? super U> combiner,
          ParallelLongArrayWithLongMapping other) {
@@ -325,6 +336,7 @@ public abstract class ParallelLongArrayWithMapping<U> extends AbstractParallelAn
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract <V> ParallelLongArrayWithMapping<V> withIndexedMapping
         (IntAndObjectToObject<? super U, ? extends V> mapper);
 
@@ -337,6 +349,7 @@ public abstract class ParallelLongArrayWithMapping<U> extends AbstractParallelAn
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelLongArrayWithDoubleMapping withIndexedMapping
         (IntAndObjectToDouble<? super U> mapper);
 
@@ -349,6 +362,7 @@ public abstract class ParallelLongArrayWithMapping<U> extends AbstractParallelAn
      * @param mapper the mapper
      * @return operation prefix
      */
+    @SuppressWarnings("overloads")
     public abstract ParallelLongArrayWithLongMapping withIndexedMapping
         (IntAndObjectToLong<? super U> mapper);
 
@@ -103,6 +103,9 @@ import java.io.IOException;
  *   }
  * }}</pre>
  *
+ * <p>A version of this class supporting methods that encapsulate such
+ * loops is available as {@code java.util.concurrent.locks.SequenceLock}.
+ *
  * @since 1.8
  * @author Doug Lea
  */
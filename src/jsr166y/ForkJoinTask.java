@@ -1181,6 +1181,34 @@ public abstract class ForkJoinTask<V> implements Future<V>, Serializable {
         return ForkJoinPool.getSurplusQueuedTaskCount();
     }
 
+    /**
+     * The surplus of queued tasks (see {@link
+     * #getSurplusQueuedTaskCount}) above which {@link #shouldSplit}
+     * advises processing locally.
+     */
+    static final int SPLIT_SURPLUS = 3;
+
+    /**
+     * Returns {@code true} if a computation over the given estimated
+     * number of elements should be split into subtasks, or {@code
+     * false} if it should be performed sequentially by the current
+     * thread. The result is {@code true} only if {@code size} exceeds
+     * {@code grain}, and the current worker thread does not already
+     * hold enough queued tasks to keep other workers busy, as
+     * indicated by a small {@linkplain #getSurplusQueuedTaskCount
+     * surplus}. When not invoked from a worker thread, the result is
+     * {@code true} whenever {@code size} exceeds {@code grain}, so
+     * that tasks are generated for pool workers.
+     *
+     * @param size the estimated number of elements
+     * @param grain the largest number of elements not worth splitting
+     * @return {@code true} if the computation should be split
+     */
+    public static boolean shouldSplit(long size, long grain) {
+        return (size > grain &&
+                ForkJoinPool.getSurplusQueuedTaskCount() <= SPLIT_SURPLUS);
+    }
+
     // Extension methods
 
     /**
@@ -6,8 +6,9 @@
 
 package java.util;
 
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
 import java.util.concurrent.CountedCompleter;
-import java.util.concurrent.ForkJoinPool;
 import java.util.function.BinaryOperator;
 import java.util.function.DoubleBinaryOperator;
 import java.util.function.IntBinaryOperator;
@@ -26,7 +27,7 @@ class ArrayPrefixHelpers {
      * Parallel prefix (aka cumulate, scan) task classes
      * are based loosely on Guy Blelloch's original
      * algorithm (http://www.cs.cmu.edu/~scandal/alg/scan.html):
-     *  Keep dividing by two to threshold segment size, and then:
+     *  Keep dividing by two while splitting is advised, and then:
      *   Pass 1: Create tree of partial sums for each segment
      *   Pass 2: For each segment, cumulate with offset of left sibling
      *
@@ -59,10 +60,38 @@ class ArrayPrefixHelpers {
      * method loops starting with the current task, moving if possible
      * to one of its subtasks rather than forking.
      *
-     * As usual for this sort of utility, there are 4 versions, that
-     * are simple copy/paste/adapt variants of each other.  (The
+     * Splitting is lazy (see ForkJoinTask.shouldSplit), so segments
+     * are small only where there are idle workers to steal them.
+     * Because each task is visited in both passes, the decision is
+     * recorded in the threshold field of the subtasks created when
+     * splitting: If splitting is not advised, both are made leaves
+     * by giving them an unreachable threshold.
+     *
+     * Segmented scans (supplying a non-null flags array) restart
+     * accumulation at each index whose flag is set, so each element
+     * becomes the cumulation of elements since the most recent flag
+     * at or before it.  This is the same as an unsegmented scan using
+     * the associative operation on (flag, value) pairs that takes the
+     * right value when its flag is set, else combines them.  Each
+     * task records in field "reset" whether its segment contains a
+     * flag, in which case its sum does not depend on its left
+     * siblings, so is used without combining when propagating sums
+     * up the tree, and passing them down as "in" values.  Flags are
+     * checked per element only in segmented scans.
+     *
+     * As usual for this sort of utility, there are 4 array versions,
+     * that are simple copy/paste/adapt variants of each other.  (The
      * double and int versions differ from long version solely by
-     * replacing "long" (with case-matching)).
+     * replacing "long" (with case-matching)).  The LongBuffer and
+     * DoubleBuffer versions, also supporting direct (off-heap)
+     * buffers, differ from array versions solely by using absolute
+     * get and put methods, that do not use or change buffer
+     * positions, so may be used concurrently by subtasks on disjoint
+     * indices.  Indices are those of these methods, not relative to
+     * buffer position, and are bounded by buffer limit.  Root task
+     * constructors check bounds (see checkRange), so out-of-range
+     * calls throw IndexOutOfBoundsException rather than doing
+     * nothing.
      */
 
     // see above
@@ -70,35 +99,57 @@ class ArrayPrefixHelpers {
     static final int SUMMED   = 2;
     static final int FINISHED = 4;
 
-    /** The smallest subtask array partition size to use as threshold */
+    /** The largest subtask array partition size never split */
     static final int MIN_PARTITION = 16;
 
+    /**
+     * Throws IndexOutOfBoundsException unless lo and hi bound a
+     * range of a source of the given length, covered by flags (if
+     * non-null), so that root tasks fail fast rather than leaving
+     * elements unprocessed.
+     */
+    static void checkRange(int lo, int hi, int length, boolean[] flags) {
+        Objects.checkFromToIndex(lo, hi, length);
+        if (flags != null)
+            Objects.checkFromToIndex(lo, hi, flags.length);
+    }
+
     static final class CumulateTask<T> extends CountedCompleter<Void> {
         final T[] array;
+        final boolean[] flags; // segment starts, or null if unsegmented
         final BinaryOperator<T> function;
         CumulateTask<T> left, right;
         T in, out;
+        boolean reset; // true if segment includes a flag
         final int lo, hi, origin, fence, threshold;
 
         /** Root task constructor */
         public CumulateTask(CumulateTask<T> parent,
                             BinaryOperator<T> function,
                             T[] array, int lo, int hi) {
+            this(parent, function, array, null, lo, hi);
+        }
+
+        /** Root task constructor for segmented scans */
+        public CumulateTask(CumulateTask<T> parent,
+                            BinaryOperator<T> function,
+                            T[] array, boolean[] flags,
+                            int lo, int hi) {
             super(parent);
+            checkRange(lo, hi, array.length, flags);
             this.function = function; this.array = array;
+            this.flags = flags;
             this.lo = this.origin = lo; this.hi = this.fence = hi;
-            int p;
-            this.threshold =
-                (p = (hi - lo) / (ForkJoinPool.getCommonPoolParallelism() << 3))
-                <= MIN_PARTITION ? MIN_PARTITION : p;
+            this.threshold = MIN_PARTITION;
         }
 
         /** Subtask constructor */
         CumulateTask(CumulateTask<T> parent, BinaryOperator<T> function,
-                     T[] array, int origin, int fence, int threshold,
-                     int lo, int hi) {
+                     T[] array, boolean[] flags, int origin, int fence,
+                     int threshold, int lo, int hi) {
             super(parent);
             this.function = function; this.array = array;
+            this.flags = flags;
             this.origin = origin; this.fence = fence;
             this.threshold = threshold;
             this.lo = lo; this.hi = hi;
@@ -109,17 +160,22 @@ class ArrayPrefixHelpers {
             final T[] a;
             if ((fn = this.function) == null || (a = this.array) == null)
                 throw new NullPointerException();    // hoist checks
-            int th = threshold, org = origin, fnc = fence, l, h;
+            final boolean[] fl = this.flags;
+            int org = origin, fnc = fence, l, h;
             CumulateTask<T> t = this;
             outer: while ((l = t.lo) >= 0 && (h = t.hi) <= a.length) {
-                if (h - l > th) {
+                if (h - l > t.threshold) {
                     CumulateTask<T> lt = t.left, rt = t.right, f;
                     if (lt == null) {                // first pass
-                        int mid = (l + h) >>> 1;
+                        int mid = (l + h) >>> 1, th = t.threshold;
+                        if (!shouldSplit(h - mid, th)) // make both leaves
+                            th = Integer.MAX_VALUE;
                         f = rt = t.right =
-                            new CumulateTask<T>(t, fn, a, org, fnc, th, mid, h);
+                            new CumulateTask<T>(t, fn, a, fl, org, fnc,
+                                                th, mid, h);
                         t = lt = t.left =
-                            new CumulateTask<T>(t, fn, a, org, fnc, th, l, mid);
+                            new CumulateTask<T>(t, fn, a, fl, org, fnc,
+                                                th, l, mid);
                     }
                     else {                           // possibly refork
                         T pin = t.in;
@@ -127,7 +183,7 @@ class ArrayPrefixHelpers {
                         f = t = null;
                         if (rt != null) {
                             T lout = lt.out;
-                            rt.in = (l == org ? lout :
+                            rt.in = ((l == org || lt.reset) ? lout :
                                      fn.apply(pin, lout));
                             for (int c;;) {
                                 if (((c = rt.getPendingCount()) & CUMULATE) != 0)
@@ -166,6 +222,7 @@ class ArrayPrefixHelpers {
                     }
 
                     T sum;
+                    boolean reset = false;
                     if (state != SUMMED) {
                         int first;
                         if (l == org) {                       // leftmost; no in
@@ -176,17 +233,43 @@ class ArrayPrefixHelpers {
                             sum = t.in;
                             first = l;
                         }
-                        for (int i = first; i < h; ++i)       // cumulate
-                            a[i] = sum = fn.apply(sum, a[i]);
+                        if (fl == null) {
+                            for (int i = first; i < h; ++i)   // cumulate
+                                a[i] = sum = fn.apply(sum, a[i]);
+                        }
+                        else {
+                            for (int i = first; i < h; ++i) { // segmented
+                                if (fl[i]) {
+                                    sum = a[i];
+                                    reset = true;
+                                }
+                                else
+                                    a[i] = sum = fn.apply(sum, a[i]);
+                            }
+                        }
                     }
                     else if (h < fnc) {                       // skip rightmost
                         sum = a[l];
-                        for (int i = l + 1; i < h; ++i)       // sum only
-                            sum = fn.apply(sum, a[i]);
+                        if (fl == null) {
+                            for (int i = l + 1; i < h; ++i)   // sum only
+                                sum = fn.apply(sum, a[i]);
+                        }
+                        else {
+                            reset = fl[l];
+                            for (int i = l + 1; i < h; ++i) { // segmented
+                                if (fl[i]) {
+                                    sum = a[i];
+                                    reset = true;
+                                }
+                                else
+                                    sum = fn.apply(sum, a[i]);
+                            }
+                        }
                     }
                     else
                         sum = t.in;
                     t.out = sum;
+                    t.reset = reset;
                     for (CumulateTask<T> par;;) {             // propagate
                         @SuppressWarnings("unchecked") CumulateTask<T> partmp
                             = (CumulateTask<T>)t.getCompleter();
@@ -204,7 +287,9 @@ class ArrayPrefixHelpers {
                                 (rt = par.right) != null) {
                                 T lout = lt.out;
                                 par.out = (rt.hi == fnc ? lout :
+                                           rt.reset ? rt.out :
                                            fn.apply(lout, rt.out));
+                                par.reset = lt.reset | rt.reset;
                             }
                             int refork = (((b & CUMULATE) == 0 &&
                                            par.lo == org) ? CUMULATE : 0);
@@ -227,30 +312,40 @@ class ArrayPrefixHelpers {
 
     static final class LongCumulateTask extends CountedCompleter<Void> {
         final long[] array;
+        final boolean[] flags; // segment starts, or null if unsegmented
         final LongBinaryOperator function;
         LongCumulateTask left, right;
         long in, out;
+        boolean reset; // true if segment includes a flag
         final int lo, hi, origin, fence, threshold;
 
         /** Root task constructor */
         public LongCumulateTask(LongCumulateTask parent,
                                 LongBinaryOperator function,
                                 long[] array, int lo, int hi) {
+            this(parent, function, array, null, lo, hi);
+        }
+
+        /** Root task constructor for segmented scans */
+        public LongCumulateTask(LongCumulateTask parent,
+                                LongBinaryOperator function,
+                                long[] array, boolean[] flags,
+                                int lo, int hi) {
             super(parent);
+            checkRange(lo, hi, array.length, flags);
             this.function = function; this.array = array;
+            this.flags = flags;
             this.lo = this.origin = lo; this.hi = this.fence = hi;
-            int p;
-            this.threshold =
-                (p = (hi - lo) / (ForkJoinPool.getCommonPoolParallelism() << 3))
-                <= MIN_PARTITION ? MIN_PARTITION : p;
+            this.threshold = MIN_PARTITION;
         }
 
         /** Subtask constructor */
         LongCumulateTask(LongCumulateTask parent, LongBinaryOperator function,
-                         long[] array, int origin, int fence, int threshold,
-                         int lo, int hi) {
+                         long[] array, boolean[] flags, int origin,
+                         int fence, int threshold, int lo, int hi) {
             super(parent);
             this.function = function; this.array = array;
+            this.flags = flags;
             this.origin = origin; this.fence = fence;
             this.threshold = threshold;
             this.lo = lo; this.hi = hi;
@@ -261,17 +356,22 @@ class ArrayPrefixHelpers {
             final long[] a;
             if ((fn = this.function) == null || (a = this.array) == null)
                 throw new NullPointerException();    // hoist checks
-            int th = threshold, org = origin, fnc = fence, l, h;
+            final boolean[] fl = this.flags;
+            int org = origin, fnc = fence, l, h;
             LongCumulateTask t = this;
             outer: while ((l = t.lo) >= 0 && (h = t.hi) <= a.length) {
-                if (h - l > th) {
+                if (h - l > t.threshold) {
                     LongCumulateTask lt = t.left, rt = t.right, f;
                     if (lt == null) {                // first pass
-                        int mid = (l + h) >>> 1;
+                        int mid = (l + h) >>> 1, th = t.threshold;
+                        if (!shouldSplit(h - mid, th)) // make both leaves
+                            th = Integer.MAX_VALUE;
                         f = rt = t.right =
-                            new LongCumulateTask(t, fn, a, org, fnc, th, mid, h);
+                            new LongCumulateTask(t, fn, a, fl, org, fnc,
+                                                 th, mid, h);
                         t = lt = t.left =
-                            new LongCumulateTask(t, fn, a, org, fnc, th, l, mid);
+                            new LongCumulateTask(t, fn, a, fl, org, fnc,
+                                                 th, l, mid);
                     }
                     else {                           // possibly refork
                         long pin = t.in;
@@ -279,7 +379,7 @@ class ArrayPrefixHelpers {
                         f = t = null;
                         if (rt != null) {
                             long lout = lt.out;
-                            rt.in = (l == org ? lout :
+                            rt.in = ((l == org || lt.reset) ? lout :
                                      fn.applyAsLong(pin, lout));
                             for (int c;;) {
                                 if (((c = rt.getPendingCount()) & CUMULATE) != 0)
@@ -318,6 +418,7 @@ class ArrayPrefixHelpers {
                     }
 
                     long sum;
+                    boolean reset = false;
                     if (state != SUMMED) {
                         int first;
                         if (l == org) {                       // leftmost; no in
@@ -328,17 +429,43 @@ class ArrayPrefixHelpers {
                             sum = t.in;
                             first = l;
                         }
-                        for (int i = first; i < h; ++i)       // cumulate
-                            a[i] = sum = fn.applyAsLong(sum, a[i]);
+                        if (fl == null) {
+                            for (int i = first; i < h; ++i)   // cumulate
+                                a[i] = sum = fn.applyAsLong(sum, a[i]);
+                        }
+                        else {
+                            for (int i = first; i < h; ++i) { // segmented
+                                if (fl[i]) {
+                                    sum = a[i];
+                                    reset = true;
+                                }
+                                else
+                                    a[i] = sum = fn.applyAsLong(sum, a[i]);
+                            }
+                        }
                     }
                     else if (h < fnc) {                       // skip rightmost
                         sum = a[l];
-                        for (int i = l + 1; i < h; ++i)       // sum only
-                            sum = fn.applyAsLong(sum, a[i]);
+                        if (fl == null) {
+                            for (int i = l + 1; i < h; ++i)   // sum only
+                                sum = fn.applyAsLong(sum, a[i]);
+                        }
+                        else {
+                            reset = fl[l];
+                            for (int i = l + 1; i < h; ++i) { // segmented
+                                if (fl[i]) {
+                                    sum = a[i];
+                                    reset = true;
+                                }
+                                else
+                                    sum = fn.applyAsLong(sum, a[i]);
+                            }
+                        }
                     }
                     else
                         sum = t.in;
                     t.out = sum;
+                    t.reset = reset;
                     for (LongCumulateTask par;;) {            // propagate
                         if ((par = (LongCumulateTask)t.getCompleter()) == null) {
                             if ((state & FINISHED) != 0)      // enable join
@@ -354,7 +481,9 @@ class ArrayPrefixHelpers {
                                 (rt = par.right) != null) {
                                 long lout = lt.out;
                                 par.out = (rt.hi == fnc ? lout :
+                                           rt.reset ? rt.out :
                                            fn.applyAsLong(lout, rt.out));
+                                par.reset = lt.reset | rt.reset;
                             }
                             int refork = (((b & CUMULATE) == 0 &&
                                            par.lo == org) ? CUMULATE : 0);
@@ -377,30 +506,41 @@ class ArrayPrefixHelpers {
 
     static final class DoubleCumulateTask extends CountedCompleter<Void> {
         final double[] array;
+        final boolean[] flags; // segment starts, or null if unsegmented
         final DoubleBinaryOperator function;
         DoubleCumulateTask left, right;
         double in, out;
+        boolean reset; // true if segment includes a flag
         final int lo, hi, origin, fence, threshold;
 
         /** Root task constructor */
         public DoubleCumulateTask(DoubleCumulateTask parent,
                                   DoubleBinaryOperator function,
                                   double[] array, int lo, int hi) {
+            this(parent, function, array, null, lo, hi);
+        }
+
+        /** Root task constructor for segmented scans */
+        public DoubleCumulateTask(DoubleCumulateTask parent,
+                                  DoubleBinaryOperator function,
+                                  double[] array, boolean[] flags,
+                                  int lo, int hi) {
             super(parent);
+            checkRange(lo, hi, array.length, flags);
             this.function = function; this.array = array;
+            this.flags = flags;
             this.lo = this.origin = lo; this.hi = this.fence = hi;
-            int p;
-            this.threshold =
-                (p = (hi - lo) / (ForkJoinPool.getCommonPoolParallelism() << 3))
-                <= MIN_PARTITION ? MIN_PARTITION : p;
+            this.threshold = MIN_PARTITION;
         }
 
         /** Subtask constructor */
-        DoubleCumulateTask(DoubleCumulateTask parent, DoubleBinaryOperator function,
-                           double[] array, int origin, int fence, int threshold,
-                           int lo, int hi) {
+        DoubleCumulateTask(DoubleCumulateTask parent,
+                           DoubleBinaryOperator function,
+                           double[] array, boolean[] flags, int origin,
+                           int fence, int threshold, int lo, int hi) {
             super(parent);
             this.function = function; this.array = array;
+            this.flags = flags;
             this.origin = origin; this.fence = fence;
             this.threshold = threshold;
             this.lo = lo; this.hi = hi;
@@ -411,17 +551,22 @@ class ArrayPrefixHelpers {
             final double[] a;
             if ((fn = this.function) == null || (a = this.array) == null)
                 throw new NullPointerException();    // hoist checks
-            int th = threshold, org = origin, fnc = fence, l, h;
+            final boolean[] fl = this.flags;
+            int org = origin, fnc = fence, l, h;
             DoubleCumulateTask t = this;
             outer: while ((l = t.lo) >= 0 && (h = t.hi) <= a.length) {
-                if (h - l > th) {
+                if (h - l > t.threshold) {
                     DoubleCumulateTask lt = t.left, rt = t.right, f;
                     if (lt == null) {                // first pass
-                        int mid = (l + h) >>> 1;
+                        int mid = (l + h) >>> 1, th = t.threshold;
+                        if (!shouldSplit(h - mid, th)) // make both leaves
+                            th = Integer.MAX_VALUE;
                         f = rt = t.right =
-                            new DoubleCumulateTask(t, fn, a, org, fnc, th, mid, h);
+                            new DoubleCumulateTask(t, fn, a, fl, org, fnc,
+                                                   th, mid, h);
                         t = lt = t.left =
-                            new DoubleCumulateTask(t, fn, a, org, fnc, th, l, mid);
+                            new DoubleCumulateTask(t, fn, a, fl, org, fnc,
+                                                   th, l, mid);
                     }
                     else {                           // possibly refork
                         double pin = t.in;
@@ -429,7 +574,7 @@ class ArrayPrefixHelpers {
                         f = t = null;
                         if (rt != null) {
                             double lout = lt.out;
-                            rt.in = (l == org ? lout :
+                            rt.in = ((l == org || lt.reset) ? lout :
                                      fn.applyAsDouble(pin, lout));
                             for (int c;;) {
                                 if (((c = rt.getPendingCount()) & CUMULATE) != 0)
@@ -468,6 +613,7 @@ class ArrayPrefixHelpers {
                     }
 
                     double sum;
+                    boolean reset = false;
                     if (state != SUMMED) {
                         int first;
                         if (l == org) {                       // leftmost; no in
@@ -478,17 +624,43 @@ class ArrayPrefixHelpers {
                             sum = t.in;
                             first = l;
                         }
-                        for (int i = first; i < h; ++i)       // cumulate
-                            a[i] = sum = fn.applyAsDouble(sum, a[i]);
+                        if (fl == null) {
+                            for (int i = first; i < h; ++i)   // cumulate
+                                a[i] = sum = fn.applyAsDouble(sum, a[i]);
+                        }
+                        else {
+                            for (int i = first; i < h; ++i) { // segmented
+                                if (fl[i]) {
+                                    sum = a[i];
+                                    reset = true;
+                                }
+                                else
+                                    a[i] = sum = fn.applyAsDouble(sum, a[i]);
+                            }
+                        }
                     }
                     else if (h < fnc) {                       // skip rightmost
                         sum = a[l];
-                        for (int i = l + 1; i < h; ++i)       // sum only
-                            sum = fn.applyAsDouble(sum, a[i]);
+                        if (fl == null) {
+                            for (int i = l + 1; i < h; ++i)   // sum only
+                                sum = fn.applyAsDouble(sum, a[i]);
+                        }
+                        else {
+                            reset = fl[l];
+                            for (int i = l + 1; i < h; ++i) { // segmented
+                                if (fl[i]) {
+                                    sum = a[i];
+                                    reset = true;
+                                }
+                                else
+                                    sum = fn.applyAsDouble(sum, a[i]);
+                            }
+                        }
                     }
                     else
                         sum = t.in;
                     t.out = sum;
+                    t.reset = reset;
                     for (DoubleCumulateTask par;;) {            // propagate
                         if ((par = (DoubleCumulateTask)t.getCompleter()) == null) {
                             if ((state & FINISHED) != 0)      // enable join
@@ -504,7 +676,9 @@ class ArrayPrefixHelpers {
                                 (rt = par.right) != null) {
                                 double lout = lt.out;
                                 par.out = (rt.hi == fnc ? lout :
+                                           rt.reset ? rt.out :
                                            fn.applyAsDouble(lout, rt.out));
+                                par.reset = lt.reset | rt.reset;
                             }
                             int refork = (((b & CUMULATE) == 0 &&
                                            par.lo == org) ? CUMULATE : 0);
@@ -527,30 +701,40 @@ class ArrayPrefixHelpers {
 
     static final class IntCumulateTask extends CountedCompleter<Void> {
         final int[] array;
+        final boolean[] flags; // segment starts, or null if unsegmented
         final IntBinaryOperator function;
         IntCumulateTask left, right;
         int in, out;
+        boolean reset; // true if segment includes a flag
         final int lo, hi, origin, fence, threshold;
 
         /** Root task constructor */
         public IntCumulateTask(IntCumulateTask parent,
                                IntBinaryOperator function,
                                int[] array, int lo, int hi) {
+            this(parent, function, array, null, lo, hi);
+        }
+
+        /** Root task constructor for segmented scans */
+        public IntCumulateTask(IntCumulateTask parent,
+                               IntBinaryOperator function,
+                               int[] array, boolean[] flags,
+                               int lo, int hi) {
             super(parent);
+            checkRange(lo, hi, array.length, flags);
             this.function = function; this.array = array;
+            this.flags = flags;
             this.lo = this.origin = lo; this.hi = this.fence = hi;
-            int p;
-            this.threshold =
-                (p = (hi - lo) / (ForkJoinPool.getCommonPoolParallelism() << 3))
-                <= MIN_PARTITION ? MIN_PARTITION : p;
+            this.threshold = MIN_PARTITION;
         }
 
         /** Subtask constructor */
         IntCumulateTask(IntCumulateTask parent, IntBinaryOperator function,
-                        int[] array, int origin, int fence, int threshold,
-                        int lo, int hi) {
+                        int[] array, boolean[] flags, int origin,
+                        int fence, int threshold, int lo, int hi) {
             super(parent);
             this.function = function; this.array = array;
+            this.flags = flags;
             this.origin = origin; this.fence = fence;
             this.threshold = threshold;
             this.lo = lo; this.hi = hi;
@@ -561,17 +745,22 @@ class ArrayPrefixHelpers {
             final int[] a;
             if ((fn = this.function) == null || (a = this.array) == null)
                 throw new NullPointerException();    // hoist checks
-            int th = threshold, org = origin, fnc = fence, l, h;
+            final boolean[] fl = this.flags;
+            int org = origin, fnc = fence, l, h;
             IntCumulateTask t = this;
             outer: while ((l = t.lo) >= 0 && (h = t.hi) <= a.length) {
-                if (h - l > th) {
+                if (h - l > t.threshold) {
                     IntCumulateTask lt = t.left, rt = t.right, f;
                     if (lt == null) {                // first pass
-                        int mid = (l + h) >>> 1;
+                        int mid = (l + h) >>> 1, th = t.threshold;
+                        if (!shouldSplit(h - mid, th)) // make both leaves
+                            th = Integer.MAX_VALUE;
                         f = rt = t.right =
-                            new IntCumulateTask(t, fn, a, org, fnc, th, mid, h);
+                            new IntCumulateTask(t, fn, a, fl, org, fnc,
+                                                th, mid, h);
                         t = lt = t.left =
-                            new IntCumulateTask(t, fn, a, org, fnc, th, l, mid);
+                            new IntCumulateTask(t, fn, a, fl, org, fnc,
+                                                th, l, mid);
                     }
                     else {                           // possibly refork
                         int pin = t.in;
@@ -579,7 +768,7 @@ class ArrayPrefixHelpers {
                         f = t = null;
                         if (rt != null) {
                             int lout = lt.out;
-                            rt.in = (l == org ? lout :
+                            rt.in = ((l == org || lt.reset) ? lout :
                                      fn.applyAsInt(pin, lout));
                             for (int c;;) {
                                 if (((c = rt.getPendingCount()) & CUMULATE) != 0)
@@ -618,6 +807,7 @@ class ArrayPrefixHelpers {
                     }
 
                     int sum;
+                    boolean reset = false;
                     if (state != SUMMED) {
                         int first;
                         if (l == org) {                       // leftmost; no in
@@ -628,17 +818,43 @@ class ArrayPrefixHelpers {
                             sum = t.in;
                             first = l;
                         }
-                        for (int i = first; i < h; ++i)       // cumulate
-                            a[i] = sum = fn.applyAsInt(sum, a[i]);
+                        if (fl == null) {
+                            for (int i = first; i < h; ++i)   // cumulate
+                                a[i] = sum = fn.applyAsInt(sum, a[i]);
+                        }
+                        else {
+                            for (int i = first; i < h; ++i) { // segmented
+                                if (fl[i]) {
+                                    sum = a[i];
+                                    reset = true;
+                                }
+                                else
+                                    a[i] = sum = fn.applyAsInt(sum, a[i]);
+                            }
+                        }
                     }
                     else if (h < fnc) {                       // skip rightmost
                         sum = a[l];
-                        for (int i = l + 1; i < h; ++i)       // sum only
-                            sum = fn.applyAsInt(sum, a[i]);
+                        if (fl == null) {
+                            for (int i = l + 1; i < h; ++i)   // sum only
+                                sum = fn.applyAsInt(sum, a[i]);
+                        }
+                        else {
+                            reset = fl[l];
+                            for (int i = l + 1; i < h; ++i) { // segmented
+                                if (fl[i]) {
+                                    sum = a[i];
+                                    reset = true;
+                                }
+                                else
+                                    sum = fn.applyAsInt(sum, a[i]);
+                            }
+                        }
                     }
                     else
                         sum = t.in;
                     t.out = sum;
+                    t.reset = reset;
                     for (IntCumulateTask par;;) {            // propagate
                         if ((par = (IntCumulateTask)t.getCompleter()) == null) {
                             if ((state & FINISHED) != 0)      // enable join
@@ -654,7 +870,9 @@ class ArrayPrefixHelpers {
                                 (rt = par.right) != null) {
                                 int lout = lt.out;
                                 par.out = (rt.hi == fnc ? lout :
+                                           rt.reset ? rt.out :
                                            fn.applyAsInt(lout, rt.out));
+                                par.reset = lt.reset | rt.reset;
                             }
                             int refork = (((b & CUMULATE) == 0 &&
                                            par.lo == org) ? CUMULATE : 0);
@@ -674,4 +892,400 @@ class ArrayPrefixHelpers {
         }
         private static final long serialVersionUID = 3731755594596840961L;
     }
+
+    static final class LongBufferCumulateTask extends CountedCompleter<Void> {
+        final LongBuffer buffer;
+        final boolean[] flags; // segment starts, or null if unsegmented
+        final LongBinaryOperator function;
+        LongBufferCumulateTask left, right;
+        long in, out;
+        boolean reset; // true if segment includes a flag
+        final int lo, hi, origin, fence, threshold;
+
+        /** Root task constructor */
+        public LongBufferCumulateTask(LongBufferCumulateTask parent,
+                                      LongBinaryOperator function,
+                                      LongBuffer buffer, int lo, int hi) {
+            this(parent, function, buffer, null, lo, hi);
+        }
+
+        /** Root task constructor for segmented scans */
+        public LongBufferCumulateTask(LongBufferCumulateTask parent,
+                                      LongBinaryOperator function,
+                                      LongBuffer buffer, boolean[] flags,
+                                      int lo, int hi) {
+            super(parent);
+            checkRange(lo, hi, buffer.limit(), flags);
+            this.function = function; this.buffer = buffer;
+            this.flags = flags;
+            this.lo = this.origin = lo; this.hi = this.fence = hi;
+            this.threshold = MIN_PARTITION;
+        }
+
+        /** Subtask constructor */
+        LongBufferCumulateTask(LongBufferCumulateTask parent,
+                               LongBinaryOperator function,
+                               LongBuffer buffer, boolean[] flags, int origin,
+                               int fence, int threshold, int lo, int hi) {
+            super(parent);
+            this.function = function; this.buffer = buffer;
+            this.flags = flags;
+            this.origin = origin; this.fence = fence;
+            this.threshold = threshold;
+            this.lo = lo; this.hi = hi;
+        }
+
+        public final void compute() {
+            final LongBinaryOperator fn;
+            final LongBuffer a;
+            if ((fn = this.function) == null || (a = this.buffer) == null)
+                throw new NullPointerException();    // hoist checks
+            final boolean[] fl = this.flags;
+            int org = origin, fnc = fence, l, h;
+            LongBufferCumulateTask t = this;
+            outer: while ((l = t.lo) >= 0 && (h = t.hi) <= a.limit()) {
+                if (h - l > t.threshold) {
+                    LongBufferCumulateTask lt = t.left, rt = t.right, f;
+                    if (lt == null) {                // first pass
+                        int mid = (l + h) >>> 1, th = t.threshold;
+                        if (!shouldSplit(h - mid, th)) // make both leaves
+                            th = Integer.MAX_VALUE;
+                        f = rt = t.right =
+                            new LongBufferCumulateTask(t, fn, a, fl, org, fnc,
+                                                       th, mid, h);
+                        t = lt = t.left =
+                            new LongBufferCumulateTask(t, fn, a, fl, org, fnc,
+                                                       th, l, mid);
+                    }
+                    else {                           // possibly refork
+                        long pin = t.in;
+                        lt.in = pin;
+                        f = t = null;
+                        if (rt != null) {
+                            long lout = lt.out;
+                            rt.in = ((l == org || lt.reset) ? lout :
+                                     fn.applyAsLong(pin, lout));
+                            for (int c;;) {
+                                if (((c = rt.getPendingCount()) & CUMULATE) != 0)
+                                    break;
+                                if (rt.compareAndSetPendingCount(c, c|CUMULATE)){
+                                    t = rt;
+                                    break;
+                                }
+                            }
+                        }
+                        for (int c;;) {
+                            if (((c = lt.getPendingCount()) & CUMULATE) != 0)
+                                break;
+                            if (lt.compareAndSetPendingCount(c, c|CUMULATE)) {
+                                if (t != null)
+                                    f = t;
+                                t = lt;
+                                break;
+                            }
+                        }
+                        if (t == null)
+                            break;
+                    }
+                    if (f != null)
+                        f.fork();
+                }
+                else {
+                    int state; // Transition to sum, cumulate, or both
+                    for (int b;;) {
+                        if (((b = t.getPendingCount()) & FINISHED) != 0)
+                            break outer;                      // already done
+                        state = ((b & CUMULATE) != 0 ? FINISHED :
+                                 (l > org) ? SUMMED : (SUMMED|FINISHED));
+                        if (t.compareAndSetPendingCount(b, b|state))
+                            break;
+                    }
+
+                    long sum;
+                    boolean reset = false;
+                    if (state != SUMMED) {
+                        int first;
+                        if (l == org) {                       // leftmost; no in
+                            sum = a.get(org);
+                            first = org + 1;
+                        }
+                        else {
+                            sum = t.in;
+                            first = l;
+                        }
+                        if (fl == null) {
+                            for (int i = first; i < h; ++i)   // cumulate
+                                a.put(i, sum = fn.applyAsLong(sum, a.get(i)));
+                        }
+                        else {
+                            for (int i = first; i < h; ++i) { // segmented
+                                if (fl[i]) {
+                                    sum = a.get(i);
+                                    reset = true;
+                                }
+                                else
+                                    a.put(i, sum = fn.applyAsLong
+                                          (sum, a.get(i)));
+                            }
+                        }
+                    }
+                    else if (h < fnc) {                       // skip rightmost
+                        sum = a.get(l);
+                        if (fl == null) {
+                            for (int i = l + 1; i < h; ++i)   // sum only
+                                sum = fn.applyAsLong(sum, a.get(i));
+                        }
+                        else {
+                            reset = fl[l];
+                            for (int i = l + 1; i < h; ++i) { // segmented
+                                if (fl[i]) {
+                                    sum = a.get(i);
+                                    reset = true;
+                                }
+                                else
+                                    sum = fn.applyAsLong(sum, a.get(i));
+                            }
+                        }
+                    }
+                    else
+                        sum = t.in;
+                    t.out = sum;
+                    t.reset = reset;
+                    for (LongBufferCumulateTask par;;) {      // propagate
+                        if ((par = (LongBufferCumulateTask)
+                             t.getCompleter()) == null) {
+                            if ((state & FINISHED) != 0)      // enable join
+                                t.quietlyComplete();
+                            break outer;
+                        }
+                        int b = par.getPendingCount();
+                        if ((b & state & FINISHED) != 0)
+                            t = par;                          // both done
+                        else if ((b & state & SUMMED) != 0) { // both summed
+                            int nextState; LongBufferCumulateTask lt, rt;
+                            if ((lt = par.left) != null &&
+                                (rt = par.right) != null) {
+                                long lout = lt.out;
+                                par.out = (rt.hi == fnc ? lout :
+                                           rt.reset ? rt.out :
+                                           fn.applyAsLong(lout, rt.out));
+                                par.reset = lt.reset | rt.reset;
+                            }
+                            int refork = (((b & CUMULATE) == 0 &&
+                                           par.lo == org) ? CUMULATE : 0);
+                            if ((nextState = b|state|refork) == b ||
+                                par.compareAndSetPendingCount(b, nextState)) {
+                                state = SUMMED;               // drop finished
+                                t = par;
+                                if (refork != 0)
+                                    par.fork();
+                            }
+                        }
+                        else if (par.compareAndSetPendingCount(b, b|state))
+                            break outer;                      // sib not ready
+                    }
+                }
+            }
+        }
+        private static final long serialVersionUID = -2519404413592716519L;
+    }
+
+    static final class DoubleBufferCumulateTask extends CountedCompleter<Void> {
+        final DoubleBuffer buffer;
+        final boolean[] flags; // segment starts, or null if unsegmented
+        final DoubleBinaryOperator function;
+        DoubleBufferCumulateTask left, right;
+        double in, out;
+        boolean reset; // true if segment includes a flag
+        final int lo, hi, origin, fence, threshold;
+
+        /** Root task constructor */
+        public DoubleBufferCumulateTask(DoubleBufferCumulateTask parent,
+                                        DoubleBinaryOperator function,
+                                        DoubleBuffer buffer, int lo, int hi) {
+            this(parent, function, buffer, null, lo, hi);
+        }
+
+        /** Root task constructor for segmented scans */
+        public DoubleBufferCumulateTask(DoubleBufferCumulateTask parent,
+                                        DoubleBinaryOperator function,
+                                        DoubleBuffer buffer, boolean[] flags,
+                                        int lo, int hi) {
+            super(parent);
+            checkRange(lo, hi, buffer.limit(), flags);
+            this.function = function; this.buffer = buffer;
+            this.flags = flags;
+            this.lo = this.origin = lo; this.hi = this.fence = hi;
+            this.threshold = MIN_PARTITION;
+        }
+
+        /** Subtask constructor */
+        DoubleBufferCumulateTask(DoubleBufferCumulateTask parent,
+                                 DoubleBinaryOperator function,
+                                 DoubleBuffer buffer, boolean[] flags,
+                                 int origin, int fence, int threshold,
+                                 int lo, int hi) {
+            super(parent);
+            this.function = function; this.buffer = buffer;
+            this.flags = flags;
+            this.origin = origin; this.fence = fence;
+            this.threshold = threshold;
+            this.lo = lo; this.hi = hi;
+        }
+
+        public final void compute() {
+            final DoubleBinaryOperator fn;
+            final DoubleBuffer a;
+            if ((fn = this.function) == null || (a = this.buffer) == null)
+                throw new NullPointerException();    // hoist checks
+            final boolean[] fl = this.flags;
+            int org = origin, fnc = fence, l, h;
+            DoubleBufferCumulateTask t = this;
+            outer: while ((l = t.lo) >= 0 && (h = t.hi) <= a.limit()) {
+                if (h - l > t.threshold) {
+                    DoubleBufferCumulateTask lt = t.left, rt = t.right, f;
+                    if (lt == null) {                // first pass
+                        int mid = (l + h) >>> 1, th = t.threshold;
+                        if (!shouldSplit(h - mid, th)) // make both leaves
+                            th = Integer.MAX_VALUE;
+                        f = rt = t.right =
+                            new DoubleBufferCumulateTask(t, fn, a, fl, org, fnc,
+                                                         th, mid, h);
+                        t = lt = t.left =
+                            new DoubleBufferCumulateTask(t, fn, a, fl, org, fnc,
+                                                         th, l, mid);
+                    }
+                    else {                           // possibly refork
+                        double pin = t.in;
+                        lt.in = pin;
+                        f = t = null;
+                        if (rt != null) {
+                            double lout = lt.out;
+                            rt.in = ((l == org || lt.reset) ? lout :
+                                     fn.applyAsDouble(pin, lout));
+                            for (int c;;) {
+                                if (((c = rt.getPendingCount()) & CUMULATE) != 0)
+                                    break;
+                                if (rt.compareAndSetPendingCount(c, c|CUMULATE)){
+                                    t = rt;
+                                    break;
+                                }
+                            }
+                        }
+                        for (int c;;) {
+                            if (((c = lt.getPendingCount()) & CUMULATE) != 0)
+                                break;
+                            if (lt.compareAndSetPendingCount(c, c|CUMULATE)) {
+                                if (t != null)
+                                    f = t;
+                                t = lt;
+                                break;
+                            }
+                        }
+                        if (t == null)
+                            break;
+                    }
+                    if (f != null)
+                        f.fork();
+                }
+                else {
+                    int state; // Transition to sum, cumulate, or both
+                    for (int b;;) {
+                        if (((b = t.getPendingCount()) & FINISHED) != 0)
+                            break outer;                      // already done
+                        state = ((b & CUMULATE) != 0 ? FINISHED :
+                                 (l > org) ? SUMMED : (SUMMED|FINISHED));
+                        if (t.compareAndSetPendingCount(b, b|state))
+                            break;
+                    }
+
+                    double sum;
+                    boolean reset = false;
+                    if (state != SUMMED) {
+                        int first;
+                        if (l == org) {                       // leftmost; no in
+                            sum = a.get(org);
+                            first = org + 1;
+                        }
+                        else {
+                            sum = t.in;
+                            first = l;
+                        }
+                        if (fl == null) {
+                            for (int i = first; i < h; ++i)   // cumulate
+                                a.put(i, sum = fn.applyAsDouble(sum, a.get(i)));
+                        }
+                        else {
+                            for (int i = first; i < h; ++i) { // segmented
+                                if (fl[i]) {
+                                    sum = a.get(i);
+                                    reset = true;
+                                }
+                                else
+                                    a.put(i, sum = fn.applyAsDouble
+                                          (sum, a.get(i)));
+                            }
+                        }
+                    }
+                    else if (h < fnc) {                       // skip rightmost
+                        sum = a.get(l);
+                        if (fl == null) {
+                            for (int i = l + 1; i < h; ++i)   // sum only
+                                sum = fn.applyAsDouble(sum, a.get(i));
+                        }
+                        else {
+                            reset = fl[l];
+                            for (int i = l + 1; i < h; ++i) { // segmented
+                                if (fl[i]) {
+                                    sum = a.get(i);
+                                    reset = true;
+                                }
+                                else
+                                    sum = fn.applyAsDouble(sum, a.get(i));
+                            }
+                        }
+                    }
+                    else
+                        sum = t.in;
+                    t.out = sum;
+                    t.reset = reset;
+                    for (DoubleBufferCumulateTask par;;) {    // propagate
+                        if ((par = (DoubleBufferCumulateTask)
+                             t.getCompleter()) == null) {
+                            if ((state & FINISHED) != 0)      // enable join
+                                t.quietlyComplete();
+                            break outer;
+                        }
+                        int b = par.getPendingCount();
+                        if ((b & state & FINISHED) != 0)
+                            t = par;                          // both done
+                        else if ((b & state & SUMMED) != 0) { // both summed
+                            int nextState; DoubleBufferCumulateTask lt, rt;
+                            if ((lt = par.left) != null &&
+                                (rt = par.right) != null) {
+                                double lout = lt.out;
+                                par.out = (rt.hi == fnc ? lout :
+                                           rt.reset ? rt.out :
+                                           fn.applyAsDouble(lout, rt.out));
+                                par.reset = lt.reset | rt.reset;
+                            }
+                            int refork = (((b & CUMULATE) == 0 &&
+                                           par.lo == org) ? CUMULATE : 0);
+                            if ((nextState = b|state|refork) == b ||
+                                par.compareAndSetPendingCount(b, nextState)) {
+                                state = SUMMED;               // drop finished
+                                t = par;
+                                if (refork != 0)
+                                    par.fork();
+                            }
+                        }
+                        else if (par.compareAndSetPendingCount(b, b|state))
+                            break outer;                      // sib not ready
+                    }
+                }
+            }
+        }
+        private static final long serialVersionUID = 7138208830493520391L;
+    }
+
 }
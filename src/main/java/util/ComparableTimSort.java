@@ -26,6 +26,9 @@
 
 package java.util;
 
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * This is a near duplicate of {@link TimSort}, modified for use with
  * arrays of objects that implement {@link Comparable}, instead of using
@@ -157,7 +160,7 @@ class ComparableTimSort {
     }
 
     /*
-     * The next method (package private and static) constitutes the
+     * The next methods (package private and static) constitute the
      * entire API of this class.
      */
 
@@ -223,6 +226,43 @@ class ComparableTimSort {
         assert ts.stackSize == 1;
     }
 
+    /**
+     * The minimum range length for which parallelSort uses more than
+     * one thread. Smaller ranges are sorted using sort.
+     */
+    private static final int MIN_PARALLEL_SORT = 1 << 13;
+
+    /**
+     * Sorts the given range in parallel in the common pool, using
+     * the given workspace array slice for temp storage if it holds at
+     * least as many elements as the range, else allocating one.  Like
+     * sort, this sort is stable. See {@link TimSort#parallelSort}.
+     *
+     * @param a the array to be sorted
+     * @param lo the index of the first element, inclusive, to be sorted
+     * @param hi the index of the last element, exclusive, to be sorted
+     * @param work a workspace array (slice)
+     * @param workBase origin of usable space in work array
+     * @param workLen usable size of work array
+     * @since 12
+     */
+    static void parallelSort(Object[] a, int lo, int hi,
+                             Object[] work, int workBase, int workLen) {
+        assert a != null && lo >= 0 && lo <= hi && hi <= a.length;
+        int n = hi - lo;
+        if (n < MIN_PARALLEL_SORT ||
+            ForkJoinPool.getCommonPoolParallelism() == 1 ||
+            countRunAndMakeAscending(a, lo, hi) == n) // already sorted
+            sort(a, lo, hi, work, workBase, workLen);
+        else {
+            if (work == null || workLen < n || workBase + n > work.length) {
+                work = new Object[n];
+                workBase = 0;
+            }
+            new Sorter(null, a, work, lo, n, workBase).invoke();
+        }
+    }
+
     /**
      * Sorts the specified portion of the specified array using a binary
      * insertion sort.  This is the best method for sorting small numbers
@@ -904,4 +944,125 @@ class ComparableTimSort {
         return tmp;
     }
 
+
+    /*
+     * Parallel sorting, as in TimSort, but with merges comparing
+     * elements using compareTo. EmptyCompleter and Relay classes are
+     * shared with TimSort.
+     */
+
+    /** Minimum size of leaf sorts and merges */
+    private static final int PARALLEL_GRAIN = MIN_PARALLEL_SORT >>> 2;
+
+    static final class Sorter extends CountedCompleter<Void> {
+        static final long serialVersionUID = 2446542900576103244L;
+        final Object[] a, w; // main and workspace arrays
+        final int base, size, wbase;
+        Sorter(CountedCompleter<?> par, Object[] a, Object[] w,
+               int base, int size, int wbase) {
+            super(par);
+            this.a = a; this.w = w; this.base = base; this.size = size;
+            this.wbase = wbase;
+        }
+        public final void compute() {
+            CountedCompleter<?> s = this;
+            Object[] a = this.a, w = this.w; // localize all params
+            int b = this.base, n = this.size, wb = this.wbase;
+            while (shouldSplit(n, MIN_PARALLEL_SORT)) {
+                int h = n >>> 1, q = h >>> 1, u = h + q; // quartiles
+                TimSort.Relay fc = new TimSort.Relay
+                    (new Merger(s, w, a, wb, h, wb + h, n - h, b));
+                TimSort.Relay rc = new TimSort.Relay
+                    (new Merger(fc, a, w, b + h, q, b + u, n - u, wb + h));
+                new Sorter(rc, a, w, b + u, n - u, wb + u).fork();
+                new Sorter(rc, a, w, b + h, q, wb + h).fork();
+                TimSort.Relay bc = new TimSort.Relay
+                    (new Merger(fc, a, w, b, q, b + q, h - q, wb));
+                new Sorter(bc, a, w, b + q, h - q, wb + q).fork();
+                s = new TimSort.EmptyCompleter(bc);
+                n = q;
+            }
+            ComparableTimSort.sort(a, b, b + n, w, wb, n);
+            s.tryComplete();
+        }
+    }
+
+    static final class Merger extends CountedCompleter<Void> {
+        static final long serialVersionUID = 2446542900576103244L;
+        final Object[] a, w; // merge from a into w
+        final int lbase, lsize, rbase, rsize, wbase;
+        Merger(CountedCompleter<?> par, Object[] a, Object[] w,
+               int lbase, int lsize, int rbase, int rsize, int wbase) {
+            super(par);
+            this.a = a; this.w = w;
+            this.lbase = lbase; this.lsize = lsize;
+            this.rbase = rbase; this.rsize = rsize;
+            this.wbase = wbase;
+        }
+
+        @SuppressWarnings("unchecked")
+        public final void compute() {
+            Object[] a = this.a, w = this.w; // localize all params
+            int lb = this.lbase, ln = this.lsize, rb = this.rbase,
+                rn = this.rsize, k = this.wbase;
+            if (a == null || w == null || lb < 0 || rb < 0 || k < 0)
+                throw new IllegalStateException(); // hoist checks
+            for (int lh, rh;;) {  // split larger, find point in smaller
+                if (ln >= rn) {
+                    if (!shouldSplit(ln, PARALLEL_GRAIN) || rn == 0)
+                        break;
+                    lh = ln >>> 1;
+                    rh = gallopLeft((Comparable<Object>) a[lb + lh],
+                                    a, rb, rn, rn >>> 1);
+                }
+                else {
+                    if (!shouldSplit(rn, PARALLEL_GRAIN) || ln == 0)
+                        break;
+                    rh = rn >>> 1;
+                    lh = gallopRight((Comparable<Object>) a[rb + rh],
+                                     a, lb, ln, ln >>> 1);
+                }
+                Merger m = new Merger(this, a, w, lb + lh, ln - lh,
+                                      rb + rh, rn - rh, k + lh + rh);
+                rn = rh;
+                ln = lh;
+                addToPendingCount(1);
+                m.fork();
+            }
+
+            if (ln > 0 && rn > 0) {
+                // Copy elements of left range preceding all of right
+                int n1 = gallopRight((Comparable<Object>) a[rb],
+                                     a, lb, ln, 0);
+                System.arraycopy(a, lb, w, k, n1);
+                lb += n1;
+                ln -= n1;
+                k += n1;
+                // Copy later elements of right range following all of left
+                if (ln > 0) {
+                    int n2 = gallopLeft((Comparable<Object>) a[lb + ln - 1],
+                                        a, rb, rn, rn - 1);
+                    System.arraycopy(a, rb + n2, w, k + ln + n2, rn - n2);
+                    rn = n2;
+                }
+            }
+            int lf = lb + ln, rf = rb + rn; // index bounds
+            while (lb < lf && rb < rf) {
+                Object t, al, ar;
+                if (((Comparable<Object>) (al = a[lb])).compareTo
+                    (ar = a[rb]) <= 0) {
+                    lb++; t = al;
+                }
+                else {
+                    rb++; t = ar;
+                }
+                w[k++] = t;
+            }
+            if (rb < rf)
+                System.arraycopy(a, rb, w, k, rf - rb);
+            else if (lb < lf)
+                System.arraycopy(a, lb, w, k, lf - lb);
+            tryComplete();
+        }
+    }
 }
@@ -26,6 +26,9 @@
 
 package java.util;
 
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * A stable, adaptive, iterative mergesort that requires far fewer than
  * n lg(n) comparisons when running on partially sorted arrays, while
@@ -57,6 +60,14 @@ package java.util;
  * sort, assuming the input array is large enough to warrant the full-blown
  * TimSort. Small arrays are sorted in place, using a binary insertion sort.
  *
+ * Large arrays may instead be sorted using parallelSort, a fork/join
+ * mergesort that uses TimSort for leaf subarrays, and merges pairs
+ * of sorted subarrays in parallel by finding split points using the
+ * same galloping searches as sequential merges.  It is intended to
+ * replace the ArraysParallelSortHelpers merge sort used by
+ * Arrays.parallelSort for object arrays, but class Arrays is not
+ * part of these sources, so as yet nothing here invokes it.
+ *
  * @author Josh Bloch
  */
 class TimSort<T> {
@@ -187,7 +198,7 @@ class TimSort<T> {
     }
 
     /*
-     * The next method (package private and static) constitutes the
+     * The next methods (package private and static) constitute the
      * entire API of this class.
      */
 
@@ -255,6 +266,51 @@ class TimSort<T> {
         assert ts.stackSize == 1;
     }
 
+    /**
+     * The minimum range length for which parallelSort uses more than
+     * one thread. Smaller ranges are sorted using sort.
+     */
+    private static final int MIN_PARALLEL_SORT = 1 << 13;
+
+    /**
+     * Sorts the given range in parallel in the common pool, using
+     * the given workspace array slice for temp storage if it holds at
+     * least as many elements as the range, else allocating one.  Like
+     * sort, this sort is stable. This method is designed to be
+     * invoked from public methods (in class Arrays, though none yet
+     * do) after performing any necessary array bounds checks and
+     * expanding parameters into the required forms.
+     *
+     * @param a the array to be sorted
+     * @param lo the index of the first element, inclusive, to be sorted
+     * @param hi the index of the last element, exclusive, to be sorted
+     * @param c the comparator to use
+     * @param work a workspace array (slice)
+     * @param workBase origin of usable space in work array
+     * @param workLen usable size of work array
+     * @since 12
+     */
+    static <T> void parallelSort(T[] a, int lo, int hi,
+                                 Comparator<? super T> c,
+                                 T[] work, int workBase, int workLen) {
+        assert c != null && a != null && lo >= 0 && lo <= hi && hi <= a.length;
+        int n = hi - lo;
+        if (n < MIN_PARALLEL_SORT ||
+            ForkJoinPool.getCommonPoolParallelism() == 1 ||
+            countRunAndMakeAscending(a, lo, hi, c) == n) // already sorted
+            sort(a, lo, hi, c, work, workBase, workLen);
+        else {
+            if (work == null || workLen < n || workBase + n > work.length) {
+                @SuppressWarnings("unchecked")
+                T[] newArray = (T[])java.lang.reflect.Array.newInstance
+                    (a.getClass().getComponentType(), n);
+                work = newArray;
+                workBase = 0;
+            }
+            new Sorter<T>(null, a, work, lo, n, workBase, c).invoke();
+        }
+    }
+
     /**
      * Sorts the specified portion of the specified array using a binary
      * insertion sort.  This is the best method for sorting small numbers
@@ -937,4 +993,169 @@ class TimSort<T> {
         }
         return tmp;
     }
+
+    /*
+     * Parallel sorting.
+     *
+     * Sorter tasks divide their range into quarters, sort each
+     * (forking all but the first), and then merge pairs into the
+     * workspace array and back, so that results end up in the
+     * original array. Leaf ranges are sorted using sort, with the
+     * corresponding slice of the workspace array as its tmp storage,
+     * so the only allocation is of the workspace itself (if not
+     * supplied by caller).  Ranges are split only while
+     * ForkJoinTask.shouldSplit advises, and never below
+     * MIN_PARALLEL_SORT / 4 elements.
+     *
+     * Merger tasks merge two adjacent sorted ranges of one array
+     * into the other.  They split the larger range at its middle, and
+     * find the corresponding split point in the smaller one using
+     * gallopLeft or gallopRight, so that elements that compare equal
+     * remain in the order of their ranges, preserving stability:
+     * When splitting the left range at key k, right elements less
+     * than k go to the lower merge; when splitting the right range at
+     * key k, left elements less than or equal to k go to the lower
+     * merge. Leaf merges first gallop past the elements of each range
+     * that are already in place (so merges of ranges that are
+     * already in order reduce to copies), as in mergeAt.
+     *
+     * Relay tasks trigger a merge when both of the ranges it merges
+     * are sorted.  EmptyCompleters serve as placeholders for
+     * completions of subtasks that are run rather than forked.
+     */
+
+    /** Minimum size of leaf sorts and merges */
+    private static final int PARALLEL_GRAIN = MIN_PARALLEL_SORT >>> 2;
+
+    static final class EmptyCompleter extends CountedCompleter<Void> {
+        static final long serialVersionUID = 2446542900576103244L;
+        EmptyCompleter(CountedCompleter<?> p) { super(p); }
+        public final void compute() { }
+    }
+
+    static final class Relay extends CountedCompleter<Void> {
+        static final long serialVersionUID = 2446542900576103244L;
+        final CountedCompleter<?> task;
+        Relay(CountedCompleter<?> task) {
+            super(null, 1);
+            this.task = task;
+        }
+        public final void compute() { }
+        public final void onCompletion(CountedCompleter<?> t) {
+            task.compute();
+        }
+    }
+
+    static final class Sorter<T> extends CountedCompleter<Void> {
+        static final long serialVersionUID = 2446542900576103244L;
+        final T[] a, w; // main and workspace arrays
+        final int base, size, wbase;
+        final Comparator<? super T> comparator;
+        Sorter(CountedCompleter<?> par, T[] a, T[] w, int base, int size,
+               int wbase, Comparator<? super T> comparator) {
+            super(par);
+            this.a = a; this.w = w; this.base = base; this.size = size;
+            this.wbase = wbase; this.comparator = comparator;
+        }
+        public final void compute() {
+            CountedCompleter<?> s = this;
+            Comparator<? super T> c = this.comparator;
+            T[] a = this.a, w = this.w; // localize all params
+            int b = this.base, n = this.size, wb = this.wbase;
+            while (shouldSplit(n, MIN_PARALLEL_SORT)) {
+                int h = n >>> 1, q = h >>> 1, u = h + q; // quartiles
+                Relay fc = new Relay(new Merger<T>(s, w, a, wb, h,
+                                                   wb + h, n - h, b, c));
+                Relay rc = new Relay(new Merger<T>(fc, a, w, b + h, q,
+                                                   b + u, n - u, wb + h, c));
+                new Sorter<T>(rc, a, w, b + u, n - u, wb + u, c).fork();
+                new Sorter<T>(rc, a, w, b + h, q, wb + h, c).fork();
+                Relay bc = new Relay(new Merger<T>(fc, a, w, b, q,
+                                                   b + q, h - q, wb, c));
+                new Sorter<T>(bc, a, w, b + q, h - q, wb + q, c).fork();
+                s = new EmptyCompleter(bc);
+                n = q;
+            }
+            TimSort.sort(a, b, b + n, c, w, wb, n);
+            s.tryComplete();
+        }
+    }
+
+    static final class Merger<T> extends CountedCompleter<Void> {
+        static final long serialVersionUID = 2446542900576103244L;
+        final T[] a, w; // merge from a into w
+        final int lbase, lsize, rbase, rsize, wbase;
+        final Comparator<? super T> comparator;
+        Merger(CountedCompleter<?> par, T[] a, T[] w,
+               int lbase, int lsize, int rbase,
+               int rsize, int wbase, Comparator<? super T> comparator) {
+            super(par);
+            this.a = a; this.w = w;
+            this.lbase = lbase; this.lsize = lsize;
+            this.rbase = rbase; this.rsize = rsize;
+            this.wbase = wbase; this.comparator = comparator;
+        }
+
+        public final void compute() {
+            Comparator<? super T> c = this.comparator;
+            T[] a = this.a, w = this.w; // localize all params
+            int lb = this.lbase, ln = this.lsize, rb = this.rbase,
+                rn = this.rsize, k = this.wbase;
+            if (a == null || w == null || lb < 0 || rb < 0 || k < 0 ||
+                c == null)
+                throw new IllegalStateException(); // hoist checks
+            for (int lh, rh;;) {  // split larger, find point in smaller
+                if (ln >= rn) {
+                    if (!shouldSplit(ln, PARALLEL_GRAIN) || rn == 0)
+                        break;
+                    lh = ln >>> 1;
+                    rh = gallopLeft(a[lb + lh], a, rb, rn, rn >>> 1, c);
+                }
+                else {
+                    if (!shouldSplit(rn, PARALLEL_GRAIN) || ln == 0)
+                        break;
+                    rh = rn >>> 1;
+                    lh = gallopRight(a[rb + rh], a, lb, ln, ln >>> 1, c);
+                }
+                Merger<T> m = new Merger<T>(this, a, w, lb + lh, ln - lh,
+                                            rb + rh, rn - rh,
+                                            k + lh + rh, c);
+                rn = rh;
+                ln = lh;
+                addToPendingCount(1);
+                m.fork();
+            }
+
+            if (ln > 0 && rn > 0) {
+                // Copy elements of left range preceding all of right
+                int n1 = gallopRight(a[rb], a, lb, ln, 0, c);
+                System.arraycopy(a, lb, w, k, n1);
+                lb += n1;
+                ln -= n1;
+                k += n1;
+                // Copy later elements of right range following all of left
+                if (ln > 0) {
+                    int n2 = gallopLeft(a[lb + ln - 1], a, rb, rn, rn - 1, c);
+                    System.arraycopy(a, rb + n2, w, k + ln + n2, rn - n2);
+                    rn = n2;
+                }
+            }
+            int lf = lb + ln, rf = rb + rn; // index bounds
+            while (lb < lf && rb < rf) {
+                T t, al, ar;
+                if (c.compare((al = a[lb]), (ar = a[rb])) <= 0) {
+                    lb++; t = al;
+                }
+                else {
+                    rb++; t = ar;
+                }
+                w[k++] = t;
+            }
+            if (rb < rf)
+                System.arraycopy(a, rb, w, k, rf - rb);
+            else if (lb < lf)
+                System.arraycopy(a, lb, w, k, lf - lb);
+            tryComplete();
+        }
+    }
 }
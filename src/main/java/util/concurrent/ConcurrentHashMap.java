@@ -539,6 +539,11 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
      */
     private static final int MIN_TRANSFER_STRIDE = 16;
 
+    /**
+     * The largest initial batch value for bulk tasks (see batchFor).
+     */
+    private static final int MAX_BATCH = 1 << 30;
+
     /**
      * The number of bits used for generation stamp in sizeCtl.
      * Must be at least 6 for 32bit arrays.
@@ -3644,18 +3649,22 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
 
     /**
      * Computes initial batch value for bulk tasks. The returned value
-     * is approximately exp2 of the number of times (minus one) to
-     * split task by two before executing leaf action. This value is
-     * faster to compute and more convenient to use as a guide to
-     * splitting than is the depth, since it is used while dividing by
-     * two anyway.
+     * is approximately exp2 of the maximum number of times (minus
+     * one) to split task by two before executing leaf action, so
+     * that leaves hold at least parallelismThreshold elements. This
+     * value is faster to compute and more convenient to use as a
+     * guide to splitting than is the depth, since it is used while
+     * dividing by two anyway. Within this bound, tasks split only
+     * while ForkJoinTask.shouldSplit advises, so granularity adapts
+     * to the number of workers available to steal subtasks.
      */
     final int batchFor(long b) {
         long n;
         if (b == Long.MAX_VALUE || (n = sumCount()) <= 1L || n < b)
             return 0;
-        int sp = ForkJoinPool.getCommonPoolParallelism() << 2; // slack of 4
-        return (b <= 0L || (n /= b) >= sp) ? sp : (int)n;
+        if (b > 1L)
+            n /= b;
+        return (n >= MAX_BATCH) ? MAX_BATCH : (int)n;
     }
 
     /**
@@ -4959,7 +4968,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
         public final void compute() {
             final Consumer<? super K> action;
             if ((action = this.action) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     new ForEachKeyTask<K,V>
@@ -4986,7 +4995,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
         public final void compute() {
             final Consumer<? super V> action;
             if ((action = this.action) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     new ForEachValueTask<K,V>
@@ -5013,7 +5022,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
         public final void compute() {
             final Consumer<? super Entry<K,V>> action;
             if ((action = this.action) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     new ForEachEntryTask<K,V>
@@ -5040,7 +5049,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
         public final void compute() {
             final BiConsumer<? super K, ? super V> action;
             if ((action = this.action) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     new ForEachMappingTask<K,V>
@@ -5070,7 +5079,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             final Consumer<? super U> action;
             if ((transformer = this.transformer) != null &&
                 (action = this.action) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     new ForEachTransformedKeyTask<K,V,U>
@@ -5103,7 +5112,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             final Consumer<? super U> action;
             if ((transformer = this.transformer) != null &&
                 (action = this.action) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     new ForEachTransformedValueTask<K,V,U>
@@ -5136,7 +5145,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             final Consumer<? super U> action;
             if ((transformer = this.transformer) != null &&
                 (action = this.action) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     new ForEachTransformedEntryTask<K,V,U>
@@ -5170,7 +5179,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             final Consumer<? super U> action;
             if ((transformer = this.transformer) != null &&
                 (action = this.action) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     new ForEachTransformedMappingTask<K,V,U>
@@ -5205,7 +5214,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             final AtomicReference<U> result;
             if ((searchFunction = this.searchFunction) != null &&
                 (result = this.result) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     if (result.get() != null)
                         return;
@@ -5249,7 +5258,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             final AtomicReference<U> result;
             if ((searchFunction = this.searchFunction) != null &&
                 (result = this.result) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     if (result.get() != null)
                         return;
@@ -5293,7 +5302,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             final AtomicReference<U> result;
             if ((searchFunction = this.searchFunction) != null &&
                 (result = this.result) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     if (result.get() != null)
                         return;
@@ -5337,7 +5346,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             final AtomicReference<U> result;
             if ((searchFunction = this.searchFunction) != null &&
                 (result = this.result) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     if (result.get() != null)
                         return;
@@ -5380,7 +5389,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
         public final void compute() {
             final BiFunction<? super K, ? super K, ? extends K> reducer;
             if ((reducer = this.reducer) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new ReduceKeysTask<K,V>
@@ -5428,7 +5437,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
         public final void compute() {
             final BiFunction<? super V, ? super V, ? extends V> reducer;
             if ((reducer = this.reducer) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new ReduceValuesTask<K,V>
@@ -5476,7 +5485,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
         public final void compute() {
             final BiFunction<Map.Entry<K,V>, Map.Entry<K,V>, ? extends Map.Entry<K,V>> reducer;
             if ((reducer = this.reducer) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new ReduceEntriesTask<K,V>
@@ -5527,7 +5536,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             final BiFunction<? super U, ? super U, ? extends U> reducer;
             if ((transformer = this.transformer) != null &&
                 (reducer = this.reducer) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new MapReduceKeysTask<K,V,U>
@@ -5581,7 +5590,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             final BiFunction<? super U, ? super U, ? extends U> reducer;
             if ((transformer = this.transformer) != null &&
                 (reducer = this.reducer) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new MapReduceValuesTask<K,V,U>
@@ -5635,7 +5644,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             final BiFunction<? super U, ? super U, ? extends U> reducer;
             if ((transformer = this.transformer) != null &&
                 (reducer = this.reducer) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new MapReduceEntriesTask<K,V,U>
@@ -5689,7 +5698,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             final BiFunction<? super U, ? super U, ? extends U> reducer;
             if ((transformer = this.transformer) != null &&
                 (reducer = this.reducer) != null) {
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new MapReduceMappingsTask<K,V,U>
@@ -5746,7 +5755,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             if ((transformer = this.transformer) != null &&
                 (reducer = this.reducer) != null) {
                 double r = this.basis;
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new MapReduceKeysToDoubleTask<K,V>
@@ -5796,7 +5805,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             if ((transformer = this.transformer) != null &&
                 (reducer = this.reducer) != null) {
                 double r = this.basis;
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new MapReduceValuesToDoubleTask<K,V>
@@ -5846,7 +5855,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             if ((transformer = this.transformer) != null &&
                 (reducer = this.reducer) != null) {
                 double r = this.basis;
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new MapReduceEntriesToDoubleTask<K,V>
@@ -5896,7 +5905,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             if ((transformer = this.transformer) != null &&
                 (reducer = this.reducer) != null) {
                 double r = this.basis;
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new MapReduceMappingsToDoubleTask<K,V>
@@ -5946,7 +5955,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             if ((transformer = this.transformer) != null &&
                 (reducer = this.reducer) != null) {
                 long r = this.basis;
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new MapReduceKeysToLongTask<K,V>
@@ -5996,7 +6005,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             if ((transformer = this.transformer) != null &&
                 (reducer = this.reducer) != null) {
                 long r = this.basis;
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new MapReduceValuesToLongTask<K,V>
@@ -6046,7 +6055,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             if ((transformer = this.transformer) != null &&
                 (reducer = this.reducer) != null) {
                 long r = this.basis;
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new MapReduceEntriesToLongTask<K,V>
@@ -6096,7 +6105,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             if ((transformer = this.transformer) != null &&
                 (reducer = this.reducer) != null) {
                 long r = this.basis;
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new MapReduceMappingsToLongTask<K,V>
@@ -6146,7 +6155,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             if ((transformer = this.transformer) != null &&
                 (reducer = this.reducer) != null) {
                 int r = this.basis;
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new MapReduceKeysToIntTask<K,V>
@@ -6196,7 +6205,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             if ((transformer = this.transformer) != null &&
                 (reducer = this.reducer) != null) {
                 int r = this.basis;
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new MapReduceValuesToIntTask<K,V>
@@ -6246,7 +6255,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             if ((transformer = this.transformer) != null &&
                 (reducer = this.reducer) != null) {
                 int r = this.basis;
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new MapReduceEntriesToIntTask<K,V>
@@ -6296,7 +6305,7 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
             if ((transformer = this.transformer) != null &&
                 (reducer = this.reducer) != null) {
                 int r = this.basis;
-                for (int i = baseIndex, f, h; batch > 0 &&
+                for (int i = baseIndex, f, h; shouldSplit(batch, 0) &&
                          (h = ((f = baseLimit) + i) >>> 1) > i;) {
                     addToPendingCount(1);
                     (rights = new MapReduceMappingsToIntTask<K,V>
@@ -18,6 +18,7 @@ package java.util.concurrent;
 
 import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
@@ -30,6 +31,7 @@ import java.util.Objects;
 import java.util.RandomAccess;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
@@ -53,7 +55,8 @@ import jdk.internal.misc.SharedSecrets;
  * the list since the iterator was created.  Element-changing
  * operations on iterators themselves ({@code remove}, {@code set}, and
  * {@code add}) are not supported. These methods throw
- * {@code UnsupportedOperationException}.
+ * {@code UnsupportedOperationException}.  A sequence of mutations
+ * can be applied with a single copy using method {@link #mutate}.
  *
  * <p>All elements are permitted, including {@code null}.
  *
@@ -77,10 +80,12 @@ public class CopyOnWriteArrayList<E>
     private static final long serialVersionUID = 8673264195747942595L;
 
     /**
-     * The lock protecting all mutators.  (We have a mild preference
-     * for builtin monitors over ReentrantLock when either will do.)
+     * The lock protecting all mutators.  This is a ReentrantLock
+     * rather than a builtin monitor, so that threads contending for it
+     * park rather than block on a monitor, which would pin the
+     * carriers of threads scheduled on top of others.
      */
-    final transient Object lock = new Object();
+    final transient ReentrantLock lock = new ReentrantLock();
 
     /** The array, accessed only via getArray/setArray. */
     private transient volatile Object[] array;
@@ -388,7 +393,8 @@ public class CopyOnWriteArrayList<E>
      * @throws IndexOutOfBoundsException {@inheritDoc}
      */
     public E set(int index, E element) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             Object[] es = getArray();
             E oldValue = elementAt(es, index);
 
@@ -398,6 +404,8 @@ public class CopyOnWriteArrayList<E>
                 setArray(es);
             }
             return oldValue;
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -408,13 +416,16 @@ public class CopyOnWriteArrayList<E>
      * @return {@code true} (as specified by {@link Collection#add})
      */
     public boolean add(E e) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             Object[] es = getArray();
             int len = es.length;
             es = Arrays.copyOf(es, len + 1);
             es[len] = e;
             setArray(es);
             return true;
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -426,7 +437,8 @@ public class CopyOnWriteArrayList<E>
      * @throws IndexOutOfBoundsException {@inheritDoc}
      */
     public void add(int index, E element) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             Object[] es = getArray();
             int len = es.length;
             if (index > len || index < 0)
@@ -443,6 +455,8 @@ public class CopyOnWriteArrayList<E>
             }
             newElements[index] = element;
             setArray(newElements);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -454,7 +468,8 @@ public class CopyOnWriteArrayList<E>
      * @throws IndexOutOfBoundsException {@inheritDoc}
      */
     public E remove(int index) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             Object[] es = getArray();
             int len = es.length;
             E oldValue = elementAt(es, index);
@@ -470,6 +485,8 @@ public class CopyOnWriteArrayList<E>
             }
             setArray(newElements);
             return oldValue;
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -496,7 +513,8 @@ public class CopyOnWriteArrayList<E>
      * recent snapshot contains o at the given index.
      */
     private boolean remove(Object o, Object[] snapshot, int index) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             Object[] current = getArray();
             int len = current.length;
             if (snapshot != current) findIndex: {
@@ -523,6 +541,8 @@ public class CopyOnWriteArrayList<E>
                              len - index - 1);
             setArray(newElements);
             return true;
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -539,7 +559,8 @@ public class CopyOnWriteArrayList<E>
      *         ({@code fromIndex < 0 || toIndex > size() || toIndex < fromIndex})
      */
     void removeRange(int fromIndex, int toIndex) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             Object[] es = getArray();
             int len = es.length;
 
@@ -556,6 +577,8 @@ public class CopyOnWriteArrayList<E>
                                  fromIndex, numMoved);
                 setArray(newElements);
             }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -576,7 +599,8 @@ public class CopyOnWriteArrayList<E>
      * recent snapshot does not contain e.
      */
     private boolean addIfAbsent(E e, Object[] snapshot) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             Object[] current = getArray();
             int len = current.length;
             if (snapshot != current) {
@@ -593,6 +617,8 @@ public class CopyOnWriteArrayList<E>
             newElements[len] = e;
             setArray(newElements);
             return true;
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -673,7 +699,8 @@ public class CopyOnWriteArrayList<E>
         Object[] cs = c.toArray();
         if (cs.length == 0)
             return 0;
-        synchronized (lock) {
+        lock.lock();
+        try {
             Object[] es = getArray();
             int len = es.length;
             int added = 0;
@@ -690,6 +717,8 @@ public class CopyOnWriteArrayList<E>
                 setArray(newElements);
             }
             return added;
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -698,8 +727,11 @@ public class CopyOnWriteArrayList<E>
      * The list will be empty after this call returns.
      */
     public void clear() {
-        synchronized (lock) {
+        lock.lock();
+        try {
             setArray(new Object[0]);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -718,7 +750,8 @@ public class CopyOnWriteArrayList<E>
             ((CopyOnWriteArrayList<?>)c).getArray() : c.toArray();
         if (cs.length == 0)
             return false;
-        synchronized (lock) {
+        lock.lock();
+        try {
             Object[] es = getArray();
             int len = es.length;
             Object[] newElements;
@@ -730,6 +763,8 @@ public class CopyOnWriteArrayList<E>
             }
             setArray(newElements);
             return true;
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -751,7 +786,8 @@ public class CopyOnWriteArrayList<E>
      */
     public boolean addAll(int index, Collection<? extends E> c) {
         Object[] cs = c.toArray();
-        synchronized (lock) {
+        lock.lock();
+        try {
             Object[] es = getArray();
             int len = es.length;
             if (index > len || index < 0)
@@ -772,6 +808,48 @@ public class CopyOnWriteArrayList<E>
             System.arraycopy(cs, 0, newElements, index, cs.length);
             setArray(newElements);
             return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Performs the given action on a mutable copy of this list, and
+     * then replaces the contents of this list with the contents of
+     * the copy, as a single atomic update.  This allows a sequence of
+     * mutations (for example, registering many listeners) to be
+     * performed with a constant number of array copies, rather than
+     * one copy per mutation.  Concurrent readers and iterators see
+     * either none or all of the changes.  Other mutations of this
+     * list are blocked while the action is performed, so the action
+     * should be short.
+     *
+     * <p>The action must not modify this list other than through its
+     * argument, and should not retain its argument; changes made to
+     * the copy after the action returns have no effect.  If the
+     * action throws an exception, this list is unchanged, and the
+     * exception is relayed to the caller.
+     *
+     * @param action the action to perform on a copy of this list
+     * @throws NullPointerException if the specified action is null
+     * @throws ConcurrentModificationException if the action directly
+     *         modified this list
+     * @since 12
+     */
+    public void mutate(Consumer<? super List<E>> action) {
+        Objects.requireNonNull(action);
+        lock.lock();
+        try {
+            final Object[] es = getArray();
+            @SuppressWarnings("unchecked") List<E> copy =
+                (List<E>) new ArrayList<Object>(Arrays.asList(es));
+            action.accept(copy);
+            // Did action reentrantly modify the list?
+            if (es != getArray())
+                throw new ConcurrentModificationException();
+            setArray(copy.toArray());
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -807,13 +885,16 @@ public class CopyOnWriteArrayList<E>
     }
 
     private boolean bulkRemove(Predicate<? super E> filter) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             return bulkRemove(filter, 0, getArray().length);
+        } finally {
+            lock.unlock();
         }
     }
 
     boolean bulkRemove(Predicate<? super E> filter, int i, int end) {
-        // assert Thread.holdsLock(lock);
+        // assert lock.isHeldByCurrentThread();
         final Object[] es = getArray();
         // Optimize for initial run of survivors
         for (; i < end && !filter.test(elementAt(es, i)); i++)
@@ -847,13 +928,16 @@ public class CopyOnWriteArrayList<E>
     }
 
     public void replaceAll(UnaryOperator<E> operator) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             replaceAllRange(operator, 0, getArray().length);
+        } finally {
+            lock.unlock();
         }
     }
 
     void replaceAllRange(UnaryOperator<E> operator, int i, int end) {
-        // assert Thread.holdsLock(lock);
+        // assert lock.isHeldByCurrentThread();
         Objects.requireNonNull(operator);
         final Object[] es = getArray().clone();
         for (; i < end; i++)
@@ -862,14 +946,17 @@ public class CopyOnWriteArrayList<E>
     }
 
     public void sort(Comparator<? super E> c) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             sortRange(c, 0, getArray().length);
+        } finally {
+            lock.unlock();
         }
     }
 
     @SuppressWarnings("unchecked")
     void sortRange(Comparator<? super E> c, int i, int end) {
-        // assert Thread.holdsLock(lock);
+        // assert lock.isHeldByCurrentThread();
         final Object[] es = getArray().clone();
         Arrays.sort(es, i, end, (Comparator<Object>)c);
         setArray(es);
@@ -1147,13 +1234,16 @@ public class CopyOnWriteArrayList<E>
      * @throws IndexOutOfBoundsException {@inheritDoc}
      */
     public List<E> subList(int fromIndex, int toIndex) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             Object[] es = getArray();
             int len = es.length;
             int size = toIndex - fromIndex;
             if (fromIndex < 0 || toIndex > len || size < 0)
                 throw new IndexOutOfBoundsException();
             return new COWSubList(es, fromIndex, size);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -1166,20 +1256,20 @@ public class CopyOnWriteArrayList<E>
         private Object[] expectedArray;
 
         COWSubList(Object[] es, int offset, int size) {
-            // assert Thread.holdsLock(lock);
+            // assert lock.isHeldByCurrentThread();
             expectedArray = es;
             this.offset = offset;
             this.size = size;
         }
 
         private void checkForComodification() {
-            // assert Thread.holdsLock(lock);
+            // assert lock.isHeldByCurrentThread();
             if (getArray() != expectedArray)
                 throw new ConcurrentModificationException();
         }
 
         private Object[] getArrayChecked() {
-            // assert Thread.holdsLock(lock);
+            // assert lock.isHeldByCurrentThread();
             Object[] a = getArray();
             if (a != expectedArray)
                 throw new ConcurrentModificationException();
@@ -1187,13 +1277,13 @@ public class CopyOnWriteArrayList<E>
         }
 
         private void rangeCheck(int index) {
-            // assert Thread.holdsLock(lock);
+            // assert lock.isHeldByCurrentThread();
             if (index < 0 || index >= size)
                 throw new IndexOutOfBoundsException(outOfBounds(index, size));
         }
 
         private void rangeCheckForAdd(int index) {
-            // assert Thread.holdsLock(lock);
+            // assert lock.isHeldByCurrentThread();
             if (index < 0 || index > size)
                 throw new IndexOutOfBoundsException(outOfBounds(index, size));
         }
@@ -1202,10 +1292,13 @@ public class CopyOnWriteArrayList<E>
             final Object[] es;
             final int offset;
             final int size;
-            synchronized (lock) {
+            lock.lock();
+            try {
                 es = getArrayChecked();
                 offset = this.offset;
                 size = this.size;
+            } finally {
+                lock.unlock();
             }
             return Arrays.copyOfRange(es, offset, offset + size);
         }
@@ -1215,10 +1308,13 @@ public class CopyOnWriteArrayList<E>
             final Object[] es;
             final int offset;
             final int size;
-            synchronized (lock) {
+            lock.lock();
+            try {
                 es = getArrayChecked();
                 offset = this.offset;
                 size = this.size;
+            } finally {
+                lock.unlock();
             }
             if (a.length < size)
                 return (T[]) Arrays.copyOfRange(
@@ -1235,10 +1331,13 @@ public class CopyOnWriteArrayList<E>
             final Object[] es;
             final int offset;
             final int size;
-            synchronized (lock) {
+            lock.lock();
+            try {
                 es = getArrayChecked();
                 offset = this.offset;
                 size = this.size;
+            } finally {
+                lock.unlock();
             }
             int i = indexOfRange(o, es, offset, offset + size);
             return (i == -1) ? -1 : i - offset;
@@ -1248,10 +1347,13 @@ public class CopyOnWriteArrayList<E>
             final Object[] es;
             final int offset;
             final int size;
-            synchronized (lock) {
+            lock.lock();
+            try {
                 es = getArrayChecked();
                 offset = this.offset;
                 size = this.size;
+            } finally {
+                lock.unlock();
             }
             int i = lastIndexOfRange(o, es, offset, offset + size);
             return (i == -1) ? -1 : i - offset;
@@ -1265,10 +1367,13 @@ public class CopyOnWriteArrayList<E>
             final Object[] es;
             final int offset;
             final int size;
-            synchronized (lock) {
+            lock.lock();
+            try {
                 es = getArrayChecked();
                 offset = this.offset;
                 size = this.size;
+            } finally {
+                lock.unlock();
             }
             for (Object o : c)
                 if (indexOfRange(o, es, offset, offset + size) < 0)
@@ -1288,10 +1393,13 @@ public class CopyOnWriteArrayList<E>
             final Object[] es;
             final int offset;
             final int size;
-            synchronized (lock) {
+            lock.lock();
+            try {
                 es = getArrayChecked();
                 offset = this.offset;
                 size = this.size;
+            } finally {
+                lock.unlock();
             }
             return hashCodeOfRange(es, offset, offset + size);
         }
@@ -1306,10 +1414,13 @@ public class CopyOnWriteArrayList<E>
             final Object[] es;
             final int offset;
             final int size;
-            synchronized (lock) {
+            lock.lock();
+            try {
                 es = getArrayChecked();
                 offset = this.offset;
                 size = this.size;
+            } finally {
+                lock.unlock();
             }
 
             for (int i = offset, end = offset + size; i < end; i++)
@@ -1319,99 +1430,129 @@ public class CopyOnWriteArrayList<E>
         }
 
         public E set(int index, E element) {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 rangeCheck(index);
                 checkForComodification();
                 E x = CopyOnWriteArrayList.this.set(offset + index, element);
                 expectedArray = getArray();
                 return x;
+            } finally {
+                lock.unlock();
             }
         }
 
         public E get(int index) {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 rangeCheck(index);
                 checkForComodification();
                 return CopyOnWriteArrayList.this.get(offset + index);
+            } finally {
+                lock.unlock();
             }
         }
 
         public int size() {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 checkForComodification();
                 return size;
+            } finally {
+                lock.unlock();
             }
         }
 
         public boolean add(E element) {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 checkForComodification();
                 CopyOnWriteArrayList.this.add(offset + size, element);
                 expectedArray = getArray();
                 size++;
+            } finally {
+                lock.unlock();
             }
             return true;
         }
 
         public void add(int index, E element) {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 checkForComodification();
                 rangeCheckForAdd(index);
                 CopyOnWriteArrayList.this.add(offset + index, element);
                 expectedArray = getArray();
                 size++;
+            } finally {
+                lock.unlock();
             }
         }
 
         public boolean addAll(Collection<? extends E> c) {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 final Object[] oldArray = getArrayChecked();
                 boolean modified =
                     CopyOnWriteArrayList.this.addAll(offset + size, c);
                 size += (expectedArray = getArray()).length - oldArray.length;
                 return modified;
+            } finally {
+                lock.unlock();
             }
         }
 
         public boolean addAll(int index, Collection<? extends E> c) {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 rangeCheckForAdd(index);
                 final Object[] oldArray = getArrayChecked();
                 boolean modified =
                     CopyOnWriteArrayList.this.addAll(offset + index, c);
                 size += (expectedArray = getArray()).length - oldArray.length;
                 return modified;
+            } finally {
+                lock.unlock();
             }
         }
 
         public void clear() {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 checkForComodification();
                 removeRange(offset, offset + size);
                 expectedArray = getArray();
                 size = 0;
+            } finally {
+                lock.unlock();
             }
         }
 
         public E remove(int index) {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 rangeCheck(index);
                 checkForComodification();
                 E result = CopyOnWriteArrayList.this.remove(offset + index);
                 expectedArray = getArray();
                 size--;
                 return result;
+            } finally {
+                lock.unlock();
             }
         }
 
         public boolean remove(Object o) {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 checkForComodification();
                 int index = indexOf(o);
                 if (index == -1)
                     return false;
                 remove(index);
                 return true;
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -1424,48 +1565,63 @@ public class CopyOnWriteArrayList<E>
         }
 
         public ListIterator<E> listIterator(int index) {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 checkForComodification();
                 rangeCheckForAdd(index);
                 return new COWSubListIterator<E>(
                     CopyOnWriteArrayList.this, index, offset, size);
+            } finally {
+                lock.unlock();
             }
         }
 
         public List<E> subList(int fromIndex, int toIndex) {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 checkForComodification();
                 if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
                     throw new IndexOutOfBoundsException();
                 return new COWSubList(expectedArray, fromIndex + offset, toIndex - fromIndex);
+            } finally {
+                lock.unlock();
             }
         }
 
         public void forEach(Consumer<? super E> action) {
             Objects.requireNonNull(action);
             int i, end; final Object[] es;
-            synchronized (lock) {
+            lock.lock();
+            try {
                 es = getArrayChecked();
                 i = offset;
                 end = i + size;
+            } finally {
+                lock.unlock();
             }
             for (; i < end; i++)
                 action.accept(elementAt(es, i));
         }
 
         public void replaceAll(UnaryOperator<E> operator) {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 checkForComodification();
                 replaceAllRange(operator, offset, offset + size);
                 expectedArray = getArray();
+            } finally {
+                lock.unlock();
             }
         }
 
         public void sort(Comparator<? super E> c) {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 checkForComodification();
                 sortRange(c, offset, offset + size);
                 expectedArray = getArray();
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -1485,20 +1641,26 @@ public class CopyOnWriteArrayList<E>
         }
 
         private boolean bulkRemove(Predicate<? super E> filter) {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 final Object[] oldArray = getArrayChecked();
                 boolean modified = CopyOnWriteArrayList.this.bulkRemove(
                     filter, offset, offset + size);
                 size += (expectedArray = getArray()).length - oldArray.length;
                 return modified;
+            } finally {
+                lock.unlock();
             }
         }
 
         public Spliterator<E> spliterator() {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 return Spliterators.spliterator(
                         getArrayChecked(), offset, offset + size,
                         Spliterator.IMMUTABLE | Spliterator.ORDERED);
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -1580,7 +1742,7 @@ public class CopyOnWriteArrayList<E>
                     throw new Error(e);
                 }});
         try {
-            lockField.set(this, new Object());
+            lockField.set(this, new ReentrantLock());
         } catch (IllegalAccessException e) {
             throw new Error(e);
         }
@@ -0,0 +1,889 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+package java.util.concurrent;
+
+import java.lang.reflect.Field;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * A {@link ConcurrentMap} in which all mutative operations ({@code
+ * put}, {@code remove}, and so on) are implemented by making a fresh
+ * copy of an internal hash table.  This class bears the same
+ * relationship to {@link ConcurrentHashMap} as {@link
+ * CopyOnWriteArrayList} does to other lists:
+ * <ul>
+ *  <li>It is best suited for applications in which read-only
+ *       operations vastly outnumber mutative operations, for example
+ *       registries of listeners or routing tables.
+ *  <li>Retrieval operations ({@code get}, {@code containsKey}) take
+ *       expected constant time, never block, and perform only a
+ *       single volatile read.
+ *  <li>Mutative operations are expensive since they entail copying
+ *       the entire table.  Method {@link #putAll} and the bulk
+ *       removal operations of the views ({@code removeAll}, {@code
+ *       retainAll}, and {@code removeIf}) copy the table only once
+ *       per call.
+ *  <li>Iterators and spliterators traverse an unchanging snapshot of
+ *       the mappings at the time they were constructed, in the order
+ *       in which the keys were first inserted, and never throw
+ *       {@link java.util.ConcurrentModificationException}.
+ *       Iterator {@code remove} and entry {@code setValue} operations
+ *       write through to the map, but are not reflected in the
+ *       snapshot being traversed.
+ * </ul>
+ *
+ * <p>Like {@link ConcurrentHashMap}, this class does <em>not</em>
+ * allow {@code null} to be used as a key or value.
+ *
+ * <p>Memory consistency effects: As with other concurrent
+ * collections, actions in a thread prior to placing an object into a
+ * {@code CopyOnWriteHashMap} as a key or value
+ * <a href="package-summary.html#MemoryVisibility"><i>happen-before</i></a>
+ * actions subsequent to the access or removal of that object from
+ * the {@code CopyOnWriteHashMap} in another thread.
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/java/util/package-summary.html#CollectionsFramework">
+ * Java Collections Framework</a>.
+ *
+ * @see CopyOnWriteHashSet
+ * @since 12
+ * @author Doug Lea
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public class CopyOnWriteHashMap<K,V> extends AbstractMap<K,V>
+    implements ConcurrentMap<K,V>, java.io.Serializable {
+    private static final long serialVersionUID = -3104738229616442150L;
+
+    /*
+     * Overview:
+     *
+     * The current mappings are held in an immutable Table, replaced
+     * as a whole (under lock, as in CopyOnWriteArrayList) on each
+     * modification.  A Table holds keys and values interleaved in
+     * array kvs in insertion order, their spread hash codes in array
+     * hashes, and an open-addressed (linear probing) index of
+     * positions, with load factor at most 1/2.  Keeping the mappings
+     * dense and ordered makes traversal as cheap as for
+     * CopyOnWriteArrayList; cached hashes avoid most calls to equals
+     * during probes, and let indices be rebuilt without calling
+     * hashCode.
+     *
+     * Adding a mapping copies kvs and hashes, and copies the index if
+     * it has room, else rebuilds a larger one.  Replacing a value
+     * copies only kvs, sharing the other arrays.  Removal compacts
+     * the arrays and rebuilds the index.  Bulk insertions go through
+     * a Builder that grows its arrays geometrically, so that adding
+     * n mappings in one call costs O(n) rather than O(n^2).
+     * Similarly, bulk removals (removeMappingsIf) compact the arrays
+     * and rebuild the index only once.
+     */
+
+    /**
+     * An immutable snapshot of the mappings.
+     */
+    static final class Table {
+        /** Keys at even indices, each followed by its value */
+        final Object[] kvs;
+        /** Spread hash codes of keys, by position */
+        final int[] hashes;
+        /** Open-addressed index: 1 + position of key, or 0 if empty */
+        final int[] index;
+
+        Table(Object[] kvs, int[] hashes, int[] index) {
+            this.kvs = kvs;
+            this.hashes = hashes;
+            this.index = index;
+        }
+
+        /** Returns the position of key k, or -1. */
+        final int find(Object k) {
+            final int[] ix = index, hs = hashes;
+            if (hs.length == 0) {       // don't call hashCode if empty
+                Objects.requireNonNull(k);
+                return -1;
+            }
+            final Object[] a = kvs;
+            final int h = spread(k.hashCode()), m = ix.length - 1;
+            for (int i = h & m, p; (p = ix[i]) != 0; i = (i + 1) & m) {
+                Object x;
+                if (hs[--p] == h && ((x = a[p << 1]) == k || k.equals(x)))
+                    return p;
+            }
+            return -1;
+        }
+
+        /** Returns a table with the value at position p replaced. */
+        final Table withValue(int p, Object v) {
+            Object[] a = kvs.clone();
+            a[(p << 1) + 1] = v;
+            return new Table(a, hashes, index);
+        }
+
+        /** Returns a table without the mapping at position p. */
+        final Table without(int p) {
+            int n = hashes.length - 1;
+            Object[] a = new Object[n << 1];
+            int[] hs = new int[n];
+            System.arraycopy(kvs, 0, a, 0, p << 1);
+            System.arraycopy(kvs, (p + 1) << 1, a, p << 1, (n - p) << 1);
+            System.arraycopy(hashes, 0, hs, 0, p);
+            System.arraycopy(hashes, p + 1, hs, p, n - p);
+            return new Table(a, hs, buildIndex(hs, n, indexSize(n)));
+        }
+    }
+
+    /**
+     * Accumulates insertions into copies of a table's arrays.
+     */
+    static final class Builder {
+        Object[] kvs;
+        int[] hashes;
+        int[] index;
+        int size;
+
+        Builder(Table t, int extra) {
+            int n = t.hashes.length, cap = n + Math.max(extra, 1);
+            kvs = Arrays.copyOf(t.kvs, cap << 1);
+            hashes = Arrays.copyOf(t.hashes, cap);
+            int isize = indexSize(cap);
+            index = (t.index.length >= isize) ? t.index.clone()
+                : buildIndex(hashes, n, isize);
+            size = n;
+        }
+
+        /**
+         * Adds the mapping, or if onlyIfAbsent is false replaces the
+         * value of an existing mapping for the key.
+         *
+         * @return true if a mapping was added
+         */
+        final boolean put(Object k, Object v, boolean onlyIfAbsent) {
+            int h = spread(k.hashCode());
+            int[] ix = index;
+            int m = ix.length - 1, i = h & m;
+            for (int p; (p = ix[i]) != 0; i = (i + 1) & m) {
+                Object x;
+                if (hashes[--p] == h &&
+                    ((x = kvs[p << 1]) == k || k.equals(x))) {
+                    if (!onlyIfAbsent)
+                        kvs[(p << 1) + 1] = v;
+                    return false;
+                }
+            }
+            int n = size;
+            if (n == hashes.length) {       // grow and reindex
+                int cap = n + Math.max(n, 1);
+                kvs = Arrays.copyOf(kvs, cap << 1);
+                hashes = Arrays.copyOf(hashes, cap);
+                index = ix = buildIndex(hashes, n, indexSize(cap));
+                m = ix.length - 1;
+                for (i = h & m; ix[i] != 0; i = (i + 1) & m)
+                    ;
+            }
+            kvs[n << 1] = k;
+            kvs[(n << 1) + 1] = v;
+            hashes[n] = h;
+            ix[i] = n + 1;
+            size = n + 1;
+            return true;
+        }
+
+        final Table build() {
+            int n = size;
+            Object[] a = kvs;
+            int[] hs = hashes;
+            if (n < hs.length) {
+                a = Arrays.copyOf(a, n << 1);
+                hs = Arrays.copyOf(hs, n);
+            }
+            return new Table(a, hs, index);
+        }
+    }
+
+    /** Spreads hash codes so that masking by table size mixes in higher bits */
+    static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /** Returns a power of two index size of at least 2 * n, and at least 2 */
+    static int indexSize(int n) {
+        return (n <= 1) ? 2 : Integer.highestOneBit((n << 1) - 1) << 1;
+    }
+
+    /** Returns an index of size isize for the first n hashes */
+    static int[] buildIndex(int[] hashes, int n, int isize) {
+        int[] ix = new int[isize];
+        int m = isize - 1;
+        for (int p = 0; p < n; ++p) {
+            int i = hashes[p] & m;
+            while (ix[i] != 0)
+                i = (i + 1) & m;
+            ix[i] = p + 1;
+        }
+        return ix;
+    }
+
+    static final Table EMPTY_TABLE =
+        new Table(new Object[0], new int[0], new int[2]);
+
+    /**
+     * The lock protecting all mutators; a ReentrantLock for the
+     * same reasons as in CopyOnWriteArrayList.
+     */
+    final transient ReentrantLock lock = new ReentrantLock();
+
+    /** The current table, replaced on each modification */
+    private transient volatile Table table;
+
+    // views
+    private transient KeySetView keySet;
+    private transient ValuesView values;
+    private transient EntrySetView entrySet;
+
+    /**
+     * Creates a new, empty map.
+     */
+    public CopyOnWriteHashMap() {
+        table = EMPTY_TABLE;
+    }
+
+    /**
+     * Creates a new map with the same mappings as the given map.
+     *
+     * @param m the map
+     * @throws NullPointerException if the specified map or any of its
+     *         keys or values are null
+     */
+    public CopyOnWriteHashMap(Map<? extends K, ? extends V> m) {
+        table = EMPTY_TABLE;
+        putAll(m);
+    }
+
+    // Read operations
+
+    public int size() {
+        return table.hashes.length;
+    }
+
+    public boolean isEmpty() {
+        return table.hashes.length == 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or {@code null} if this map contains no mapping for the key.
+     *
+     * @throws NullPointerException if the specified key is null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Table t = table;
+        int p = t.find(key);
+        return (p < 0) ? null : (V) t.kvs[(p << 1) + 1];
+    }
+
+    /**
+     * Tests if the specified object is a key in this map.
+     *
+     * @param  key possible key
+     * @return {@code true} if and only if the specified object
+     *         is a key in this map, as determined by the
+     *         {@code equals} method; {@code false} otherwise
+     * @throws NullPointerException if the specified key is null
+     */
+    public boolean containsKey(Object key) {
+        return table.find(key) >= 0;
+    }
+
+    /**
+     * Returns {@code true} if this map maps one or more keys to the
+     * specified value. Note: This method requires a full traversal
+     * of the map, and so is much slower than method {@code containsKey}.
+     *
+     * @param value value whose presence in this map is to be tested
+     * @return {@code true} if this map maps one or more keys to the
+     *         specified value
+     * @throws NullPointerException if the specified value is null
+     */
+    public boolean containsValue(Object value) {
+        Objects.requireNonNull(value);
+        Object[] a = table.kvs;
+        for (int i = 1; i < a.length; i += 2) {
+            Object v = a[i];
+            if (v == value || value.equals(v))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or the
+     * given default value if this map contains no mapping for the
+     * key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the value to return if this map contains
+     * no mapping for the given key
+     * @return the mapping for the key, if present; else the default value
+     * @throws NullPointerException if the specified key is null
+     */
+    public V getOrDefault(Object key, V defaultValue) {
+        V v;
+        return (v = get(key)) == null ? defaultValue : v;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        Object[] a = table.kvs;
+        for (int i = 0; i < a.length; i += 2)
+            action.accept((K) a[i], (V) a[i + 1]);
+    }
+
+    // Mutative operations
+
+    /**
+     * Implementation for put and putIfAbsent.
+     */
+    @SuppressWarnings("unchecked")
+    final V putVal(K key, V value, boolean onlyIfAbsent) {
+        if (key == null || value == null) throw new NullPointerException();
+        lock.lock();
+        try {
+            Table t = table;
+            int p = t.find(key);
+            if (p >= 0) {
+                V old = (V) t.kvs[(p << 1) + 1];
+                if (!onlyIfAbsent && old != value)
+                    table = t.withValue(p, value);
+                return old;
+            }
+            Builder b = new Builder(t, 1);
+            b.put(key, value, false);
+            table = b.build();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Implementation for the remove and replace methods: if a mapping
+     * for key exists, and cv is null or equal to its value, replaces
+     * its value with v, or removes it if v is null.
+     *
+     * @return the previous value, or null if none or not matched
+     */
+    @SuppressWarnings("unchecked")
+    final V replaceNode(Object key, V v, Object cv) {
+        Objects.requireNonNull(key);
+        lock.lock();
+        try {
+            Table t = table;
+            int p = t.find(key);
+            if (p < 0)
+                return null;
+            Object old = t.kvs[(p << 1) + 1];
+            if (cv != null && cv != old && !cv.equals(old))
+                return null;
+            if (v == null)
+                table = t.without(p);
+            else if (v != old)
+                table = t.withValue(p, v);
+            return (V) old;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds each element of c not already present as a key, mapped
+     * to v, with one copy of the table.
+     *
+     * @return true if any mapping was added
+     */
+    final boolean addAllAbsent(Collection<? extends K> c, V v) {
+        Object[] cs = c.toArray();
+        if (cs.length == 0)
+            return false;
+        for (Object k : cs)
+            Objects.requireNonNull(k);
+        lock.lock();
+        try {
+            Table t = table;
+            Builder b = new Builder(t, cs.length);
+            boolean added = false;
+            for (Object k : cs)
+                added |= b.put(k, v, true);
+            if (added)
+                table = b.build();
+            return added;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes each mapping for which filter returns true, compacting
+     * the table once.  Implementation for the bulk removal methods of
+     * the views and of CopyOnWriteHashSet.
+     *
+     * @return true if any mapping was removed
+     */
+    @SuppressWarnings("unchecked")
+    final boolean removeMappingsIf(BiPredicate<? super K, ? super V> filter) {
+        Objects.requireNonNull(filter);
+        lock.lock();
+        try {
+            final Table t = table;
+            final Object[] a = t.kvs;
+            final int[] hs = t.hashes;
+            final int n = hs.length;
+            int p = 0;
+            // Optimize for initial run of survivors
+            while (p < n && !filter.test((K) a[p << 1], (V) a[(p << 1) + 1]))
+                ++p;
+            if (p == n) {
+                if (t != table)    // filter reentrantly modified the map?
+                    throw new ConcurrentModificationException();
+                return false;
+            }
+            Object[] kvs = new Object[(n - 1) << 1];
+            int[] hashes = new int[n - 1];
+            System.arraycopy(a, 0, kvs, 0, p << 1);
+            System.arraycopy(hs, 0, hashes, 0, p);
+            int w = p;
+            while (++p < n) {
+                Object k = a[p << 1], v = a[(p << 1) + 1];
+                if (!filter.test((K) k, (V) v)) {
+                    kvs[w << 1] = k;
+                    kvs[(w << 1) + 1] = v;
+                    hashes[w++] = hs[p];
+                }
+            }
+            if (t != table)
+                throw new ConcurrentModificationException();
+            if (w < n - 1) {
+                kvs = Arrays.copyOf(kvs, w << 1);
+                hashes = Arrays.copyOf(hashes, w);
+            }
+            table = new Table(kvs, hashes, buildIndex(hashes, w, indexSize(w)));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Maps the specified key to the specified value in this map.
+     * Neither the key nor the value can be null.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}
+     * @throws NullPointerException if the specified key or value is null
+     */
+    public V put(K key, V value) {
+        return putVal(key, value, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the previous value associated with the specified key,
+     *         or {@code null} if there was no mapping for the key
+     * @throws NullPointerException if the specified key or value is null
+     */
+    public V putIfAbsent(K key, V value) {
+        return putVal(key, value, true);
+    }
+
+    /**
+     * Copies all of the mappings from the specified map to this one,
+     * copying the internal table only once.  These mappings replace
+     * any mappings that this map had for any of the keys currently in
+     * the specified map.
+     *
+     * @param m mappings to be stored in this map
+     * @throws NullPointerException if the specified map or any of its
+     *         keys or values are null
+     */
+    public void putAll(Map<? extends K, ? extends V> m) {
+        Object[] es = m.entrySet().toArray();
+        if (es.length == 0)
+            return;
+        Object[] kvs = new Object[es.length << 1];
+        for (int i = 0; i < es.length; ++i) {
+            Map.Entry<?,?> e = (Map.Entry<?,?>) es[i];
+            if ((kvs[i << 1] = e.getKey()) == null ||
+                (kvs[(i << 1) + 1] = e.getValue()) == null)
+                throw new NullPointerException();
+        }
+        lock.lock();
+        try {
+            Builder b = new Builder(table, es.length);
+            for (int i = 0; i < kvs.length; i += 2)
+                b.put(kvs[i], kvs[i + 1], false);
+            table = b.build();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the key (and its corresponding value) from this map.
+     * This method does nothing if the key is not in the map.
+     *
+     * @param  key the key that needs to be removed
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}
+     * @throws NullPointerException if the specified key is null
+     */
+    public V remove(Object key) {
+        return replaceNode(key, null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if the specified key is null
+     */
+    public boolean remove(Object key, Object value) {
+        if (key == null)
+            throw new NullPointerException();
+        return value != null && replaceNode(key, null, value) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if any of the arguments are null
+     */
+    public boolean replace(K key, V oldValue, V newValue) {
+        if (key == null || oldValue == null || newValue == null)
+            throw new NullPointerException();
+        return replaceNode(key, newValue, oldValue) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the previous value associated with the specified key,
+     *         or {@code null} if there was no mapping for the key
+     * @throws NullPointerException if the specified key or value is null
+     */
+    public V replace(K key, V value) {
+        if (key == null || value == null)
+            throw new NullPointerException();
+        return replaceNode(key, value, null);
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            table = EMPTY_TABLE;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Views
+
+    /**
+     * Returns a {@link Set} view of the keys contained in this map.
+     * The set is backed by the map, so removals from the set are
+     * reflected in the map.  The set does not support the {@code
+     * add} or {@code addAll} operations.  Its iterators and
+     * spliterators traverse a snapshot of the keys, as described in
+     * the class documentation.
+     *
+     * @return the set view
+     */
+    public Set<K> keySet() {
+        KeySetView ks;
+        return ((ks = keySet) != null) ? ks : (keySet = new KeySetView());
+    }
+
+    /**
+     * Returns a {@link Collection} view of the values contained in
+     * this map.  The collection is backed by the map, so removals
+     * from the collection are reflected in the map.  The collection
+     * does not support the {@code add} or {@code addAll} operations.
+     * Its iterators and spliterators traverse a snapshot of the
+     * values, as described in the class documentation.
+     *
+     * @return the collection view
+     */
+    public Collection<V> values() {
+        ValuesView vs;
+        return ((vs = values) != null) ? vs : (values = new ValuesView());
+    }
+
+    /**
+     * Returns a {@link Set} view of the mappings contained in this
+     * map.  The set is backed by the map, so removals from the set,
+     * and {@code setValue} operations on its entries, are reflected
+     * in the map.  The set does not support the {@code add} or
+     * {@code addAll} operations.  Its iterators and spliterators
+     * traverse a snapshot of the mappings, as described in the class
+     * documentation.
+     *
+     * @return the set view
+     */
+    public Set<Map.Entry<K,V>> entrySet() {
+        EntrySetView es;
+        return ((es = entrySet) != null) ? es : (entrySet = new EntrySetView());
+    }
+
+    /**
+     * Returns a snapshot of the keys, in insertion order.  Non-private
+     * so as to also be accessible from CopyOnWriteHashSet class.
+     */
+    final Object[] keyArray() {
+        Object[] a = table.kvs;
+        Object[] ks = new Object[a.length >>> 1];
+        for (int i = 0; i < ks.length; ++i)
+            ks[i] = a[i << 1];
+        return ks;
+    }
+
+    /**
+     * Base of view iterators, traversing a snapshot.
+     */
+    abstract class Itr<T> implements Iterator<T> {
+        final Object[] kvs;
+        int cursor;
+        Object lastKey;
+
+        Itr() { kvs = table.kvs; }
+
+        public final boolean hasNext() {
+            return cursor < kvs.length;
+        }
+
+        abstract T element(Object k, Object v);
+
+        public final T next() {
+            int i = cursor;
+            if (i >= kvs.length)
+                throw new NoSuchElementException();
+            Object k = kvs[i];
+            cursor = i + 2;
+            lastKey = k;
+            return element(k, kvs[i + 1]);
+        }
+
+        public final void remove() {
+            Object k = lastKey;
+            if (k == null)
+                throw new IllegalStateException();
+            lastKey = null;
+            CopyOnWriteHashMap.this.remove(k);
+        }
+    }
+
+    /**
+     * Exported entry, writing through to the map on setValue.
+     */
+    final class MapEntry extends AbstractMap.SimpleEntry<K,V> {
+        private static final long serialVersionUID = 2163458163817620237L;
+        MapEntry(K key, V value) { super(key, value); }
+
+        /**
+         * Sets our entry's value and writes through to the map. The
+         * value to return is somewhat arbitrary here: we return the
+         * value from the snapshot, which may have since changed.
+         */
+        public V setValue(V value) {
+            if (value == null) throw new NullPointerException();
+            V v = super.setValue(value);
+            put(getKey(), value);
+            return v;
+        }
+    }
+
+    final class KeySetView extends AbstractSet<K> {
+        public int size() { return CopyOnWriteHashMap.this.size(); }
+        public boolean isEmpty() { return CopyOnWriteHashMap.this.isEmpty(); }
+        public void clear() { CopyOnWriteHashMap.this.clear(); }
+        public boolean contains(Object o) { return containsKey(o); }
+        public boolean remove(Object o) {
+            return CopyOnWriteHashMap.this.remove(o) != null;
+        }
+        public boolean removeAll(Collection<?> c) {
+            Objects.requireNonNull(c);
+            return removeMappingsIf((k, v) -> c.contains(k));
+        }
+        public boolean retainAll(Collection<?> c) {
+            Objects.requireNonNull(c);
+            return removeMappingsIf((k, v) -> !c.contains(k));
+        }
+        public boolean removeIf(Predicate<? super K> filter) {
+            Objects.requireNonNull(filter);
+            return removeMappingsIf((k, v) -> filter.test(k));
+        }
+        public Object[] toArray() { return keyArray(); }
+        public Iterator<K> iterator() {
+            return new Itr<K>() {
+                @SuppressWarnings("unchecked")
+                K element(Object k, Object v) { return (K) k; }};
+        }
+        public Spliterator<K> spliterator() {
+            return Spliterators.spliterator
+                (keyArray(), (Spliterator.IMMUTABLE | Spliterator.DISTINCT |
+                              Spliterator.NONNULL));
+        }
+    }
+
+    final class ValuesView extends AbstractCollection<V> {
+        public int size() { return CopyOnWriteHashMap.this.size(); }
+        public boolean isEmpty() { return CopyOnWriteHashMap.this.isEmpty(); }
+        public void clear() { CopyOnWriteHashMap.this.clear(); }
+        public boolean contains(Object o) { return containsValue(o); }
+        public boolean removeAll(Collection<?> c) {
+            Objects.requireNonNull(c);
+            return removeMappingsIf((k, v) -> c.contains(v));
+        }
+        public boolean retainAll(Collection<?> c) {
+            Objects.requireNonNull(c);
+            return removeMappingsIf((k, v) -> !c.contains(v));
+        }
+        public boolean removeIf(Predicate<? super V> filter) {
+            Objects.requireNonNull(filter);
+            return removeMappingsIf((k, v) -> filter.test(v));
+        }
+        public Iterator<V> iterator() {
+            return new Itr<V>() {
+                @SuppressWarnings("unchecked")
+                V element(Object k, Object v) { return (V) v; }};
+        }
+    }
+
+    final class EntrySetView extends AbstractSet<Map.Entry<K,V>> {
+        public int size() { return CopyOnWriteHashMap.this.size(); }
+        public boolean isEmpty() { return CopyOnWriteHashMap.this.isEmpty(); }
+        public void clear() { CopyOnWriteHashMap.this.clear(); }
+        public boolean contains(Object o) {
+            Object k, v, r; Map.Entry<?,?> e;
+            return ((o instanceof Map.Entry) &&
+                    (k = (e = (Map.Entry<?,?>)o).getKey()) != null &&
+                    (r = get(k)) != null &&
+                    (v = e.getValue()) != null &&
+                    (v == r || v.equals(r)));
+        }
+        public boolean remove(Object o) {
+            Object k, v; Map.Entry<?,?> e;
+            return ((o instanceof Map.Entry) &&
+                    (k = (e = (Map.Entry<?,?>)o).getKey()) != null &&
+                    (v = e.getValue()) != null &&
+                    CopyOnWriteHashMap.this.remove(k, v));
+        }
+        public boolean removeAll(Collection<?> c) {
+            Objects.requireNonNull(c);
+            return removeMappingsIf((k, v) -> c.contains(new MapEntry(k, v)));
+        }
+        public boolean retainAll(Collection<?> c) {
+            Objects.requireNonNull(c);
+            return removeMappingsIf((k, v) -> !c.contains(new MapEntry(k, v)));
+        }
+        public boolean removeIf(Predicate<? super Map.Entry<K,V>> filter) {
+            Objects.requireNonNull(filter);
+            return removeMappingsIf((k, v) -> filter.test(new MapEntry(k, v)));
+        }
+        public Iterator<Map.Entry<K,V>> iterator() {
+            return new Itr<Map.Entry<K,V>>() {
+                @SuppressWarnings("unchecked")
+                Map.Entry<K,V> element(Object k, Object v) {
+                    return new MapEntry((K) k, (V) v);
+                }};
+        }
+    }
+
+    // Serialization
+
+    /**
+     * Saves this map to a stream (that is, serializes it).
+     *
+     * @param s the stream
+     * @throws java.io.IOException if an I/O error occurs
+     * @serialData The number of mappings (int), followed by the key
+     * (Object) and value (Object) of each mapping, in insertion order.
+     */
+    private void writeObject(java.io.ObjectOutputStream s)
+        throws java.io.IOException {
+        s.defaultWriteObject();
+        Object[] a = table.kvs;
+        s.writeInt(a.length >>> 1);
+        for (Object x : a)
+            s.writeObject(x);
+    }
+
+    /**
+     * Reconstitutes this map from a stream (that is, deserializes it).
+     * @param s the stream
+     * @throws ClassNotFoundException if the class of a serialized object
+     *         could not be found
+     * @throws java.io.IOException if an I/O error occurs
+     */
+    private void readObject(java.io.ObjectInputStream s)
+        throws java.io.IOException, ClassNotFoundException {
+        s.defaultReadObject();
+        resetLock();
+        int n = s.readInt();
+        if (n < 0)
+            throw new java.io.InvalidObjectException("negative size");
+        // Grow as needed rather than trusting n for initial capacity
+        Builder b = new Builder(EMPTY_TABLE, Math.min(n, 1 << 10));
+        for (int i = 0; i < n; ++i) {
+            Object k = s.readObject(), v = s.readObject();
+            if (k == null || v == null)
+                throw new java.io.InvalidObjectException("null key or value");
+            b.put(k, v, false);
+        }
+        table = b.build();
+    }
+
+    private void resetLock() {
+        Field lockField = java.security.AccessController.doPrivileged(
+            (java.security.PrivilegedAction<Field>) () -> {
+                try {
+                    Field f = CopyOnWriteHashMap.class
+                        .getDeclaredField("lock");
+                    f.setAccessible(true);
+                    return f;
+                } catch (ReflectiveOperationException e) {
+                    throw new Error(e);
+                }});
+        try {
+            lockField.set(this, new ReentrantLock());
+        } catch (IllegalAccessException e) {
+            throw new Error(e);
+        }
+    }
+}
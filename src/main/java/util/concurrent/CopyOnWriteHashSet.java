@@ -0,0 +1,253 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+package java.util.concurrent;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Set} that uses an internal {@link CopyOnWriteHashMap}
+ * for all of its operations.  It shares the basic properties of
+ * {@link CopyOnWriteArraySet}, except that membership tests take
+ * expected constant rather than linear time, so it remains usable
+ * as sets grow large:
+ * <ul>
+ *  <li>It is best suited for applications in which read-only
+ *       operations vastly outnumber mutative operations, and you
+ *       need to prevent interference among threads during traversal.
+ *  <li>It is thread-safe.  Method {@code contains} never blocks,
+ *       and performs only a single volatile read.
+ *  <li>Mutative operations ({@code add}, {@code remove}, etc.)
+ *      are expensive since they entail copying the entire underlying
+ *      table.  Bulk operations such as {@link #addAll} copy it only
+ *      once per call.
+ *  <li>Traversal via iterators is fast and cannot encounter
+ *       interference from other threads. Iterators traverse an
+ *       unchanging snapshot of the set at the time they were
+ *       constructed, in the order in which elements were added.
+ *       Iterator {@code remove} operations are reflected in the set
+ *       but not in the snapshot.
+ * </ul>
+ *
+ * <p>Unlike {@code CopyOnWriteArraySet}, this class does
+ * <em>not</em> permit {@code null} elements.
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/java/util/package-summary.html#CollectionsFramework">
+ * Java Collections Framework</a>.
+ *
+ * @see CopyOnWriteHashMap
+ * @since 12
+ * @author Doug Lea
+ * @param <E> the type of elements held in this set
+ */
+public class CopyOnWriteHashSet<E> extends AbstractSet<E>
+        implements java.io.Serializable {
+    private static final long serialVersionUID = 2376455120618342547L;
+
+    private final CopyOnWriteHashMap<E,Boolean> m;
+
+    /**
+     * Creates an empty set.
+     */
+    public CopyOnWriteHashSet() {
+        m = new CopyOnWriteHashMap<E,Boolean>();
+    }
+
+    /**
+     * Creates a set containing all of the elements of the specified
+     * collection.
+     *
+     * @param c the collection of elements to initially contain
+     * @throws NullPointerException if the specified collection or any
+     *         of its elements are null
+     */
+    public CopyOnWriteHashSet(Collection<? extends E> c) {
+        m = new CopyOnWriteHashMap<E,Boolean>();
+        m.addAllAbsent(c, Boolean.TRUE);
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     *
+     * @return the number of elements in this set
+     */
+    public int size() {
+        return m.size();
+    }
+
+    /**
+     * Returns {@code true} if this set contains no elements.
+     *
+     * @return {@code true} if this set contains no elements
+     */
+    public boolean isEmpty() {
+        return m.isEmpty();
+    }
+
+    /**
+     * Returns {@code true} if this set contains the specified element.
+     * More formally, returns {@code true} if and only if this set
+     * contains an element {@code e} such that {@code o.equals(e)}.
+     *
+     * @param o element whose presence in this set is to be tested
+     * @return {@code true} if this set contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean contains(Object o) {
+        return m.containsKey(o);
+    }
+
+    /**
+     * Adds the specified element to this set if it is not already present.
+     *
+     * @param e element to be added to this set
+     * @return {@code true} if this set did not already contain the specified
+     *         element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean add(E e) {
+        return m.putIfAbsent(e, Boolean.TRUE) == null;
+    }
+
+    /**
+     * Removes the specified element from this set if it is present.
+     *
+     * @param o object to be removed from this set, if present
+     * @return {@code true} if this set contained the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean remove(Object o) {
+        return m.remove(o) != null;
+    }
+
+    /**
+     * Removes all of the elements from this set.
+     * The set will be empty after this call returns.
+     */
+    public void clear() {
+        m.clear();
+    }
+
+    /**
+     * Adds all of the elements in the specified collection to this set if
+     * they're not already present, copying the internal table only once.
+     *
+     * @param  c collection containing elements to be added to this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection or any
+     *         of its elements are null
+     * @see #add(Object)
+     */
+    public boolean addAll(Collection<? extends E> c) {
+        return m.addAllAbsent(c, Boolean.TRUE);
+    }
+
+    /**
+     * Returns an array containing all of the elements in this set,
+     * in the order in which they were added.
+     *
+     * @return an array containing all the elements in this set
+     */
+    public Object[] toArray() {
+        return m.keyArray();
+    }
+
+    /**
+     * Returns an iterator over the elements contained in this set
+     * in the order in which these elements were added.
+     *
+     * <p>The returned iterator provides a snapshot of the state of the set
+     * when the iterator was constructed. No synchronization is needed while
+     * traversing the iterator.
+     *
+     * @return an iterator over the elements in this set
+     */
+    public Iterator<E> iterator() {
+        return m.keySet().iterator();
+    }
+
+    /**
+     * Removes from this set all of its elements that are contained in
+     * the specified collection, copying the internal table only once.
+     * If the specified collection is also a set, this operation
+     * effectively modifies this set so that its value is the
+     * <i>asymmetric set difference</i> of the two sets.
+     *
+     * @param  c collection containing elements to be removed from this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws ClassCastException if the class of an element of this set
+     *         is incompatible with the specified collection
+     * (<a href="{@docRoot}/../api/java/util/Collection.html#optional-restrictions">optional</a>)
+     * @throws NullPointerException if the specified collection is null
+     * @see #remove(Object)
+     */
+    public boolean removeAll(Collection<?> c) {
+        return m.keySet().removeAll(c);
+    }
+
+    /**
+     * Retains only the elements in this set that are contained in the
+     * specified collection, copying the internal table only once.  In
+     * other words, removes from this set all of its elements that are
+     * not contained in the specified collection.  If the specified
+     * collection is also a set, this operation effectively modifies
+     * this set so that its value is the <i>intersection</i> of the
+     * two sets.
+     *
+     * @param  c collection containing elements to be retained in this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws ClassCastException if the class of an element of this set
+     *         is incompatible with the specified collection
+     * (<a href="{@docRoot}/../api/java/util/Collection.html#optional-restrictions">optional</a>)
+     * @throws NullPointerException if the specified collection is null
+     * @see #remove(Object)
+     */
+    public boolean retainAll(Collection<?> c) {
+        return m.keySet().retainAll(c);
+    }
+
+    /**
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        return m.keySet().removeIf(filter);
+    }
+
+    /**
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public void forEach(Consumer<? super E> action) {
+        m.keySet().forEach(action);
+    }
+
+    /**
+     * Returns a {@link Spliterator} over the elements in this set in the order
+     * in which these elements were added.
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#IMMUTABLE},
+     * {@link Spliterator#DISTINCT}, {@link Spliterator#NONNULL},
+     * {@link Spliterator#SIZED}, and {@link Spliterator#SUBSIZED}.
+     *
+     * <p>The spliterator provides a snapshot of the state of the set
+     * when the spliterator was constructed. No synchronization is needed while
+     * operating on the spliterator.
+     *
+     * @return a {@code Spliterator} over the elements in this set
+     */
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator
+            (m.keyArray(), (Spliterator.IMMUTABLE | Spliterator.DISTINCT |
+                            Spliterator.NONNULL));
+    }
+}
@@ -6,6 +6,8 @@
 
 package java.util.concurrent;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.concurrent.locks.AbstractQueuedSynchronizer;
 
 /**
@@ -126,6 +128,45 @@ import java.util.concurrent.locks.AbstractQueuedSynchronizer;
  * @author Doug Lea
  */
 public class CountDownLatch {
+    /*
+     * Overview: For small counts, or on uniprocessors, the count is
+     * held entirely in the AQS state of a Sync, and each countDown
+     * CASes it.  For large counts (at least TREE_THRESHOLD) that are
+     * typically counted down by many threads at about the same time,
+     * this single word becomes a point of contention, so the count
+     * is instead spread across a fixed array of padded Cells (a
+     * one-level combining tree), and the Sync state holds the number
+     * of cells that have not yet reached zero.  Each countDown
+     * decrements the cell selected by the caller's ThreadLocalRandom
+     * probe (as in LongAdder), moving on to other cells if that one
+     * is already exhausted, and only the decrement that brings a
+     * cell to zero releases the Sync.  Because every cell decrement
+     * is a CAS that reads the previous one, and the releasing CAS on
+     * the Sync follows it, the usual memory consistency properties
+     * still hold.  The cell array is created once in the constructor
+     * and never resized.
+     */
+
+    /** Number of CPUS, to decide whether to use cells */
+    static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The minimum count for which cells are used.  Smaller counts
+     * rarely see enough simultaneous countDowns to amortize scanning.
+     */
+    static final int TREE_THRESHOLD = 64;
+
+    /** The target count per cell */
+    static final int CELL_COUNT = 16;
+
+    /**
+     * A padded cell holding part of the count.
+     */
+    @jdk.internal.vm.annotation.Contended static final class Cell {
+        volatile int count;
+        Cell(int count) { this.count = count; }
+    }
+
     /**
      * Synchronization control For CountDownLatch.
      * Uses AQS state to represent count.
@@ -160,6 +201,9 @@ public class CountDownLatch {
 
     private final Sync sync;
 
+    /** Cells holding the count, or null if kept in sync */
+    private final Cell[] cells;
+
     /**
      * Constructs a {@code CountDownLatch} initialized with the given count.
      *
@@ -169,6 +213,16 @@ public class CountDownLatch {
      */
     public CountDownLatch(int count) {
         if (count < 0) throw new IllegalArgumentException("count < 0");
+        Cell[] cs = null;
+        if (count >= TREE_THRESHOLD && NCPU > 1) {
+            int n = Math.min(count / CELL_COUNT, NCPU);
+            int q = count / n, r = count % n;
+            cs = new Cell[n];
+            for (int i = 0; i < n; ++i)
+                cs[i] = new Cell((i < r) ? q + 1 : q);
+            count = n;
+        }
+        this.cells = cs;
         this.sync = new Sync(count);
     }
 
@@ -260,7 +314,37 @@ public class CountDownLatch {
      * <p>If the current count equals zero then nothing happens.
      */
     public void countDown() {
-        sync.releaseShared(1);
+        Cell[] cs;
+        if ((cs = cells) == null)
+            sync.releaseShared(1);
+        else
+            cellCountDown(cs);
+    }
+
+    /**
+     * Decrements the cell chosen by the caller's probe, or if it is
+     * already zero, the next nonzero cell, releasing sync when a
+     * cell reaches zero.
+     */
+    private void cellCountDown(Cell[] cs) {
+        int h;
+        if ((h = ThreadLocalRandom.getProbe()) == 0) {
+            ThreadLocalRandom.localInit();      // force initialization
+            h = ThreadLocalRandom.getProbe();
+        }
+        int n = cs.length, i = (h & 0x7fffffff) % n;
+        for (int k = n; k > 0; --k) {
+            Cell c = cs[i];
+            for (int v; (v = c.count) > 0; ) {
+                if (COUNT.compareAndSet(c, v, v - 1)) {
+                    if (v == 1)
+                        sync.releaseShared(1);
+                    return;
+                }
+            }
+            if (++i == n)
+                i = 0;
+        }
     }
 
     /**
@@ -271,7 +355,41 @@ public class CountDownLatch {
      * @return the current count
      */
     public long getCount() {
-        return sync.getCount();
+        Cell[] cs;
+        if ((cs = cells) == null)
+            return sync.getCount();
+        long sum = 0L;
+        for (Cell c : cs)
+            sum += c.count;
+        return sum;
+    }
+
+    /**
+     * Sets the maximum number of times that a thread in {@link
+     * #await} spins before blocking.  Spinning only pays off for
+     * latches that are usually counted down within microseconds of
+     * a thread starting to wait; it is initially disabled.
+     *
+     * @param spins the maximum number of spins, or zero to disable
+     *        spinning
+     * @throws IllegalArgumentException if {@code spins} is negative
+     * @see AbstractQueuedSynchronizer#setSpinLimit
+     * @since 12
+     */
+    public void setSpinLimit(int spins) {
+        sync.setSpinLimit(spins);
+    }
+
+    /**
+     * Returns the spin limit of this latch.
+     *
+     * @return the maximum number of spins, or zero if spinning is
+     *         disabled
+     * @see #setSpinLimit
+     * @since 12
+     */
+    public int getSpinLimit() {
+        return sync.getSpinLimit();
     }
 
     /**
@@ -282,6 +400,17 @@ public class CountDownLatch {
      * @return a string identifying this latch, as well as its state
      */
     public String toString() {
-        return super.toString() + "[Count = " + sync.getCount() + "]";
+        return super.toString() + "[Count = " + getCount() + "]";
+    }
+
+    // VarHandle mechanics
+    private static final VarHandle COUNT;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            COUNT = l.findVarHandle(Cell.class, "count", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
     }
 }
@@ -6,7 +6,10 @@
 
 package java.util.concurrent;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -95,6 +98,12 @@ import java.util.concurrent.locks.ReentrantLock;
  * {@link InterruptedException} if they too were interrupted at about
  * the same time).
  *
+ * <p>Barriers with many parties use an internal combining tree, so
+ * that arriving threads do not all contend for a single lock.  In
+ * this case, arrival indices are still distinct, and zero still
+ * indicates the last thread to arrive, but other indices need not
+ * strictly reflect the order of arrival.
+ *
  * <p>Memory consistency effects: Actions in a thread prior to calling
  * {@code await()}
  * <a href="package-summary.html#MemoryVisibility"><i>happen-before</i></a>
@@ -108,6 +117,58 @@ import java.util.concurrent.locks.ReentrantLock;
  * @since 1.5
  */
 public class CyclicBarrier {
+    /*
+     * Overview: For small numbers of parties, all arrivals are
+     * processed under the lock, waiting on Condition trip.  With many
+     * parties (at least TREE_THRESHOLD) on multiprocessors, this
+     * serializes all arrivals through the lock, and then serializes
+     * all wakeups as each signalled waiter reacquires it.  So
+     * instead, each generation is a TreeGeneration holding a
+     * one-level combining tree: an array of padded Leaf nodes, each
+     * counting down a share of the parties, plus a root count of
+     * leaves that are not yet complete.  Arriving threads CAS-decrement
+     * the leaf chosen by their ThreadLocalRandom probe (or the next
+     * one with a nonzero count), and only the thread completing a
+     * leaf touches the root.  The thread bringing the root to zero
+     * is the tripping thread, which acquires the lock only to run
+     * the barrier action and start the next generation.  Waiting
+     * threads briefly spin and then push nodes onto a per-leaf stack
+     * and park; a trip or break pops all stacks and unparks their
+     * threads directly, without reacquiring the lock.
+     *
+     * Arrival indices are assigned so that each leaf with offset o
+     * and count c covers indices o .. o+c-1: a non-completing arrival
+     * observing leaf count v gets o+v-1, and the arrival completing
+     * a leaf gets the offset of the leaf indexed by the remaining
+     * root count, so the tripping thread gets zero.
+     *
+     * Breaking the barrier (by interrupt or timeout) is still done
+     * under the lock, which is also held while tripping.  A thread
+     * that is interrupted or times out after all parties have
+     * arrived, but before the tripping thread has started the next
+     * generation, does not break the barrier, but (as with the
+     * untimed lock-based version) instead waits for the trip.
+     * Threads arriving at a fully arrived but not yet tripped
+     * generation (which can only happen when some party calls await
+     * more than once per cycle) wait on Condition trip for the next
+     * generation before retrying.
+     */
+
+    /** Number of CPUS, to decide whether to use a combining tree */
+    static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    /** The minimum number of parties for which trees are used */
+    static final int TREE_THRESHOLD = 32;
+
+    /** The target number of parties per leaf */
+    static final int LEAF_PARTIES = 8;
+
+    /**
+     * The number of times to spin before blocking while waiting for
+     * a trip.  Arrivals in tree mode usually occur close together.
+     */
+    static final int SPINS = 1 << 7;
+
     /**
      * Each use of the barrier is represented as a generation instance.
      * The generation changes whenever the barrier is tripped, or
@@ -121,7 +182,89 @@ public class CyclicBarrier {
      */
     private static class Generation {
         Generation() {}                 // prevent access constructor creation
-        boolean broken;                 // initially false
+        volatile boolean broken;        // initially false
+    }
+
+    /** A thread waiting in a TreeGeneration */
+    static final class WaitNode {
+        final Thread thread;
+        WaitNode next;
+        WaitNode() { thread = Thread.currentThread(); }
+    }
+
+    /**
+     * A padded leaf of a combining tree.
+     */
+    @jdk.internal.vm.annotation.Contended static final class Leaf {
+        final int offset;               // first arrival index for leaf
+        volatile int count;             // parties yet to arrive
+        volatile WaitNode waiters;      // Treiber stack of waiters
+        Leaf(int offset, int count) {
+            this.offset = offset;
+            this.count = count;
+        }
+    }
+
+    /**
+     * A generation using a combining tree.
+     */
+    private static final class TreeGeneration extends Generation {
+        final Leaf[] leaves;
+        volatile int unfinished;        // number of nonzero leaves
+
+        TreeGeneration(int parties) {
+            int n = (parties + LEAF_PARTIES - 1) / LEAF_PARTIES;
+            int q = parties / n, r = parties % n;
+            Leaf[] ls = new Leaf[n];
+            for (int i = 0, offset = 0; i < n; ++i) {
+                int c = (i < r) ? q + 1 : q;
+                ls[i] = new Leaf(offset, c);
+                offset += c;
+            }
+            leaves = ls;
+            unfinished = n;
+        }
+
+        /**
+         * Arrives at the leaf with the given index, or the next one
+         * with a nonzero count.
+         *
+         * @return the arrival index, or -1 if all parties have arrived
+         */
+        int arrive(int i) {
+            final Leaf[] ls = leaves;
+            int n = ls.length;
+            for (int k = n; k > 0; --k) {
+                Leaf l = ls[i];
+                for (int c; (c = l.count) > 0; ) {
+                    if (LEAF_COUNT.compareAndSet(l, c, c - 1)) {
+                        if (c > 1)
+                            return l.offset + c - 1;
+                        int u = (int)UNFINISHED.getAndAdd(this, -1) - 1;
+                        return ls[u].offset;
+                    }
+                }
+                if (++i == n)
+                    i = 0;
+            }
+            return -1;
+        }
+
+        /** Returns the number of parties that have arrived */
+        int arrived(int parties) {
+            for (Leaf l : leaves)
+                parties -= l.count;
+            return parties;
+        }
+
+        /** Unparks all waiting threads. */
+        void wakeAll() {
+            for (Leaf l : leaves) {
+                for (WaitNode q = (WaitNode)WAITERS.getAndSet(l, null);
+                     q != null; q = q.next)
+                    LockSupport.unpark(q.thread);
+            }
+        }
     }
 
     /** The lock for guarding barrier entry */
@@ -133,7 +276,7 @@ public class CyclicBarrier {
     /** The command to run when tripped */
     private final Runnable barrierCommand;
     /** The current generation */
-    private Generation generation = new Generation();
+    private volatile Generation generation;
 
     /**
      * Number of parties still waiting. Counts down from parties to 0
@@ -151,7 +294,20 @@ public class CyclicBarrier {
         trip.signalAll();
         // set up next generation
         count = parties;
-        generation = new Generation();
+        Generation g = generation;
+        generation = newGeneration(parties);
+        if (g instanceof TreeGeneration)
+            ((TreeGeneration)g).wakeAll();
+    }
+
+    /**
+     * Returns a new generation, using a combining tree if there are
+     * enough parties.
+     */
+    private static Generation newGeneration(int parties) {
+        return (parties >= TREE_THRESHOLD && NCPU > 1)
+            ? new TreeGeneration(parties)
+            : new Generation();
     }
 
     /**
@@ -159,9 +315,12 @@ public class CyclicBarrier {
      * Called only while holding lock.
      */
     private void breakBarrier() {
-        generation.broken = true;
+        Generation g = generation;
+        g.broken = true;
         count = parties;
         trip.signalAll();
+        if (g instanceof TreeGeneration)
+            ((TreeGeneration)g).wakeAll();
     }
 
     /**
@@ -170,6 +329,9 @@ public class CyclicBarrier {
     private int dowait(boolean timed, long nanos)
         throws InterruptedException, BrokenBarrierException,
                TimeoutException {
+        Generation tg = generation;
+        if (tg instanceof TreeGeneration)
+            return treeWait((TreeGeneration)tg, timed, nanos);
         final ReentrantLock lock = this.lock;
         lock.lock();
         try {
@@ -234,6 +396,134 @@ public class CyclicBarrier {
         }
     }
 
+    /**
+     * Version of dowait for tree generations.
+     */
+    private int treeWait(TreeGeneration g, boolean timed, long nanos)
+        throws InterruptedException, BrokenBarrierException,
+               TimeoutException {
+        final ReentrantLock lock = this.lock;
+        if (g.broken)
+            throw new BrokenBarrierException();
+
+        if (Thread.interrupted()) {
+            lock.lock();
+            try {
+                breakBarrier();
+            } finally {
+                lock.unlock();
+            }
+            throw new InterruptedException();
+        }
+
+        final long deadline = timed ? System.nanoTime() + nanos : 0L;
+        int h;
+        if ((h = ThreadLocalRandom.getProbe()) == 0) {
+            ThreadLocalRandom.localInit();      // force initialization
+            h = ThreadLocalRandom.getProbe();
+        }
+        final Leaf[] ls = g.leaves;
+        final int i = (h & 0x7fffffff) % ls.length;
+        final int index = g.arrive(i);
+
+        if (index < 0) {   // all arrived; retry in next generation
+            lock.lock();
+            try {
+                while (g == generation && !g.broken)
+                    trip.awaitUninterruptibly();
+            } finally {
+                lock.unlock();
+            }
+            if (timed && (nanos = deadline - System.nanoTime()) <= 0L)
+                nanos = 0L;
+            return dowait(timed, nanos);
+        }
+
+        if (index == 0) {  // tripped
+            lock.lock();
+            try {
+                if (g.broken)  // reset while arriving
+                    throw new BrokenBarrierException();
+                boolean ranAction = false;
+                try {
+                    final Runnable command = barrierCommand;
+                    if (command != null)
+                        command.run();
+                    ranAction = true;
+                    nextGeneration();
+                    return 0;
+                } finally {
+                    if (!ranAction)
+                        breakBarrier();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // spin, then loop until tripped, broken, interrupted, or timed out
+        final Leaf leaf = ls[i];
+        WaitNode node = null;
+        boolean interrupted = false;
+        for (int spins = SPINS;;) {
+            if (g.broken) {
+                if (interrupted)
+                    Thread.currentThread().interrupt();
+                throw new BrokenBarrierException();
+            }
+            if (g != generation) {
+                if (interrupted)
+                    Thread.currentThread().interrupt();
+                return index;
+            }
+            if (spins > 0) {
+                --spins;
+                Thread.onSpinWait();
+            }
+            else if (node == null) {
+                WaitNode q = node = new WaitNode();
+                do {} while (!WAITERS.weakCompareAndSet
+                             (leaf, q.next = leaf.waiters, q));
+            }
+            else if (Thread.interrupted()) {
+                if (breakIfIncomplete(g))
+                    throw new InterruptedException();
+                // We're about to finish waiting even if we had not
+                // been interrupted, so this interrupt is deemed to
+                // "belong" to subsequent execution.
+                interrupted = true;
+            }
+            else if (!timed)
+                LockSupport.park(this);
+            else if ((nanos = deadline - System.nanoTime()) > 0L)
+                LockSupport.parkNanos(this, nanos);
+            else if (breakIfIncomplete(g))
+                throw new TimeoutException();
+            else
+                timed = false;  // all arrived; wait for trip
+        }
+    }
+
+    /**
+     * Breaks the barrier if the given generation is current, not
+     * broken, and not all parties have arrived.
+     *
+     * @return true if broken
+     */
+    private boolean breakIfIncomplete(TreeGeneration g) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (g == generation && !g.broken && g.unfinished != 0) {
+                breakBarrier();
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     /**
      * Creates a new {@code CyclicBarrier} that will trip when the
      * given number of parties (threads) are waiting upon it, and which
@@ -251,6 +541,7 @@ public class CyclicBarrier {
         this.parties = parties;
         this.count = parties;
         this.barrierCommand = barrierAction;
+        this.generation = newGeneration(parties);
     }
 
     /**
@@ -452,6 +743,9 @@ public class CyclicBarrier {
      * @return the number of parties currently blocked in {@link #await}
      */
     public int getNumberWaiting() {
+        Generation g = generation;
+        if (g instanceof TreeGeneration)
+            return g.broken ? 0 : ((TreeGeneration)g).arrived(parties);
         final ReentrantLock lock = this.lock;
         lock.lock();
         try {
@@ -460,4 +754,24 @@ public class CyclicBarrier {
             lock.unlock();
         }
     }
+
+    // VarHandle mechanics
+    private static final VarHandle LEAF_COUNT;
+    private static final VarHandle WAITERS;
+    private static final VarHandle UNFINISHED;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            LEAF_COUNT = l.findVarHandle(Leaf.class, "count", int.class);
+            WAITERS = l.findVarHandle(Leaf.class, "waiters", WaitNode.class);
+            UNFINISHED = l.findVarHandle(TreeGeneration.class, "unfinished",
+                                         int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+
+        // Reduce the risk of rare disastrous classloading in first call to
+        // LockSupport.park: https://bugs.openjdk.java.net/browse/JDK-8074773
+        Class<?> ensureLoaded = LockSupport.class;
+    }
 }
@@ -9,6 +9,7 @@ package java.util.concurrent;
 
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.util.Arrays;
 import java.util.concurrent.locks.LockSupport;
 
 /**
@@ -156,10 +157,18 @@ public class Exchanger<V> {
      * waiting performance anyway -- in a busy exchanger, offers are
      * usually almost immediately released, in which case context
      * switching on multiprocessors is extremely slow/wasteful.  Arena
-     * waits just omit the blocking part, and instead cancel. The spin
-     * count is empirically chosen to be a value that avoids blocking
-     * 99% of the time under maximum sustained exchange rates on a
-     * range of test machines. Spins and yields entail some limited
+     * waits just omit the blocking part, and instead cancel. The
+     * initial spin count is empirically chosen to be a value that
+     * avoids blocking 99% of the time under maximum sustained exchange
+     * rates on a range of test machines. But rates vary across
+     * applications, so each participant then adapts its own spin
+     * bound (within MIN_SPINS and MAX_SPINS), doubling it when a
+     * match arrives only late in a spin, and halving it when a wait
+     * outlasts spinning (parking in slotExchange, or expiring in
+     * arenaExchange). So when partners typically arrive slowly,
+     * arena slots expire sooner and the arena shrinks sooner, and
+     * when they arrive quickly but not immediately, offers linger
+     * long enough to be matched. Spins and yields entail some limited
      * randomness (using a cheap xorshift) to avoid regular patterns
      * that can induce unproductive grow/shrink cycles. (Using a
      * pseudorandom also helps regularize spin cycle duration by
@@ -192,6 +201,14 @@ public class Exchanger<V> {
      * the arena isn't enabled). This may delay response to timeout
      * but is still within spec.
      *
+     * Method exchangeAll wraps its array argument in a Batch, which is
+     * otherwise exchanged just like any other item.  The releasing
+     * thread (method release) reads both arrays before setting match,
+     * and hands each thread a snapshot of its partner's elements (or
+     * a single element if the partner is not exchanging a Batch),
+     * which each thread then copies into its own array. This avoids
+     * any thread writing into an array that it did not supply.
+     *
      * Essentially all of the implementation is in methods
      * slotExchange and arenaExchange. These have similar overall
      * structure, but differ in too many details to combine. The
@@ -249,12 +266,20 @@ public class Exchanger<V> {
     static final int FULL = (NCPU >= (MMASK << 1)) ? MMASK : NCPU >>> 1;
 
     /**
-     * The bound for spins while waiting for a match. The actual
-     * number of iterations will on average be about twice this value
-     * due to randomization. Note: Spinning is disabled when NCPU==1.
+     * The initial bound for spins while waiting for a match. The
+     * actual number of iterations will on average be about twice this
+     * value due to randomization. Note: Spinning is disabled when
+     * NCPU==1.
      */
     private static final int SPINS = 1 << 10;
 
+    /**
+     * The minimum and maximum values of adaptive per-thread spin
+     * bounds. Must be powers of two, bracketing SPINS.
+     */
+    private static final int MIN_SPINS = 1 << 6;
+    private static final int MAX_SPINS = 1 << 14;
+
     /**
      * Value representing null arguments/returns from public
      * methods. Needed because the API originally didn't disallow null
@@ -278,11 +303,21 @@ public class Exchanger<V> {
         int bound;              // Last recorded value of Exchanger.bound
         int collides;           // Number of CAS failures at current bound
         int hash;               // Pseudo-random for spins
+        int spins;              // Adaptive spin bound; 0 until first use
         Object item;            // This thread's current item
         volatile Object match;  // Item provided by releasing thread
         volatile Thread parked; // Set to this thread when parked, else null
     }
 
+    /**
+     * Wrapper for the array argument of exchangeAll, distinguishing
+     * it from any item.
+     */
+    static final class Batch {
+        final Object[] items;
+        Batch(Object[] items) { this.items = items; }
+    }
+
     /** The corresponding thread local class */
     static final class Participant extends ThreadLocal<Node> {
         public Node initialValue() { return new Node(); }
@@ -312,6 +347,66 @@ public class Exchanger<V> {
      */
     private volatile int bound;
 
+    /**
+     * Releases waiting node q with the given item, returning q's
+     * item.  If either item is a Batch, the partner receives a
+     * snapshot of (at most the common length of) its elements, or
+     * its first element if the partner's item is not a Batch.  All
+     * reads of arrays occur before q.match is set, after which the
+     * waiting thread may overwrite its own array.
+     */
+    private static Object release(Node q, Object item) {
+        Object v = q.item;
+        if (v instanceof Batch) {
+            Object[] a = ((Batch)v).items;
+            if (item instanceof Batch) {
+                Object[] b = ((Batch)item).items;
+                int n = Math.min(a.length, b.length);
+                v = new Batch(Arrays.copyOf(a, n, Object[].class));
+                item = new Batch(Arrays.copyOf(b, n, Object[].class));
+            }
+            else
+                v = maskNull(a[0]);
+        }
+        else if (item instanceof Batch)
+            item = maskNull(((Batch)item).items[0]);
+        q.match = item;
+        Thread w = q.parked;
+        if (w != null)
+            LockSupport.unpark(w);
+        return v;
+    }
+
+    /** Translates null items to NULL_ITEM. */
+    private static Object maskNull(Object x) {
+        return (x == null) ? NULL_ITEM : x;
+    }
+
+    /**
+     * Returns the current spin bound of p, initializing if necessary.
+     */
+    private static int spinBound(Node p) {
+        int limit = p.spins;
+        return (limit == 0) ? (p.spins = SPINS) : limit;
+    }
+
+    /**
+     * Adapts the spin bound of p after a wait that began with the
+     * given bound and ended with the given number of spins remaining.
+     * The bound grows if a match arrived only after more than half of
+     * the spins, and shrinks if spinning did not suffice, so tends
+     * toward the observed latency of matches (and, for arenas, the
+     * time before an unmatched offer expires).
+     */
+    private static void adaptSpins(Node p, int limit, int spins) {
+        if (spins <= 0) {
+            if (limit > MIN_SPINS)
+                p.spins = limit >>> 1;
+        }
+        else if (spins < (limit >>> 1) && limit < MAX_SPINS)
+            p.spins = limit << 1;
+    }
+
     /**
      * Exchange function when arenas enabled. See above for explanation.
      *
@@ -331,25 +426,21 @@ public class Exchanger<V> {
             if (j < 0 || j >= alen)
                 j = alen - 1;
             Node q = (Node)AA.getAcquire(a, j);
-            if (q != null && AA.compareAndSet(a, j, q, null)) {
-                Object v = q.item;                     // release
-                q.match = item;
-                Thread w = q.parked;
-                if (w != null)
-                    LockSupport.unpark(w);
-                return v;
-            }
+            if (q != null && AA.compareAndSet(a, j, q, null))
+                return release(q, item);               // release
             else if (i <= (m = (b = bound) & MMASK) && q == null) {
                 p.item = item;                         // offer
                 if (AA.compareAndSet(a, j, null, p)) {
                     long end = (timed && m == 0) ? System.nanoTime() + ns : 0L;
                     Thread t = Thread.currentThread(); // wait
-                    for (int h = p.hash, spins = SPINS;;) {
+                    int limit = spinBound(p);
+                    for (int h = p.hash, spins = limit;;) {
                         Object v = p.match;
                         if (v != null) {
                             MATCH.setRelease(p, null);
                             p.item = null;             // clear for next use
                             p.hash = h;
+                            adaptSpins(p, limit, spins);
                             return v;
                         }
                         else if (spins > 0) {
@@ -357,11 +448,11 @@ public class Exchanger<V> {
                             if (h == 0)                // initialize hash
                                 h = SPINS | (int)t.getId();
                             else if (h < 0 &&          // approx 50% true
-                                     (--spins & ((SPINS >>> 1) - 1)) == 0)
+                                     (--spins & ((limit >>> 1) - 1)) == 0)
                                 Thread.yield();        // two yields per wait
                         }
                         else if (AA.getAcquire(a, j) != p)
-                            spins = SPINS;       // releaser hasn't set match yet
+                            spins = limit;       // releaser hasn't set match yet
                         else if (!t.isInterrupted() && m == 0 &&
                                  (!timed ||
                                   (ns = end - System.nanoTime()) > 0L)) {
@@ -380,6 +471,7 @@ public class Exchanger<V> {
                                 BOUND.compareAndSet(this, b, b + SEQ - 1);
                             p.item = null;
                             p.hash = h;
+                            adaptSpins(p, limit, 0);
                             i = p.index >>>= 1;        // descend
                             if (Thread.interrupted())
                                 return null;
@@ -428,14 +520,8 @@ public class Exchanger<V> {
 
         for (Node q;;) {
             if ((q = slot) != null) {
-                if (SLOT.compareAndSet(this, q, null)) {
-                    Object v = q.item;
-                    q.match = item;
-                    Thread w = q.parked;
-                    if (w != null)
-                        LockSupport.unpark(w);
-                    return v;
-                }
+                if (SLOT.compareAndSet(this, q, null))
+                    return release(q, item);
                 // create arena on contention, but continue until slot null
                 if (NCPU > 1 && bound == 0 &&
                     BOUND.compareAndSet(this, 0, SEQ))
@@ -454,18 +540,19 @@ public class Exchanger<V> {
         // await release
         int h = p.hash;
         long end = timed ? System.nanoTime() + ns : 0L;
-        int spins = (NCPU > 1) ? SPINS : 1;
+        int limit = (NCPU > 1) ? spinBound(p) : 1;
+        int spins = limit;
         Object v;
         while ((v = p.match) == null) {
             if (spins > 0) {
                 h ^= h << 1; h ^= h >>> 3; h ^= h << 10;
                 if (h == 0)
                     h = SPINS | (int)t.getId();
-                else if (h < 0 && (--spins & ((SPINS >>> 1) - 1)) == 0)
+                else if (h < 0 && (--spins & ((limit >>> 1) - 1)) == 0)
                     Thread.yield();
             }
             else if (slot != p)
-                spins = SPINS;
+                spins = limit;
             else if (!t.isInterrupted() && arena == null &&
                      (!timed || (ns = end - System.nanoTime()) > 0L)) {
                 p.parked = t;
@@ -485,6 +572,8 @@ public class Exchanger<V> {
         MATCH.setRelease(p, null);
         p.item = null;
         p.hash = h;
+        if (NCPU > 1)
+            adaptSpins(p, limit, spins);
         return v;
     }
 
@@ -599,6 +688,110 @@ public class Exchanger<V> {
         return (v == NULL_ITEM) ? null : (V)v;
     }
 
+    /**
+     * Waits for another thread to arrive at this exchange point (unless
+     * the current thread is {@linkplain Thread#interrupt interrupted}),
+     * and then exchanges the elements of the given array with those
+     * presented by the other thread, in a single rendezvous. This is
+     * typically much faster than exchanging each element separately.
+     *
+     * <p>If the other thread also invokes {@code exchangeAll}, then
+     * upon return, the first {@code n} elements of each thread's array
+     * hold the elements at the same indices of the other thread's
+     * array on entry, where {@code n} is the smaller of the two array
+     * lengths; other elements are unchanged.  If the other thread
+     * instead invokes {@link #exchange exchange}, then it receives the
+     * first element of this thread's array, which is replaced by the
+     * other thread's object, and {@code n} is one.  Otherwise, this
+     * method behaves as {@link #exchange(Object) exchange}.  The array
+     * should not be accessed by other threads while this method is in
+     * progress.
+     *
+     * @param items the elements to exchange
+     * @return the number of elements exchanged
+     * @throws InterruptedException if the current thread was
+     *         interrupted while waiting
+     * @throws NullPointerException if the array is null
+     * @throws IllegalArgumentException if the array is empty
+     * @throws ArrayStoreException if an element received is not of
+     *         the runtime component type of the array, in which case
+     *         some of the elements received may not have been stored
+     * @since 12
+     */
+    public int exchangeAll(V[] items) throws InterruptedException {
+        Object v;
+        Node[] a;
+        Batch item = batchFor(items);
+        if (((a = arena) != null ||
+             (v = slotExchange(item, false, 0L)) == null) &&
+            ((Thread.interrupted() ||
+              (v = arenaExchange(item, false, 0L)) == null)))
+            throw new InterruptedException();
+        return receive(items, v);
+    }
+
+    /**
+     * Waits for another thread to arrive at this exchange point (unless
+     * the current thread is {@linkplain Thread#interrupt interrupted} or
+     * the specified waiting time elapses), and then exchanges the
+     * elements of the given array with those presented by the other
+     * thread, as described in {@link #exchangeAll(Object[])}. If the
+     * specified waiting time elapses then {@link TimeoutException} is
+     * thrown, and the array is unchanged.
+     *
+     * @param items the elements to exchange
+     * @param timeout the maximum time to wait
+     * @param unit the time unit of the {@code timeout} argument
+     * @return the number of elements exchanged
+     * @throws InterruptedException if the current thread was
+     *         interrupted while waiting
+     * @throws TimeoutException if the specified waiting time elapses
+     *         before another thread enters the exchange
+     * @throws NullPointerException if the array is null
+     * @throws IllegalArgumentException if the array is empty
+     * @throws ArrayStoreException if an element received is not of
+     *         the runtime component type of the array, in which case
+     *         some of the elements received may not have been stored
+     * @since 12
+     */
+    public int exchangeAll(V[] items, long timeout, TimeUnit unit)
+        throws InterruptedException, TimeoutException {
+        Object v;
+        Batch item = batchFor(items);
+        long ns = unit.toNanos(timeout);
+        if ((arena != null ||
+             (v = slotExchange(item, true, ns)) == null) &&
+            ((Thread.interrupted() ||
+              (v = arenaExchange(item, true, ns)) == null)))
+            throw new InterruptedException();
+        if (v == TIMED_OUT)
+            throw new TimeoutException();
+        return receive(items, v);
+    }
+
+    /**
+     * Checks and wraps the argument of exchangeAll.
+     */
+    private static Batch batchFor(Object[] items) {
+        if (items.length == 0)
+            throw new IllegalArgumentException();
+        return new Batch(items);
+    }
+
+    /**
+     * Stores the result v of an exchange by exchangeAll into items,
+     * returning the number of elements stored.
+     */
+    private static int receive(Object[] items, Object v) {
+        if (v instanceof Batch) {
+            Object[] r = ((Batch)v).items;
+            System.arraycopy(r, 0, items, 0, r.length);
+            return r.length;
+        }
+        items[0] = (v == NULL_ITEM) ? null : v;
+        return 1;
+    }
+
     // VarHandle mechanics
     private static final VarHandle BOUND;
     private static final VarHandle SLOT;
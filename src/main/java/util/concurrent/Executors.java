@@ -208,6 +208,26 @@ public class Executors {
                                       threadFactory);
     }
 
+    /**
+     * Creates an Executor that starts a new Thread, created by the
+     * given ThreadFactory, for each task.  Tasks are never queued,
+     * and threads are never reused, so the number of threads is
+     * unbounded.  This is most appropriate for tasks that spend
+     * most of their time blocked, when the given factory creates
+     * threads that are cheap to construct and to block.  Invoking
+     * {@link ExecutorService#shutdownNow shutdownNow} interrupts the
+     * threads running tasks, and always returns an empty list.
+     *
+     * @param threadFactory the factory to use when creating new threads
+     * @return a new executor that creates a new Thread for each task
+     * @throws NullPointerException if threadFactory is null
+     * @since 12
+     */
+    public static ExecutorService newThreadPerTaskExecutor(
+            ThreadFactory threadFactory) {
+        return new ThreadPerTaskExecutor(threadFactory);
+    }
+
     /**
      * Creates a single-threaded executor that can schedule commands
      * to run after a given delay, or to execute periodically.
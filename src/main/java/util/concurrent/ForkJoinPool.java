@@ -6,6 +6,7 @@
 
 package java.util.concurrent;
 
+import java.io.IOException;
 import java.lang.Thread.UncaughtExceptionHandler;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
@@ -16,8 +17,10 @@ import java.security.Permissions;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.concurrent.locks.LockSupport;
@@ -104,6 +107,13 @@ import java.util.concurrent.locks.LockSupport;
  *  </tr>
  * </table>
  *
+ * <p>External clients mixing latency-sensitive and bulk work in the
+ * same pool may submit the former using {@link #submit(ForkJoinTask,
+ * int)} with a positive priority, so that workers usually run it
+ * before queued tasks of lower priority.  Method {@link
+ * #getQueuedSubmissionCount(int)} reports the backlog at each
+ * priority.
+ *
  * <p>The parameters used to construct the common pool may be controlled by
  * setting the following {@linkplain System#getProperty system properties}:
  * <ul>
@@ -134,6 +144,13 @@ import java.util.concurrent.locks.LockSupport;
  * using a factory that may return {@code null}. However doing so may
  * cause unjoined tasks to never be executed.
  *
+ * <p>For use in tuning task decompositions, workers of all pools
+ * record recent events such as pushes, steals and parking when system
+ * property {@code java.util.concurrent.ForkJoinPool.traceCapacity}
+ * is set to the number of events to retain per worker. These may be
+ * obtained using method {@link #exportTrace}.  Tracing is disabled by
+ * default.
+ *
  * <p><b>Implementation notes</b>: This implementation restricts the
  * maximum number of running threads to 32767. Attempts to create
  * pools with greater than the maximum number result in
@@ -328,7 +345,10 @@ public class ForkJoinPool extends AbstractExecutorService {
      * indices. Shared (submission) queues are at even indices, up to
      * a maximum of 64 slots, to limit growth even if the array needs
      * to expand to add more workers. Grouping them together in this
-     * way simplifies and speeds up task scanning.
+     * way simplifies and speeds up task scanning. The lowest even
+     * slots (below LANE_SLOTS) are reserved for priority lanes
+     * (see below), so the array always has at least 2 * LANE_SLOTS
+     * slots.
      *
      * All worker thread creation is on-demand, triggered by task
      * submissions, replacement of terminated workers, and/or
@@ -450,8 +470,15 @@ public class ForkJoinPool extends AbstractExecutorService {
      * they soon restart at a different pseudorandom index.  This form
      * of backoff improves throughput when many threads are trying to
      * take tasks from few queues, which can be common in some usages.
-     * Scans do not otherwise explicitly take into account core
-     * affinities, loads, cache localities, etc, However, they do
+     * Scans take into account core affinities only via the locality
+     * group hints supplied by ForkJoinWorkerThreadFactory.localityGroup
+     * and recorded in WorkQueue.group (-1 for shared queues, which
+     * are treated as local to all workers): a scan passes over
+     * nonempty queues of other groups, stealing from the first of
+     * them only if no local queue has tasks.  With the default
+     * factory all workers are in group zero, so this has no effect
+     * beyond a comparison.  Scans do not otherwise explicitly take
+     * into account loads, cache localities, etc, However, they do
      * exploit temporal locality (which usually approximates these) by
      * preferring to re-poll from the same queue after a successful
      * poll before trying others (see method topLevelExec). However
@@ -462,6 +489,20 @@ public class ForkJoinPool extends AbstractExecutorService {
      * high enough to avoid much impact on locality and scheduling
      * overhead.
      *
+     * Priority lanes. Submissions with priority p > 0 (see
+     * submit(task, priority)) are placed in a dedicated shared queue
+     * at even index laneIndex(p), below LANE_SLOTS, that ordinary
+     * submissions never use (see submissionIndex).  Because lanes
+     * are ordinary submission queues, all other scanning, helping,
+     * quiescence and termination code handles them without change.
+     * Method scan first checks the lanes, highest priority first,
+     * and if one is nonempty starts there, except on a random
+     * 1/(LANE_SKIP_MASK + 1) of scans, which bounds starvation of
+     * ordinary submissions (a form of weighted fair scanning).  Also,
+     * topLevelExec stops re-polling a queue when a lane of higher
+     * priority is nonempty (see hasHigherLaneTasks), so that workers
+     * draining long runs of ordinary tasks promptly switch to lanes.
+     *
      * Trimming workers. To release resources after periods of lack of
      * use, a worker starting to wait when the pool is quiescent will
      * time out and terminate (see method runWorker) if the pool has
@@ -572,6 +613,26 @@ public class ForkJoinPool extends AbstractExecutorService {
      * in ForkJoinWorkerThread) may be JVM-dependent and must access
      * particular Thread class fields to achieve this effect.
      *
+     * Tracing
+     * =======
+     *
+     * When TRACE_CAPACITY is nonzero (set from a system property),
+     * each worker records events into a TraceBuffer, a ring of
+     * parallel arrays allocated in runWorker and written only by its
+     * owner, so recording requires no atomics, just a release fence
+     * before advancing the count.  Events are recorded on pushes,
+     * pops (including those by joins), steals (including those while
+     * helping), and transitions to idle, parked, and unparked, along
+     * with the current queue size.  Tasks are identified by class and identity
+     * hash, which suffices for method exportTrace readers to match
+     * pushes with steals, giving steal latencies and the steal graph.
+     * Because TRACE_CAPACITY is a static final, the checks in
+     * WorkQueue.trace are folded away by compilers when tracing is
+     * disabled, and WorkQueues then carry only a null field.  Buffers
+     * are read racily during export; entries overwritten while
+     * exporting may be inconsistent, and events of workers that have
+     * terminated are lost, which is acceptable for diagnostics.
+     *
      * Memory placement
      * ================
      *
@@ -663,6 +724,27 @@ public class ForkJoinPool extends AbstractExecutorService {
          * @throws NullPointerException if the pool is null
          */
         public ForkJoinWorkerThread newThread(ForkJoinPool pool);
+
+        /**
+         * Returns a hint of the locality group of the given worker
+         * thread, for example the processor socket or memory node
+         * on which it runs.  Workers prefer to steal tasks from
+         * others in the same group before stealing from workers in
+         * other groups, reducing cross-node memory traffic for tasks
+         * that split data among subtasks.  This method is invoked by
+         * each worker thread when it starts, before running any
+         * tasks, so implementations may also use it to bind the
+         * current thread to particular processors.  The default
+         * implementation returns zero, placing all workers in the
+         * same group.
+         *
+         * @param worker the worker thread, which is the current thread
+         * @return the locality group; negative values are treated as zero
+         * @since 12
+         */
+        default int localityGroup(ForkJoinWorkerThread worker) {
+            return 0;
+        }
     }
 
     static AccessControlContext contextWithPermissions(Permission ... perms) {
@@ -740,6 +822,37 @@ public class ForkJoinPool extends AbstractExecutorService {
      */
     static final int TOP_BOUND_SHIFT = 10;
 
+    /**
+     * The maximum priority accepted by {@link #submit(ForkJoinTask,
+     * int)}.  Tasks submitted with higher priorities are usually run
+     * before those with lower priorities, and tasks submitted with
+     * priority zero are treated the same as other submissions.
+     *
+     * @since 12
+     */
+    public static final int MAX_PRIORITY = 2;
+
+    /**
+     * The number of low even workQueues slots reserved for priority
+     * lanes. Must be a power of two greater than laneIndex(1).
+     */
+    static final int LANE_SLOTS   = MAX_PRIORITY << 1;
+
+    /**
+     * Random mask for the scans that do not prefer priority lanes.
+     */
+    static final int LANE_SKIP_MASK = 0x7;
+
+    // Kinds of events recorded in TraceBuffers
+    static final int TRACE_PUSH   = 0; // owner pushed task
+    static final int TRACE_POP    = 1; // took task from own queue
+    static final int TRACE_STEAL  = 2; // ran task from another queue
+    static final int TRACE_IDLE   = 3; // scan found no tasks
+    static final int TRACE_PARK   = 4; // about to block awaiting signal
+    static final int TRACE_UNPARK = 5; // resumed after blocking
+    static final int TRACE_KIND_BITS = 3;
+    static final int TRACE_KIND_MASK = (1 << TRACE_KIND_BITS) - 1;
+
     /**
      * Queues supporting work-stealing as well as external task
      * submission. See above for descriptions and algorithms.
@@ -753,6 +866,8 @@ public class ForkJoinPool extends AbstractExecutorService {
         volatile int phase;        // versioned, negative: queued, 1: locked
         int stackPred;             // pool stack (ctl) predecessor link
         int nsteals;               // number of steals
+        int group;                 // locality group hint, or -1 if shared
+        TraceBuffer events;        // recent events, or null unless tracing
         ForkJoinTask<?>[] array;   // the queued tasks; power of 2 size
         final ForkJoinPool pool;   // the containing pool (may be null)
         final ForkJoinWorkerThread owner; // owning thread or null if shared
@@ -782,6 +897,20 @@ public class ForkJoinPool extends AbstractExecutorService {
             return (id & 0xffff) >>> 1; // ignore odd/even tag bit
         }
 
+        /**
+         * Records an event if tracing is enabled for this queue.
+         *
+         * @param kind the kind of event
+         * @param task the task, or null if none
+         * @param peer the id of the queue the task was taken from, if
+         * a steal
+         */
+        final void trace(int kind, ForkJoinTask<?> task, int peer) {
+            TraceBuffer tb;
+            if (TRACE_CAPACITY != 0 && (tb = events) != null)
+                tb.record(kind, task, peer, queueSize());
+        }
+
         /**
          * Returns the approximate number of tasks in the queue.
          */
@@ -817,6 +946,7 @@ public class ForkJoinPool extends AbstractExecutorService {
             if ((a = array) != null && (cap = a.length) > 0) {
                 QA.setRelease(a, (m = cap - 1) & s, task);
                 top = s + 1;
+                trace(TRACE_PUSH, task, 0);
                 if (((d = s - (int)BASE.getAcquire(this)) & ~1) == 0 &&
                     p != null) {                 // size 0 or 1
                     VarHandle.fullFence();
@@ -948,8 +1078,10 @@ public class ForkJoinPool extends AbstractExecutorService {
             int s, cap; ForkJoinTask<?>[] a;
             if ((a = array) != null && (cap = a.length) > 0 &&
                 (s = top) != base &&
-                (popped = QA.compareAndSet(a, (cap - 1) & --s, task, null)))
+                (popped = QA.compareAndSet(a, (cap - 1) & --s, task, null))) {
                 TOP.setOpaque(this, s);
+                trace(TRACE_POP, task, 0);
+            }
             return popped;
         }
 
@@ -982,7 +1114,8 @@ public class ForkJoinPool extends AbstractExecutorService {
         /**
          * Runs the given (stolen) task if nonnull, as well as
          * remaining local tasks and others available from the given
-         * queue, up to bound n (to avoid infinite unfairness).
+         * queue, up to bound n (to avoid infinite unfairness), or
+         * until a priority lane needs service.
          */
         final void topLevelExec(ForkJoinTask<?> t, WorkQueue q, int n) {
             if (t != null && q != null) { // hoist checks
@@ -992,11 +1125,17 @@ public class ForkJoinPool extends AbstractExecutorService {
                     if (n-- < 0)
                         break;
                     else if ((t = nextLocalTask()) == null) {
-                        if ((t = q.poll()) == null)
+                        ForkJoinPool p = pool;
+                        if ((p != null && p.hasHigherLaneTasks(q)) ||
+                            (t = q.poll()) == null)
                             break;
-                        else
+                        else {
                             ++nstolen;
+                            trace(TRACE_STEAL, t, q.id);
+                        }
                     }
+                    else
+                        trace(TRACE_POP, t, 0);
                 }
                 ForkJoinWorkerThread thread = owner;
                 nsteals += nstolen;
@@ -1030,6 +1169,7 @@ public class ForkJoinPool extends AbstractExecutorService {
                                 QA.setRelease(a, jindex, f);
                             }
                             VarHandle.releaseFence();
+                            trace(TRACE_POP, t, 0);
                             t.doExec();
                         }
                         break;
@@ -1146,6 +1286,48 @@ public class ForkJoinPool extends AbstractExecutorService {
         }
     }
 
+    /**
+     * A ring of recent events of a worker, used only if tracing is
+     * enabled. See above for explanation.
+     */
+    static final class TraceBuffer {
+        final long[] times;        // System.nanoTime of events
+        final int[] infos;         // kind | (queue size << TRACE_KIND_BITS)
+        final int[] peers;         // source queue ids of steals
+        final int[] hashes;        // identity hash codes of tasks
+        final Class<?>[] types;    // classes of tasks, or null
+        int count;                 // number of events ever recorded
+
+        TraceBuffer(int capacity) { // capacity is a power of two
+            times = new long[capacity];
+            infos = new int[capacity];
+            peers = new int[capacity];
+            hashes = new int[capacity];
+            types = new Class<?>[capacity];
+        }
+
+        /**
+         * Records an event. Call only by owner.
+         */
+        final void record(int kind, ForkJoinTask<?> task, int peer,
+                          int size) {
+            int c = count, i = c & (times.length - 1);
+            times[i] = System.nanoTime();
+            infos[i] = kind | (size << TRACE_KIND_BITS);
+            peers[i] = peer;
+            if (task != null) {
+                hashes[i] = System.identityHashCode(task);
+                types[i] = task.getClass();
+            }
+            else {
+                hashes[i] = 0;
+                types[i] = null;
+            }
+            VarHandle.releaseFence();    // publish before advancing
+            count = c + 1;
+        }
+    }
+
     // static fields (initialized in static initializer below)
 
     /**
@@ -1182,6 +1364,14 @@ public class ForkJoinPool extends AbstractExecutorService {
      */
     private static final int COMMON_MAX_SPARES;
 
+    /**
+     * The number of events retained by each worker's TraceBuffer, a
+     * power of two, or zero if tracing is disabled.  Settable using
+     * the "java.util.concurrent.ForkJoinPool.traceCapacity" system
+     * property.
+     */
+    static final int TRACE_CAPACITY;
+
     /**
      * Sequence number for creating workerNamePrefix.
      */
@@ -1278,6 +1468,7 @@ public class ForkJoinPool extends AbstractExecutorService {
     final ForkJoinWorkerThreadFactory factory;
     final UncaughtExceptionHandler ueh;  // per-worker UEH
     final Predicate<? super ForkJoinPool> saturate;
+    final CountDownLatch termination = new CountDownLatch(1); // on TERMINATED
 
     @jdk.internal.vm.annotation.Contended("fjpctl") // segregate
     volatile long ctl;                   // main pool control
@@ -1559,13 +1750,19 @@ public class ForkJoinPool extends AbstractExecutorService {
      */
     final void runWorker(WorkQueue w) {
         int r = (w.id ^ ThreadLocalRandom.nextSecondarySeed()) | FIFO; // rng
+        ForkJoinWorkerThreadFactory fac; int g;
+        if ((fac = factory) != null && (g = fac.localityGroup(w.owner)) > 0)
+            w.group = g;
         w.array = new ForkJoinTask<?>[INITIAL_QUEUE_CAPACITY]; // initialize
+        if (TRACE_CAPACITY != 0)
+            w.events = new TraceBuffer(TRACE_CAPACITY);
         for (;;) {
             int phase;
             if (scan(w, r)) {                     // scan until apparently empty
                 r ^= r << 13; r ^= r >>> 17; r ^= r << 5; // move (xorshift)
             }
             else if ((phase = w.phase) >= 0) {    // enqueue, then rescan
+                w.trace(TRACE_IDLE, null, 0);
                 long np = (w.phase = (phase + SS_SEQ) | UNSIGNALLED) & SP_MASK;
                 long c, nc;
                 do {
@@ -1587,7 +1784,9 @@ public class ForkJoinPool extends AbstractExecutorService {
                 else if (rc <= 0 && pred != 0 && phase == (int)c) {
                     long nc = (UC_MASK & (c - TC_UNIT)) | (SP_MASK & pred);
                     long d = keepAlive + System.currentTimeMillis();
+                    w.trace(TRACE_PARK, null, 0);
                     LockSupport.parkUntil(this, d);
+                    w.trace(TRACE_UNPARK, null, 0);
                     if (ctl == c &&               // drop on timeout if all idle
                         d - System.currentTimeMillis() <= TIMEOUT_SLOP &&
                         CTL.compareAndSet(this, c, nc)) {
@@ -1595,13 +1794,35 @@ public class ForkJoinPool extends AbstractExecutorService {
                         break;
                     }
                 }
-                else if (w.phase < 0)
+                else if (w.phase < 0) {
+                    w.trace(TRACE_PARK, null, 0);
                     LockSupport.park(this);       // OK if spuriously woken
+                    w.trace(TRACE_UNPARK, null, 0);
+                }
                 w.source = 0;                     // disable signal
             }
         }
     }
 
+    /**
+     * Returns true if a priority lane with higher priority than the
+     * given queue (any lane, if q is not a lane) is nonempty. Used
+     * in topLevelExec to stop re-polling q.
+     */
+    final boolean hasHigherLaneTasks(WorkQueue q) {
+        WorkQueue[] ws; int n, qid;
+        if ((ws = workQueues) != null && (n = ws.length) > 0 && q != null) {
+            int end = (((qid = q.id) & 1) == 0 &&
+                       (qid & SQMASK) < LANE_SLOTS) ? qid & SQMASK : LANE_SLOTS;
+            for (int i = 0; i < end && i < n; i += 2) {
+                WorkQueue v;
+                if ((v = ws[i]) != null && v.top != v.base)
+                    return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Scans for and if found executes one or more top-level tasks from a queue.
      *
@@ -1611,27 +1832,51 @@ public class ForkJoinPool extends AbstractExecutorService {
     private boolean scan(WorkQueue w, int r) {
         WorkQueue[] ws; int n;
         if ((ws = workQueues) != null && (n = ws.length) > 0 && w != null) {
-            for (int m = n - 1, j = r & m;;) {
-                WorkQueue q; int b;
+            int m = n - 1, j = r & m, g = w.group;
+            if ((r & LANE_SKIP_MASK) != 0) {  // start at highest nonempty lane
+                for (int i = 0; i < LANE_SLOTS && i < n; i += 2) {
+                    WorkQueue q;
+                    if ((q = ws[i]) != null && q.top != q.base) {
+                        j = i;
+                        break;
+                    }
+                }
+            }
+            for (int remote = -1;;) {         // deferred index; -2 if taken
+                WorkQueue q; int b, qg;
                 if ((q = ws[j]) != null && q.top != (b = q.base)) {
-                    int qid = q.id;
-                    ForkJoinTask<?>[] a; int cap, k; ForkJoinTask<?> t;
-                    if ((a = q.array) != null && (cap = a.length) > 0) {
-                        t = (ForkJoinTask<?>)QA.getAcquire(a, k = (cap - 1) & b);
-                        if (q.base == b++ && t != null &&
-                            QA.compareAndSet(a, k, t, null)) {
-                            q.base = b;
-                            w.source = qid;
-                            if (q.top - b > 0)
-                                signalWork();
-                            w.topLevelExec(t, q,  // random fairness bound
-                                           r & ((n << TOP_BOUND_SHIFT) - 1));
+                    if (remote != -2 && (qg = q.group) >= 0 && qg != g) {
+                        if (remote == -1)     // steal only if no local tasks
+                            remote = j;
+                    }
+                    else {
+                        int qid = q.id;
+                        ForkJoinTask<?>[] a; int cap, k; ForkJoinTask<?> t;
+                        if ((a = q.array) != null && (cap = a.length) > 0) {
+                            t = (ForkJoinTask<?>)
+                                QA.getAcquire(a, k = (cap - 1) & b);
+                            if (q.base == b++ && t != null &&
+                                QA.compareAndSet(a, k, t, null)) {
+                                q.base = b;
+                                w.source = qid;
+                                if (q.top - b > 0)
+                                    signalWork();
+                                w.trace((q == w) ? TRACE_POP : TRACE_STEAL,
+                                        t, qid);
+                                w.topLevelExec(t, q, // random fairness bound
+                                               r & ((n << TOP_BOUND_SHIFT) - 1));
+                            }
                         }
+                        return true;
                     }
-                    return true;
                 }
-                else if (--n > 0)
+                if (--n > 0)
                     j = (j + 1) & m;
+                else if (remote >= 0) {       // no local tasks; go remote
+                    j = remote;
+                    remote = -2;
+                    n = 1;
+                }
                 else
                     break;
             }
@@ -1676,6 +1921,7 @@ public class ForkJoinPool extends AbstractExecutorService {
                                 t != null && QA.compareAndSet(a, k, t, null)) {
                                 q.base = b;
                                 w.source = qid;
+                                w.trace(TRACE_STEAL, t, qid);
                                 t.doExec();
                                 w.source = src;
                             }
@@ -1744,6 +1990,7 @@ public class ForkJoinPool extends AbstractExecutorService {
                                 QA.compareAndSet(a, k, t, null)) {
                                 q.base = b;
                                 w.source = qid;
+                                w.trace(TRACE_STEAL, t, qid);
                                 t.doExec();
                                 w.source = source = prevSrc;
                             }
@@ -1831,6 +2078,23 @@ public class ForkJoinPool extends AbstractExecutorService {
 
     // External operations
 
+    /**
+     * Returns the index of the submission queue for an external
+     * thread with the given probe, in a workQueues array of size n,
+     * avoiding the slots reserved for priority lanes.
+     */
+    static int submissionIndex(int r, int n) {
+        int i = (n - 1) & r & SQMASK;
+        return (i < LANE_SLOTS) ? i | LANE_SLOTS : i;
+    }
+
+    /**
+     * Returns the index of the lane for the given positive priority.
+     */
+    static int laneIndex(int priority) {
+        return (MAX_PRIORITY - priority) << 1;
+    }
+
     /**
      * Adds the given task to a submission queue at submitter's
      * current queue, creating one if null or contended.
@@ -1838,6 +2102,17 @@ public class ForkJoinPool extends AbstractExecutorService {
      * @param task the task. Caller must ensure non-null.
      */
     final void externalPush(ForkJoinTask<?> task) {
+        externalPush(task, 0);
+    }
+
+    /**
+     * Adds the given task to the lane for the given priority, or if
+     * zero, to a submission queue as in externalPush(task).
+     *
+     * @param task the task. Caller must ensure non-null.
+     * @param priority the priority. Caller must ensure in range.
+     */
+    final void externalPush(ForkJoinTask<?> task, int priority) {
         int r;                                // initialize caller's probe
         if ((r = ThreadLocalRandom.getProbe()) == 0) {
             ThreadLocalRandom.localInit();
@@ -1845,12 +2120,14 @@ public class ForkJoinPool extends AbstractExecutorService {
         }
         for (;;) {
             WorkQueue q;
-            int md = mode, n;
+            int md = mode, n, i;
             WorkQueue[] ws = workQueues;
             if ((md & SHUTDOWN) != 0 || ws == null || (n = ws.length) <= 0)
                 throw new RejectedExecutionException();
-            else if ((q = ws[(n - 1) & r & SQMASK]) == null) { // add queue
-                int qid = (r | QUIET) & ~(FIFO | OWNED);
+            else if ((q = ws[i = (priority > 0) ? laneIndex(priority) :
+                              submissionIndex(r, n)]) == null) { // add queue
+                int qid = (((priority > 0) ? i : r | i) | QUIET) &
+                    ~(FIFO | OWNED);    // low index bits must match i
                 Object lock = workerNamePrefix;
                 ForkJoinTask<?>[] qa =
                     new ForkJoinTask<?>[INITIAL_QUEUE_CAPACITY];
@@ -1858,12 +2135,13 @@ public class ForkJoinPool extends AbstractExecutorService {
                 q.array = qa;
                 q.id = qid;
                 q.source = QUIET;
+                q.group = -1;           // shared queues are local to all
                 if (lock != null) {     // unless disabled, lock pool to install
                     synchronized (lock) {
-                        WorkQueue[] vs; int i, vn;
+                        WorkQueue[] vs; int j, vn;
                         if ((vs = workQueues) != null && (vn = vs.length) > 0 &&
-                            vs[i = qid & (vn - 1) & SQMASK] == null)
-                            vs[i] = q;  // else another thread already installed
+                            vs[j = qid & (vn - 1) & SQMASK] == null)
+                            vs[j] = q;  // else another thread already installed
                     }
                 }
             }
@@ -1902,7 +2180,7 @@ public class ForkJoinPool extends AbstractExecutorService {
         WorkQueue[] ws; int n;
         return (p != null && (ws = p.workQueues) != null &&
                 (n = ws.length) > 0) ?
-            ws[(n - 1) & r & SQMASK] : null;
+            ws[submissionIndex(r, n)] : null;
     }
 
     /**
@@ -1913,7 +2191,7 @@ public class ForkJoinPool extends AbstractExecutorService {
         WorkQueue[] ws; WorkQueue w; int n;
         return ((ws = workQueues) != null &&
                 (n = ws.length) > 0 &&
-                (w = ws[(n - 1) & r & SQMASK]) != null &&
+                (w = ws[submissionIndex(r, n)]) != null &&
                 w.tryLockedUnpush(task));
     }
 
@@ -1924,7 +2202,7 @@ public class ForkJoinPool extends AbstractExecutorService {
         int r = ThreadLocalRandom.getProbe();
         WorkQueue[] ws; WorkQueue w; int n;
         return ((ws = workQueues) != null && (n = ws.length) > 0 &&
-                (w = ws[(n - 1) & r & SQMASK]) != null) ?
+                (w = ws[submissionIndex(r, n)]) != null) ?
             w.helpCC(task, maxTasks, true) : 0;
     }
 
@@ -2086,9 +2364,7 @@ public class ForkJoinPool extends AbstractExecutorService {
             else if ((md & SMASK) + (short)(ctl >>> TC_SHIFT) > 0)
                 break;
             else if (MODE.compareAndSet(this, md, md | TERMINATED)) {
-                synchronized (this) {
-                    notifyAll();                  // for awaitTermination
-                }
+                termination.countDown();          // for awaitTermination
                 break;
             }
         }
@@ -2275,7 +2551,7 @@ public class ForkJoinPool extends AbstractExecutorService {
         int maxSpares = Math.min(maximumPoolSize, MAX_CAP) - parallelism;
         int minAvail = Math.min(Math.max(minimumRunnable, 0), MAX_CAP);
         int b = ((minAvail - parallelism) & SMASK) | (maxSpares << SWIDTH);
-        int n = (parallelism > 1) ? parallelism - 1 : 1; // at least 2 slots
+        int n = Math.max(parallelism - 1, LANE_SLOTS - 1); // including lanes
         n |= n >>> 1; n |= n >>> 2; n |= n >>> 4; n |= n >>> 8; n |= n >>> 16;
         n = (n + 1) << 1; // power of two, including space for submission queues
 
@@ -2335,7 +2611,7 @@ public class ForkJoinPool extends AbstractExecutorService {
         long c = ((((long)(-parallelism) << TC_SHIFT) & TC_MASK) |
                   (((long)(-parallelism) << RC_SHIFT) & RC_MASK));
         int b = ((1 - parallelism) & SMASK) | (COMMON_MAX_SPARES << SWIDTH);
-        int n = (parallelism > 1) ? parallelism - 1 : 1;
+        int n = Math.max(parallelism - 1, LANE_SLOTS - 1);
         n |= n >>> 1; n |= n >>> 2; n |= n >>> 4; n |= n >>> 8; n |= n >>> 16;
         n = (n + 1) << 1;
 
@@ -2470,6 +2746,61 @@ public class ForkJoinPool extends AbstractExecutorService {
             : new ForkJoinTask.AdaptedRunnableAction(task));
     }
 
+    /**
+     * Submits a ForkJoinTask for execution with the given priority,
+     * in the range zero to {@link #MAX_PRIORITY}.  Workers usually
+     * prefer to run tasks submitted with higher priorities, so a
+     * higher priority may be used for latency-sensitive tasks that
+     * would otherwise wait behind many others.  Priorities are not
+     * strict: to avoid starvation, workers occasionally run other
+     * tasks first, and a worker does not interrupt or suspend a
+     * running task to run a higher priority task.  A priority
+     * applies only to the submitted task, not to any subtasks it
+     * forks.  A priority of zero is equivalent to {@link
+     * #submit(ForkJoinTask)}.
+     *
+     * @param task the task to submit
+     * @param priority the priority
+     * @param <T> the type of the task's result
+     * @return the task
+     * @throws NullPointerException if the task is null
+     * @throws IllegalArgumentException if priority is negative or
+     *         greater than {@link #MAX_PRIORITY}
+     * @throws RejectedExecutionException if the task cannot be
+     *         scheduled for execution
+     * @since 12
+     */
+    public <T> ForkJoinTask<T> submit(ForkJoinTask<T> task, int priority) {
+        if (priority < 0 || priority > MAX_PRIORITY)
+            throw new IllegalArgumentException();
+        if (task == null)
+            throw new NullPointerException();
+        if (priority == 0)
+            externalSubmit(task);
+        else
+            externalPush(task, priority);
+        return task;
+    }
+
+    /**
+     * Submits a value-returning task for execution with the given
+     * priority, as described in {@link #submit(ForkJoinTask, int)}.
+     *
+     * @param task the task to submit
+     * @param priority the priority
+     * @param <T> the type of the task's result
+     * @return a ForkJoinTask representing pending completion of the task
+     * @throws NullPointerException if the task is null
+     * @throws IllegalArgumentException if priority is negative or
+     *         greater than {@link #MAX_PRIORITY}
+     * @throws RejectedExecutionException if the task cannot be
+     *         scheduled for execution
+     * @since 12
+     */
+    public <T> ForkJoinTask<T> submit(Callable<T> task, int priority) {
+        return submit(new ForkJoinTask.AdaptedCallable<T>(task), priority);
+    }
+
     /**
      * @throws NullPointerException       {@inheritDoc}
      * @throws RejectedExecutionException {@inheritDoc}
@@ -2694,6 +3025,40 @@ public class ForkJoinPool extends AbstractExecutorService {
         return count;
     }
 
+    /**
+     * Returns an estimate of the number of tasks submitted to this
+     * pool with the given priority that have not yet begun
+     * executing.  The sum of these values over all priorities is
+     * the value returned by {@link #getQueuedSubmissionCount()}.
+     *
+     * @param priority the priority, as in {@link #submit(ForkJoinTask, int)}
+     * @return the number of queued submissions with the given priority
+     * @throws IllegalArgumentException if priority is negative or
+     *         greater than {@link #MAX_PRIORITY}
+     * @since 12
+     */
+    public int getQueuedSubmissionCount(int priority) {
+        if (priority < 0 || priority > MAX_PRIORITY)
+            throw new IllegalArgumentException();
+        WorkQueue[] ws; WorkQueue w;
+        VarHandle.acquireFence();
+        int count = 0;
+        if ((ws = workQueues) != null) {
+            if (priority > 0) {
+                int i = laneIndex(priority);
+                if (i < ws.length && (w = ws[i]) != null)
+                    count = w.queueSize();
+            }
+            else {
+                for (int i = LANE_SLOTS; i < ws.length; i += 2) {
+                    if ((w = ws[i]) != null)
+                        count += w.queueSize();
+                }
+            }
+        }
+        return count;
+    }
+
     /**
      * Returns {@code true} if there are any tasks submitted to this
      * pool that have not yet begun executing.
@@ -2757,6 +3122,99 @@ public class ForkJoinPool extends AbstractExecutorService {
         return count;
     }
 
+    /**
+     * Appends to the given destination, one per line in order of
+     * occurrence, the events recently recorded by each current worker
+     * of this pool, if tracing was enabled by setting system property
+     * {@code java.util.concurrent.ForkJoinPool.traceCapacity} to the
+     * number of events to retain per worker (rounded up to a power of
+     * two). Otherwise, this method appends nothing.  Each line has
+     * the form:
+     *
+     * <pre> {@code time worker event queued [task [source]]}</pre>
+     *
+     * where {@code time} is the {@link System#nanoTime} of the event,
+     * {@code worker} is the {@linkplain
+     * ForkJoinWorkerThread#getPoolIndex pool index} of the worker,
+     * {@code queued} is the number of tasks then in the worker's
+     * queue, and {@code event} is one of:
+     *
+     * <ul>
+     * <li>{@code push}: the worker forked the task
+     * <li>{@code pop}: the worker took the task from its own queue,
+     * to run it or to cancel its fork
+     * <li>{@code steal}: the worker ran a task taken from the queue of
+     * worker {@code source}, or of external submissions if {@code
+     * source} is {@code external}
+     * <li>{@code idle}: the worker found no tasks to run
+     * <li>{@code park}, {@code unpark}: the worker blocked and resumed
+     * waiting for tasks
+     * </ul>
+     *
+     * Tasks are identified by class name and hexadecimal identity
+     * hash code, so a {@code push} and a later
+     * {@code steal} of the same task give the latency of the steal.
+     * Because events are recorded and exported without
+     * synchronization, results are only approximate in the presence
+     * of concurrent activity.
+     *
+     * @param out the destination
+     * @throws IOException if an I/O error occurs
+     * @throws NullPointerException if out is null
+     * @since 12
+     */
+    public void exportTrace(Appendable out) throws IOException {
+        if (out == null)
+            throw new NullPointerException();
+        WorkQueue[] ws; TraceBuffer tb;
+        ArrayList<String> lines = new ArrayList<>();
+        ArrayList<Long> times = new ArrayList<>();
+        if ((ws = workQueues) != null) {
+            for (int i = 1; i < ws.length; i += 2) {
+                WorkQueue w;
+                if ((w = ws[i]) != null && (tb = w.events) != null) {
+                    int c = tb.count, cap = tb.times.length;
+                    VarHandle.acquireFence();
+                    String wid = Integer.toString(w.getPoolIndex());
+                    for (int k = Math.max(c - cap, 0); k < c; ++k) {
+                        int j = k & (cap - 1), info = tb.infos[j];
+                        int kind = info & TRACE_KIND_MASK;
+                        Class<?> type = tb.types[j];
+                        long time = tb.times[j];
+                        StringBuilder sb = new StringBuilder();
+                        sb.append(time).append(' ').append(wid).append(' ')
+                            .append(kind == TRACE_PUSH ? "push" :
+                                    kind == TRACE_POP ? "pop" :
+                                    kind == TRACE_STEAL ? "steal" :
+                                    kind == TRACE_IDLE ? "idle" :
+                                    kind == TRACE_PARK ? "park" : "unpark")
+                            .append(' ').append(info >>> TRACE_KIND_BITS);
+                        if (type != null) {
+                            sb.append(' ').append(type.getName()).append('@')
+                                .append(Integer.toHexString(tb.hashes[j]));
+                            if (kind == TRACE_STEAL) {
+                                int peer = tb.peers[j];
+                                sb.append(' ').append(
+                                    ((peer & 1) == 0) ? "external" :
+                                    Integer.toString((peer & 0xffff) >>> 1));
+                            }
+                        }
+                        lines.add(sb.toString());
+                        times.add(time);
+                    }
+                }
+            }
+        }
+        int n = lines.size();
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; ++i)
+            order[i] = i;
+        Arrays.sort(order, Comparator.comparingLong( // nanoTime may wrap
+                        (Integer i) -> times.get(i) - times.get(0)));
+        for (Integer i : order)
+            out.append(lines.get(i)).append('\n');
+    }
+
     /**
      * Returns a string identifying this pool, as well as its state,
      * including indications of run state, parallelism level, and
@@ -2914,18 +3372,7 @@ public class ForkJoinPool extends AbstractExecutorService {
             return true;
         if (nanos <= 0L)
             return false;
-        long deadline = System.nanoTime() + nanos;
-        synchronized (this) {
-            for (;;) {
-                if (isTerminated())
-                    return true;
-                if (nanos <= 0L)
-                    return false;
-                long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
-                wait(millis > 0L ? millis : 1L);
-                nanos = deadline - System.nanoTime();
-            }
-        }
+        return termination.await(nanos, TimeUnit.NANOSECONDS);
     }
 
     /**
@@ -3115,7 +3562,7 @@ public class ForkJoinPool extends AbstractExecutorService {
                 w = wt.workQueue;
             else if ((r = ThreadLocalRandom.getProbe()) != 0 &&
                      (ws = p.workQueues) != null && (n = ws.length) > 0)
-                w = ws[(n - 1) & r & SQMASK];
+                w = ws[submissionIndex(r, n)];
             else
                 w = null;
             if (w != null)
@@ -3163,6 +3610,20 @@ public class ForkJoinPool extends AbstractExecutorService {
         } catch (Exception ignore) {}
         COMMON_MAX_SPARES = commonMaxSpares;
 
+        int traceCapacity = 0;
+        try {
+            String p = System.getProperty
+                ("java.util.concurrent.ForkJoinPool.traceCapacity");
+            if (p != null && (traceCapacity = Integer.parseInt(p)) > 0)
+                traceCapacity = (traceCapacity >= 1 << 20) ? 1 << 20 :
+                    Integer.highestOneBit((traceCapacity << 1) - 1);
+            else
+                traceCapacity = 0;
+        } catch (Exception ignore) {
+            traceCapacity = 0;
+        }
+        TRACE_CAPACITY = traceCapacity;
+
         defaultForkJoinWorkerThreadFactory =
             new DefaultForkJoinWorkerThreadFactory();
         modifyThreadPermission = new RuntimePermission("modifyThread");
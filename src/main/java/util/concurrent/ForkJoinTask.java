@@ -15,6 +15,7 @@ import java.lang.reflect.Constructor;
 import java.util.Collection;
 import java.util.List;
 import java.util.RandomAccess;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -198,8 +199,13 @@ public abstract class ForkJoinTask<V> implements Future<V>, Serializable {
      * exceptional) and THROWN (in which case an exception has been
      * stored). Tasks with dependent blocked waiting joiners have the
      * SIGNAL bit set.  Completion of a task with SIGNAL set awakens
-     * any waiters via notifyAll. (Waiters also help signal others
-     * upon completion.)
+     * any waiters held in the "waiters" stack (a Treiber stack, as in
+     * FutureTask).  Waiters park using LockSupport rather than
+     * Object.wait, so that blocked joiners do not hold monitors,
+     * which would otherwise pin the carriers of any threads that are
+     * scheduled on top of others.  A waiter pushes its node before
+     * setting SIGNAL, and completion sets DONE before popping the
+     * stack, so either the waiter sees DONE or its node is signalled.
      *
      * These control bits occupy only (some of) the upper half (16
      * bits) of status field. The lower bits are used for user-defined
@@ -213,6 +219,25 @@ public abstract class ForkJoinTask<V> implements Future<V>, Serializable {
     private static final int SIGNAL   = 1 << 16; // true if joiner waiting
     private static final int SMASK    = 0xffff;  // short bits for tags
 
+    /**
+     * Simple linked list node to record waiting threads in a Treiber
+     * stack.  See other classes such as Phaser and SynchronousQueue
+     * for more detailed explanation.
+     */
+    static final class WaitNode {
+        volatile Thread thread;
+        volatile WaitNode next;
+        WaitNode() { thread = Thread.currentThread(); }
+    }
+
+    /** Treiber stack of waiting threads; possibly non-null only if SIGNAL */
+    private transient volatile WaitNode waiters;
+
+    // Modes for awaitDone
+    private static final int UNINTERRUPTIBLE = 0; // reassert interrupts on exit
+    private static final int INTERRUPTIBLE   = 1; // return early on interrupt
+    private static final int IGNORE_INTERRUPTS = 2; // clear interrupts
+
     static boolean isExceptionalStatus(int s) {  // needed by subclasses
         return (s & THROWN) != 0;
     }
@@ -225,7 +250,7 @@ public abstract class ForkJoinTask<V> implements Future<V>, Serializable {
     private int setDone() {
         int s;
         if (((s = (int)STATUS.getAndBitwiseOr(this, DONE)) & SIGNAL) != 0)
-            synchronized (this) { notifyAll(); }
+            signalWaiters();
         return s | DONE;
     }
 
@@ -241,7 +266,7 @@ public abstract class ForkJoinTask<V> implements Future<V>, Serializable {
                 return s;
             else if (STATUS.weakCompareAndSet(this, s, ns = s | completion)) {
                 if ((s & SIGNAL) != 0)
-                    synchronized (this) { notifyAll(); }
+                    signalWaiters();
                 return ns;
             }
         }
@@ -270,49 +295,122 @@ public abstract class ForkJoinTask<V> implements Future<V>, Serializable {
     }
 
     /**
-     * If not done, sets SIGNAL status and performs Object.wait(timeout).
-     * This task may or may not be done on exit. Ignores interrupts.
+     * Removes and unparks all waiting threads.
+     */
+    private void signalWaiters() {
+        for (WaitNode q; (q = waiters) != null;) {
+            if (WAITERS.weakCompareAndSet(this, q, null)) {
+                for (;;) {
+                    Thread t = q.thread;
+                    if (t != null) {
+                        q.thread = null;
+                        LockSupport.unpark(t);
+                    }
+                    WaitNode next = q.next;
+                    if (next == null)
+                        break;
+                    q.next = null; // unlink to help gc
+                    q = next;
+                }
+                break;
+            }
+        }
+    }
+
+    /**
+     * Blocks until done, or the deadline passes, or, if mode is
+     * INTERRUPTIBLE, the thread is interrupted, in which case its
+     * interrupt status is set on return.  Otherwise interrupts are
+     * reasserted on return if mode is UNINTERRUPTIBLE, or cleared if
+     * IGNORE_INTERRUPTS.
      *
-     * @param timeout using Object.wait conventions.
+     * @param mode one of the modes above
+     * @param deadline if nonzero, the System.nanoTime value to time out at
+     * @return status on exit, which is nonnegative if not done
      */
-    final void internalWait(long timeout) {
-        if ((int)STATUS.getAndBitwiseOr(this, SIGNAL) >= 0) {
-            synchronized (this) {
-                if (status >= 0)
-                    try { wait(timeout); } catch (InterruptedException ie) { }
-                else
-                    notifyAll();
+    private int awaitDone(int mode, long deadline) {
+        boolean interrupted = false, queued = false;
+        WaitNode q = null;
+        int s;
+        for (;;) {
+            if ((s = status) < 0)
+                break;
+            else if (q == null)
+                q = new WaitNode();
+            else if (!queued) {
+                q.next = waiters;
+                if (queued = WAITERS.weakCompareAndSet(this, q.next, q))
+                    s = (int)STATUS.getAndBitwiseOr(this, SIGNAL);
+                if (s < 0)
+                    break;
+            }
+            else if (Thread.interrupted()) {
+                interrupted = true;
+                if (mode == INTERRUPTIBLE)
+                    break;
+            }
+            else if (deadline == 0L)
+                LockSupport.park(this);
+            else {
+                long ns = deadline - System.nanoTime();
+                if (ns <= 0L)
+                    break;
+                LockSupport.parkNanos(this, ns);
+            }
+        }
+        if (q != null) {
+            q.thread = null;
+            if (s >= 0)
+                removeWaiter();
+        }
+        if (interrupted && mode != IGNORE_INTERRUPTS)
+            Thread.currentThread().interrupt();
+        return s;
+    }
+
+    /**
+     * Unlinks nodes of threads that are no longer waiting, as in
+     * FutureTask.removeWaiter.
+     */
+    private void removeWaiter() {
+        retry:
+        for (;;) {          // restart on removeWaiter race
+            for (WaitNode pred = null, q = waiters, s; q != null; q = s) {
+                s = q.next;
+                if (q.thread != null)
+                    pred = q;
+                else if (pred != null) {
+                    pred.next = s;
+                    if (pred.thread == null) // check for race
+                        continue retry;
+                }
+                else if (!WAITERS.compareAndSet(this, q, s))
+                    continue retry;
             }
+            break;
         }
     }
 
+    /**
+     * If not done, blocks for at most the given number of
+     * milliseconds, or until done if zero. This task may or may not
+     * be done on exit. Ignores interrupts.
+     *
+     * @param timeout the maximum milliseconds to wait, or zero if untimed
+     */
+    final void internalWait(long timeout) {
+        long d = (timeout == 0L) ? 0L :
+            System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        awaitDone(IGNORE_INTERRUPTS, (timeout != 0L && d == 0L) ? 1L : d);
+    }
+
     /**
      * Blocks a non-worker-thread until completion.
      * @return status upon completion
      */
     private int externalAwaitDone() {
         int s = tryExternalHelp();
-        if (s >= 0 && (s = (int)STATUS.getAndBitwiseOr(this, SIGNAL)) >= 0) {
-            boolean interrupted = false;
-            synchronized (this) {
-                for (;;) {
-                    if ((s = status) >= 0) {
-                        try {
-                            wait(0L);
-                        } catch (InterruptedException ie) {
-                            interrupted = true;
-                        }
-                    }
-                    else {
-                        notifyAll();
-                        break;
-                    }
-                }
-            }
-            if (interrupted)
-                Thread.currentThread().interrupt();
-        }
-        return s;
+        return (s >= 0) ? awaitDone(UNINTERRUPTIBLE, 0L) : s;
     }
 
     /**
@@ -320,19 +418,9 @@ public abstract class ForkJoinTask<V> implements Future<V>, Serializable {
      */
     private int externalInterruptibleAwaitDone() throws InterruptedException {
         int s = tryExternalHelp();
-        if (s >= 0 && (s = (int)STATUS.getAndBitwiseOr(this, SIGNAL)) >= 0) {
-            synchronized (this) {
-                for (;;) {
-                    if ((s = status) >= 0)
-                        wait(0L);
-                    else {
-                        notifyAll();
-                        break;
-                    }
-                }
-            }
-        }
-        else if (Thread.interrupted())
+        if (s >= 0)
+            s = awaitDone(INTERRUPTIBLE, 0L);
+        if (Thread.interrupted())   // s < 0 unless interrupted
             throw new InterruptedException();
         return s;
     }
@@ -1014,19 +1102,9 @@ public abstract class ForkJoinTask<V> implements Future<V>, Serializable {
                                (CountedCompleter<?>)this, 0) :
                            ForkJoinPool.common.tryExternalUnpush(this) ?
                            doExec() : 0)) >= 0) {
-                long ns, ms; // measure in nanosecs, but wait in millisecs
-                while ((s = status) >= 0 &&
-                       (ns = deadline - System.nanoTime()) > 0L) {
-                    if ((ms = TimeUnit.NANOSECONDS.toMillis(ns)) > 0L &&
-                        (s = (int)STATUS.getAndBitwiseOr(this, SIGNAL)) >= 0) {
-                        synchronized (this) {
-                            if (status >= 0)
-                                wait(ms); // OK to throw InterruptedException
-                            else
-                                notifyAll();
-                        }
-                    }
-                }
+                if ((s = awaitDone(INTERRUPTIBLE, deadline)) >= 0 &&
+                    Thread.interrupted())
+                    throw new InterruptedException();
             }
         }
         if (s >= 0)
@@ -1176,6 +1254,48 @@ public abstract class ForkJoinTask<V> implements Future<V>, Serializable {
         return ForkJoinPool.getSurplusQueuedTaskCount();
     }
 
+    /**
+     * The surplus of queued tasks (see {@link
+     * #getSurplusQueuedTaskCount}) above which {@link #shouldSplit}
+     * advises processing locally.
+     */
+    static final int SPLIT_SURPLUS = 3;
+
+    /**
+     * Returns {@code true} if a computation over the given estimated
+     * number of elements should be split into subtasks, or {@code
+     * false} if it should be performed sequentially by the current
+     * thread. The result is {@code true} only if {@code size} exceeds
+     * {@code grain}, and the current worker thread does not already
+     * hold enough queued tasks to keep other workers busy, as
+     * indicated by a small {@linkplain #getSurplusQueuedTaskCount
+     * surplus}. When not invoked from a worker thread, the result is
+     * {@code true} whenever {@code size} exceeds {@code grain}, so
+     * that tasks are generated for pool workers.
+     *
+     * <p>Splitting only when this method advises doing so adapts the
+     * granularity of recursive decompositions to the number of
+     * workers that are actually available to steal tasks, rather
+     * than to a fixed threshold computed from pool parallelism and
+     * input size: Workers whose tasks are not being stolen perform
+     * large leaf computations, while tasks that are stolen are split
+     * further.  The {@code grain} should be the largest size for
+     * which the overhead of creating a task is not worthwhile;
+     * smaller for more costly per-element computations.  Because the
+     * result depends on dynamic conditions, computations that
+     * traverse the same decomposition in multiple passes must record
+     * decisions rather than repeat them.
+     *
+     * @param size the estimated number of elements
+     * @param grain the largest number of elements not worth splitting
+     * @return {@code true} if the computation should be split
+     * @since 12
+     */
+    public static boolean shouldSplit(long size, long grain) {
+        return (size > grain &&
+                ForkJoinPool.getSurplusQueuedTaskCount() <= SPLIT_SURPLUS);
+    }
+
     // Extension methods
 
     /**
@@ -1506,13 +1626,20 @@ public abstract class ForkJoinTask<V> implements Future<V>, Serializable {
 
     // VarHandle mechanics
     private static final VarHandle STATUS;
+    private static final VarHandle WAITERS;
     static {
         try {
             MethodHandles.Lookup l = MethodHandles.lookup();
             STATUS = l.findVarHandle(ForkJoinTask.class, "status", int.class);
+            WAITERS = l.findVarHandle(ForkJoinTask.class, "waiters",
+                                      WaitNode.class);
         } catch (ReflectiveOperationException e) {
             throw new ExceptionInInitializerError(e);
         }
+
+        // Reduce the risk of rare disastrous classloading in first call to
+        // LockSupport.park: https://bugs.openjdk.java.net/browse/JDK-8074773
+        Class<?> ensureLoaded = LockSupport.class;
     }
 
 }
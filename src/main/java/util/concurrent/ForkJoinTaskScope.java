@@ -0,0 +1,384 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+package java.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A scope for a group of {@link ForkJoinTask}s forked on behalf of a
+ * common computation, that are joined together and may be cancelled
+ * together. Tasks are forked in the scope using method {@link #fork},
+ * and the owner of the scope awaits them all using {@link #join}
+ * before examining outcomes.  A scope is created with one of two
+ * completion policies:
+ *
+ * <ul>
+ *
+ * <li>{@link #cancelOnFailure}: when any task completes abnormally,
+ * all others are cancelled, and the first exception is reported by
+ * {@link #exception} and {@link #throwIfFailed}.  This is the usual
+ * policy for fan-outs (as in {@link ForkJoinTask#invokeAll}) whose
+ * results are all needed, so there is no point in continuing after
+ * one of them fails.
+ *
+ * <li>{@link #cancelOnSuccess}: when any task completes normally,
+ * all others are cancelled, and its result is reported by {@link
+ * #result}, as in {@link ExecutorService#invokeAny}.  This is the
+ * usual policy for speculative searches in which any solution
+ * suffices.
+ *
+ * </ul>
+ *
+ * <p>Upon {@link #shutdown} (triggered by the policy, or invoked
+ * directly), tasks that have not yet started are cancelled, so are
+ * skipped rather than run by whichever thread dequeues them, and any
+ * tasks subsequently forked are cancelled without being run.
+ * Tasks already running are neither cancelled nor interrupted, and
+ * {@link #join} waits for them to complete. Instead, they are
+ * expected to check {@link #isShutdown} and return early when
+ * possible.  Because subtasks may themselves fork tasks in the same
+ * scope, cancellation covers all descendants forked through the
+ * scope, wherever they are queued.
+ *
+ * <p>Scopes are intended to be used in try-with-resources
+ * statements, where {@link #close} shuts down and joins any
+ * remaining tasks, so that no task outlives its scope. For example,
+ * a speculative search might be written as:
+ *
+ * <pre> {@code
+ * Solution search(List<Candidate> candidates) throws ExecutionException {
+ *   try (ForkJoinTaskScope<Solution> scope =
+ *        ForkJoinTaskScope.cancelOnSuccess()) {
+ *     for (Candidate c : candidates)
+ *       scope.fork(() -> c.solve(scope)); // solve polls scope.isShutdown()
+ *     return scope.join().result();
+ *   }
+ * }}</pre>
+ *
+ * <p>Methods {@code fork}, {@code shutdown} and {@code isShutdown}
+ * may be invoked by any thread, including those running tasks of the
+ * scope.  Method {@code join} is normally invoked only by the owner;
+ * when invoked from a {@link ForkJoinWorkerThread}, the caller helps
+ * run pending tasks while waiting, as in {@link ForkJoinTask#join}.
+ *
+ * @since 12
+ * @author Doug Lea
+ * @param <T> the type of results of tasks forked in this scope
+ */
+public class ForkJoinTaskScope<T> implements AutoCloseable {
+    /*
+     * Overview:
+     *
+     * Forked tasks are wrapped in Subtasks that report completion
+     * to the scope, and are linked into a Treiber stack (field
+     * "tasks") for use by join and shutdown.  A subtask is pushed
+     * before it is forked, and fork rechecks shutdown after pushing,
+     * so every task is either cancelled by fork itself or visible to
+     * any traversal by a concurrent shutdown.  Cancellation must
+     * not apply to running subtasks: ForkJoinTask.cancel would
+     * complete them while they are still executing, so join would
+     * return before they finish. So each subtask has a "started"
+     * field, that is CASed from 0 by exec before running, or by
+     * shutdown before cancelling, and only the winner proceeds.  A
+     * subtask that loses returns false from exec, leaving its status
+     * to be set by the cancel that follows.  ForkJoinTask.doExec does
+     * not run tasks that are already cancelled, so queued tasks are
+     * dropped when taken by any worker, without needing to search
+     * for them in WorkQueues.
+     *
+     * Policies are applied by the subtask that completes, from within
+     * its exec method, before its own status is set, but because it
+     * has started, shutdown does not cancel it, which would otherwise
+     * override its outcome.  The first exception and the winning
+     * subtask are each set once by CAS; later ones are ignored.
+     *
+     * Joining traverses the stack, quietly joining each subtask,
+     * repeating until no new subtasks were pushed during traversal,
+     * then clears the stack so that the scope does not retain
+     * completed tasks.  Each repeated pass traverses only the
+     * subtasks pushed since the previous one (stopping at its head),
+     * so joining n subtasks that fork others takes O(n) rather than
+     * O(n^2) steps, and then unlinks the (completed) subtasks below
+     * them, so they are not retained until join returns.  The stack
+     * is otherwise left intact, so a concurrent shutdown can still
+     * cancel subtasks that have not yet been joined.  Unlinking only
+     * ever drops completed subtasks, so is harmless when racing with
+     * other traversals, which may see either link.
+     */
+
+    private static final int ON_FAILURE = 0;
+    private static final int ON_SUCCESS = 1;
+
+    /** The completion policy, ON_FAILURE or ON_SUCCESS */
+    private final int policy;
+
+    /** Top of stack of forked subtasks */
+    private volatile Subtask<?> tasks;
+    /** The first subtask to complete normally, used if ON_SUCCESS */
+    private volatile Subtask<?> winner;
+    /** The first exception encountered */
+    private volatile Throwable failure;
+    /** True after shutdown */
+    private volatile boolean shutdown;
+
+    private ForkJoinTaskScope(int policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Returns a new scope that shuts down when any task completes
+     * abnormally.
+     *
+     * @param <T> the type of task results
+     * @return the scope
+     */
+    public static <T> ForkJoinTaskScope<T> cancelOnFailure() {
+        return new ForkJoinTaskScope<T>(ON_FAILURE);
+    }
+
+    /**
+     * Returns a new scope that shuts down when any task completes
+     * normally.
+     *
+     * @param <T> the type of task results
+     * @return the scope
+     */
+    public static <T> ForkJoinTaskScope<T> cancelOnSuccess() {
+        return new ForkJoinTaskScope<T>(ON_SUCCESS);
+    }
+
+    /**
+     * A task forked in a scope, reporting its outcome to the scope.
+     * Exceptions are wrapped as in ForkJoinTask.AdaptedCallable.
+     */
+    static final class Subtask<U> extends ForkJoinTask<U> {
+        final ForkJoinTaskScope<?> scope;
+        final Callable<? extends U> callable;
+        Subtask<?> next; // stack link, set before publication
+                         // and cleared by join once those below complete
+        volatile int started; // nonzero when running or cancelled
+        U result;
+        Subtask(ForkJoinTaskScope<?> scope, Callable<? extends U> callable) {
+            this.scope = scope;
+            this.callable = callable;
+        }
+        public final U getRawResult() { return result; }
+        public final void setRawResult(U v) { result = v; }
+        public final boolean exec() {
+            if (started != 0 || !STARTED.compareAndSet(this, 0, 1))
+                return false; // cancelled by shutdown
+            try {
+                result = callable.call();
+            } catch (Throwable ex) {
+                scope.onFailure(this, ex);
+                if (ex instanceof RuntimeException)
+                    throw (RuntimeException)ex;
+                if (ex instanceof Error)
+                    throw (Error)ex;
+                throw new RuntimeException(ex);
+            }
+            scope.onSuccess(this);
+            return true;
+        }
+        /**
+         * Cancels this subtask if it has not started running.
+         */
+        final void cancelIfNotStarted() {
+            if (started == 0 && STARTED.compareAndSet(this, 0, -1))
+                cancel(false);
+        }
+        public String toString() {
+            return super.toString() + "[Wrapped task = " + callable + "]";
+        }
+        private static final VarHandle STARTED;
+        static {
+            try {
+                STARTED = MethodHandles.lookup().findVarHandle
+                    (Subtask.class, "started", int.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+        private static final long serialVersionUID = 5232453952276485270L;
+    }
+
+    /**
+     * Arranges to asynchronously execute the given task in the
+     * current task's pool, or {@link ForkJoinPool#commonPool()} if
+     * not invoked from a worker thread, as in {@link
+     * ForkJoinTask#fork}. If this scope is already shut down, the
+     * task is not run, and the returned task is cancelled.
+     *
+     * @param task the task
+     * @param <U> the type of the task's result
+     * @return a ForkJoinTask that may be used to examine the outcome
+     * of the task after {@link #join}
+     * @throws NullPointerException if task is null
+     */
+    public <U extends T> ForkJoinTask<U> fork(Callable<? extends U> task) {
+        if (task == null)
+            throw new NullPointerException();
+        Subtask<U> t = new Subtask<U>(this, task);
+        if (!shutdown) {
+            Subtask<?> h;
+            do {
+                t.next = h = tasks;
+            } while (!TASKS.weakCompareAndSet(this, h, t));
+            if (!shutdown) {
+                t.fork();
+                return t;
+            }
+        }
+        t.cancel(false);
+        return t;
+    }
+
+    /**
+     * Waits for all tasks forked in this scope to complete or be
+     * cancelled, including those forked by other tasks while
+     * waiting.
+     *
+     * @return this scope
+     */
+    public ForkJoinTaskScope<T> join() {
+        Subtask<?> h, stop = null;  // stop is head of previous pass
+        while ((h = tasks) != null) {
+            Subtask<?> p = null;    // last subtask joined in this pass
+            for (Subtask<?> t = h; t != null && t != stop; t = t.next)
+                (p = t).quietlyJoin();
+            if (TASKS.compareAndSet(this, h, null))
+                break;
+            if (p != null)
+                p.next = null;      // unlink those joined in earlier passes
+            stop = h;
+        }
+        return this;
+    }
+
+    /**
+     * Cancels all tasks of this scope that have not yet started,
+     * and causes those subsequently forked to be cancelled.  Running
+     * tasks are not cancelled or interrupted, but may check {@link
+     * #isShutdown}.  This method has no effect if already shut down.
+     */
+    public void shutdown() {
+        if (!shutdown) {
+            shutdown = true;
+            for (Subtask<?> t = tasks; t != null; t = t.next)
+                t.cancelIfNotStarted();
+        }
+    }
+
+    /**
+     * Returns {@code true} if this scope has been shut down, either
+     * by its policy or by {@link #shutdown}.
+     *
+     * @return {@code true} if this scope has been shut down
+     */
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Returns the first exception thrown by a task of this scope, or
+     * {@code null} if none.  Exceptions thrown by tasks after
+     * shutdown are not recorded.
+     *
+     * @return the exception, or {@code null} if none
+     */
+    public Throwable exception() {
+        return failure;
+    }
+
+    /**
+     * Throws an {@code ExecutionException} with the first exception
+     * thrown by a task of this scope as its cause, if any.
+     *
+     * @throws ExecutionException if any task completed abnormally
+     */
+    public void throwIfFailed() throws ExecutionException {
+        Throwable ex;
+        if ((ex = failure) != null)
+            throw new ExecutionException(ex);
+    }
+
+    /**
+     * Returns the result of the first task to complete normally, for
+     * a scope created using {@link #cancelOnSuccess}.
+     *
+     * @return the result
+     * @throws ExecutionException if no task completed normally, but
+     * some task completed abnormally
+     * @throws IllegalStateException if no task completed, or if this
+     * scope was created using {@link #cancelOnFailure}
+     */
+    @SuppressWarnings("unchecked")
+    public T result() throws ExecutionException {
+        Subtask<?> w; Throwable ex;
+        if (policy != ON_SUCCESS)
+            throw new IllegalStateException("not a cancelOnSuccess scope");
+        if ((w = winner) != null)
+            return (T)w.result;
+        if ((ex = failure) != null)
+            throw new ExecutionException(ex);
+        throw new IllegalStateException("no task completed");
+    }
+
+    /**
+     * Shuts down this scope, and waits for all tasks to complete or
+     * be cancelled, so that no task is still running upon return.
+     */
+    public void close() {
+        shutdown();
+        join();
+    }
+
+    /**
+     * Returns a string identifying this scope, as well as its state.
+     * The state, in brackets, includes the String {@code "Shutdown"}
+     * or {@code "Open"}.
+     *
+     * @return a string identifying this scope, as well as its state
+     */
+    public String toString() {
+        return super.toString() +
+            (shutdown ? "[Shutdown]" : "[Open]");
+    }
+
+    // policy support
+
+    final void onFailure(Subtask<?> t, Throwable ex) {
+        if (!shutdown && failure == null &&
+            FAILURE.compareAndSet(this, null, ex) && policy == ON_FAILURE)
+            shutdown();
+    }
+
+    final void onSuccess(Subtask<?> t) {
+        if (policy == ON_SUCCESS && !shutdown &&
+            WINNER.compareAndSet(this, null, t))
+            shutdown();
+    }
+
+    // VarHandle mechanics
+    private static final VarHandle TASKS;
+    private static final VarHandle WINNER;
+    private static final VarHandle FAILURE;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            TASKS = l.findVarHandle(ForkJoinTaskScope.class, "tasks",
+                                    Subtask.class);
+            WINNER = l.findVarHandle(ForkJoinTaskScope.class, "winner",
+                                     Subtask.class);
+            FAILURE = l.findVarHandle(ForkJoinTaskScope.class, "failure",
+                                      Throwable.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
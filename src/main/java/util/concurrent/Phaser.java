@@ -107,6 +107,16 @@ import java.util.concurrent.locks.LockSupport;
  * {@link #arriveAndDeregister}, the child phaser is deregistered
  * from its parent.
  *
+ * <p>Alternatively, a phaser constructed using {@link
+ * #Phaser(int,boolean) Phaser(parties, true)} manages its own tree:
+ * parties registering with it or arriving at it are internally
+ * spread across a set of sub-phasers (normally one per available
+ * processor), chosen using a per-thread hash and rebalanced upon
+ * registration according to their registration counts.  Such a
+ * phaser is used in the same way as a phaser without tiers, but may
+ * scale better when there are many parties.  Its monitoring methods
+ * and {@link #onAdvance} report totals across its sub-phasers.
+ *
  * <p><b>Monitoring.</b> While synchronization methods may be invoked
  * only by registered parties, the current state of a phaser may be
  * monitored by any caller.  At any given moment there are {@link
@@ -316,6 +326,23 @@ public class Phaser {
     private final AtomicReference<QNode> evenQ;
     private final AtomicReference<QNode> oddQ;
 
+    /**
+     * For a self-tiered root (see Phaser(int, boolean)), the
+     * sub-phasers across which parties are spread; else null.
+     * Registrations go to the less loaded of the tier selected by
+     * the caller's ThreadLocalRandom probe and its successor, so
+     * that counts stay roughly balanced even though parties are
+     * otherwise anonymous.  Arrivals go to the probe's tier if it
+     * has unarrived parties in the current phase, else the next one
+     * that does, so need not occur at the tier that a party
+     * registered with -- only the total number of arrivals per
+     * phase matters.  Tiers register with and arrive at the root
+     * using the usual sub-phaser mechanics.  The array is fixed at
+     * construction; tiers without parties are EMPTY and so are not
+     * registered with the root.
+     */
+    private final Phaser[] tiers;
+
     /**
      * Returns message string for bounds exceptions on arrival.
      */
@@ -357,7 +384,8 @@ public class Phaser {
                     long n = s & PARTIES_MASK;  // base of next state
                     int nextUnarrived = (int)n >>> PARTIES_SHIFT;
                     if (root == this) {
-                        if (onAdvance(phase, nextUnarrived))
+                        if (onAdvance(phase, (tiers == null) ? nextUnarrived :
+                                      nextUnarrived + tierParties()))
                             n |= TERMINATION_BIT;
                         else if (nextUnarrived == 0)
                             n |= EMPTY;
@@ -466,6 +494,122 @@ public class Phaser {
         return s;
     }
 
+    /**
+     * Returns the index of the tier to use for the current thread.
+     */
+    private static int tierIndex(int n) {
+        int h;
+        if ((h = ThreadLocalRandom.getProbe()) == 0) {
+            ThreadLocalRandom.localInit();      // force initialization
+            h = ThreadLocalRandom.getProbe();
+        }
+        return h & (n - 1);
+    }
+
+    /**
+     * Implementation of register for self-tiered roots.
+     */
+    private int doTierRegister(int registrations) {
+        final Phaser[] ts = tiers;
+        int n = ts.length, i = tierIndex(n);
+        Phaser t = ts[i], u = ts[(i + 1) & (n - 1)];
+        if (((int)u.state >>> PARTIES_SHIFT) <
+            ((int)t.state >>> PARTIES_SHIFT))
+            t = u;
+        return t.doRegister(registrations);
+    }
+
+    /**
+     * Implementation of bulkRegister for self-tiered roots, spreading
+     * registrations evenly across tiers.  All of them apply to the
+     * same phase, because the root cannot advance until the parties
+     * registered with the first tier arrive.
+     */
+    private int doTierBulkRegister(int registrations) {
+        final Phaser[] ts = tiers;
+        int n = ts.length, q = registrations / n, r = registrations % n;
+        int phase = 0;
+        for (int i = 0, j = tierIndex(n); i < n; ++i, j = (j + 1) & (n - 1)) {
+            int k = (i < r) ? q + 1 : q;
+            if (k > 0 && (phase = ts[j].doRegister(k)) < 0)
+                break;
+        }
+        return phase;
+    }
+
+    /**
+     * Implementation of arrive, arriveAndDeregister, and
+     * arriveAndAwaitAdvance for self-tiered roots.  Mirrors the
+     * sub-phaser path of doArrive, except that tiers with no
+     * unarrived parties are skipped rather than causing an
+     * IllegalStateException, which is thrown only if all tiers
+     * lack them.
+     *
+     * @param adjust ONE_ARRIVAL or ONE_DEREGISTER
+     * @param await true if should await advance
+     */
+    private int doTierArrive(int adjust, boolean await) {
+        final Phaser[] ts = tiers;
+        int n = ts.length;
+        for (int k = n, i = tierIndex(n); k > 0; --k, i = (i + 1) & (n - 1)) {
+            Phaser t = ts[i];
+            for (;;) {
+                long s = t.reconcileState();
+                int phase = (int)(s >>> PHASE_SHIFT);
+                if (phase < 0)
+                    return phase;
+                int counts = (int)s;
+                int unarrived = (counts == EMPTY) ? 0 : (counts & UNARRIVED_MASK);
+                if (unarrived <= 0)
+                    break;                      // try next tier
+                if (STATE.compareAndSet(t, s, s-=adjust)) {
+                    if (unarrived == 1) {
+                        if (((int)s >>> PARTIES_SHIFT) == 0) {
+                            phase = doArrive(ONE_DEREGISTER);
+                            STATE.compareAndSet(t, s, s | EMPTY);
+                        }
+                        else
+                            phase = doArrive(ONE_ARRIVAL);
+                    }
+                    return (await && phase >= 0) ?
+                        internalAwaitAdvance(phase, null) : phase;
+                }
+            }
+        }
+        long s = state;
+        if ((int)(s >>> PHASE_SHIFT) < 0)
+            return (int)(s >>> PHASE_SHIFT);
+        throw new IllegalStateException(badArrive(s));
+    }
+
+    /**
+     * Returns the number of parties registered with tiers, less the
+     * number of tiers registered with the root.
+     */
+    private int tierParties() {
+        int sum = 0;
+        for (Phaser t : tiers) {
+            int p = (int)t.state >>> PARTIES_SHIFT;
+            if (p != 0)
+                sum += p - 1;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the number of unarrived parties of tiers, less the
+     * number of tiers that have not arrived at the root.
+     */
+    private int tierUnarrived() {
+        int sum = 0;
+        for (Phaser t : tiers) {
+            int u = unarrivedOf(t.reconcileState());
+            if (u != 0)
+                sum += u - 1;
+        }
+        return sum;
+    }
+
     /**
      * Creates a new phaser with no initially registered parties, no
      * parent, and initial phase number 0. Any thread using this
@@ -510,6 +654,30 @@ public class Phaser {
      * or greater than the maximum number of parties supported
      */
     public Phaser(Phaser parent, int parties) {
+        this(parent, parties, false);
+    }
+
+    /**
+     * Creates a new phaser with the given number of registered
+     * unarrived parties, no parent, and initial phase number 0, that
+     * if {@code tiered} is true and multiple processors are
+     * available, internally spreads parties across a tree of
+     * sub-phasers to reduce contention.  The number of parties is
+     * limited only by the maximum supported for each sub-phaser.
+     *
+     * @param parties the number of parties required to advance to the
+     * next phase
+     * @param tiered true if parties should be spread across
+     * internally managed sub-phasers
+     * @throws IllegalArgumentException if parties less than zero
+     * or greater than the maximum number of parties supported
+     * @since 12
+     */
+    public Phaser(int parties, boolean tiered) {
+        this(null, parties, tiered);
+    }
+
+    private Phaser(Phaser parent, int parties, boolean tiered) {
         if (parties >>> PARTIES_SHIFT != 0)
             throw new IllegalArgumentException("Illegal number of parties");
         int phase = 0;
@@ -527,10 +695,23 @@ public class Phaser {
             this.evenQ = new AtomicReference<QNode>();
             this.oddQ = new AtomicReference<QNode>();
         }
-        this.state = (parties == 0) ? (long)EMPTY :
-            ((long)phase << PHASE_SHIFT) |
-            ((long)parties << PARTIES_SHIFT) |
-            ((long)parties);
+        if (tiered && parent == null && NCPU > 1) {
+            int n = Math.min(Integer.highestOneBit(NCPU), MAX_TIERS);
+            Phaser[] ts = new Phaser[n];
+            for (int i = 0; i < n; ++i)
+                ts[i] = new Phaser(this, 0);
+            this.state = EMPTY;
+            this.tiers = ts;
+            if (parties != 0)
+                doTierBulkRegister(parties);
+        }
+        else {
+            this.tiers = null;
+            this.state = (parties == 0) ? (long)EMPTY :
+                ((long)phase << PHASE_SHIFT) |
+                ((long)parties << PARTIES_SHIFT) |
+                ((long)parties);
+        }
     }
 
     /**
@@ -549,7 +730,7 @@ public class Phaser {
      * than the maximum supported number of parties
      */
     public int register() {
-        return doRegister(1);
+        return (tiers == null) ? doRegister(1) : doTierRegister(1);
     }
 
     /**
@@ -576,7 +757,8 @@ public class Phaser {
             throw new IllegalArgumentException();
         if (parties == 0)
             return getPhase();
-        return doRegister(parties);
+        return (tiers == null) ? doRegister(parties) :
+            doTierBulkRegister(parties);
     }
 
     /**
@@ -592,7 +774,8 @@ public class Phaser {
      * of unarrived parties would become negative
      */
     public int arrive() {
-        return doArrive(ONE_ARRIVAL);
+        return (tiers == null) ? doArrive(ONE_ARRIVAL) :
+            doTierArrive(ONE_ARRIVAL, false);
     }
 
     /**
@@ -612,7 +795,8 @@ public class Phaser {
      * of registered or unarrived parties would become negative
      */
     public int arriveAndDeregister() {
-        return doArrive(ONE_DEREGISTER);
+        return (tiers == null) ? doArrive(ONE_DEREGISTER) :
+            doTierArrive(ONE_DEREGISTER, false);
     }
 
     /**
@@ -635,6 +819,8 @@ public class Phaser {
      */
     public int arriveAndAwaitAdvance() {
         // Specialization of doArrive+awaitAdvance eliminating some reads/paths
+        if (tiers != null)
+            return doTierArrive(ONE_ARRIVAL, true);
         final Phaser root = this.root;
         for (;;) {
             long s = (root == this) ? state : reconcileState();
@@ -652,7 +838,8 @@ public class Phaser {
                     return parent.arriveAndAwaitAdvance();
                 long n = s & PARTIES_MASK;  // base of next state
                 int nextUnarrived = (int)n >>> PARTIES_SHIFT;
-                if (onAdvance(phase, nextUnarrived))
+                if (onAdvance(phase, (tiers == null) ? nextUnarrived :
+                              nextUnarrived + tierParties()))
                     n |= TERMINATION_BIT;
                 else if (nextUnarrived == 0)
                     n |= EMPTY;
@@ -804,7 +991,8 @@ public class Phaser {
      * @return the number of parties
      */
     public int getRegisteredParties() {
-        return partiesOf(state);
+        int p = partiesOf(state);
+        return (tiers == null) ? p : p + tierParties();
     }
 
     /**
@@ -815,7 +1003,9 @@ public class Phaser {
      * @return the number of arrived parties
      */
     public int getArrivedParties() {
-        return arrivedOf(reconcileState());
+        if (tiers == null)
+            return arrivedOf(reconcileState());
+        return getRegisteredParties() - getUnarrivedParties();
     }
 
     /**
@@ -826,7 +1016,8 @@ public class Phaser {
      * @return the number of unarrived parties
      */
     public int getUnarrivedParties() {
-        return unarrivedOf(reconcileState());
+        int u = unarrivedOf(reconcileState());
+        return (tiers == null) ? u : u + tierUnarrived();
     }
 
     /**
@@ -918,10 +1109,16 @@ public class Phaser {
      * Implementation of toString and string-based error messages.
      */
     private String stateToString(long s) {
+        int parties = partiesOf(s), arrived = arrivedOf(s);
+        if (tiers != null) {
+            int p = tierParties();
+            parties += p;
+            arrived += p - tierUnarrived();
+        }
         return super.toString() +
             "[phase = " + phaseOf(s) +
-            " parties = " + partiesOf(s) +
-            " arrived = " + arrivedOf(s) + "]";
+            " parties = " + parties +
+            " arrived = " + arrived + "]";
     }
 
     // Waiting mechanics
@@ -967,9 +1164,12 @@ public class Phaser {
         }
     }
 
-    /** The number of CPUs, for spin control */
+    /** The number of CPUs, for spin control and tiering */
     private static final int NCPU = Runtime.getRuntime().availableProcessors();
 
+    /** The maximum number of tiers of a self-tiered root */
+    private static final int MAX_TIERS = 64;
+
     /**
      * The number of times to spin before blocking while waiting for
      * advance, per arrival while waiting. On multiprocessors, fully
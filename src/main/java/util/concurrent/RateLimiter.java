@@ -0,0 +1,330 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+package java.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A synchronizer that limits the rate at which permits may be
+ * acquired.  A {@code RateLimiter} makes permits available at a
+ * steady rate, expressed as a number of permits per time period.
+ * Permits that are not acquired accumulate, up to a maximum
+ * <em>burst</em> size, so that after a period of inactivity up to
+ * that many permits may be acquired at once.  This is the classic
+ * <em>token bucket</em> policy.  Unlike a {@link Semaphore}, permits
+ * are never released: they are replenished by the passage of time.
+ *
+ * <p>For example, here is a class that sends at most 100 messages
+ * per second, while allowing short bursts of up to 10:
+ *
+ * <pre> {@code
+ * class Sender {
+ *   final RateLimiter limiter =
+ *     new RateLimiter(100, 1, TimeUnit.SECONDS, 10);
+ *
+ *   void send(Message m) throws InterruptedException {
+ *     limiter.acquire();
+ *     transmit(m);
+ *   }
+ * }}</pre>
+ *
+ * <p>A {@code RateLimiter} does not use any background threads.
+ * The number of available permits is computed when needed from
+ * {@link System#nanoTime}, and each blocking acquisition reserves
+ * its permits when invoked, and then waits until the reserved
+ * permits become available.  So waiting threads obtain permits
+ * approximately in the order in which they invoked {@code acquire},
+ * and do not wake up until their permits are available.  A timed
+ * acquisition that could not complete within its waiting time fails
+ * immediately, without reserving permits, and a thread that is
+ * interrupted while waiting returns its reservation, making the
+ * permits available to others.
+ *
+ * <p>An acquisition of more permits than the burst size may
+ * succeed only by waiting, and is never granted by the untimed
+ * {@link #tryAcquire(int)} method.
+ *
+ * @since 12
+ * @author Doug Lea
+ */
+public class RateLimiter {
+    /*
+     * Overview: This is a version of the Generic Cell Rate
+     * Algorithm.  The only mutable state is the "theoretical arrival
+     * time" tat, a System.nanoTime-based value at which all
+     * previously reserved permits will have been replenished.  A
+     * value at or before the current time means that the bucket is
+     * full.  Reserving n permits at time now CASes tat to
+     * max(tat, now) + n * interval, and the reservation may proceed
+     * once that value is at most now + capacity (the nanos needed to
+     * replenish a full burst).  So the number of available permits
+     * is (capacity - (max(tat, now) - now)) / interval, which is
+     * negative if there are outstanding reservations.  All time
+     * comparisons use differences, to cope with nanoTime wraparound,
+     * and all costs are bounded by MAX_COST to avoid overflow.
+     *
+     * Cancellation (on interrupt while waiting) simply
+     * subtracts the cost from tat.  This may allow a later
+     * reservation to proceed earlier than it otherwise would, but
+     * does not change the total number of permits made available
+     * over time.
+     */
+
+    /** The maximum nanos of any reservation or capacity */
+    private static final long MAX_COST = Long.MAX_VALUE >>> 2;
+
+    /** The nanos needed to replenish one permit; at least one */
+    private final long interval;
+
+    /** The nanos needed to replenish a full burst */
+    private final long capacity;
+
+    /** The maximum number of accumulated permits */
+    private final int burst;
+
+    /** Theoretical arrival time, as described above */
+    private volatile long tat;
+
+    /**
+     * Creates a {@code RateLimiter} making available the given number
+     * of permits per period, with a burst size of the same number of
+     * permits.  Initially, a full burst of permits is available.
+     *
+     * @param permits the number of permits made available per period
+     * @param period the period
+     * @param unit the time unit of the {@code period} argument
+     * @throws IllegalArgumentException if {@code permits} or
+     *         {@code period} is not positive
+     * @throws NullPointerException if {@code unit} is null
+     */
+    public RateLimiter(int permits, long period, TimeUnit unit) {
+        this(permits, period, unit, permits);
+    }
+
+    /**
+     * Creates a {@code RateLimiter} making available the given number
+     * of permits per period, with the given burst size.  Initially, a
+     * full burst of permits is available.  The rate is rounded to a
+     * whole number of nanoseconds per permit, and cannot exceed one
+     * permit per nanosecond.
+     *
+     * @param permits the number of permits made available per period
+     * @param period the period
+     * @param unit the time unit of the {@code period} argument
+     * @param burst the maximum number of permits that may accumulate
+     * @throws IllegalArgumentException if {@code permits}, {@code
+     *         period}, or {@code burst} is not positive, or the
+     *         time to replenish a full burst is too large to represent
+     * @throws NullPointerException if {@code unit} is null
+     */
+    public RateLimiter(int permits, long period, TimeUnit unit, int burst) {
+        long nanos = unit.toNanos(period);
+        if (permits <= 0 || period <= 0L || burst <= 0)
+            throw new IllegalArgumentException();
+        long interval = Math.max(nanos / permits, 1L);
+        if (interval > MAX_COST / burst)
+            throw new IllegalArgumentException("burst too large");
+        this.interval = interval;
+        this.burst = burst;
+        this.capacity = interval * burst;
+        this.tat = System.nanoTime();
+    }
+
+    /**
+     * Returns the nanos needed to replenish the given permits.
+     */
+    private long costOf(int permits) {
+        if (permits < 0)
+            throw new IllegalArgumentException();
+        if (permits > MAX_COST / interval)
+            throw new IllegalArgumentException("too many permits");
+        return permits * interval;
+    }
+
+    /**
+     * Reserves permits with the given cost if they will be available
+     * within the given nanos.
+     *
+     * @return the nanos to wait, or -1 if not reserved
+     */
+    private long reserve(long cost, long limit) {
+        for (;;) {
+            long now = System.nanoTime(), t = tat;
+            long next = ((t - now > 0L) ? t : now) + cost;
+            long wait = next - now - capacity;
+            if (wait > limit)
+                return -1L;
+            if (TAT.compareAndSet(this, t, next))
+                return (wait > 0L) ? wait : 0L;
+        }
+    }
+
+    /**
+     * Waits for the given nanos after a reservation.
+     *
+     * @param cost the cost of the reservation, returned on interrupt
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private void awaitReservation(long cost, long nanos)
+        throws InterruptedException {
+        if (nanos > 0L) {
+            final long deadline = System.nanoTime() + nanos;
+            do {
+                LockSupport.parkNanos(this, nanos);
+                if (Thread.interrupted()) {
+                    TAT.getAndAdd(this, -cost);
+                    throw new InterruptedException();
+                }
+            } while ((nanos = deadline - System.nanoTime()) > 0L);
+        }
+    }
+
+    /**
+     * Acquires a permit, waiting if necessary until one is available,
+     * unless the thread is {@linkplain Thread#interrupt interrupted}.
+     *
+     * @throws InterruptedException if the current thread is interrupted
+     */
+    public void acquire() throws InterruptedException {
+        acquire(1);
+    }
+
+    /**
+     * Acquires the given number of permits, waiting if necessary
+     * until all are available, unless the thread is
+     * {@linkplain Thread#interrupt interrupted}.  If the thread is
+     * interrupted while waiting, the permits reserved for it are
+     * made available to other threads.
+     *
+     * @param permits the number of permits to acquire
+     * @throws InterruptedException if the current thread is interrupted
+     * @throws IllegalArgumentException if {@code permits} is negative
+     *         or too large to represent as a waiting time
+     */
+    public void acquire(int permits) throws InterruptedException {
+        long cost = costOf(permits);
+        if (Thread.interrupted())
+            throw new InterruptedException();
+        awaitReservation(cost, reserve(cost, Long.MAX_VALUE));
+    }
+
+    /**
+     * Acquires a permit only if one is available at the time of
+     * invocation.
+     *
+     * @return {@code true} if a permit was acquired and {@code false}
+     *         otherwise
+     */
+    public boolean tryAcquire() {
+        return reserve(interval, 0L) >= 0L;
+    }
+
+    /**
+     * Acquires the given number of permits only if all are available
+     * at the time of invocation.
+     *
+     * @param permits the number of permits to acquire
+     * @return {@code true} if the permits were acquired and
+     *         {@code false} otherwise
+     * @throws IllegalArgumentException if {@code permits} is negative
+     *         or too large to represent as a waiting time
+     */
+    public boolean tryAcquire(int permits) {
+        return reserve(costOf(permits), 0L) >= 0L;
+    }
+
+    /**
+     * Acquires the given number of permits if all will become
+     * available within the given waiting time and the current
+     * thread is not {@linkplain Thread#interrupt interrupted}.  If
+     * they will not become available in time, this method returns
+     * {@code false} immediately, without waiting.
+     *
+     * @param permits the number of permits to acquire
+     * @param timeout the maximum time to wait for the permits
+     * @param unit the time unit of the {@code timeout} argument
+     * @return {@code true} if the permits were acquired and
+     *         {@code false} if they would not have become available
+     *         within the waiting time
+     * @throws InterruptedException if the current thread is interrupted
+     * @throws IllegalArgumentException if {@code permits} is negative
+     *         or too large to represent as a waiting time
+     */
+    public boolean tryAcquire(int permits, long timeout, TimeUnit unit)
+        throws InterruptedException {
+        long cost = costOf(permits);
+        long nanos = Math.max(0L, unit.toNanos(timeout));
+        if (Thread.interrupted())
+            throw new InterruptedException();
+        long wait = reserve(cost, nanos);
+        if (wait < 0L)
+            return false;
+        awaitReservation(cost, wait);
+        return true;
+    }
+
+    /**
+     * Returns the number of permits that are currently available,
+     * which may be negative if threads are waiting for reserved
+     * permits.  This method is typically used for debugging and
+     * testing purposes.
+     *
+     * @return the number of available permits
+     */
+    public int availablePermits() {
+        long now = System.nanoTime(), t = tat;
+        long debt = (t - now > 0L) ? t - now : 0L;
+        return (int)Math.max(Math.floorDiv(capacity - debt, interval),
+                             (long)Integer.MIN_VALUE);
+    }
+
+    /**
+     * Returns the maximum number of permits that may accumulate.
+     *
+     * @return the burst size
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Returns the time, in nanoseconds, needed to replenish one permit.
+     *
+     * @return the interval between permits, in nanoseconds
+     */
+    public long getIntervalNanos() {
+        return interval;
+    }
+
+    /**
+     * Returns a string identifying this rate limiter, as well as its
+     * state.  The state, in brackets, includes the String {@code
+     * "Permits ="} followed by the number of available permits.
+     *
+     * @return a string identifying this rate limiter, as well as its state
+     */
+    public String toString() {
+        return super.toString() + "[Permits = " + availablePermits() + "]";
+    }
+
+    // VarHandle mechanics
+    private static final VarHandle TAT;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            TAT = l.findVarHandle(RateLimiter.class, "tat", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+
+        // Reduce the risk of rare disastrous classloading in first call to
+        // LockSupport.park: https://bugs.openjdk.java.net/browse/JDK-8074773
+        Class<?> ensureLoaded = LockSupport.class;
+    }
+}
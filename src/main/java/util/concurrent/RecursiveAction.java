@@ -76,10 +76,9 @@ package java.util.concurrent;
  * of each element of a double array, by subdividing out only the
  * right-hand-sides of repeated divisions by two, and keeping track of
  * them with a chain of {@code next} references. It uses a dynamic
- * threshold based on method {@code getSurplusQueuedTaskCount}, but
- * counterbalances potential excess partitioning by directly
- * performing leaf actions on unstolen tasks rather than further
- * subdividing.
+ * threshold based on method {@code shouldSplit}, but counterbalances
+ * potential excess partitioning by directly performing leaf actions
+ * on unstolen tasks rather than further subdividing.
  *
  * <pre> {@code
  * double sumOfSquares(ForkJoinPool pool, double[] array) {
@@ -110,7 +109,7 @@ package java.util.concurrent;
  *     int l = lo;
  *     int h = hi;
  *     Applyer right = null;
- *     while (h - l > 1 && getSurplusQueuedTaskCount() <= 3) {
+ *     while (shouldSplit(h - l, 1)) {
  *       int mid = (l + h) >>> 1;
  *       right = new Applyer(array, mid, h, right);
  *       right.fork();
@@ -678,6 +678,35 @@ public class Semaphore implements java.io.Serializable {
         return sync.getQueuedThreads();
     }
 
+    /**
+     * Sets the maximum number of times that a thread blocked in an
+     * {@code acquire} method spins, waiting for permits to be
+     * released, before parking.  This may help when permits are
+     * released soon after being acquired.  By default there is no
+     * spinning.
+     *
+     * @param spins the maximum number of spins, or zero to disable
+     *        spinning
+     * @throws IllegalArgumentException if {@code spins} is negative
+     * @see AbstractQueuedSynchronizer#setSpinLimit
+     * @since 12
+     */
+    public void setSpinLimit(int spins) {
+        sync.setSpinLimit(spins);
+    }
+
+    /**
+     * Returns the spin limit of this semaphore.
+     *
+     * @return the maximum number of spins, or zero if spinning is
+     *         disabled
+     * @see #setSpinLimit
+     * @since 12
+     */
+    public int getSpinLimit() {
+        return sync.getSpinLimit();
+    }
+
     /**
      * Returns a string identifying this semaphore, as well as its state.
      * The state, in brackets, includes the String {@code "Permits ="}
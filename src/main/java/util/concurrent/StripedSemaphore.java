@@ -0,0 +1,567 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+package java.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A counting semaphore that spreads its permits across a set of
+ * internal cells to reduce contention when many threads acquire and
+ * release permits at about the same time.  A {@code StripedSemaphore}
+ * supports the same acquisition and release methods as a nonfair
+ * {@link Semaphore}, and can be used in the same ways, for example
+ * to bound the number of concurrent users of a resource.
+ *
+ * <p>Threads normally acquire and release permits using the cell
+ * selected by a per-thread hash, borrowing from other cells when
+ * that one has too few.  Only when no single cell holds enough
+ * permits are they gathered together (and later redistributed), so
+ * this class performs best when the number of permits is large
+ * relative to the number of permits requested by each acquisition.
+ * Otherwise, it may be slower than {@code Semaphore}.
+ *
+ * <p>This class is nonfair: barging is permitted, and there is no
+ * guarantee about the order in which waiting threads obtain permits.
+ * Unlike {@code Semaphore}, a thread waiting to acquire a large
+ * number of permits does not block threads waiting for smaller
+ * numbers: when permits are released, they are given in arrival
+ * order to those waiting threads whose requests can be met.  This
+ * avoids head-of-line blocking, at the price of possible starvation
+ * of threads requesting many permits when others continually
+ * request fewer.
+ *
+ * <p>Memory consistency effects: Actions in a thread prior to calling
+ * a "release" method such as {@code release()}
+ * <a href="package-summary.html#MemoryVisibility"><i>happen-before</i></a>
+ * actions following a successful "acquire" method such as {@code acquire()}
+ * in another thread.
+ *
+ * @see Semaphore
+ * @since 12
+ * @author Doug Lea
+ */
+public class StripedSemaphore {
+    /*
+     * Overview: Permits are held in an array of padded Cells, plus a
+     * base count.  The cell array has a power-of-two size at least
+     * the number of CPUs (up to MAX_CELLS), and is fixed at
+     * construction.  As in LongAdder, threads index cells using
+     * their ThreadLocalRandom probe.
+     *
+     * Fast paths are lock-free: releases CAS-increment the thread's
+     * cell, and acquires CAS-decrement it if it holds enough permits,
+     * else the first other cell that does ("borrowing").  Cells never
+     * become negative.  Otherwise, acquirers take the lock, move all
+     * cell permits into base ("flushing"), and take permits from base
+     * if there are enough, redistributing the remainder evenly across
+     * cells if no threads are waiting ("rebalancing").  Base is only
+     * written under the lock (and read racily for monitoring).  As
+     * with Semaphore, the initial number of permits may be negative,
+     * in which case it is held in base, and releases go to base under
+     * the lock rather than to cells until it is no longer negative,
+     * so that permits in cells are always available.
+     *
+     * Acquirers that cannot obtain permits enqueue a Waiter and park
+     * until it is granted.  Permits are granted only under the lock,
+     * by scanning waiters in FIFO order and granting each one whose
+     * request does not exceed base, skipping others.  To avoid lost
+     * wakeups without locking on every release, releasers publish to
+     * cells before reading the volatile waiting count, and waiters
+     * publish waiting before flushing cells, so that either a waiter
+     * sees the released permits or the releaser sees the waiter, in
+     * which case it takes the lock to flush and grant.
+     *
+     * Interrupted or timed-out waiters remove themselves under the
+     * lock.  A waiter granted permits while being interrupted gives
+     * them back and throws, as in Semaphore, where permits that would
+     * have been assigned are instead assigned to other threads.  A
+     * waiter granted permits while timing out keeps them and returns
+     * true.
+     */
+
+    /** Number of CPUS, to size cells */
+    static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    /** The maximum number of cells */
+    static final int MAX_CELLS = 64;
+
+    /**
+     * A padded cell holding some of the permits.
+     */
+    @jdk.internal.vm.annotation.Contended static final class Cell {
+        volatile int permits;
+        Cell(int permits) { this.permits = permits; }
+    }
+
+    /**
+     * A thread waiting for permits.
+     */
+    static final class Waiter {
+        final Thread thread;
+        final int permits;
+        volatile boolean granted;
+        Waiter(int permits) {
+            this.permits = permits;
+            this.thread = Thread.currentThread();
+        }
+    }
+
+    /** The cells; length is a power of two */
+    private final Cell[] cells;
+
+    /** Lock guarding base and waiters */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Waiting threads, in arrival order */
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+
+    /** Permits not held in cells; written only under lock */
+    private volatile int base;
+
+    /** The number of waiters, for use without lock */
+    private volatile int waiting;
+
+    /**
+     * Creates a {@code StripedSemaphore} with the given number of
+     * permits.
+     *
+     * @param permits the initial number of permits available.
+     *        This value may be negative, in which case releases
+     *        must occur before any acquires will be granted.
+     */
+    public StripedSemaphore(int permits) {
+        int n = 1;
+        while (n < NCPU && n < MAX_CELLS)
+            n <<= 1;
+        Cell[] cs = new Cell[n];
+        for (int i = 0; i < n; ++i)
+            cs[i] = new Cell(0);
+        this.cells = cs;
+        if (permits > 0)
+            spread(permits);
+        else
+            base = permits;
+    }
+
+    /**
+     * Returns the current thread's probe hash, used to select cells.
+     */
+    private static int probe() {
+        int h;
+        if ((h = ThreadLocalRandom.getProbe()) == 0) {
+            ThreadLocalRandom.localInit();      // force initialization
+            h = ThreadLocalRandom.getProbe();
+        }
+        return h;
+    }
+
+    /**
+     * Adds the given positive number of permits evenly across cells.
+     */
+    private void spread(int permits) {
+        final Cell[] cs = cells;
+        int n = cs.length, q = permits / n, r = permits % n;
+        for (int i = 0; i < n; ++i) {
+            int k = (i < r) ? q + 1 : q;
+            if (k != 0)
+                PERMITS.getAndAdd(cs[i], k);
+        }
+    }
+
+    /**
+     * Tries to take permits from the current thread's cell, or if
+     * it has too few, from another.
+     */
+    private boolean tryAcquireFromCells(int permits) {
+        final Cell[] cs = cells;
+        int m = cs.length - 1, i = probe() & m;
+        for (int k = m; k >= 0; --k, i = (i + 1) & m) {
+            Cell c = cs[i];
+            for (int v; (v = c.permits) >= permits; ) {
+                if (PERMITS.compareAndSet(c, v, v - permits))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves all cell permits into base. Call only under lock.
+     */
+    private int flush() {
+        long b = base;
+        for (Cell c : cells) {
+            if (c.permits != 0)
+                b += (int)PERMITS.getAndSet(c, 0);
+        }
+        if (b > Integer.MAX_VALUE)
+            throw new Error("Maximum permit count exceeded");
+        return base = (int)b;
+    }
+
+    /**
+     * Grants permits to waiters that can use them, and rebalances
+     * any remainder if none are left.  Call only under lock.
+     */
+    private void grant() {
+        int b = base;
+        for (Iterator<Waiter> it = waiters.iterator(); it.hasNext() && b > 0; ) {
+            Waiter w = it.next();
+            if (w.permits <= b) {
+                b -= w.permits;
+                it.remove();
+                w.granted = true;
+                LockSupport.unpark(w.thread);
+            }
+        }
+        int n = waiters.size();
+        waiting = n;
+        if (n == 0 && b > 0) {
+            base = 0;
+            spread(b);
+        }
+        else
+            base = b;
+    }
+
+    /**
+     * Slow path for acquires: tries to take permits after flushing,
+     * then if allowed, waits.
+     *
+     * @param interruptible true if should throw on interrupt
+     * @param timed true if timed wait
+     * @param nanos the wait time if timed
+     * @return true if acquired
+     */
+    private boolean awaitPermits(int permits, boolean interruptible,
+                                 boolean timed, long nanos)
+        throws InterruptedException {
+        final ReentrantLock lock = this.lock;
+        final long deadline = timed ? System.nanoTime() + nanos : 0L;
+        Waiter w = null;
+        lock.lock();
+        try {
+            if (flush() >= permits) {
+                base -= permits;
+                grant();
+                return true;
+            }
+            if (timed && nanos <= 0L)
+                return false;
+            waiters.add(w = new Waiter(permits));
+            waiting = waiters.size();
+            flush();                            // recheck after publishing
+            grant();
+        } finally {
+            lock.unlock();
+        }
+
+        boolean interrupted = false;
+        while (!w.granted) {
+            if (Thread.interrupted()) {
+                if (interruptible) {
+                    if (cancel(w))
+                        throw new InterruptedException();
+                    release(permits);           // granted while cancelling
+                    throw new InterruptedException();
+                }
+                interrupted = true;
+            }
+            else if (!timed)
+                LockSupport.park(this);
+            else if ((nanos = deadline - System.nanoTime()) > 0L)
+                LockSupport.parkNanos(this, nanos);
+            else if (cancel(w))
+                return false;
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+        return true;
+    }
+
+    /**
+     * Removes the given waiter.
+     *
+     * @return true if removed, or false if already granted
+     */
+    private boolean cancel(Waiter w) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (w.granted)
+                return false;
+            waiters.remove(w);
+            grant();                            // others may now fit
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acquires a permit from this semaphore, blocking until one is
+     * available, or the thread is {@linkplain Thread#interrupt interrupted}.
+     *
+     * @throws InterruptedException if the current thread is interrupted
+     */
+    public void acquire() throws InterruptedException {
+        acquire(1);
+    }
+
+    /**
+     * Acquires the given number of permits from this semaphore,
+     * blocking until all are available, or the thread is
+     * {@linkplain Thread#interrupt interrupted}.
+     *
+     * <p>If the current thread is interrupted while waiting, then
+     * {@link InterruptedException} is thrown and the current thread's
+     * interrupted status is cleared.  Any permits that were to be
+     * assigned to this thread are instead assigned to other threads
+     * trying to acquire permits, as if permits had been made
+     * available by a call to {@link #release()}.
+     *
+     * @param permits the number of permits to acquire
+     * @throws InterruptedException if the current thread is interrupted
+     * @throws IllegalArgumentException if {@code permits} is negative
+     */
+    public void acquire(int permits) throws InterruptedException {
+        if (permits < 0) throw new IllegalArgumentException();
+        if (Thread.interrupted())
+            throw new InterruptedException();
+        if (!tryAcquireFromCells(permits))
+            awaitPermits(permits, true, false, 0L);
+    }
+
+    /**
+     * Acquires a permit from this semaphore, blocking until one is
+     * available.  If the current thread is interrupted while waiting,
+     * it continues to wait, and its interrupt status is set upon
+     * return.
+     */
+    public void acquireUninterruptibly() {
+        acquireUninterruptibly(1);
+    }
+
+    /**
+     * Acquires the given number of permits from this semaphore,
+     * blocking until all are available.  If the current thread is
+     * interrupted while waiting, it continues to wait, and its
+     * interrupt status is set upon return.
+     *
+     * @param permits the number of permits to acquire
+     * @throws IllegalArgumentException if {@code permits} is negative
+     */
+    public void acquireUninterruptibly(int permits) {
+        if (permits < 0) throw new IllegalArgumentException();
+        if (!tryAcquireFromCells(permits)) {
+            try {
+                awaitPermits(permits, false, false, 0L);
+            } catch (InterruptedException cantHappen) {
+                throw new Error(cantHappen);
+            }
+        }
+    }
+
+    /**
+     * Acquires a permit from this semaphore, only if one is available
+     * at the time of invocation.
+     *
+     * @return {@code true} if a permit was acquired and {@code false}
+     *         otherwise
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /**
+     * Acquires the given number of permits from this semaphore, only
+     * if all are available at the time of invocation.
+     *
+     * @param permits the number of permits to acquire
+     * @return {@code true} if the permits were acquired and
+     *         {@code false} otherwise
+     * @throws IllegalArgumentException if {@code permits} is negative
+     */
+    public boolean tryAcquire(int permits) {
+        if (permits < 0) throw new IllegalArgumentException();
+        if (tryAcquireFromCells(permits))
+            return true;
+        try {
+            return awaitPermits(permits, false, true, 0L);
+        } catch (InterruptedException cantHappen) {
+            throw new Error(cantHappen);
+        }
+    }
+
+    /**
+     * Acquires a permit from this semaphore, if one becomes available
+     * within the given waiting time and the current thread has not
+     * been {@linkplain Thread#interrupt interrupted}.
+     *
+     * @param timeout the maximum time to wait for a permit
+     * @param unit the time unit of the {@code timeout} argument
+     * @return {@code true} if a permit was acquired and {@code false}
+     *         if the waiting time elapsed before a permit was acquired
+     * @throws InterruptedException if the current thread is interrupted
+     */
+    public boolean tryAcquire(long timeout, TimeUnit unit)
+        throws InterruptedException {
+        return tryAcquire(1, timeout, unit);
+    }
+
+    /**
+     * Acquires the given number of permits from this semaphore, if
+     * all become available within the given waiting time and the
+     * current thread has not been {@linkplain Thread#interrupt interrupted}.
+     * If the waiting time elapses or the thread is interrupted, any
+     * permits that were to be assigned to this thread are instead
+     * assigned to other threads.
+     *
+     * @param permits the number of permits to acquire
+     * @param timeout the maximum time to wait for the permits
+     * @param unit the time unit of the {@code timeout} argument
+     * @return {@code true} if all permits were acquired and {@code false}
+     *         if the waiting time elapsed before all permits were acquired
+     * @throws InterruptedException if the current thread is interrupted
+     * @throws IllegalArgumentException if {@code permits} is negative
+     */
+    public boolean tryAcquire(int permits, long timeout, TimeUnit unit)
+        throws InterruptedException {
+        if (permits < 0) throw new IllegalArgumentException();
+        long nanos = unit.toNanos(timeout);
+        if (Thread.interrupted())
+            throw new InterruptedException();
+        return tryAcquireFromCells(permits) ||
+            awaitPermits(permits, true, true, nanos);
+    }
+
+    /**
+     * Releases a permit, returning it to the semaphore.
+     */
+    public void release() {
+        release(1);
+    }
+
+    /**
+     * Releases the given number of permits, returning them to the
+     * semaphore.  There is no requirement that a thread that releases
+     * a permit must have acquired that permit by calling {@code acquire}.
+     *
+     * @param permits the number of permits to release
+     * @throws IllegalArgumentException if {@code permits} is negative
+     */
+    public void release(int permits) {
+        if (permits < 0) throw new IllegalArgumentException();
+        boolean toBase = base < 0;
+        if (!toBase) {
+            final Cell[] cs = cells;
+            Cell c = cs[probe() & (cs.length - 1)];
+            if ((int)PERMITS.getAndAdd(c, permits) + permits < 0) {
+                PERMITS.getAndAdd(c, -permits);
+                throw new Error("Maximum permit count exceeded");
+            }
+        }
+        if (toBase || waiting != 0) {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                if (toBase)
+                    base += permits;
+                flush();
+                grant();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns an estimate of the current number of permits available
+     * in this semaphore.  The value is only an estimate because the
+     * number may change dynamically while this method traverses
+     * internal data structures.
+     *
+     * @return the estimated number of permits available
+     */
+    public int availablePermits() {
+        int sum = base;
+        for (Cell c : cells)
+            sum += c.permits;
+        return sum;
+    }
+
+    /**
+     * Acquires and returns all permits that are immediately
+     * available, or if negative permits are available, releases them.
+     * Upon return, zero permits are available.
+     *
+     * @return the number of permits acquired or, if negative, the
+     * number released
+     */
+    public int drainPermits() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int n = flush();
+            base = 0;
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queries whether any threads are waiting to acquire permits.
+     *
+     * @return {@code true} if there may be other threads waiting to
+     *         acquire permits
+     */
+    public boolean hasQueuedThreads() {
+        return waiting != 0;
+    }
+
+    /**
+     * Returns an estimate of the number of threads waiting to acquire
+     * permits.
+     *
+     * @return the estimated number of threads waiting for permits
+     */
+    public int getQueueLength() {
+        return waiting;
+    }
+
+    /**
+     * Returns a string identifying this semaphore, as well as its state.
+     * The state, in brackets, includes the String {@code "Permits ="}
+     * followed by the number of permits.
+     *
+     * @return a string identifying this semaphore, as well as its state
+     */
+    public String toString() {
+        return super.toString() + "[Permits = " + availablePermits() + "]";
+    }
+
+    // VarHandle mechanics
+    private static final VarHandle PERMITS;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            PERMITS = l.findVarHandle(Cell.class, "permits", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+
+        // Reduce the risk of rare disastrous classloading in first call to
+        // LockSupport.park: https://bugs.openjdk.java.net/browse/JDK-8074773
+        Class<?> ensureLoaded = LockSupport.class;
+    }
+}
@@ -12,6 +12,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
@@ -205,6 +206,13 @@ public class SubmissionPublisher<T> implements Publisher<T>,
      */
     BufferedSubscription<T> clients;
 
+    /**
+     * Lock for all updates of clients and run status.  Publishers
+     * may block while holding it (in submit), so it is a
+     * ReentrantLock rather than a builtin monitor.
+     */
+    final ReentrantLock lock = new ReentrantLock();
+
     /** Run status, updated only within locks */
     volatile boolean closed;
     /** Set true on first call to subscribe, to initialize possible owner */
@@ -314,7 +322,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
         BufferedSubscription<T> subscription =
             new BufferedSubscription<T>(subscriber, executor, onNextHandler,
                                         array, max);
-        synchronized (this) {
+        lock.lock();
+        try {
             if (!subscribed) {
                 subscribed = true;
                 owner = Thread.currentThread();
@@ -349,6 +358,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
                     pred = b;
                 b = next;
             }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -361,7 +372,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
         if (item == null) throw new NullPointerException();
         int lag = 0;
         boolean complete, unowned;
-        synchronized (this) {
+        lock.lock();
+        try {
             Thread t = Thread.currentThread(), o;
             BufferedSubscription<T> b = clients;
             if ((unowned = ((o = owner) != t)) && o != null)
@@ -392,6 +404,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
                 if (retries != null || cleanMe)
                     lag = retryOffer(item, nanos, onDrop, retries, lag, cleanMe);
             }
+        } finally {
+            lock.unlock();
         }
         if (complete)
             throw new IllegalStateException("Closed");
@@ -582,12 +596,15 @@ public class SubmissionPublisher<T> implements Publisher<T>,
     public void close() {
         if (!closed) {
             BufferedSubscription<T> b;
-            synchronized (this) {
+            lock.lock();
+            try {
                 // no need to re-check closed here
                 b = clients;
                 clients = null;
                 owner = null;
                 closed = true;
+            } finally {
+                lock.unlock();
             }
             while (b != null) {
                 BufferedSubscription<T> next = b.next;
@@ -614,7 +631,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
             throw new NullPointerException();
         if (!closed) {
             BufferedSubscription<T> b;
-            synchronized (this) {
+            lock.lock();
+            try {
                 b = clients;
                 if (!closed) {  // don't clobber racing close
                     closedException = error;
@@ -622,6 +640,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
                     owner = null;
                     closed = true;
                 }
+            } finally {
+                lock.unlock();
             }
             while (b != null) {
                 BufferedSubscription<T> next = b.next;
@@ -659,7 +679,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
      */
     public boolean hasSubscribers() {
         boolean nonEmpty = false;
-        synchronized (this) {
+        lock.lock();
+        try {
             for (BufferedSubscription<T> b = clients; b != null;) {
                 BufferedSubscription<T> next = b.next;
                 if (b.isClosed()) {
@@ -671,6 +692,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
                     break;
                 }
             }
+        } finally {
+            lock.unlock();
         }
         return nonEmpty;
     }
@@ -681,8 +704,11 @@ public class SubmissionPublisher<T> implements Publisher<T>,
      * @return the number of current subscribers
      */
     public int getNumberOfSubscribers() {
-        synchronized (this) {
+        lock.lock();
+        try {
             return cleanAndCount();
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -713,7 +739,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
      */
     public List<Subscriber<? super T>> getSubscribers() {
         ArrayList<Subscriber<? super T>> subs = new ArrayList<>();
-        synchronized (this) {
+        lock.lock();
+        try {
             BufferedSubscription<T> pred = null, next;
             for (BufferedSubscription<T> b = clients; b != null; b = next) {
                 next = b.next;
@@ -729,6 +756,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
                     pred = b;
                 }
             }
+        } finally {
+            lock.unlock();
         }
         return subs;
     }
@@ -743,7 +772,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
     public boolean isSubscribed(Subscriber<? super T> subscriber) {
         if (subscriber == null) throw new NullPointerException();
         if (!closed) {
-            synchronized (this) {
+            lock.lock();
+            try {
                 BufferedSubscription<T> pred = null, next;
                 for (BufferedSubscription<T> b = clients; b != null; b = next) {
                     next = b.next;
@@ -759,6 +789,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
                     else
                         pred = b;
                 }
+            } finally {
+                lock.unlock();
             }
         }
         return false;
@@ -774,7 +806,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
     public long estimateMinimumDemand() {
         long min = Long.MAX_VALUE;
         boolean nonEmpty = false;
-        synchronized (this) {
+        lock.lock();
+        try {
             BufferedSubscription<T> pred = null, next;
             for (BufferedSubscription<T> b = clients; b != null; b = next) {
                 int n; long d;
@@ -793,6 +826,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
                     pred = b;
                 }
             }
+        } finally {
+            lock.unlock();
         }
         return nonEmpty ? min : 0;
     }
@@ -805,7 +840,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
      */
     public int estimateMaximumLag() {
         int max = 0;
-        synchronized (this) {
+        lock.lock();
+        try {
             BufferedSubscription<T> pred = null, next;
             for (BufferedSubscription<T> b = clients; b != null; b = next) {
                 int n;
@@ -823,6 +859,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
                     pred = b;
                 }
             }
+        } finally {
+            lock.unlock();
         }
         return max;
     }
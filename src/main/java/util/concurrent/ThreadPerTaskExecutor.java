@@ -0,0 +1,138 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+package java.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An ExecutorService that starts a new Thread for each task, as
+ * returned by {@link Executors#newThreadPerTaskExecutor}.  Tasks are
+ * never queued, so shutdownNow always returns an empty list.
+ *
+ * @since 12
+ * @author Doug Lea
+ */
+class ThreadPerTaskExecutor extends AbstractExecutorService {
+    /*
+     * Overview: Each started thread is recorded in the threads set
+     * until its task completes.  Run state advances monotonically
+     * from RUNNING to SHUTDOWN to TERMINATED; the last transition
+     * occurs when the set is empty after shutdown, and is signalled
+     * via the termination latch, so that awaitTermination parks
+     * rather than waiting on a monitor.  Method execute adds the new
+     * thread before re-checking run state, and completing threads
+     * remove themselves before calling tryTerminate, so termination
+     * cannot be missed by a racing shutdown.
+     */
+
+    private static final int RUNNING    = 0;
+    private static final int SHUTDOWN   = 1;
+    private static final int TERMINATED = 2;
+
+    private final ThreadFactory factory;
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch termination = new CountDownLatch(1);
+    private volatile int state;
+
+    /**
+     * Creates an executor using the given factory.
+     *
+     * @throws NullPointerException if factory is null
+     */
+    ThreadPerTaskExecutor(ThreadFactory factory) {
+        if (factory == null)
+            throw new NullPointerException();
+        this.factory = factory;
+    }
+
+    /**
+     * Transitions to TERMINATED if shut down with no running threads.
+     */
+    private void tryTerminate() {
+        if (state == SHUTDOWN && threads.isEmpty() &&
+            STATE.compareAndSet(this, SHUTDOWN, TERMINATED))
+            termination.countDown();
+    }
+
+    /**
+     * Runs the task, then deregisters the current thread.
+     */
+    private void runTask(Runnable task) {
+        try {
+            task.run();
+        } finally {
+            threads.remove(Thread.currentThread());
+            tryTerminate();
+        }
+    }
+
+    public void execute(Runnable command) {
+        if (command == null)
+            throw new NullPointerException();
+        if (state != RUNNING)
+            throw new RejectedExecutionException("Executor shutdown");
+        Thread t = factory.newThread(() -> runTask(command));
+        if (t == null)
+            throw new RejectedExecutionException("ThreadFactory failed");
+        threads.add(t);
+        boolean started = false;
+        try {
+            if (state == RUNNING) {
+                t.start();
+                started = true;
+            }
+        } finally {
+            if (!started) {
+                threads.remove(t);
+                tryTerminate();
+            }
+        }
+        if (!started)
+            throw new RejectedExecutionException("Executor shutdown");
+    }
+
+    public void shutdown() {
+        STATE.compareAndSet(this, RUNNING, SHUTDOWN);
+        tryTerminate();
+    }
+
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        for (Thread t : threads)
+            t.interrupt();
+        return Collections.emptyList();
+    }
+
+    public boolean isShutdown() {
+        return state != RUNNING;
+    }
+
+    public boolean isTerminated() {
+        return state == TERMINATED;
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit)
+        throws InterruptedException {
+        return termination.await(timeout, unit);
+    }
+
+    // VarHandle mechanics
+    private static final VarHandle STATE;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            STATE = l.findVarHandle(ThreadPerTaskExecutor.class,
+                                    "state", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
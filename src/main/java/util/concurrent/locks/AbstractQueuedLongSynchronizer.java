@@ -69,6 +69,21 @@ public abstract class AbstractQueuedLongSynchronizer
      */
     private volatile long state;
 
+    /**
+     * The maximum number of spins before parking; zero (the initial
+     * value, including upon deserialization) disables spinning.
+     */
+    private transient int spinLimit;
+
+    /**
+     * Adaptive estimate of the number of spins that suffice to
+     * observe a release. Accessed racily; only a hint.
+     */
+    private transient int spinEstimate;
+
+    /** Contention profile, or null if profiling is disabled */
+    private transient volatile ContentionProfile profile;
+
     /**
      * Returns the current value of synchronization state.
      * This operation has memory semantics of a {@code volatile} read.
@@ -103,6 +118,42 @@ public abstract class AbstractQueuedLongSynchronizer
         return STATE.compareAndSet(this, expect, update);
     }
 
+    /**
+     * Sets the maximum number of times that a thread at the front of
+     * the queue spins, waiting for a release, before parking. Spinning
+     * avoids the cost of blocking and unblocking when synchronization
+     * is held only briefly, at the expense of consuming CPU time while
+     * waiting.  The number of spins actually performed adapts to recent
+     * experience, and is reduced when a spin fails to observe a
+     * release, or when the exclusive owner thread (if known) is not
+     * running.  A value of zero, the default, disables spinning.
+     * Spinning is never performed on uniprocessors.  Each spin
+     * includes an {@link Thread#onSpinWait} hint, so a limit of about
+     * a thousand amounts to a few to a few tens of microseconds, which
+     * is comparable to the cost of a park/unpark context switch.  This
+     * setting is not preserved upon serialization.
+     *
+     * @param spins the maximum number of spins
+     * @throws IllegalArgumentException if {@code spins} is negative
+     * @since 12
+     */
+    public final void setSpinLimit(int spins) {
+        if (spins < 0)
+            throw new IllegalArgumentException();
+        spinLimit = spins;
+    }
+
+    /**
+     * Returns the maximum number of spins performed before parking.
+     *
+     * @return the maximum number of spins
+     * @see #setSpinLimit
+     * @since 12
+     */
+    public final int getSpinLimit() {
+        return spinLimit;
+    }
+
     // Queuing utilities
 
     /**
@@ -112,6 +163,18 @@ public abstract class AbstractQueuedLongSynchronizer
      */
     static final long SPIN_FOR_TIMEOUT_THRESHOLD = 1000L;
 
+    /** The number of CPUs, for spin control */
+    static final int NCPU = AbstractQueuedSynchronizer.NCPU;
+
+    /** The minimum adaptive estimate of spins */
+    static final int MIN_SPINS = 1 << 4;
+
+    /**
+     * Mask for the number of spins between checks of whether the
+     * exclusive owner thread is running.
+     */
+    static final int OWNER_CHECK_MASK = (1 << 6) - 1;
+
     /**
      * Inserts node into queue, initializing if necessary. See picture above.
      * @param node the node to insert
@@ -377,6 +440,51 @@ public abstract class AbstractQueuedLongSynchronizer
         return Thread.interrupted();
     }
 
+    /**
+     * Called by the first queued thread before parking. Spins, for at
+     * most the current adaptive estimate of spins, until the state
+     * changes, which is taken as a hint that a retry may succeed.
+     * Gives up early if the exclusive owner is known but not running.
+     * The estimate moves toward twice the number of spins needed to
+     * observe recent changes, and is halved upon failure, within
+     * bounds [MIN_SPINS, spin limit].
+     *
+     * @return {@code true} if the state changed, so the caller
+     * should retry rather than park
+     */
+    private boolean spinForRelease() {
+        int limit = spinLimit;
+        if (limit > 0 && NCPU > 1) {
+            int e = Math.min(Math.max(spinEstimate, MIN_SPINS), limit);
+            long s = state;
+            Thread owner = getExclusiveOwnerThread();
+            for (int i = 1; i <= e; ++i) {
+                Thread.onSpinWait();
+                if (state != s) {
+                    spinEstimate = Math.min((e >>> 1) + i, limit);
+                    return true;
+                }
+                if ((i & OWNER_CHECK_MASK) == 0 && owner != null &&
+                    owner.getState() != Thread.State.RUNNABLE)
+                    break;
+            }
+            spinEstimate = Math.max(e >>> 1, MIN_SPINS);
+        }
+        return false;
+    }
+
+    /**
+     * Records the start of a contended acquire in the given profile,
+     * periodically sampling the queue length.
+     *
+     * @return the start time
+     */
+    private long beginWait(ContentionProfile prof) {
+        if (prof.queueSampleDue())
+            prof.queueLength(getQueueLength());
+        return System.nanoTime();
+    }
+
     /*
      * Various flavors of acquire, varying in exclusive/shared and
      * control modes.  Each is mostly the same, but annoyingly
@@ -395,17 +503,28 @@ public abstract class AbstractQueuedLongSynchronizer
      * @return {@code true} if interrupted while waiting
      */
     final boolean acquireQueued(final Node node, long arg) {
-        boolean interrupted = false;
+        boolean interrupted = false, spun = false;
+        final ContentionProfile prof = profile;
+        final long waitStart = (prof == null) ? 0L : beginWait(prof);
         try {
             for (;;) {
                 final Node p = node.predecessor();
                 if (p == head && tryAcquire(arg)) {
                     setHead(node);
                     p.next = null; // help GC
+                    if (prof != null)
+                        prof.contendedAcquire(waitStart, true);
                     return interrupted;
                 }
-                if (shouldParkAfterFailedAcquire(p, node))
+                if (shouldParkAfterFailedAcquire(p, node)) {
+                    if (!spun && p == head) {
+                        spun = true;
+                        if (spinForRelease())
+                            continue;
+                    }
                     interrupted |= parkAndCheckInterrupt();
+                    spun = false;
+                }
             }
         } catch (Throwable t) {
             cancelAcquire(node);
@@ -422,17 +541,29 @@ public abstract class AbstractQueuedLongSynchronizer
     private void doAcquireInterruptibly(long arg)
         throws InterruptedException {
         final Node node = addWaiter(Node.EXCLUSIVE);
+        boolean spun = false;
+        final ContentionProfile prof = profile;
+        final long waitStart = (prof == null) ? 0L : beginWait(prof);
         try {
             for (;;) {
                 final Node p = node.predecessor();
                 if (p == head && tryAcquire(arg)) {
                     setHead(node);
                     p.next = null; // help GC
+                    if (prof != null)
+                        prof.contendedAcquire(waitStart, true);
                     return;
                 }
-                if (shouldParkAfterFailedAcquire(p, node) &&
-                    parkAndCheckInterrupt())
-                    throw new InterruptedException();
+                if (shouldParkAfterFailedAcquire(p, node)) {
+                    if (!spun && p == head) {
+                        spun = true;
+                        if (spinForRelease())
+                            continue;
+                    }
+                    if (parkAndCheckInterrupt())
+                        throw new InterruptedException();
+                    spun = false;
+                }
             }
         } catch (Throwable t) {
             cancelAcquire(node);
@@ -453,12 +584,17 @@ public abstract class AbstractQueuedLongSynchronizer
             return false;
         final long deadline = System.nanoTime() + nanosTimeout;
         final Node node = addWaiter(Node.EXCLUSIVE);
+        boolean spun = false;
+        final ContentionProfile prof = profile;
+        final long waitStart = (prof == null) ? 0L : beginWait(prof);
         try {
             for (;;) {
                 final Node p = node.predecessor();
                 if (p == head && tryAcquire(arg)) {
                     setHead(node);
                     p.next = null; // help GC
+                    if (prof != null)
+                        prof.contendedAcquire(waitStart, true);
                     return true;
                 }
                 nanosTimeout = deadline - System.nanoTime();
@@ -467,8 +603,15 @@ public abstract class AbstractQueuedLongSynchronizer
                     return false;
                 }
                 if (shouldParkAfterFailedAcquire(p, node) &&
-                    nanosTimeout > SPIN_FOR_TIMEOUT_THRESHOLD)
+                    nanosTimeout > SPIN_FOR_TIMEOUT_THRESHOLD) {
+                    if (!spun && p == head) {
+                        spun = true;
+                        if (spinForRelease())
+                            continue;
+                    }
                     LockSupport.parkNanos(this, nanosTimeout);
+                    spun = false;
+                }
                 if (Thread.interrupted())
                     throw new InterruptedException();
             }
@@ -484,7 +627,9 @@ public abstract class AbstractQueuedLongSynchronizer
      */
     private void doAcquireShared(long arg) {
         final Node node = addWaiter(Node.SHARED);
-        boolean interrupted = false;
+        boolean interrupted = false, spun = false;
+        final ContentionProfile prof = profile;
+        final long waitStart = (prof == null) ? 0L : beginWait(prof);
         try {
             for (;;) {
                 final Node p = node.predecessor();
@@ -493,11 +638,20 @@ public abstract class AbstractQueuedLongSynchronizer
                     if (r >= 0) {
                         setHeadAndPropagate(node, r);
                         p.next = null; // help GC
+                        if (prof != null)
+                            prof.contendedAcquire(waitStart, false);
                         return;
                     }
                 }
-                if (shouldParkAfterFailedAcquire(p, node))
+                if (shouldParkAfterFailedAcquire(p, node)) {
+                    if (!spun && p == head) {
+                        spun = true;
+                        if (spinForRelease())
+                            continue;
+                    }
                     interrupted |= parkAndCheckInterrupt();
+                    spun = false;
+                }
             }
         } catch (Throwable t) {
             cancelAcquire(node);
@@ -515,6 +669,9 @@ public abstract class AbstractQueuedLongSynchronizer
     private void doAcquireSharedInterruptibly(long arg)
         throws InterruptedException {
         final Node node = addWaiter(Node.SHARED);
+        boolean spun = false;
+        final ContentionProfile prof = profile;
+        final long waitStart = (prof == null) ? 0L : beginWait(prof);
         try {
             for (;;) {
                 final Node p = node.predecessor();
@@ -523,12 +680,21 @@ public abstract class AbstractQueuedLongSynchronizer
                     if (r >= 0) {
                         setHeadAndPropagate(node, r);
                         p.next = null; // help GC
+                        if (prof != null)
+                            prof.contendedAcquire(waitStart, false);
                         return;
                     }
                 }
-                if (shouldParkAfterFailedAcquire(p, node) &&
-                    parkAndCheckInterrupt())
-                    throw new InterruptedException();
+                if (shouldParkAfterFailedAcquire(p, node)) {
+                    if (!spun && p == head) {
+                        spun = true;
+                        if (spinForRelease())
+                            continue;
+                    }
+                    if (parkAndCheckInterrupt())
+                        throw new InterruptedException();
+                    spun = false;
+                }
             }
         } catch (Throwable t) {
             cancelAcquire(node);
@@ -549,6 +715,9 @@ public abstract class AbstractQueuedLongSynchronizer
             return false;
         final long deadline = System.nanoTime() + nanosTimeout;
         final Node node = addWaiter(Node.SHARED);
+        boolean spun = false;
+        final ContentionProfile prof = profile;
+        final long waitStart = (prof == null) ? 0L : beginWait(prof);
         try {
             for (;;) {
                 final Node p = node.predecessor();
@@ -557,6 +726,8 @@ public abstract class AbstractQueuedLongSynchronizer
                     if (r >= 0) {
                         setHeadAndPropagate(node, r);
                         p.next = null; // help GC
+                        if (prof != null)
+                            prof.contendedAcquire(waitStart, false);
                         return true;
                     }
                 }
@@ -566,8 +737,15 @@ public abstract class AbstractQueuedLongSynchronizer
                     return false;
                 }
                 if (shouldParkAfterFailedAcquire(p, node) &&
-                    nanosTimeout > SPIN_FOR_TIMEOUT_THRESHOLD)
+                    nanosTimeout > SPIN_FOR_TIMEOUT_THRESHOLD) {
+                    if (!spun && p == head) {
+                        spun = true;
+                        if (spinForRelease())
+                            continue;
+                    }
                     LockSupport.parkNanos(this, nanosTimeout);
+                    spun = false;
+                }
                 if (Thread.interrupted())
                     throw new InterruptedException();
             }
@@ -727,9 +905,12 @@ public abstract class AbstractQueuedLongSynchronizer
      *        can represent anything you like.
      */
     public final void acquire(long arg) {
-        if (!tryAcquire(arg) &&
-            acquireQueued(addWaiter(Node.EXCLUSIVE), arg))
-            selfInterrupt();
+        if (!tryAcquire(arg)) {
+            if (acquireQueued(addWaiter(Node.EXCLUSIVE), arg))
+                selfInterrupt();
+        }
+        else if (profile != null)
+            profile.uncontendedAcquire(true);
     }
 
     /**
@@ -752,6 +933,8 @@ public abstract class AbstractQueuedLongSynchronizer
             throw new InterruptedException();
         if (!tryAcquire(arg))
             doAcquireInterruptibly(arg);
+        else if (profile != null)
+            profile.uncontendedAcquire(true);
     }
 
     /**
@@ -775,8 +958,11 @@ public abstract class AbstractQueuedLongSynchronizer
             throws InterruptedException {
         if (Thread.interrupted())
             throw new InterruptedException();
-        return tryAcquire(arg) ||
-            doAcquireNanos(arg, nanosTimeout);
+        if (!tryAcquire(arg))
+            return doAcquireNanos(arg, nanosTimeout);
+        if (profile != null)
+            profile.uncontendedAcquire(true);
+        return true;
     }
 
     /**
@@ -790,7 +976,11 @@ public abstract class AbstractQueuedLongSynchronizer
      * @return the value returned from {@link #tryRelease}
      */
     public final boolean release(long arg) {
+        ContentionProfile prof = profile;
+        long holdStart = (prof == null) ? 0L : prof.holdStartTime();
         if (tryRelease(arg)) {
+            if (prof != null)
+                prof.exclusiveRelease(holdStart);
             Node h = head;
             if (h != null && h.waitStatus != 0)
                 unparkSuccessor(h);
@@ -813,6 +1003,8 @@ public abstract class AbstractQueuedLongSynchronizer
     public final void acquireShared(long arg) {
         if (tryAcquireShared(arg) < 0)
             doAcquireShared(arg);
+        else if (profile != null)
+            profile.uncontendedAcquire(false);
     }
 
     /**
@@ -834,6 +1026,8 @@ public abstract class AbstractQueuedLongSynchronizer
             throw new InterruptedException();
         if (tryAcquireShared(arg) < 0)
             doAcquireSharedInterruptibly(arg);
+        else if (profile != null)
+            profile.uncontendedAcquire(false);
     }
 
     /**
@@ -856,8 +1050,11 @@ public abstract class AbstractQueuedLongSynchronizer
             throws InterruptedException {
         if (Thread.interrupted())
             throw new InterruptedException();
-        return tryAcquireShared(arg) >= 0 ||
-            doAcquireSharedNanos(arg, nanosTimeout);
+        if (tryAcquireShared(arg) < 0)
+            return doAcquireSharedNanos(arg, nanosTimeout);
+        if (profile != null)
+            profile.uncontendedAcquire(false);
+        return true;
     }
 
     /**
@@ -877,6 +1074,37 @@ public abstract class AbstractQueuedLongSynchronizer
         return false;
     }
 
+    // Contention profiling methods
+
+    /**
+     * Enables or disables collection of contention statistics for
+     * this synchronizer.  Enabling profiling installs a new, empty
+     * {@link ContentionProfile}, replacing any existing one; disabling
+     * it discards the current profile.  Changes take effect for
+     * acquires that start after this method is invoked. Profiling is
+     * initially disabled, and is disabled upon deserialization.
+     *
+     * @param enable {@code true} to enable profiling, {@code false}
+     *        to disable it
+     * @since 12
+     */
+    public final void setContentionProfiling(boolean enable) {
+        profile = enable ? new ContentionProfile() : null;
+    }
+
+    /**
+     * Returns the contention statistics collected for this
+     * synchronizer since profiling was last enabled, or {@code null}
+     * if profiling is disabled.
+     *
+     * @return the contention profile, or {@code null} if none
+     * @see #setContentionProfiling
+     * @since 12
+     */
+    public final ContentionProfile getContentionProfile() {
+        return profile;
+    }
+
     // Queue inspection methods
 
     /**
@@ -1221,6 +1449,62 @@ public abstract class AbstractQueuedLongSynchronizer
         return true;
     }
 
+    /**
+     * Transfers all nodes of a chain linked by nextWaiter from a
+     * condition queue onto sync queue, splicing those that were not
+     * cancelled with a single CAS of tail.
+     * @param first the first node of the chain
+     */
+    final void transferAllForSignal(Node first) {
+        /*
+         * Claim each node as in transferForSignal, relinking claimed
+         * nodes via nextWaiter and prev, but not next, so that
+         * isOnSyncQueue remains false for each until the chain is
+         * spliced.  Every claimed node but the last has a successor
+         * that is (probably) parked, so is given SIGNAL status.  The
+         * waiters are then woken in turn by releases, as if each had
+         * been transferred separately, but without contending with
+         * each other (or reinterleaving with concurrent acquirers)
+         * on tail.
+         */
+        Node h = null, t = null;
+        for (Node q = first, next; q != null; q = next) {
+            next = q.nextWaiter;
+            q.nextWaiter = null;
+            if (q.compareAndSetWaitStatus(Node.CONDITION, 0)) {
+                if (t == null)
+                    h = q;
+                else {
+                    t.waitStatus = Node.SIGNAL;
+                    t.nextWaiter = q;
+                    q.setPrevRelaxed(t);
+                }
+                t = q;
+            }
+        }
+        if (h != null) {
+            Node p;
+            for (;;) {
+                if ((p = tail) != null) {
+                    h.setPrevRelaxed(p);
+                    if (compareAndSetTail(p, t))
+                        break;
+                }
+                else
+                    initializeSyncQueue();
+            }
+            p.next = h;
+            for (Node q = h, s; q != t; q = s) {
+                s = q.nextWaiter;
+                q.nextWaiter = null;
+                q.next = s;
+            }
+            int ws = p.waitStatus;
+            if (ws > 0 || !p.compareAndSetWaitStatus(ws, Node.SIGNAL))
+                LockSupport.unpark(h.thread);
+        }
+    }
+
     /**
      * Transfers node, if necessary, to sync queue after a cancelled wait.
      * Returns true if thread was cancelled before being signalled.
@@ -1412,17 +1696,12 @@ public abstract class AbstractQueuedLongSynchronizer
         }
 
         /**
-         * Removes and transfers all nodes.
+         * Removes and transfers all nodes, as a single chain.
          * @param first (non-null) the first node on condition queue
          */
         private void doSignalAll(Node first) {
             lastWaiter = firstWaiter = null;
-            do {
-                Node next = first.nextWaiter;
-                first.nextWaiter = null;
-                transferForSignal(first);
-                first = next;
-            } while (first != null);
+            transferAllForSignal(first);
         }
 
         /**
@@ -1479,7 +1758,9 @@ public abstract class AbstractQueuedLongSynchronizer
 
         /**
          * Moves all threads from the wait queue for this condition to
-         * the wait queue for the owning lock.
+         * the wait queue for the owning lock.  The threads are moved
+         * together, retaining their order, and remain blocked until
+         * each in turn is signalled by a release of the lock.
          *
          * @throws IllegalMonitorStateException if {@link #isHeldExclusively}
          *         returns {@code false}
@@ -0,0 +1,306 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+package java.util.concurrent.locks;
+
+import java.util.function.ToIntFunction;
+import jdk.internal.vm.annotation.ReservedStackAccess;
+
+/**
+ * A {@link ReentrantLock} that, under contention, prefers to hand
+ * the lock to a waiting thread running on the same node (for
+ * example, the same socket of a multiprocessor) as the releasing
+ * thread, for a bounded number of consecutive passes, before
+ * releasing it to threads on other nodes.  On machines with
+ * non-uniform memory access, this reduces the number of times that
+ * the lock word, the data it protects, and the queue of waiting
+ * threads migrate among the caches of different nodes.
+ *
+ * <p>Threads are mapped to <em>cohorts</em> using a node hint
+ * function supplied on construction, that is applied to the thread
+ * invoking {@link #lock}.  Any mapping is correct; the hint affects
+ * only performance.  Because the platform does not in general expose
+ * the processor or node on which a thread is running, callers that
+ * know their thread placement (for example, because threads are
+ * bound to nodes via an affinity mechanism, or because each node is
+ * served by its own pool) should supply a function reporting it.
+ * Otherwise threads are distributed among cohorts by identity, which
+ * still reduces contention on the shared lock word but does not
+ * improve locality.
+ *
+ * <p>Only threads using the blocking {@link #lock} method take part
+ * in cohort passing.  Methods {@link #tryLock()}, {@link
+ * #tryLock(long, java.util.concurrent.TimeUnit) tryLock(timeout)},
+ * {@link #lockInterruptibly} and threads reacquiring the lock upon
+ * return from {@link Condition} waits contend directly for the lock
+ * as they would for a non-fair {@code ReentrantLock}.  Otherwise this
+ * class has the same properties as a non-fair {@code ReentrantLock},
+ * including its {@link Condition} semantics and monitoring methods.
+ * While the lock is being passed within a cohort, {@link #isLocked}
+ * returns {@code true} but {@link #getOwner} returns {@code null}.
+ *
+ * <p>Serialization of this class behaves in the same way as for
+ * {@code ReentrantLock}.  The node hint function is not serialized;
+ * a deserialized lock distributes threads by identity.
+ *
+ * @since 12
+ * @author Doug Lea
+ */
+public class CohortLock extends ReentrantLock {
+    private static final long serialVersionUID = -3524116367891582036L;
+
+    /*
+     * Overview:
+     *
+     * This is a cohort lock in the sense of Dice, Marathe & Shavit
+     * ("Lock Cohorting: A General Technique for Designing NUMA
+     * Locks"), layered over the AQS-based global lock of the
+     * superclass.  Each cohort has a non-reentrant local "gate"
+     * mutex, also based on AQS.  A thread invoking lock() first
+     * acquires its cohort's gate, so that at most one thread per
+     * cohort contends for the global lock, and then the global lock.
+     *
+     * On final release by a thread holding its cohort's gate, if
+     * other threads are queued on that gate and the cohort has not
+     * yet used up MAX_PASSES consecutive passes, the global lock is
+     * not released.  Instead its state is left nonzero with no
+     * owner, the cohort is recorded in field "passed", and the gate
+     * is released.  The next thread to acquire the gate (usually the
+     * gate's first waiter, but possibly a barging thread of the same
+     * cohort) finds that the lock was passed to its cohort and takes
+     * ownership without touching the global queue.  Because the
+     * global state stays nonzero, threads of other cohorts cannot
+     * intervene.  Field "passed" is written only by the owner before
+     * releasing a gate and read after acquiring that gate, so it is
+     * properly ordered by the gate's own synchronization; it is
+     * volatile only so that monitoring reads are sensible.
+     *
+     * The scheme relies on queued gate waiters never giving up, since
+     * otherwise a lock passed to a cohort whose waiters cancelled
+     * would never be taken.  So only the uninterruptible lock()
+     * method uses gates.  Timed, interruptible, and try- acquires,
+     * and reacquisitions after Condition waits, use the global lock
+     * directly as they would for a nonfair ReentrantLock; such an
+     * owner holds no gate, so its release never passes the lock.
+     * Uncontended lock() calls also take the global lock directly
+     * when it is free, avoiding gate overhead in the common case.
+     */
+
+    /**
+     * The maximum number of consecutive times the lock is passed
+     * within a cohort before being released globally. This bounds
+     * the unfairness to other cohorts while amortizing the costs of
+     * migrating the lock among nodes.
+     */
+    static final int MAX_PASSES = 64;
+
+    /**
+     * Per-cohort gate: a non-reentrant mutex, plus the count of
+     * consecutive passes within the cohort.
+     */
+    static final class Cohort extends AbstractQueuedSynchronizer {
+        private static final long serialVersionUID = 4716304296571815392L;
+
+        /** Consecutive passes; accessed only by global lock owner */
+        transient int passes;
+
+        protected boolean tryAcquire(int acquires) {
+            return compareAndSetState(0, 1);
+        }
+
+        protected boolean tryRelease(int releases) {
+            setState(0);
+            return true;
+        }
+
+        private void readObject(java.io.ObjectInputStream s)
+            throws java.io.IOException, ClassNotFoundException {
+            s.defaultReadObject();
+            setState(0); // reset to unlocked state
+        }
+    }
+
+    /**
+     * Sync object for cohort locks.
+     */
+    static final class CohortSync extends Sync {
+        private static final long serialVersionUID = -6260871232357349640L;
+
+        /** The cohort gates */
+        final Cohort[] cohorts;
+
+        /** The cohort to which the lock is being passed, or null */
+        transient volatile Cohort passed;
+
+        /** The cohort whose gate is held by the owner, or null */
+        transient Cohort ownerCohort;
+
+        CohortSync(int n) {
+            Cohort[] cs = new Cohort[n];
+            for (int i = 0; i < n; ++i)
+                cs[i] = new Cohort();
+            cohorts = cs;
+        }
+
+        protected final boolean tryAcquire(int acquires) {
+            return nonfairTryAcquire(acquires);
+        }
+
+        @ReservedStackAccess
+        protected final boolean tryRelease(int releases) {
+            int c = getState() - releases;
+            if (Thread.currentThread() != getExclusiveOwnerThread())
+                throw new IllegalMonitorStateException();
+            if (c != 0) {
+                setState(c);
+                return false;
+            }
+            Cohort oc = ownerCohort;
+            setExclusiveOwnerThread(null);
+            if (oc == null)
+                setState(0);
+            else {
+                ownerCohort = null;
+                if (oc.passes < MAX_PASSES && oc.hasQueuedThreads()) {
+                    ++oc.passes;
+                    passed = oc;
+                    setState(1);        // reserved for cohort
+                }
+                else {
+                    oc.passes = 0;
+                    setState(0);
+                }
+                oc.release(1);
+            }
+            // Always report free, as required by Condition waits
+            return true;
+        }
+
+        /**
+         * Unless uncontended or reentrant, acquires the lock by first
+         * acquiring the gate of the current thread's cohort and then
+         * either accepting a pass or acquiring the global lock.
+         */
+        final void lock(ToIntFunction<? super Thread> nodeHint) {
+            if (!nonfairTryAcquire(1)) {
+                int h = nodeHint.applyAsInt(Thread.currentThread());
+                Cohort c = cohorts[Math.floorMod(h, cohorts.length)];
+                c.acquire(1);
+                if (passed == c) {
+                    passed = null;     // state is already 1
+                    setExclusiveOwnerThread(Thread.currentThread());
+                }
+                else {
+                    acquire(1);
+                    c.passes = 0;
+                }
+                ownerCohort = c;
+            }
+        }
+
+        private void readObject(java.io.ObjectInputStream s)
+            throws java.io.IOException, ClassNotFoundException {
+            s.defaultReadObject();
+            setState(0); // reset to unlocked state
+        }
+    }
+
+    /** Synchronizer; same as superclass's */
+    private final CohortSync sync;
+
+    /** Maps threads to cohorts */
+    private transient ToIntFunction<? super Thread> nodeHint;
+
+    /** Default hint, distributing threads by identity */
+    private static int threadIdHint(Thread t) {
+        return (int)LockSupport.getThreadId(t);
+    }
+
+    private CohortLock(CohortSync sync,
+                       ToIntFunction<? super Thread> nodeHint) {
+        super(sync);
+        this.sync = sync;
+        this.nodeHint = nodeHint;
+    }
+
+    /**
+     * Creates a {@code CohortLock} with the given number of cohorts,
+     * distributing threads among them by identity.
+     *
+     * @param cohorts the number of cohorts
+     * @throws IllegalArgumentException if {@code cohorts} is not positive
+     */
+    public CohortLock(int cohorts) {
+        this(cohorts, CohortLock::threadIdHint);
+    }
+
+    /**
+     * Creates a {@code CohortLock} with the given number of cohorts
+     * and node hint function. A thread {@code t} invoking {@link
+     * #lock} is placed in cohort {@code Math.floorMod(nodeHint.applyAsInt(t),
+     * cohorts)}. The function should be inexpensive, and should
+     * usually return the same value when invoked repeatedly for the
+     * same thread.
+     *
+     * @param cohorts the number of cohorts; typically the number of
+     *        nodes (for example, sockets) of the machine
+     * @param nodeHint the function mapping threads to node numbers
+     * @throws IllegalArgumentException if {@code cohorts} is not positive
+     * @throws NullPointerException if {@code nodeHint} is null
+     */
+    public CohortLock(int cohorts, ToIntFunction<? super Thread> nodeHint) {
+        this(newSync(cohorts), checkHint(nodeHint));
+    }
+
+    private static CohortSync newSync(int cohorts) {
+        if (cohorts <= 0)
+            throw new IllegalArgumentException();
+        return new CohortSync(cohorts);
+    }
+
+    private static ToIntFunction<? super Thread> checkHint(
+        ToIntFunction<? super Thread> nodeHint) {
+        if (nodeHint == null)
+            throw new NullPointerException();
+        return nodeHint;
+    }
+
+    /**
+     * Acquires the lock.
+     *
+     * <p>Acquires the lock if it is not held by another thread and returns
+     * immediately, setting the lock hold count to one.
+     *
+     * <p>If the current thread already holds the lock then the hold
+     * count is incremented by one and the method returns immediately.
+     *
+     * <p>If the lock is held by another thread then the current
+     * thread waits, first with other threads of its cohort, and then
+     * if necessary with those of other cohorts, until the lock has
+     * been acquired, at which time the lock hold count is set to one.
+     */
+    public void lock() {
+        sync.lock(nodeHint);
+    }
+
+    /**
+     * Returns the number of cohorts used by this lock.
+     *
+     * @return the number of cohorts
+     */
+    public int getCohortCount() {
+        return sync.cohorts.length;
+    }
+
+    /**
+     * Reconstitutes this lock from a stream (that is, deserializes it).
+     */
+    private void readObject(java.io.ObjectInputStream s)
+        throws java.io.IOException, ClassNotFoundException {
+        s.defaultReadObject();
+        nodeHint = CohortLock::threadIdHint;
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+package java.util.concurrent.locks;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention statistics collected by an {@link
+ * AbstractQueuedSynchronizer} or {@link AbstractQueuedLongSynchronizer}
+ * (and so by locks and other synchronizers based on them) for which
+ * profiling has been enabled using {@link
+ * AbstractQueuedSynchronizer#setContentionProfiling}.  Profiling is
+ * disabled by default, in which case it adds only a field read to
+ * each acquire and release.
+ *
+ * <p>A profile records:
+ *
+ * <ul>
+ *
+ * <li>the number of acquires that succeeded without queuing, and the
+ * number that succeeded after queuing (<em>contended</em> acquires);
+ *
+ * <li>the time each contended acquire spent waiting, from queuing
+ * until acquisition;
+ *
+ * <li>the lengths of the queue, sampled periodically upon contended
+ * acquires; and
+ *
+ * <li>the time between each exclusive acquire (performed using an
+ * {@code acquire} method, or upon return from a {@link Condition}
+ * wait) and the release that fully releases it.
+ *
+ * </ul>
+ *
+ * <p>Acquires that time out or are interrupted, and shared-mode hold
+ * times, are not recorded.  Times and lengths are recorded in
+ * histograms with power-of-two bucket boundaries: element {@code 0}
+ * counts values of zero, and element {@code i > 0} counts values
+ * {@code v} with <code>2<sup>i-1</sup> &lt;= v &lt; 2<sup>i</sup></code>.
+ *
+ * <p>Statistics are updated concurrently with accesses, without
+ * locking, so each accessor returns only an estimate that may not
+ * reflect updates in progress, and values returned by different
+ * accessors need not be mutually consistent.  These methods are
+ * designed for use in monitoring and diagnosis, not for
+ * synchronization control.
+ *
+ * @since 12
+ * @author Doug Lea
+ */
+public final class ContentionProfile {
+
+    /** Number of histogram buckets; enough for any nonnegative long */
+    static final int BUCKETS = 65;
+
+    /** Mask for number of contended acquires between queue samples */
+    static final int QUEUE_SAMPLE_MASK = (1 << 3) - 1;
+
+    private final LongAdder uncontendedAcquires = new LongAdder();
+    private final AtomicLong contendedAcquires = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong totalHoldNanos = new AtomicLong();
+    private final AtomicLong maxHoldNanos = new AtomicLong();
+    private final AtomicLongArray waitTimes = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray holdTimes = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray queueLengths = new AtomicLongArray(BUCKETS);
+
+    /**
+     * The thread whose exclusive hold is being timed, or null. Set by
+     * acquiring threads, and cleared (only if still the same thread)
+     * by that thread upon full release. Because the next owner may
+     * already have set itself, releasers capture their start time
+     * before releasing, and clear using CAS.
+     */
+    private final AtomicReference<Thread> holder = new AtomicReference<>();
+
+    /** Start time of holder's hold; accessed only by holder */
+    private long holdStart;
+
+    ContentionProfile() {}
+
+    /** Returns the histogram bucket for nonnegative value v */
+    static int bucket(long v) {
+        return 64 - Long.numberOfLeadingZeros(v);
+    }
+
+    private static long[] snapshot(AtomicLongArray a) {
+        long[] r = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; ++i)
+            r[i] = a.get(i);
+        return r;
+    }
+
+    // Recording methods, called by synchronizers
+
+    /**
+     * Records an acquire that succeeded without queuing.
+     */
+    final void uncontendedAcquire(boolean exclusive) {
+        uncontendedAcquires.increment();
+        if (exclusive) {
+            Thread t = Thread.currentThread();
+            if (holder.get() != t) { // else reentrant
+                holdStart = System.nanoTime();
+                holder.set(t);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the queue length should be sampled upon the
+     * current contended acquire.
+     */
+    final boolean queueSampleDue() {
+        return (contendedAcquires.get() & QUEUE_SAMPLE_MASK) == 0L;
+    }
+
+    /**
+     * Records a queue length sample.
+     */
+    final void queueLength(int n) {
+        queueLengths.getAndIncrement(bucket(n));
+    }
+
+    /**
+     * Records a contended acquire that started waiting at the given
+     * time.
+     */
+    final void contendedAcquire(long startTime, boolean exclusive) {
+        long now = System.nanoTime();
+        long w = Math.max(now - startTime, 0L);
+        contendedAcquires.getAndIncrement();
+        totalWaitNanos.getAndAdd(w);
+        maxWaitNanos.accumulateAndGet(w, Math::max);
+        waitTimes.getAndIncrement(bucket(w));
+        if (exclusive) {
+            holdStart = now;
+            holder.set(Thread.currentThread());
+        }
+    }
+
+    /**
+     * Returns the start time of the current thread's exclusive hold,
+     * or zero if not recorded. Called before a possibly-full release.
+     */
+    final long holdStartTime() {
+        return (holder.get() == Thread.currentThread()) ? holdStart : 0L;
+    }
+
+    /**
+     * Records full release of an exclusive hold with the given start
+     * time, as returned by holdStartTime.
+     */
+    final void exclusiveRelease(long start) {
+        if (start != 0L) {
+            long h = Math.max(System.nanoTime() - start, 0L);
+            totalHoldNanos.getAndAdd(h);
+            maxHoldNanos.accumulateAndGet(h, Math::max);
+            holdTimes.getAndIncrement(bucket(h));
+            holder.compareAndSet(Thread.currentThread(), null);
+        }
+    }
+
+    // Accessors
+
+    /**
+     * Returns the number of acquires that succeeded without queuing.
+     *
+     * @return the number of uncontended acquires
+     */
+    public long getUncontendedAcquireCount() {
+        return uncontendedAcquires.sum();
+    }
+
+    /**
+     * Returns the number of acquires that succeeded after queuing.
+     *
+     * @return the number of contended acquires
+     */
+    public long getContendedAcquireCount() {
+        return contendedAcquires.get();
+    }
+
+    /**
+     * Returns the total time, in nanoseconds, spent waiting by
+     * contended acquires.
+     *
+     * @return the total wait time
+     */
+    public long getTotalWaitNanos() {
+        return totalWaitNanos.get();
+    }
+
+    /**
+     * Returns the maximum time, in nanoseconds, spent waiting by a
+     * contended acquire.
+     *
+     * @return the maximum wait time
+     */
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    /**
+     * Returns a histogram of the times, in nanoseconds, spent
+     * waiting by contended acquires.
+     *
+     * @return the wait time histogram
+     */
+    public long[] getWaitTimeHistogram() {
+        return snapshot(waitTimes);
+    }
+
+    /**
+     * Returns a histogram of queue lengths, sampled upon contended
+     * acquires.
+     *
+     * @return the queue length histogram
+     */
+    public long[] getQueueLengthHistogram() {
+        return snapshot(queueLengths);
+    }
+
+    /**
+     * Returns the total time, in nanoseconds, of recorded exclusive
+     * holds.
+     *
+     * @return the total hold time
+     */
+    public long getTotalHoldNanos() {
+        return totalHoldNanos.get();
+    }
+
+    /**
+     * Returns the maximum time, in nanoseconds, of a recorded
+     * exclusive hold.
+     *
+     * @return the maximum hold time
+     */
+    public long getMaxHoldNanos() {
+        return maxHoldNanos.get();
+    }
+
+    /**
+     * Returns a histogram of the times, in nanoseconds, of recorded
+     * exclusive holds.
+     *
+     * @return the hold time histogram
+     */
+    public long[] getHoldTimeHistogram() {
+        return snapshot(holdTimes);
+    }
+
+    /**
+     * Returns a string summarizing this profile.
+     *
+     * @return a string summarizing this profile
+     */
+    public String toString() {
+        long c = getContendedAcquireCount();
+        long holds = 0L;
+        for (long n : getHoldTimeHistogram())
+            holds += n;
+        return super.toString() +
+            "[uncontended = " + getUncontendedAcquireCount() +
+            ", contended = " + c +
+            ", mean wait = " + ((c == 0L) ? 0L : getTotalWaitNanos() / c) +
+            "ns, max wait = " + getMaxWaitNanos() +
+            "ns, mean hold = " + ((holds == 0L) ? 0L : getTotalHoldNanos() / holds) +
+            "ns, max hold = " + getMaxHoldNanos() + "ns]";
+    }
+}
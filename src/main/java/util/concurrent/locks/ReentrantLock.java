@@ -83,7 +83,8 @@ public class ReentrantLock implements Lock, java.io.Serializable {
 
     /**
      * Base of synchronization control for this lock. Subclassed
-     * into fair and nonfair versions below. Uses AQS state to
+     * into fair and nonfair versions below, and into the cohort
+     * version used by {@link CohortLock}. Uses AQS state to
      * represent the number of holds on the lock.
      */
     abstract static class Sync extends AbstractQueuedSynchronizer {
@@ -114,7 +115,7 @@ public class ReentrantLock implements Lock, java.io.Serializable {
         }
 
         @ReservedStackAccess
-        protected final boolean tryRelease(int releases) {
+        protected boolean tryRelease(int releases) {
             int c = getState() - releases;
             if (Thread.currentThread() != getExclusiveOwnerThread())
                 throw new IllegalMonitorStateException();
@@ -220,6 +221,14 @@ public class ReentrantLock implements Lock, java.io.Serializable {
         sync = fair ? new FairSync() : new NonfairSync();
     }
 
+    /**
+     * Creates an instance using the given synchronizer; used by
+     * subclasses supplying their own acquisition policy.
+     */
+    ReentrantLock(Sync sync) {
+        this.sync = sync;
+    }
+
     /**
      * Acquires the lock.
      *
@@ -626,6 +635,64 @@ public class ReentrantLock implements Lock, java.io.Serializable {
         return sync.getQueuedThreads();
     }
 
+    /**
+     * Sets the maximum number of times that a thread waiting to acquire
+     * this lock spins before blocking, which may improve throughput
+     * when it is held only briefly.  Spinning is initially disabled (a
+     * limit of zero).
+     *
+     * @param spins the maximum number of spins, or zero to disable
+     *        spinning
+     * @throws IllegalArgumentException if {@code spins} is negative
+     * @see AbstractQueuedSynchronizer#setSpinLimit
+     * @since 12
+     */
+    public void setSpinLimit(int spins) {
+        sync.setSpinLimit(spins);
+    }
+
+    /**
+     * Returns the spin limit of this lock.
+     *
+     * @return the maximum number of spins, or zero if spinning is
+     *         disabled
+     * @see #setSpinLimit
+     * @since 12
+     */
+    public int getSpinLimit() {
+        return sync.getSpinLimit();
+    }
+
+    /**
+     * Enables or disables collection of contention statistics for
+     * this lock, including the times that threads wait to acquire it,
+     * sampled queue lengths, and the times that it is held.
+     * Profiling is initially disabled, and when disabled has
+     * negligible cost.  Enabling profiling replaces any previously
+     * collected statistics.
+     *
+     * @param enable {@code true} to enable profiling, {@code false}
+     *        to disable it
+     * @see AbstractQueuedSynchronizer#setContentionProfiling
+     * @since 12
+     */
+    public void setContentionProfiling(boolean enable) {
+        sync.setContentionProfiling(enable);
+    }
+
+    /**
+     * Returns the contention statistics collected for this lock since
+     * profiling was last enabled, or {@code null} if profiling is
+     * disabled.  This method is designed for use in monitoring
+     * system state, not for synchronization control.
+     *
+     * @return the contention profile, or {@code null} if none
+     * @since 12
+     */
+    public ContentionProfile getContentionProfile() {
+        return sync.getContentionProfile();
+    }
+
     /**
      * Queries whether any threads are waiting on the given condition
      * associated with this lock. Note that because timeouts and
@@ -1381,6 +1381,65 @@ public class ReentrantReadWriteLock
         return sync.getQueuedThreads();
     }
 
+    /**
+     * Sets the maximum number of times that a thread waiting to
+     * acquire either the read or the write lock spins before
+     * blocking.  Spinning is initially disabled, and is most likely
+     * to help when write locks are held only briefly.
+     *
+     * @param spins the maximum number of spins, or zero to disable
+     *        spinning
+     * @throws IllegalArgumentException if {@code spins} is negative
+     * @see AbstractQueuedSynchronizer#setSpinLimit
+     * @since 12
+     */
+    public void setSpinLimit(int spins) {
+        sync.setSpinLimit(spins);
+    }
+
+    /**
+     * Returns the spin limit shared by the read and write locks.
+     *
+     * @return the maximum number of spins, or zero if spinning is
+     *         disabled
+     * @see #setSpinLimit
+     * @since 12
+     */
+    public int getSpinLimit() {
+        return sync.getSpinLimit();
+    }
+
+    /**
+     * Enables or disables collection of contention statistics for
+     * this lock, including the times that threads wait to acquire it,
+     * sampled queue lengths, and the times that it is held.
+     * Hold times are recorded only for the write lock.
+     * Profiling is initially disabled, and when disabled has
+     * negligible cost.  Enabling profiling replaces any previously
+     * collected statistics.
+     *
+     * @param enable {@code true} to enable profiling, {@code false}
+     *        to disable it
+     * @see AbstractQueuedSynchronizer#setContentionProfiling
+     * @since 12
+     */
+    public void setContentionProfiling(boolean enable) {
+        sync.setContentionProfiling(enable);
+    }
+
+    /**
+     * Returns the contention statistics collected for this lock since
+     * profiling was last enabled, or {@code null} if profiling is
+     * disabled.  This method is designed for use in monitoring
+     * system state, not for synchronization control.
+     *
+     * @return the contention profile, or {@code null} if none
+     * @since 12
+     */
+    public ContentionProfile getContentionProfile() {
+        return sync.getContentionProfile();
+    }
+
     /**
      * Queries whether any threads are waiting on the given condition
      * associated with the write lock. Note that because timeouts and
@@ -9,6 +9,8 @@ package java.util.concurrent.locks;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import jdk.internal.vm.annotation.ReservedStackAccess;
 
 /**
@@ -62,7 +64,10 @@ import jdk.internal.vm.annotation.ReservedStackAccess;
  * mode and there are no other readers or (3) in optimistic mode and
  * the lock is available. The forms of these methods are designed to
  * help reduce some of the code bloat that otherwise occurs in
- * retry-based designs.
+ * retry-based designs.  Methods {@link #read} and {@link #update}
+ * further encapsulate the most common optimistic retry and upgrade
+ * idioms, in which a side-effect-free function reads a snapshot of
+ * guarded fields.
  *
  * <p>StampedLocks are designed for use as internal utilities in the
  * development of thread-safe components. Their use relies on
@@ -192,6 +197,18 @@ import jdk.internal.vm.annotation.ReservedStackAccess;
  *       sl.unlock(stamp);
  *     }
  *   }
+ *
+ *   // equivalent forms using helper methods
+ *   double distanceFromOrigin2() {
+ *     return sl.read(() -> Math.hypot(x, y));
+ *   }
+ *
+ *   void moveIfAtOrigin2(double newX, double newY) {
+ *     sl.update(() -> x == 0.0 && y == 0.0,
+ *               atOrigin -> {
+ *                 if (atOrigin) { x = newX; y = newY; }
+ *                 return null; });
+ *   }
  * }}</pre>
  *
  * @since 1.8
@@ -332,6 +349,14 @@ public class StampedLock implements java.io.Serializable {
     /** Maximum number of retries before re-blocking */
     private static final int MAX_HEAD_SPINS = (NCPU > 1) ? 1 << 16 : 1;
 
+    /**
+     * Maximum number of optimistic attempts by methods read and update
+     * before acquiring a lock. Attempts stop early if the lock is
+     * write-locked, so retries occur only when writes are brief
+     * relative to reads, and a small number suffices.
+     */
+    private static final int OPTIMISTIC_TRIES = 3;
+
     /** The period for yielding when waiting for overflow spinlock */
     private static final int OVERFLOW_YIELD_RATE = 7; // must be power 2 - 1
 
@@ -813,6 +838,117 @@ public class StampedLock implements java.io.Serializable {
         return 0L;
     }
 
+    /**
+     * Returns the result of the given side-effect-free reader function,
+     * evaluated in optimistic mode if possible, otherwise holding the
+     * read lock.  The reader is first invoked (at most a small number
+     * of times) without locking, and its result is returned if {@link
+     * #validate} then confirms that no write occurred concurrently.
+     * Otherwise, including when the lock is write-locked, the reader
+     * is invoked once more while holding the read lock.
+     *
+     * <p>As with all optimistic reads, the reader may observe
+     * inconsistent values, and must tolerate doing so, typically by
+     * only reading fields into local variables and performing
+     * computations on them that cannot loop or have other side
+     * effects.  An exception thrown by the reader during an
+     * optimistic attempt is treated as a failed attempt if validation
+     * fails, and is otherwise propagated to the caller.  This method
+     * is not reentrant: the reader must not acquire this lock.
+     *
+     * @param reader the function computing a result from guarded state
+     * @param <T> the type of the result
+     * @return the reader's result
+     * @throws NullPointerException if reader is null
+     * @since 12
+     */
+    public <T> T read(Supplier<? extends T> reader) {
+        if (reader == null)
+            throw new NullPointerException();
+        for (int tries = OPTIMISTIC_TRIES; tries > 0; --tries) {
+            long stamp = tryOptimisticRead();
+            if (stamp == 0L)
+                break;                  // write-locked
+            T result;
+            try {
+                result = reader.get();
+            } catch (Throwable ex) {
+                if (validate(stamp))
+                    throw ex;
+                continue;
+            }
+            if (validate(stamp))
+                return result;
+        }
+        long stamp = readLock();
+        try {
+            return reader.get();
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Performs a conditional or computed update: obtains a snapshot
+     * of guarded state using the given side-effect-free reader
+     * function, and then, while holding the write lock, applies the
+     * given writer function to a snapshot obtained at a point at
+     * which no other write has occurred since, returning its result.
+     * The snapshot is first obtained optimistically, and if the lock
+     * can then be immediately {@linkplain #tryConvertToWriteLock
+     * converted} to a write lock, the writer is applied to it.
+     * Otherwise the write lock is acquired, and the reader is invoked
+     * again while holding it to obtain the snapshot.
+     *
+     * <p>The reader has the same constraints as for method {@link
+     * #read}.  The writer may perform arbitrary updates of guarded
+     * state, or none (for example if the snapshot reveals that no
+     * update is needed), and the write lock is released upon its
+     * return or exception.  This method is not reentrant: neither
+     * function may acquire this lock.
+     *
+     * @param reader the function reading a snapshot of guarded state
+     * @param writer the function updating guarded state, given the
+     *        snapshot, while holding the write lock
+     * @param <T> the type of snapshot
+     * @param <R> the type of the result
+     * @return the writer's result
+     * @throws NullPointerException if either function is null
+     * @since 12
+     */
+    public <T,R> R update(Supplier<? extends T> reader,
+                          Function<? super T, ? extends R> writer) {
+        if (reader == null || writer == null)
+            throw new NullPointerException();
+        long stamp = tryOptimisticRead(), ws = 0L;
+        T snapshot = null;
+        if (stamp != 0L) {
+            try {
+                snapshot = reader.get();
+            } catch (Throwable ex) {
+                if (validate(stamp))
+                    throw ex;
+                stamp = 0L;
+            }
+            if (stamp != 0L)
+                ws = tryConvertToWriteLock(stamp);
+        }
+        if (ws == 0L) {
+            ws = writeLock();
+            try {
+                snapshot = reader.get();
+            } catch (Throwable ex) {
+                unlockWrite(ws);
+                throw ex;
+            }
+        }
+        try {
+            return writer.apply(snapshot);
+        } finally {
+            unlockWrite(ws);
+        }
+    }
+
     /**
      * Releases the write lock if it is held, without requiring a
      * stamp value. This method may be useful for recovery after
@@ -0,0 +1,1099 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+package java.util.concurrent.locks;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Collection;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A reentrant {@link ReadWriteLock} designed for read-mostly usages
+ * in which many threads concurrently acquire the read lock. A {@link
+ * ReentrantReadWriteLock} records every read acquisition in a single
+ * synchronization word, so read locking by different threads
+ * contends on the same memory location even when no writer is
+ * present. This class instead records readers in a table of
+ * per-thread-indexed indicators, so read lock and unlock operations
+ * by different threads normally update different locations and
+ * scale with the number of processors.
+ *
+ * <p>The price is paid by writers. To acquire the write lock, a
+ * thread first revokes reader access, so that new readers wait
+ * (or, for {@link ReadLock#tryLock()}, fail), and then waits until
+ * all readers that entered before revocation have released their
+ * read locks, which requires a traversal of the indicator table.
+ * Write lock acquisition is thus more expensive than that of a
+ * {@code ReentrantReadWriteLock}, and this class should be used only
+ * when reads greatly outnumber writes.
+ *
+ * <p>This class has the following properties:
+ *
+ * <ul>
+ * <li><b>Acquisition order</b>
+ * <p>This class does not support a fairness policy. Writers are
+ * given preference: a thread trying to acquire the read lock
+ * (non-reentrantly) will block while another thread holds the write
+ * lock, and new readers may be postponed indefinitely under
+ * continuous write contention.
+ *
+ * <li><b>Reentrancy</b>
+ * <p>Both readers and writers may reacquire read or write locks in
+ * the style of a {@link ReentrantReadWriteLock}. A writer can acquire
+ * the read lock, but not vice-versa: if a reader tries to acquire
+ * the write lock it will never succeed. Reentrant acquisition of the
+ * read lock never blocks, even if a writer is waiting.
+ *
+ * <li><b>Lock downgrading</b>
+ * <p>Downgrading from the write lock to a read lock is supported by
+ * acquiring the write lock, then the read lock and then releasing
+ * the write lock.
+ *
+ * <li><b>Interruption of lock acquisition</b>
+ * <p>The read lock and write lock both support interruption during
+ * lock acquisition.
+ *
+ * <li><b>{@link Condition} support</b>
+ * <p>The write lock provides a {@link Condition} implementation that
+ * behaves with respect to the write lock as does the {@link
+ * Condition} provided by {@link ReentrantReadWriteLock.WriteLock#newCondition}.
+ * The read lock does not support a {@link Condition}.
+ *
+ * <li><b>Instrumentation</b>
+ * <p>This class supports methods to determine whether locks are
+ * held or contended. These methods are designed for monitoring
+ * system state, not for synchronization control.
+ * </ul>
+ *
+ * <p>Serialization of this class behaves in the same way as built-in
+ * locks: a deserialized lock is in the unlocked state, regardless of
+ * its state when serialized.
+ *
+ * <p><b>Sample usage</b>. Here is a class using a TreeMap that is
+ * expected to be large and read by many threads, but only
+ * occasionally updated:
+ *
+ * <pre> {@code
+ * class Registry {
+ *   private final Map<String, Data> m = new TreeMap<>();
+ *   private final StripedReadWriteLock rwl = new StripedReadWriteLock();
+ *   private final Lock r = rwl.readLock();
+ *   private final Lock w = rwl.writeLock();
+ *
+ *   public Data get(String key) {
+ *     r.lock();
+ *     try { return m.get(key); }
+ *     finally { r.unlock(); }
+ *   }
+ *   public Data put(String key, Data value) {
+ *     w.lock();
+ *     try { return m.put(key, value); }
+ *     finally { w.unlock(); }
+ *   }
+ * }}</pre>
+ *
+ * <h3>Implementation Notes</h3>
+ *
+ * <p>This lock supports a maximum of 2147483647 recursive write
+ * locks and 2147483647 read locks per thread. Attempts to exceed
+ * these limits result in {@link Error} throws from locking methods.
+ * Each thread that has ever acquired the read lock retains a small
+ * per-thread record of its read holds for as long as the lock
+ * remains reachable.
+ *
+ * @since 12
+ * @author Doug Lea
+ */
+public class StripedReadWriteLock
+        implements ReadWriteLock, java.io.Serializable {
+    private static final long serialVersionUID = 2858203958719312468L;
+    /** Inner class providing readlock */
+    private final StripedReadWriteLock.ReadLock readerLock;
+    /** Inner class providing writelock */
+    private final StripedReadWriteLock.WriteLock writerLock;
+    /** Performs all synchronization mechanics */
+    final Sync sync;
+
+    /*
+     * Overview:
+     *
+     * The write lock is an ordinary reentrant exclusive AQS lock,
+     * with the write hold count as state. Readers do not update AQS
+     * state at all. Instead, each thread announces its first
+     * (non-reentrant) read hold by incrementing one of several
+     * indicator slots, chosen by thread id and padded to avoid
+     * false sharing, and then rechecks that the write lock is not
+     * held by another thread. A writer, after acquiring AQS state,
+     * scans the slots until all of them are zero. Because both
+     * sides write and then read volatile variables (a Dekker-style
+     * handshake), either the reader sees the write lock and backs
+     * out, or the writer sees the reader's indicator and waits for
+     * it. Thus setting state is the writer's revocation of reader
+     * access. Each thread always increments and decrements the same
+     * slot, so slot values never become negative, and a zero scan
+     * of every slot implies that no reader that entered before
+     * revocation still holds the lock. Reentrant read holds are
+     * counted only in a per-thread HoldCounter, so they never block
+     * behind a writer waiting for the thread's first hold.
+     *
+     * Readers that back out wait for the write lock to be released
+     * using AQS shared mode, in which tryAcquireShared succeeds
+     * (without changing state) whenever the write lock is free.
+     * Because such readers never later call releaseShared as part
+     * of unlocking, each one invokes releaseShared upon wakeup to
+     * pass the signal on, so that a waiting writer queued behind
+     * them is not stranded.
+     *
+     * A draining writer spins briefly and then parks with a short
+     * timeout. Departing readers unpark the write lock owner when
+     * they notice that the write lock is held, but since the owner
+     * field may not yet be visible to them, the timeout bounds any
+     * missed wakeup.
+     */
+
+    /** Number of CPUS, to place bounds on table size and spinning */
+    private static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The number of reader indicator slots. A power of two, at least
+     * the number of CPUs but capped to limit table footprint and
+     * writer scan time.
+     */
+    private static final int SLOTS =
+        Math.min(64, Integer.highestOneBit((NCPU << 1) - 1));
+
+    /**
+     * The log2 of the spacing, in longs, between used slots, chosen
+     * to place each slot in its own (pair of) cache line(s).
+     */
+    private static final int SHIFT = 4;
+
+    /** The number of times a draining writer spins before parking. */
+    private static final int DRAIN_SPINS = (NCPU > 1) ? 1 << 7 : 0;
+
+    /**
+     * The maximum time a draining writer parks before rescanning, in
+     * case a departing reader did not see it.
+     */
+    private static final long DRAIN_PARK_NANOS = 1L << 16;
+
+    /**
+     * Creates a new {@code StripedReadWriteLock}.
+     */
+    public StripedReadWriteLock() {
+        sync = new Sync();
+        readerLock = new ReadLock(this);
+        writerLock = new WriteLock(this);
+    }
+
+    public StripedReadWriteLock.WriteLock writeLock() { return writerLock; }
+    public StripedReadWriteLock.ReadLock  readLock()  { return readerLock; }
+
+    /**
+     * Synchronization implementation for StripedReadWriteLock.
+     */
+    static final class Sync extends AbstractQueuedSynchronizer {
+        private static final long serialVersionUID = -3263488473417386231L;
+
+        /**
+         * A counter for per-thread read hold counts, also recording
+         * the (scaled) index of the thread's indicator slot.
+         */
+        static final class HoldCounter {
+            int count;          // initially 0
+            final int index = ((int)LockSupport.getThreadId(
+                                    Thread.currentThread()) & (SLOTS - 1))
+                << SHIFT;
+        }
+
+        /**
+         * ThreadLocal subclass. Easiest to explicitly define for sake
+         * of deserialization mechanics.
+         */
+        static final class ThreadLocalHoldCounter
+            extends ThreadLocal<HoldCounter> {
+            public HoldCounter initialValue() {
+                return new HoldCounter();
+            }
+        }
+
+        /**
+         * The number of reentrant read locks held by current thread.
+         * Initialized only in constructor and readObject.
+         */
+        private transient ThreadLocalHoldCounter readHolds;
+
+        /** Reader indicator slots, allocated upon first read lock. */
+        private transient volatile long[] slots;
+
+        Sync() {
+            readHolds = new ThreadLocalHoldCounter();
+            setState(getState()); // ensures visibility of readHolds
+        }
+
+        protected final boolean tryAcquire(int acquires) {
+            Thread current = Thread.currentThread();
+            int c = getState();
+            if (c == 0) {
+                if (compareAndSetState(0, acquires)) {
+                    setExclusiveOwnerThread(current);
+                    return true;
+                }
+            }
+            else if (current == getExclusiveOwnerThread()) {
+                int nextc = c + acquires;
+                if (nextc < 0) // overflow
+                    throw new Error("Maximum lock count exceeded");
+                setState(nextc);
+                return true;
+            }
+            return false;
+        }
+
+        protected final boolean tryRelease(int releases) {
+            int c = getState() - releases;
+            if (getExclusiveOwnerThread() != Thread.currentThread())
+                throw new IllegalMonitorStateException();
+            boolean free = (c == 0);
+            if (free)
+                setExclusiveOwnerThread(null);
+            setState(c);
+            return free;
+        }
+
+        /**
+         * Succeeds, without changing state, if the write lock is
+         * not held, allowing blocked readers to retry.
+         */
+        protected final int tryAcquireShared(int unused) {
+            return (getState() == 0) ? 1 : -1;
+        }
+
+        protected final boolean tryReleaseShared(int unused) {
+            return true;
+        }
+
+        protected final boolean isHeldExclusively() {
+            return getExclusiveOwnerThread() == Thread.currentThread();
+        }
+
+        /** Returns the slot table, allocating it if necessary. */
+        private long[] slots() {
+            long[] s;
+            if ((s = slots) == null &&
+                !SLOTS_TABLE.compareAndSet(this, null,
+                                           s = new long[SLOTS << SHIFT]))
+                s = slots;
+            return s;
+        }
+
+        /**
+         * Tries to announce the first read hold of the current
+         * thread, backing out if the write lock is held by another
+         * thread.
+         *
+         * @return true if the read lock was acquired
+         */
+        private boolean tryAnnounceRead(HoldCounter rh) {
+            long[] s = slots();
+            int i = rh.index;
+            SLOT.getAndAdd(s, i, 1L);
+            if (getState() == 0 ||
+                getExclusiveOwnerThread() == Thread.currentThread()) {
+                rh.count = 1;
+                return true;
+            }
+            SLOT.getAndAdd(s, i, -1L);
+            signalWriter();
+            return false;
+        }
+
+        /**
+         * Wakes up the write lock owner, if it is visible, in case it
+         * is waiting for readers to drain.
+         */
+        private void signalWriter() {
+            Thread w;
+            if (getState() != 0 && (w = getExclusiveOwnerThread()) != null)
+                LockSupport.unpark(w);
+        }
+
+        /** Increments a reentrant read hold count. */
+        private static void reenterRead(HoldCounter rh) {
+            if (rh.count == Integer.MAX_VALUE)
+                throw new Error("Maximum lock count exceeded");
+            rh.count++;
+        }
+
+        final void acquireRead() {
+            HoldCounter rh = readHolds.get();
+            if (rh.count > 0)
+                reenterRead(rh);
+            else {
+                while (!tryAnnounceRead(rh)) {
+                    acquireShared(1);
+                    releaseShared(1);
+                }
+            }
+        }
+
+        final void acquireReadInterruptibly() throws InterruptedException {
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            HoldCounter rh = readHolds.get();
+            if (rh.count > 0)
+                reenterRead(rh);
+            else {
+                while (!tryAnnounceRead(rh)) {
+                    acquireSharedInterruptibly(1);
+                    releaseShared(1);
+                }
+            }
+        }
+
+        final boolean tryAcquireReadNanos(long nanos)
+            throws InterruptedException {
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            HoldCounter rh = readHolds.get();
+            if (rh.count > 0)
+                reenterRead(rh);
+            else {
+                final long deadline = System.nanoTime() + nanos;
+                while (!tryAnnounceRead(rh)) {
+                    if (!tryAcquireSharedNanos(1, deadline - System.nanoTime()))
+                        return false;
+                    releaseShared(1);
+                }
+            }
+            return true;
+        }
+
+        final boolean tryReadLock() {
+            HoldCounter rh = readHolds.get();
+            if (rh.count > 0) {
+                reenterRead(rh);
+                return true;
+            }
+            return tryAnnounceRead(rh);
+        }
+
+        final void releaseRead() {
+            HoldCounter rh = readHolds.get();
+            int c = rh.count;
+            if (c <= 0)
+                throw new IllegalMonitorStateException(
+                    "attempt to unlock read lock, not locked by current thread");
+            if ((rh.count = c - 1) == 0) {
+                SLOT.getAndAdd(slots, rh.index, -1L);
+                signalWriter();
+            }
+        }
+
+        /**
+         * Returns true if any reader indicator is nonzero.
+         */
+        final boolean readersActive() {
+            long[] s = slots;
+            if (s != null) {
+                for (int i = 0; i < s.length; i += 1 << SHIFT) {
+                    if ((long)SLOT.getVolatile(s, i) != 0L)
+                        return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Waits, while holding the write lock, until all reader
+         * indicators are zero.
+         *
+         * @param interruptible true if should return on interrupt
+         * @param timed true if should return upon reaching deadline
+         * @param deadline if timed, the System.nanoTime deadline
+         * @return 0 if drained, 1 if interrupted, -1 if timed out
+         */
+        final int drainReaders(boolean interruptible, boolean timed,
+                               long deadline) {
+            long[] s = slots;
+            boolean interrupted = false;
+            int result = 0;
+            if (s != null) {
+                int spins = DRAIN_SPINS;
+                outer: for (int i = 0; i < s.length; i += 1 << SHIFT) {
+                    while ((long)SLOT.getVolatile(s, i) != 0L) {
+                        if (spins > 0) {
+                            --spins;
+                            Thread.onSpinWait();
+                            continue;
+                        }
+                        long nanos = DRAIN_PARK_NANOS;
+                        if (timed &&
+                            (nanos = deadline - System.nanoTime()) <= 0L) {
+                            result = -1;
+                            break outer;
+                        }
+                        LockSupport.parkNanos(this,
+                                              Math.min(nanos, DRAIN_PARK_NANOS));
+                        if (Thread.interrupted()) {
+                            if (interruptible) {
+                                result = 1;
+                                break outer;
+                            }
+                            interrupted = true;
+                        }
+                    }
+                }
+            }
+            if (interrupted)
+                selfInterrupt();
+            return result;
+        }
+
+        /**
+         * Completes acquisition of the write lock by the current
+         * thread, draining readers if this is its first hold.  On
+         * failure, releases the write lock.
+         *
+         * @return true if acquired, false if timed out
+         */
+        final boolean completeWriteAcquire(boolean interruptible,
+                                           boolean timed, long deadline)
+            throws InterruptedException {
+            int r;
+            if (getState() != 1 ||
+                (r = drainReaders(interruptible, timed, deadline)) == 0)
+                return true;
+            release(1);
+            if (r > 0)
+                throw new InterruptedException();
+            return false;
+        }
+
+        final boolean tryWriteLock() {
+            if (!tryAcquire(1))
+                return false;
+            if (getState() == 1 && readersActive()) {
+                release(1);
+                return false;
+            }
+            return true;
+        }
+
+        // Methods relayed to outer class
+
+        final Condition newCondition() {
+            return new WriterCondition(this, new ConditionObject());
+        }
+
+        final Thread getOwner() {
+            // Must read state before owner to ensure memory consistency
+            return ((getState() == 0) ?
+                    null :
+                    getExclusiveOwnerThread());
+        }
+
+        final int getReadLockCount() {
+            long n = 0L;
+            long[] s = slots;
+            if (s != null) {
+                for (int i = 0; i < s.length; i += 1 << SHIFT)
+                    n += (long)SLOT.getVolatile(s, i);
+            }
+            return (n > Integer.MAX_VALUE) ? Integer.MAX_VALUE : (int)n;
+        }
+
+        final boolean isWriteLocked() {
+            return getState() != 0;
+        }
+
+        final int getWriteHoldCount() {
+            return isHeldExclusively() ? getState() : 0;
+        }
+
+        final int getReadHoldCount() {
+            return readHolds.get().count;
+        }
+
+        /**
+         * Reconstitutes the instance from a stream (that is, deserializes it).
+         */
+        private void readObject(java.io.ObjectInputStream s)
+            throws java.io.IOException, ClassNotFoundException {
+            s.defaultReadObject();
+            readHolds = new ThreadLocalHoldCounter();
+            setState(0); // reset to unlocked state
+        }
+
+        // VarHandle mechanics
+        private static final VarHandle SLOTS_TABLE;
+        private static final VarHandle SLOT;
+        static {
+            try {
+                MethodHandles.Lookup l = MethodHandles.lookup();
+                SLOTS_TABLE = l.findVarHandle(Sync.class, "slots", long[].class);
+                SLOT = MethodHandles.arrayElementVarHandle(long[].class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+    }
+
+    /**
+     * Condition for the write lock. Relays to an AQS ConditionObject,
+     * and upon return from each waiting method in which the write
+     * lock was reacquired, waits for any readers that entered while
+     * the write lock was released.
+     */
+    static final class WriterCondition
+        implements Condition, java.io.Serializable {
+        private static final long serialVersionUID = -1848302394821957736L;
+        final Sync sync;
+        final AbstractQueuedSynchronizer.ConditionObject condition;
+
+        WriterCondition(Sync sync,
+                        AbstractQueuedSynchronizer.ConditionObject condition) {
+            this.sync = sync;
+            this.condition = condition;
+        }
+
+        /** Drains readers if the wait reacquired the write lock. */
+        private void afterWait() {
+            if (sync.isHeldExclusively())
+                sync.drainReaders(false, false, 0L);
+        }
+
+        public void await() throws InterruptedException {
+            try {
+                condition.await();
+            } finally {
+                afterWait();
+            }
+        }
+
+        public void awaitUninterruptibly() {
+            try {
+                condition.awaitUninterruptibly();
+            } finally {
+                afterWait();
+            }
+        }
+
+        public long awaitNanos(long nanosTimeout)
+                throws InterruptedException {
+            try {
+                return condition.awaitNanos(nanosTimeout);
+            } finally {
+                afterWait();
+            }
+        }
+
+        public boolean await(long time, TimeUnit unit)
+                throws InterruptedException {
+            try {
+                return condition.await(time, unit);
+            } finally {
+                afterWait();
+            }
+        }
+
+        public boolean awaitUntil(Date deadline)
+                throws InterruptedException {
+            try {
+                return condition.awaitUntil(deadline);
+            } finally {
+                afterWait();
+            }
+        }
+
+        public void signal() {
+            condition.signal();
+        }
+
+        public void signalAll() {
+            condition.signalAll();
+        }
+    }
+
+    /**
+     * The lock returned by method {@link StripedReadWriteLock#readLock}.
+     */
+    public static class ReadLock implements Lock, java.io.Serializable {
+        private static final long serialVersionUID = -2301756320391729047L;
+        private final Sync sync;
+
+        /**
+         * Constructor for use by subclasses.
+         *
+         * @param lock the outer lock object
+         * @throws NullPointerException if the lock is null
+         */
+        protected ReadLock(StripedReadWriteLock lock) {
+            sync = lock.sync;
+        }
+
+        /**
+         * Acquires the read lock.
+         *
+         * <p>Acquires the read lock if the write lock is not held by
+         * another thread, or if the current thread already holds the
+         * read lock, and returns immediately.
+         *
+         * <p>Otherwise the current thread becomes disabled for thread
+         * scheduling purposes and lies dormant until the read lock
+         * has been acquired.
+         */
+        public void lock() {
+            sync.acquireRead();
+        }
+
+        /**
+         * Acquires the read lock unless the current thread is
+         * {@linkplain Thread#interrupt interrupted}.
+         *
+         * <p>Acquires the read lock if the write lock is not held by
+         * another thread, or if the current thread already holds the
+         * read lock, and returns immediately.
+         *
+         * <p>Otherwise the current thread becomes disabled for thread
+         * scheduling purposes and lies dormant until one of two
+         * things happens:
+         *
+         * <ul>
+         *
+         * <li>The read lock is acquired by the current thread; or
+         *
+         * <li>Some other thread {@linkplain Thread#interrupt interrupts}
+         * the current thread.
+         *
+         * </ul>
+         *
+         * <p>If the current thread:
+         *
+         * <ul>
+         *
+         * <li>has its interrupted status set on entry to this method; or
+         *
+         * <li>is {@linkplain Thread#interrupt interrupted} while
+         * acquiring the read lock,
+         *
+         * </ul>
+         *
+         * then {@link InterruptedException} is thrown and the current
+         * thread's interrupted status is cleared.
+         *
+         * @throws InterruptedException if the current thread is interrupted
+         */
+        public void lockInterruptibly() throws InterruptedException {
+            sync.acquireReadInterruptibly();
+        }
+
+        /**
+         * Acquires the read lock only if the write lock is not held by
+         * another thread at the time of invocation, or if the current
+         * thread already holds the read lock.
+         *
+         * @return {@code true} if the read lock was acquired
+         */
+        public boolean tryLock() {
+            return sync.tryReadLock();
+        }
+
+        /**
+         * Acquires the read lock if the write lock is not held by
+         * another thread within the given waiting time and the
+         * current thread has not been {@linkplain Thread#interrupt
+         * interrupted}.
+         *
+         * <p>If the read lock is acquired then the value {@code true}
+         * is returned. If the specified waiting time elapses then the
+         * value {@code false} is returned.  If the time is less than
+         * or equal to zero, the method will not wait at all.
+         *
+         * @param timeout the time to wait for the read lock
+         * @param unit the time unit of the timeout argument
+         * @return {@code true} if the read lock was acquired
+         * @throws InterruptedException if the current thread is interrupted
+         * @throws NullPointerException if the time unit is null
+         */
+        public boolean tryLock(long timeout, TimeUnit unit)
+                throws InterruptedException {
+            return sync.tryAcquireReadNanos(unit.toNanos(timeout));
+        }
+
+        /**
+         * Attempts to release this lock.
+         *
+         * <p>If the current thread's read hold count is now zero, a
+         * writer waiting for this thread to release is enabled. If
+         * the current thread does not hold this lock then {@link
+         * IllegalMonitorStateException} is thrown.
+         *
+         * @throws IllegalMonitorStateException if the current thread
+         * does not hold this lock
+         */
+        public void unlock() {
+            sync.releaseRead();
+        }
+
+        /**
+         * Throws {@code UnsupportedOperationException} because
+         * {@code ReadLocks} do not support conditions.
+         *
+         * @throws UnsupportedOperationException always
+         */
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Returns a string identifying this lock, as well as its lock state.
+         * The state, in brackets, includes the String {@code "Readers ="}
+         * followed by the estimated number of reader threads.
+         *
+         * @return a string identifying this lock, as well as its lock state
+         */
+        public String toString() {
+            int r = sync.getReadLockCount();
+            return super.toString() +
+                "[Readers = " + r + "]";
+        }
+    }
+
+    /**
+     * The lock returned by method {@link StripedReadWriteLock#writeLock}.
+     */
+    public static class WriteLock implements Lock, java.io.Serializable {
+        private static final long serialVersionUID = 8123617305328713937L;
+        private final Sync sync;
+
+        /**
+         * Constructor for use by subclasses.
+         *
+         * @param lock the outer lock object
+         * @throws NullPointerException if the lock is null
+         */
+        protected WriteLock(StripedReadWriteLock lock) {
+            sync = lock.sync;
+        }
+
+        /**
+         * Acquires the write lock.
+         *
+         * <p>Acquires the write lock if neither the read nor write lock
+         * are held by other threads and returns immediately, setting
+         * the write lock hold count to one.
+         *
+         * <p>If the current thread already holds the write lock then
+         * the hold count is incremented by one and the method returns
+         * immediately.
+         *
+         * <p>Otherwise the current thread becomes disabled for thread
+         * scheduling purposes and lies dormant until the write lock
+         * has been acquired, at which time the write lock hold count
+         * is set to one. New readers are blocked while the current
+         * thread waits for existing readers to release.
+         */
+        public void lock() {
+            sync.acquire(1);
+            if (sync.getState() == 1)
+                sync.drainReaders(false, false, 0L);
+        }
+
+        /**
+         * Acquires the write lock unless the current thread is
+         * {@linkplain Thread#interrupt interrupted}.
+         *
+         * <p>Acquires the write lock if neither the read nor write lock
+         * are held by other threads and returns immediately, setting
+         * the write lock hold count to one.
+         *
+         * <p>If the current thread already holds this lock then the
+         * hold count is incremented by one and the method returns
+         * immediately.
+         *
+         * <p>Otherwise the current thread becomes disabled for thread
+         * scheduling purposes and lies dormant until the write lock
+         * is acquired or the current thread is interrupted.
+         *
+         * <p>If the current thread has its interrupted status set on
+         * entry to this method, or is {@linkplain Thread#interrupt
+         * interrupted} while acquiring the write lock, then {@link
+         * InterruptedException} is thrown and the current thread's
+         * interrupted status is cleared.
+         *
+         * @throws InterruptedException if the current thread is interrupted
+         */
+        public void lockInterruptibly() throws InterruptedException {
+            sync.acquireInterruptibly(1);
+            sync.completeWriteAcquire(true, false, 0L);
+        }
+
+        /**
+         * Acquires the write lock only if it is not held by another
+         * thread and no other thread holds the read lock at the time
+         * of invocation.  If this lock is already held by the current
+         * thread then the hold count is incremented by one and the
+         * method returns {@code true}.
+         *
+         * @return {@code true} if the lock was free and was acquired
+         * by the current thread, or the write lock was already held
+         * by the current thread; and {@code false} otherwise.
+         */
+        public boolean tryLock() {
+            return sync.tryWriteLock();
+        }
+
+        /**
+         * Acquires the write lock if it is not held by another thread
+         * and readers release within the given waiting time and the
+         * current thread has not been {@linkplain Thread#interrupt
+         * interrupted}.
+         *
+         * <p>If the write lock is acquired then the value {@code true}
+         * is returned and the write lock hold count is set to one (or
+         * incremented, if already held). If the specified waiting
+         * time elapses then the value {@code false} is returned.  If
+         * the time is less than or equal to zero, the method will not
+         * wait at all.
+         *
+         * @param timeout the time to wait for the write lock
+         * @param unit the time unit of the timeout argument
+         * @return {@code true} if the lock was free and was acquired
+         * by the current thread, or the write lock was already held by the
+         * current thread; and {@code false} if the waiting time
+         * elapsed before the lock could be acquired.
+         * @throws InterruptedException if the current thread is interrupted
+         * @throws NullPointerException if the time unit is null
+         */
+        public boolean tryLock(long timeout, TimeUnit unit)
+                throws InterruptedException {
+            long nanos = unit.toNanos(timeout);
+            long deadline = System.nanoTime() + nanos;
+            return sync.tryAcquireNanos(1, nanos) &&
+                sync.completeWriteAcquire(true, true, deadline);
+        }
+
+        /**
+         * Attempts to release this lock.
+         *
+         * <p>If the current thread is the holder of this lock then
+         * the hold count is decremented. If the hold count is now
+         * zero then the lock is released.  If the current thread is
+         * not the holder of this lock then {@link
+         * IllegalMonitorStateException} is thrown.
+         *
+         * @throws IllegalMonitorStateException if the current thread does not
+         * hold this lock
+         */
+        public void unlock() {
+            sync.release(1);
+        }
+
+        /**
+         * Returns a {@link Condition} instance for use with this
+         * {@link Lock} instance, with the same properties as those
+         * returned by {@link ReentrantReadWriteLock.WriteLock#newCondition}.
+         * Upon return from a waiting method, the write lock has been
+         * reacquired and all readers that entered while it was
+         * released have released their read locks.
+         *
+         * @return the Condition object
+         */
+        public Condition newCondition() {
+            return sync.newCondition();
+        }
+
+        /**
+         * Returns a string identifying this lock, as well as its lock
+         * state.  The state, in brackets includes either the String
+         * {@code "Unlocked"} or the String {@code "Locked by"}
+         * followed by the {@linkplain Thread#getName name} of the owning thread.
+         *
+         * @return a string identifying this lock, as well as its lock state
+         */
+        public String toString() {
+            Thread o = sync.getOwner();
+            return super.toString() + ((o == null) ?
+                                       "[Unlocked]" :
+                                       "[Locked by thread " + o.getName() + "]");
+        }
+
+        /**
+         * Queries if this write lock is held by the current thread.
+         * Identical in effect to {@link
+         * StripedReadWriteLock#isWriteLockedByCurrentThread}.
+         *
+         * @return {@code true} if the current thread holds this lock and
+         *         {@code false} otherwise
+         */
+        public boolean isHeldByCurrentThread() {
+            return sync.isHeldExclusively();
+        }
+
+        /**
+         * Queries the number of holds on this write lock by the current
+         * thread.  Identical in effect to {@link
+         * StripedReadWriteLock#getWriteHoldCount}.
+         *
+         * @return the number of holds on this lock by the current thread,
+         *         or zero if this lock is not held by the current thread
+         */
+        public int getHoldCount() {
+            return sync.getWriteHoldCount();
+        }
+    }
+
+    // Instrumentation and status
+
+    /**
+     * Returns the thread that currently owns the write lock, or
+     * {@code null} if not owned. When this method is called by a
+     * thread that is not the owner, the return value reflects a
+     * best-effort approximation of current lock status. This method
+     * is designed to facilitate construction of subclasses that
+     * provide more extensive lock monitoring facilities.
+     *
+     * @return the owner, or {@code null} if not owned
+     */
+    protected Thread getOwner() {
+        return sync.getOwner();
+    }
+
+    /**
+     * Returns an estimate of the number of threads holding the read
+     * lock. Unlike {@link ReentrantReadWriteLock#getReadLockCount},
+     * reentrant read holds are not included, and threads in the
+     * midst of acquiring the read lock may be transiently counted.
+     * This method is designed for use in monitoring system state,
+     * not for synchronization control.
+     *
+     * @return the estimated number of reader threads
+     */
+    public int getReadLockCount() {
+        return sync.getReadLockCount();
+    }
+
+    /**
+     * Queries if the write lock is held by any thread. This method is
+     * designed for use in monitoring system state, not for
+     * synchronization control.
+     *
+     * @return {@code true} if any thread holds the write lock and
+     *         {@code false} otherwise
+     */
+    public boolean isWriteLocked() {
+        return sync.isWriteLocked();
+    }
+
+    /**
+     * Queries if the write lock is held by the current thread.
+     *
+     * @return {@code true} if the current thread holds the write lock and
+     *         {@code false} otherwise
+     */
+    public boolean isWriteLockedByCurrentThread() {
+        return sync.isHeldExclusively();
+    }
+
+    /**
+     * Queries the number of reentrant write holds on this lock by the
+     * current thread.
+     *
+     * @return the number of holds on the write lock by the current thread,
+     *         or zero if the write lock is not held by the current thread
+     */
+    public int getWriteHoldCount() {
+        return sync.getWriteHoldCount();
+    }
+
+    /**
+     * Queries the number of reentrant read holds on this lock by the
+     * current thread.
+     *
+     * @return the number of holds on the read lock by the current thread,
+     *         or zero if the read lock is not held by the current thread
+     */
+    public int getReadHoldCount() {
+        return sync.getReadHoldCount();
+    }
+
+    /**
+     * Queries whether any threads are waiting to acquire the read or
+     * write lock. Note that because cancellations may occur at any
+     * time, a {@code true} return does not guarantee that any other
+     * thread will ever acquire a lock.  This method is designed
+     * primarily for use in monitoring of the system state.
+     *
+     * @return {@code true} if there may be other threads waiting to
+     *         acquire the lock
+     */
+    public final boolean hasQueuedThreads() {
+        return sync.hasQueuedThreads();
+    }
+
+    /**
+     * Queries whether the given thread is waiting to acquire either
+     * the read or write lock. Note that because cancellations may
+     * occur at any time, a {@code true} return does not guarantee
+     * that this thread will ever acquire a lock.  This method is
+     * designed primarily for use in monitoring of the system state.
+     *
+     * @param thread the thread
+     * @return {@code true} if the given thread is queued waiting for this lock
+     * @throws NullPointerException if the thread is null
+     */
+    public final boolean hasQueuedThread(Thread thread) {
+        return sync.isQueued(thread);
+    }
+
+    /**
+     * Returns an estimate of the number of threads waiting to acquire
+     * either the read or write lock.  The value is only an estimate
+     * because the number of threads may change dynamically while this
+     * method traverses internal data structures.  This method is
+     * designed for use in monitoring system state, not for
+     * synchronization control.
+     *
+     * @return the estimated number of threads waiting for this lock
+     */
+    public final int getQueueLength() {
+        return sync.getQueueLength();
+    }
+
+    /**
+     * Returns a collection containing threads that may be waiting to
+     * acquire either the read or write lock.  Because the actual set
+     * of threads may change dynamically while constructing this
+     * result, the returned collection is only a best-effort estimate.
+     * The elements of the returned collection are in no particular
+     * order.  This method is designed to facilitate construction of
+     * subclasses that provide more extensive monitoring facilities.
+     *
+     * @return the collection of threads
+     */
+    protected Collection<Thread> getQueuedThreads() {
+        return sync.getQueuedThreads();
+    }
+
+    /**
+     * Returns a string identifying this lock, as well as its lock state.
+     * The state, in brackets, includes the String {@code "Write locks ="}
+     * followed by the number of reentrantly held write locks, and the
+     * String {@code "Readers ="} followed by the estimated number of
+     * reader threads.
+     *
+     * @return a string identifying this lock, as well as its lock state
+     */
+    public String toString() {
+        return super.toString() +
+            "[Write locks = " + sync.getState() +
+            ", Readers = " + sync.getReadLockCount() + "]";
+    }
+
+}
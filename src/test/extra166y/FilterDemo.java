@@ -17,12 +17,12 @@ public class FilterDemo {
      * Sequential version, for performance comparison
      */
     static<T> List<T> seqFilter(T[] list,
-                                Ops.Predicate<T> pred) {
+                                java.util.function.Predicate<T> pred) {
         ArrayList<T> result = new ArrayList<T>();
         int n = list.length;
         for (int i = 0; i < n; ++i) {
             T x = list[i];
-            if (pred.op(x))
+            if (pred.test(x))
                 result.add(x);
         }
         return result;
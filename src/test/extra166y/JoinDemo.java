@@ -0,0 +1,205 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+import jsr166y.*;
+import extra166y.*;
+import java.util.*;
+
+class JoinDemo {
+
+    static final long NPS = (1000L * 1000 * 1000);
+    static ForkJoinPool fjpool = new ForkJoinPool();
+    static int reps = 16;
+    static final long maxValue = 1 << 20;
+    static final int keyShift = 4;
+
+    public static void main(String[] args) throws Exception {
+        int n = 1 << 18;
+        int m = 1 << 16;
+        ParallelArray<Long> pa = ParallelArray.create(n, Long.class, fjpool);
+        ParallelArray<Long> pb = ParallelArray.create(m, Long.class, fjpool);
+        System.out.printf("Joining %d with %d Longs, %d replications\n",
+                          n, m, reps);
+        for (int iters = 0; iters < 3; ++iters) {
+            seqJoinTest(pa, pb);
+            joinTest(pa, pb);
+            longJoinTest(pa, pb);
+            seqGroupTest(pa);
+            groupTest(pa);
+            longGroupTest(pa);
+        }
+        fjpool.shutdown();
+    }
+
+    static void reset(ParallelArray<Long> pa) {
+        pa.replaceWithGeneratedValue(rlg);
+    }
+
+    static final class Key implements Ops.Op<Long, Long> {
+        public Long op(Long x) {
+            return Long.valueOf(x.longValue() >>> keyShift);
+        }
+    }
+
+    static final class LongKey implements Ops.ObjectToLong<Long> {
+        public long op(Long x) {
+            return x.longValue() >>> keyShift;
+        }
+    }
+
+    static final class Pair implements Ops.BinaryOp<Long, Long, Long> {
+        public Long op(Long x, Long y) {
+            return Long.valueOf((x.longValue() << 20) | y.longValue());
+        }
+    }
+
+    static final Key key = new Key();
+    static final LongKey longKey = new LongKey();
+    static final Pair pair = new Pair();
+
+    static void joinTest(ParallelArray<Long> pa, ParallelArray<Long> pb) {
+        long elapsed = 0;
+        for (int i = 0; i < reps; ++i) {
+            reset(pa);
+            reset(pb);
+            long last = System.nanoTime();
+            ParallelArray<Long> r = pa.join(pb, key, key, pair);
+            elapsed += System.nanoTime() - last;
+            checkJoin(pa, pb, r);
+        }
+        double de = (double)(elapsed) / NPS;
+        System.out.printf("Join time:            %7.3f\n", de);
+    }
+
+    static void longJoinTest(ParallelArray<Long> pa, ParallelArray<Long> pb) {
+        long elapsed = 0;
+        for (int i = 0; i < reps; ++i) {
+            reset(pa);
+            reset(pb);
+            long last = System.nanoTime();
+            ParallelArray<Long> r = pa.joinOnLong(pb, longKey, longKey, pair);
+            elapsed += System.nanoTime() - last;
+            checkJoin(pa, pb, r);
+        }
+        double de = (double)(elapsed) / NPS;
+        System.out.printf("Long key Join time:   %7.3f\n", de);
+    }
+
+    static void seqJoinTest(ParallelArray<Long> pa, ParallelArray<Long> pb) {
+        long elapsed = 0;
+        for (int i = 0; i < reps; ++i) {
+            reset(pa);
+            reset(pb);
+            long last = System.nanoTime();
+            ArrayList<Long> r = seqJoin(pa, pb);
+            elapsed += System.nanoTime() - last;
+            if (r.isEmpty())
+                throw new Error("empty join");
+        }
+        double de = (double)(elapsed) / NPS;
+        System.out.printf("Seq Join time:        %7.3f\n", de);
+    }
+
+    static void groupTest(ParallelArray<Long> pa) {
+        long elapsed = 0;
+        for (int i = 0; i < reps; ++i) {
+            reset(pa);
+            long last = System.nanoTime();
+            Map<Long, List<Long>> g = pa.groupBy(key);
+            elapsed += System.nanoTime() - last;
+            checkGroups(pa, g);
+        }
+        double de = (double)(elapsed) / NPS;
+        System.out.printf("GroupBy time:         %7.3f\n", de);
+    }
+
+    static void longGroupTest(ParallelArray<Long> pa) {
+        long elapsed = 0;
+        for (int i = 0; i < reps; ++i) {
+            reset(pa);
+            long last = System.nanoTime();
+            Map<Long, List<Long>> g = pa.groupByLong(longKey);
+            elapsed += System.nanoTime() - last;
+            checkGroups(pa, g);
+        }
+        double de = (double)(elapsed) / NPS;
+        System.out.printf("Long key GroupBy time:%7.3f\n", de);
+    }
+
+    static void seqGroupTest(ParallelArray<Long> pa) {
+        long elapsed = 0;
+        for (int i = 0; i < reps; ++i) {
+            reset(pa);
+            long last = System.nanoTime();
+            HashMap<Long, List<Long>> g = seqGroup(pa);
+            elapsed += System.nanoTime() - last;
+            if (g.isEmpty())
+                throw new Error("no groups");
+        }
+        double de = (double)(elapsed) / NPS;
+        System.out.printf("Seq GroupBy time:     %7.3f\n", de);
+    }
+
+    // ............
+
+    static HashMap<Long, List<Long>> seqGroup(ParallelArray<Long> pa) {
+        HashMap<Long, List<Long>> m = new HashMap<Long, List<Long>>();
+        Long[] a = pa.getArray();
+        int n = pa.size();
+        for (int i = 0; i < n; ++i) {
+            Long k = key.op(a[i]);
+            List<Long> g = m.get(k);
+            if (g == null)
+                m.put(k, g = new ArrayList<Long>());
+            g.add(a[i]);
+        }
+        return m;
+    }
+
+    static ArrayList<Long> seqJoin(ParallelArray<Long> pa,
+                                   ParallelArray<Long> pb) {
+        HashMap<Long, List<Long>> m = seqGroup(pb);
+        ArrayList<Long> r = new ArrayList<Long>();
+        Long[] a = pa.getArray();
+        int n = pa.size();
+        for (int i = 0; i < n; ++i) {
+            List<Long> g = m.get(key.op(a[i]));
+            if (g != null) {
+                for (Long y : g)
+                    r.add(pair.op(a[i], y));
+            }
+        }
+        return r;
+    }
+
+    static void checkGroups(ParallelArray<Long> pa, Map<Long, List<Long>> g) {
+        if (!seqGroup(pa).equals(g))
+            throw new Error("groups differ");
+    }
+
+    static void checkJoin(ParallelArray<Long> pa, ParallelArray<Long> pb,
+                          ParallelArray<Long> r) {
+        ArrayList<Long> expected = seqJoin(pa, pb);
+        int n = r.size();
+        if (n != expected.size())
+            throw new Error(n + " should be " + expected.size());
+        Collections.sort(expected);
+        r.sort();
+        for (int i = 0; i < n; ++i) {
+            if (!r.get(i).equals(expected.get(i)))
+                throw new Error("Mismatch at " + i + ": " + r.get(i) +
+                                " / " + expected.get(i));
+        }
+    }
+
+    static final class RandomLongGenerator implements Ops.Generator<Long> {
+        public Long op() {
+            return new Long(ThreadLocalRandom.current().nextLong(maxValue));
+        }
+    }
+
+    static final RandomLongGenerator rlg = new RandomLongGenerator();
+}
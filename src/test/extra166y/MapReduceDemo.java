@@ -110,11 +110,44 @@ public class MapReduceDemo {
                 if (sum != seqsum) throw new Error("checksum");
             }
         }
+        fusedTest(pa, array, reps);
         fjp.shutdownNow();
         fjp.awaitTermination(1, TimeUnit.SECONDS);
         Thread.sleep(100);
     }
 
+    /**
+     * Compares a filter-map-reduce pipeline, performed in a single
+     * pass per leaf task, with materializing the filtered elements
+     * before mapping and reducing them.
+     */
+    static void fusedTest(ParallelArray<Rand> pa, Rand[] array, int reps) {
+        Ops.Predicate<Rand> isOdd = r -> (r.seed & 1L) != 0L;
+        Ops.Op<Rand, Long> getNext = Rand::next;
+        Ops.Reducer<Long> accum = Long::sum;
+        Long zero = Long.valueOf(0);
+        long rseed = rng.nextLong();
+        for (int j = 0; j < 2; ++j) {
+            resetSeeds(array, rseed);
+            long fsum = 0;
+            long last = System.nanoTime();
+            for (int k = 0; k < reps; ++k)
+                fsum += pa.withFilter(isOdd).withMapping(getNext)
+                    .reduce(accum, zero);
+            double elapsed = (double)(System.nanoTime() - last) / NPS;
+            System.out.printf("fused:         %7.3f\n", elapsed);
+            resetSeeds(array, rseed);
+            long ssum = 0;
+            last = System.nanoTime();
+            for (int k = 0; k < reps; ++k)
+                ssum += pa.withFilter(isOdd).all().withMapping(getNext)
+                    .reduce(accum, zero);
+            elapsed = (double)(System.nanoTime() - last) / NPS;
+            System.out.printf("staged:        %7.3f\n", elapsed);
+            if (fsum != ssum) throw new Error("checksum");
+        }
+    }
+
     static void resetSeeds(Rand[] array, long s) {
         for (int i = 0; i < array.length; ++i)
             array[i].seed = s++;
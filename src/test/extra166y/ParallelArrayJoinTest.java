@@ -0,0 +1,151 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+import junit.framework.*;
+import java.util.*;
+import jsr166y.ForkJoinPool;
+import extra166y.*;
+
+public class ParallelArrayJoinTest extends JSR166TestCase {
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static Test suite() {
+        return new TestSuite(ParallelArrayJoinTest.class);
+    }
+
+    /** Large enough to span several blocks and partitions */
+    static final int N = 1 << 16;
+
+    static final class Row {
+        final int id;
+        final int seq;
+        Row(int id, int seq) { this.id = id; this.seq = seq; }
+    }
+
+    static ParallelArray<Row> rows(ForkJoinPool pool, int n, int keys) {
+        Random rnd = new Random(n + keys);
+        Row[] a = new Row[n];
+        for (int i = 0; i < n; ++i)
+            a[i] = new Row(rnd.nextInt(keys), i);
+        return ParallelArray.createUsingHandoff(a, pool);
+    }
+
+    static Map<Integer, List<Row>> seqGroupBy(ParallelArray<Row> pa) {
+        Map<Integer, List<Row>> m = new HashMap<Integer, List<Row>>();
+        for (Row r : pa.asList()) {
+            List<Row> g = m.get(r.id);
+            if (g == null)
+                m.put(r.id, g = new ArrayList<Row>());
+            g.add(r);
+        }
+        return m;
+    }
+
+    static List<Long> seqJoin(ParallelArray<Row> pa, ParallelArray<Row> pb) {
+        Map<Integer, List<Row>> m = seqGroupBy(pb);
+        List<Long> res = new ArrayList<Long>();
+        for (Row x : pa.asList()) {
+            List<Row> g = m.get(x.id);
+            if (g != null)
+                for (Row y : g)
+                    res.add(pairOf(x, y));
+        }
+        Collections.sort(res);
+        return res;
+    }
+
+    static long pairOf(Row x, Row y) {
+        return ((long)x.seq << 32) | y.seq;
+    }
+
+    static List<Long> sorted(ParallelArray<Long> pa) {
+        List<Long> res = new ArrayList<Long>(pa.asList());
+        Collections.sort(res);
+        return res;
+    }
+
+    /**
+     * groupBy and groupByLong, invoked with lambdas, produce the same
+     * groups as a sequential HashMap grouping, with each group in
+     * array order
+     */
+    public void testGroupBy() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int keys : new int[] { 1, 7, 1000, N }) {
+                ParallelArray<Row> pa = rows(pool, N, keys);
+                Map<Integer, List<Row>> expected = seqGroupBy(pa);
+                Map<Integer, List<Row>> g = pa.groupBy(r -> r.id);
+                assertEquals(expected, g);
+                Map<Long, List<Row>> lg = pa.groupByLong(r -> r.id);
+                assertEquals(expected.size(), lg.size());
+                for (Map.Entry<Integer, List<Row>> e : expected.entrySet())
+                    assertEquals(e.getValue(),
+                                 lg.get(Long.valueOf(e.getKey())));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * join and joinOnLong, invoked with lambdas, produce the same
+     * combined pairs as a sequential hash join
+     */
+    public void testJoin() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int keys : new int[] { 1, 100, N }) {
+                ParallelArray<Row> pa = rows(pool, keys == 1 ? 256 : N, keys);
+                ParallelArray<Row> pb = rows(pool, N >>> 2, keys);
+                List<Long> expected = seqJoin(pa, pb);
+                assertEquals(expected,
+                             sorted(pa.join(pb, r -> r.id, r -> r.id,
+                                            (x, y) -> pairOf(x, y))));
+                assertEquals(expected,
+                             sorted(pa.joinOnLong(pb, r -> r.id, r -> r.id,
+                                                  (x, y) -> pairOf(x, y))));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Empty arrays produce empty results; null keys form a group,
+     * and match each other in joins
+     */
+    public void testEmptyAndNullKeys() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParallelArray<String> empty =
+                ParallelArray.createEmpty(0, String.class, pool);
+            ParallelArray<String> pa = ParallelArray.createFromCopy
+                (new String[] { "a", null, "bb", null, "c" }, pool);
+            assertTrue(empty.groupBy(s -> s).isEmpty());
+            assertEquals(0, empty.join(pa, s -> s, s -> s,
+                                       (x, y) -> x + y).size());
+            assertEquals(0, pa.join(empty, s -> s, s -> s,
+                                    (x, y) -> x + y).size());
+            Map<Integer, List<String>> g =
+                pa.groupBy(s -> s == null ? null : s.length());
+            assertEquals(Arrays.asList(null, null), g.get(null));
+            assertEquals(Arrays.asList("a", "c"), g.get(1));
+            assertEquals(Arrays.asList("bb"), g.get(2));
+            ParallelArray<String> j =
+                pa.join(pa, s -> s == null ? null : s.length(),
+                        s -> s == null ? null : s.length(),
+                        (x, y) -> x + "/" + y);
+            assertEquals(9, j.size()); // 2*2 + 2*2 + 1
+            assertEquals(4, j.withFilter(s -> s.equals("null/null")).size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
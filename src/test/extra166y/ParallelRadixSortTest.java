@@ -0,0 +1,184 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+import junit.framework.*;
+import java.util.*;
+import jsr166y.ForkJoinPool;
+import extra166y.*;
+
+public class ParallelRadixSortTest extends JSR166TestCase {
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static Test suite() {
+        return new TestSuite(ParallelRadixSortTest.class);
+    }
+
+    /** Sizes on both sides of the single-block cutoff */
+    static final int[] SIZES = { 0, 1, 100, 1 << 13, (1 << 13) + 1, 1 << 20 };
+
+    /** Special values, in the order of Double.compare */
+    static final double[] SPECIALS = {
+        Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -1.0,
+        -Double.MIN_NORMAL, -Double.MIN_VALUE, -0.0, 0.0,
+        Double.MIN_VALUE, Double.MIN_NORMAL, 1.0, Double.MAX_VALUE,
+        Double.POSITIVE_INFINITY, Double.NaN
+    };
+
+    static long[] randomLongs(Random rnd, int n) {
+        long[] a = new long[n];
+        for (int i = 0; i < n; ++i) {
+            switch (rnd.nextInt(4)) {
+            case 0: a[i] = rnd.nextLong(); break;
+            case 1: a[i] = rnd.nextInt(100) - 50; break;
+            case 2: a[i] = Long.MIN_VALUE + rnd.nextInt(3); break;
+            default: a[i] = Long.MAX_VALUE - rnd.nextInt(3); break;
+            }
+        }
+        return a;
+    }
+
+    static double[] randomDoubles(Random rnd, int n) {
+        double[] a = new double[n];
+        for (int i = 0; i < n; ++i) {
+            switch (rnd.nextInt(4)) {
+            case 0: a[i] = SPECIALS[rnd.nextInt(SPECIALS.length)]; break;
+            case 1: a[i] = rnd.nextGaussian(); break;
+            case 2: a[i] = Double.longBitsToDouble(rnd.nextLong()); break;
+            default: a[i] = -rnd.nextInt(100); break;
+            }
+        }
+        return a;
+    }
+
+    static long[] elements(ParallelLongArray pa) {
+        return Arrays.copyOf(pa.getArray(), pa.size());
+    }
+
+    static double[] elements(ParallelDoubleArray pa) {
+        return Arrays.copyOf(pa.getArray(), pa.size());
+    }
+
+    /**
+     * radixSort of longs, including negative and extreme values,
+     * matches Arrays.sort, both for whole arrays and for bounded
+     * ranges, leaving elements outside the range unchanged
+     */
+    public void testLongRadixSort() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random rnd = new Random(17);
+            for (int n : SIZES) {
+                long[] a = randomLongs(rnd, n);
+                long[] expected = a.clone();
+                Arrays.sort(expected);
+                ParallelLongArray pa =
+                    ParallelLongArray.createFromCopy(a, pool);
+                assertSame(pa, pa.radixSort());
+                assertTrue(Arrays.equals(expected, elements(pa)));
+
+                int lo = n / 3, hi = n - n / 5;
+                expected = a.clone();
+                Arrays.sort(expected, lo, hi);
+                pa = ParallelLongArray.createFromCopy(a, pool);
+                pa.withBounds(lo, hi).radixSort();
+                assertTrue(Arrays.equals(expected, elements(pa)));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * radixSort of doubles orders -0.0 before 0.0, NaN after
+     * everything else, and negative values and infinities as
+     * Arrays.sort does, both for whole arrays and bounded ranges
+     */
+    public void testDoubleRadixSort() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random rnd = new Random(42);
+            for (int n : SIZES) {
+                double[] a = randomDoubles(rnd, n);
+                double[] expected = a.clone();
+                Arrays.sort(expected);
+                ParallelDoubleArray pa =
+                    ParallelDoubleArray.createFromCopy(a, pool);
+                assertSame(pa, pa.radixSort());
+                // Arrays.equals distinguishes -0.0 from 0.0
+                assertTrue(Arrays.equals(expected, elements(pa)));
+
+                int lo = n / 3, hi = n - n / 5;
+                expected = a.clone();
+                Arrays.sort(expected, lo, hi);
+                pa = ParallelDoubleArray.createFromCopy(a, pool);
+                pa.withBounds(lo, hi).radixSort();
+                assertTrue(Arrays.equals(expected, elements(pa)));
+            }
+            double[] s = SPECIALS.clone();    // reversed
+            for (int i = 0, j = s.length - 1; i < j; ++i, --j) {
+                double t = s[i]; s[i] = s[j]; s[j] = t;
+            }
+            double[] big = new double[1 << 16];
+            for (int i = 0; i < big.length; ++i)
+                big[i] = s[i % s.length];
+            ParallelDoubleArray pa =
+                ParallelDoubleArray.createUsingHandoff(big, pool);
+            pa.radixSort();
+            int k = 0;
+            for (double x : SPECIALS) {
+                int count = 0;
+                while (k < big.length &&
+                       Double.doubleToRawLongBits(big[k]) ==
+                       Double.doubleToRawLongBits(x)) {
+                    ++k; ++count;
+                }
+                assertTrue(count > 0);
+            }
+            assertEquals(big.length, k);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * radixSort of doubles is stable: NaNs with distinct payloads,
+     * which all compare equal, keep their original relative order
+     */
+    public void testDoubleRadixSortStability() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random rnd = new Random(7);
+            for (int n : new int[] { 1000, 1 << 20 }) {
+                double[] a = randomDoubles(rnd, n);
+                int nans = 0;
+                for (int i = 0; i < n; i += 3) // distinct quiet NaNs
+                    a[i] = Double.longBitsToDouble
+                        (0x7ff8000000000000L | ++nans);
+                int lo = (n > 1000) ? 123 : 0, hi = n - lo;
+                List<Long> expected = new ArrayList<>();
+                for (int i = lo; i < hi; ++i)
+                    if (Double.isNaN(a[i]))
+                        expected.add(Double.doubleToRawLongBits(a[i]));
+                ParallelDoubleArray pa =
+                    ParallelDoubleArray.createUsingHandoff(a, pool);
+                pa.withBounds(lo, hi).radixSort();
+                List<Long> actual = new ArrayList<>();
+                for (int i = lo; i < hi; ++i)
+                    if (Double.isNaN(a[i]))
+                        actual.add(Double.doubleToRawLongBits(a[i]));
+                assertEquals(expected, actual);
+                // NaNs are last, after all other values
+                for (int i = hi - actual.size(); i < hi; ++i)
+                    assertTrue(Double.isNaN(a[i]));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -42,6 +42,17 @@ class ScalarLongSortDemo {
                 checkSorted(a);
         }
 
+        System.out.printf("Radix sorting %d longs, %d replications\n", n, reps);
+        for (int i = 0; i < reps; ++i) {
+            pa.replaceWithGeneratedValue(CommonOps.longRandom(max++));
+            long last = System.nanoTime();
+            pa.radixSort();
+            double elapsed = (double)(System.nanoTime() - last) / NPS;
+            System.out.printf("ParallelLongArray.radixSort time: %7.3f\n", elapsed);
+            if (i == 0)
+                checkSorted(a);
+        }
+
         fjpool.shutdown();
     }
 
@@ -0,0 +1,289 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+/*
+ * @test
+ * @summary White box tests of segmented and buffer prefix scans
+ * @modules java.base/java.util:open
+ * @run main/othervm WhiteBox
+ */
+
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Checks the ArrayPrefixHelpers tasks that are not reachable from
+ * Arrays.parallelPrefix (segmented scans of all four array types,
+ * and LongBuffer and DoubleBuffer scans), by comparing their results
+ * with those of a sequential loop, and checks that root tasks reject
+ * out-of-range indices.
+ */
+public class WhiteBox {
+    static final String HELPERS = "java.util.ArrayPrefixHelpers$";
+    static final int[] SIZES = { 1, 2, 17, 1000, 100_000, 1 << 20 };
+    static final ForkJoinPool pool = new ForkJoinPool(4);
+
+    /** Probability that each flag is set, by density */
+    static final double[] DENSITIES = { 0.0, 0.001, 0.5, 1.0 };
+
+    /**
+     * Composition of affine maps x -> a*x + b on 32-bit ints, packed
+     * as (a << 32) | b; associative but not commutative.
+     */
+    static long compose(long f, long g) {
+        int fa = (int)(f >>> 32), fb = (int)f;
+        int ga = (int)(g >>> 32), gb = (int)g;
+        return ((long)(ga * fa) << 32) | ((ga * fb + gb) & 0xffffffffL);
+    }
+
+    /** The 16-bit analog of compose, packed in an int */
+    static int compose16(int f, int g) {
+        int fa = f >>> 16, fb = f & 0xffff;
+        int ga = g >>> 16, gb = g & 0xffff;
+        return ((ga * fa) << 16) | ((ga * fb + gb) & 0xffff);
+    }
+
+    static final LongBinaryOperator LONG_OP = WhiteBox::compose;
+    static final IntBinaryOperator INT_OP = WhiteBox::compose16;
+    static final BinaryOperator<Long> OBJECT_OP = WhiteBox::compose;
+    // integral values keep sums exact regardless of association
+    static final DoubleBinaryOperator[] DOUBLE_OPS = {
+        Double::sum, (x, y) -> x
+    };
+
+    static Constructor<?> rootConstructor(String name, Class<?> fn,
+                                          Class<?> array)
+        throws ReflectiveOperationException {
+        Class<?> c = Class.forName(HELPERS + name);
+        Constructor<?> k = c.getDeclaredConstructor
+            (c, fn, array, boolean[].class, int.class, int.class);
+        k.setAccessible(true);
+        return k;
+    }
+
+    static Constructor<?> OBJECT, LONG, INT, DOUBLE, LONG_BUFFER,
+        DOUBLE_BUFFER;
+
+    static void scan(Constructor<?> k, Object fn, Object array,
+                     boolean[] flags, int lo, int hi) throws Throwable {
+        pool.invoke((ForkJoinTask<?>)k.newInstance
+                    (null, fn, array, flags, lo, hi));
+    }
+
+    public static void main(String[] args) throws Throwable {
+        OBJECT = rootConstructor("CumulateTask",
+                                 BinaryOperator.class, Object[].class);
+        LONG = rootConstructor("LongCumulateTask",
+                               LongBinaryOperator.class, long[].class);
+        INT = rootConstructor("IntCumulateTask",
+                              IntBinaryOperator.class, int[].class);
+        DOUBLE = rootConstructor("DoubleCumulateTask",
+                                 DoubleBinaryOperator.class, double[].class);
+        LONG_BUFFER = rootConstructor("LongBufferCumulateTask",
+                                      LongBinaryOperator.class,
+                                      LongBuffer.class);
+        DOUBLE_BUFFER = rootConstructor("DoubleBufferCumulateTask",
+                                        DoubleBinaryOperator.class,
+                                        DoubleBuffer.class);
+        long seed = new SplittableRandom().nextLong();
+        System.out.println("seed = " + seed);
+        SplittableRandom rnd = new SplittableRandom(seed);
+        try {
+            checkBounds();
+            for (int n : SIZES) {
+                int lo = (n < 4) ? 0 : 1 + rnd.nextInt(n >>> 2);
+                int hi = (n < 4) ? n : n - rnd.nextInt(n >>> 2);
+                for (int[] range : new int[][] { { 0, n }, { lo, hi } }) {
+                    checkUnsegmented(rnd, n, range[0], range[1]);
+                    for (double density : DENSITIES)
+                        checkSegmented(rnd, flags(rnd, n, density),
+                                       range[0], range[1]);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    static boolean[] flags(SplittableRandom rnd, int n, double density) {
+        boolean[] flags = new boolean[n];
+        for (int i = 0; i < n; ++i)
+            flags[i] = density >= 1.0 || rnd.nextDouble() < density;
+        return flags;
+    }
+
+    /** Buffer scans without flags, which have no other test */
+    static void checkUnsegmented(SplittableRandom rnd, int n, int lo, int hi)
+        throws Throwable {
+        checkLongBuffers(rnd, null, n, lo, hi);
+        checkDoubleBuffers(rnd, null, n, lo, hi);
+    }
+
+    static void checkSegmented(SplittableRandom rnd, boolean[] flags,
+                               int lo, int hi) throws Throwable {
+        int n = flags.length;
+        String desc = " n=" + n + " [" + lo + ", " + hi + ")";
+
+        long[] la = rnd.longs(n).toArray();
+        long[] lexpected = la.clone();
+        long[] lactual = la.clone();
+        for (int i = lo + 1; i < hi; ++i)
+            if (!flags[i])
+                lexpected[i] = compose(lexpected[i - 1], lexpected[i]);
+        scan(LONG, LONG_OP, lactual, flags, lo, hi);
+        check(Arrays.equals(lexpected, lactual), "long[]" + desc);
+
+        Long[] oa = new Long[n];
+        for (int i = 0; i < n; ++i)
+            oa[i] = la[i];
+        Object[] oexpected = new Object[n];
+        for (int i = 0; i < n; ++i)
+            oexpected[i] = lexpected[i];
+        scan(OBJECT, OBJECT_OP, oa, flags, lo, hi);
+        check(Arrays.equals(oexpected, oa), "Object[]" + desc);
+
+        int[] ia = rnd.ints(n).toArray();
+        int[] iexpected = ia.clone();
+        for (int i = lo + 1; i < hi; ++i)
+            if (!flags[i])
+                iexpected[i] = compose16(iexpected[i - 1], iexpected[i]);
+        scan(INT, INT_OP, ia, flags, lo, hi);
+        check(Arrays.equals(iexpected, ia), "int[]" + desc);
+
+        for (DoubleBinaryOperator op : DOUBLE_OPS) {
+            double[] da = rnd.ints(n, -1000, 1000).asDoubleStream().toArray();
+            double[] dexpected = da.clone();
+            for (int i = lo + 1; i < hi; ++i)
+                if (!flags[i])
+                    dexpected[i] = op.applyAsDouble(dexpected[i - 1],
+                                                    dexpected[i]);
+            scan(DOUBLE, op, da, flags, lo, hi);
+            check(Arrays.equals(dexpected, da), "double[]" + desc);
+        }
+
+        checkLongBuffers(rnd, flags, n, lo, hi);
+        checkDoubleBuffers(rnd, flags, n, lo, hi);
+    }
+
+    /**
+     * Scans heap and direct LongBuffers with a nonzero position,
+     * which should be neither used nor changed.
+     */
+    static void checkLongBuffers(SplittableRandom rnd, boolean[] flags,
+                                 int n, int lo, int hi) throws Throwable {
+        String desc = ((flags == null) ? "" : " segmented") +
+            " n=" + n + " [" + lo + ", " + hi + ")";
+        long[] a = rnd.longs(n).toArray();
+        long[] expected = a.clone();
+        for (int i = lo + 1; i < hi; ++i)
+            if (flags == null || !flags[i])
+                expected[i] = compose(expected[i - 1], expected[i]);
+        LongBuffer[] buffers = {
+            LongBuffer.allocate(n),
+            ByteBuffer.allocateDirect(n * Long.BYTES).asLongBuffer()
+        };
+        for (LongBuffer b : buffers) {
+            b.put(a).position(n >>> 1);
+            scan(LONG_BUFFER, LONG_OP, b, flags, lo, hi);
+            String kind = (b.isDirect() ? "direct" : "heap") +
+                " LongBuffer" + desc;
+            check(b.position() == n >>> 1, kind + ": position changed");
+            check(b.limit() == n, kind + ": limit changed");
+            long[] actual = new long[n];
+            for (int i = 0; i < n; ++i)
+                actual[i] = b.get(i);
+            check(Arrays.equals(expected, actual), kind);
+        }
+    }
+
+    /** The DoubleBuffer analog of checkLongBuffers */
+    static void checkDoubleBuffers(SplittableRandom rnd, boolean[] flags,
+                                   int n, int lo, int hi) throws Throwable {
+        String desc = ((flags == null) ? "" : " segmented") +
+            " n=" + n + " [" + lo + ", " + hi + ")";
+        for (DoubleBinaryOperator op : DOUBLE_OPS) {
+            double[] a = rnd.ints(n, -1000, 1000).asDoubleStream().toArray();
+            double[] expected = a.clone();
+            for (int i = lo + 1; i < hi; ++i)
+                if (flags == null || !flags[i])
+                    expected[i] = op.applyAsDouble(expected[i - 1],
+                                                   expected[i]);
+            DoubleBuffer[] buffers = {
+                DoubleBuffer.allocate(n),
+                ByteBuffer.allocateDirect(n * Double.BYTES).asDoubleBuffer()
+            };
+            for (DoubleBuffer b : buffers) {
+                b.put(a).position(n >>> 1);
+                scan(DOUBLE_BUFFER, op, b, flags, lo, hi);
+                String kind = (b.isDirect() ? "direct" : "heap") +
+                    " DoubleBuffer" + desc;
+                check(b.position() == n >>> 1, kind + ": position changed");
+                check(b.limit() == n, kind + ": limit changed");
+                double[] actual = new double[n];
+                for (int i = 0; i < n; ++i)
+                    actual[i] = b.get(i);
+                check(Arrays.equals(expected, actual), kind);
+            }
+        }
+    }
+
+    /**
+     * Root tasks given ranges outside the array, buffer limit, or
+     * flags throw IndexOutOfBoundsException.
+     */
+    static void checkBounds() throws Throwable {
+        int n = 100;
+        LongBuffer lb = LongBuffer.allocate(n + 10).limit(n);
+        DoubleBuffer db = ByteBuffer.allocateDirect((n + 10) * Double.BYTES)
+            .asDoubleBuffer().limit(n);
+        Object[][] cases = {
+            { LONG, LONG_OP, new long[n] },
+            { INT, INT_OP, new int[n] },
+            { DOUBLE, DOUBLE_OPS[0], new double[n] },
+            { OBJECT, OBJECT_OP, new Long[n] },
+            { LONG_BUFFER, LONG_OP, lb },
+            { DOUBLE_BUFFER, DOUBLE_OPS[0], db },
+        };
+        int[][] ranges = { { -1, n }, { 0, n + 1 }, { n, n - 1 } };
+        for (Object[] c : cases) {
+            Constructor<?> k = (Constructor<?>) c[0];
+            String desc = k.getDeclaringClass().getSimpleName();
+            for (int[] r : ranges)
+                checkThrowsIOOBE(k, c[1], c[2], null, r[0], r[1],
+                                 desc + " [" + r[0] + ", " + r[1] + ")");
+            checkThrowsIOOBE(k, c[1], c[2], new boolean[n - 1], 0, n,
+                             desc + " short flags");
+        }
+    }
+
+    static void checkThrowsIOOBE(Constructor<?> k, Object fn, Object array,
+                                 boolean[] flags, int lo, int hi,
+                                 String desc) throws Throwable {
+        try {
+            scan(k, fn, array, flags, lo, hi);
+        } catch (java.lang.reflect.InvocationTargetException ex) {
+            if (ex.getCause() instanceof IndexOutOfBoundsException)
+                return;
+            throw ex.getCause();
+        }
+        throw new AssertionError(desc + ": no IndexOutOfBoundsException");
+    }
+
+    static void check(boolean cond, String desc) {
+        if (!cond)
+            throw new AssertionError(desc);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+/*
+ * @test
+ * @summary White box tests of TimSort and ComparableTimSort parallelSort
+ * @modules java.base/java.util:open
+ * @run main/othervm -Djava.util.concurrent.ForkJoinPool.common.parallelism=4 ParallelSort
+ * @run main/othervm -Djava.util.concurrent.ForkJoinPool.common.parallelism=1 ParallelSort
+ */
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+
+/**
+ * Checks that the package-private parallelSort methods sort the
+ * requested range, leave the rest of the array alone, and are
+ * stable, by comparing against Arrays.sort and checking that equal
+ * keys retain their original relative order.
+ */
+public class ParallelSort {
+    static final MethodHandle TIM_SORT, COMPARABLE_TIM_SORT;
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Class<?> ts = Class.forName("java.util.TimSort");
+            Class<?> cts = Class.forName("java.util.ComparableTimSort");
+            TIM_SORT = MethodHandles.privateLookupIn(ts, lookup).findStatic
+                (ts, "parallelSort",
+                 MethodType.methodType(void.class, Object[].class,
+                                       int.class, int.class,
+                                       Comparator.class, Object[].class,
+                                       int.class, int.class));
+            COMPARABLE_TIM_SORT = MethodHandles.privateLookupIn(cts, lookup)
+                .findStatic
+                (cts, "parallelSort",
+                 MethodType.methodType(void.class, Object[].class,
+                                       int.class, int.class, Object[].class,
+                                       int.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** An element ordered only by key; seq records its original index */
+    static final class Elem implements Comparable<Elem> {
+        final int key;
+        final int seq;
+        Elem(int key, int seq) { this.key = key; this.seq = seq; }
+        public int compareTo(Elem x) { return Integer.compare(key, x.key); }
+        public String toString() { return key + "#" + seq; }
+    }
+
+    static final Comparator<Elem> DESCENDING =
+        (x, y) -> Integer.compare(y.key, x.key);
+
+    enum Pattern {
+        RANDOM {
+            int key(SplittableRandom rnd, int i, int n) {
+                return rnd.nextInt();
+            }
+        },
+        DUPLICATES {
+            int key(SplittableRandom rnd, int i, int n) {
+                return rnd.nextInt(4);
+            }
+        },
+        PRESORTED {
+            int key(SplittableRandom rnd, int i, int n) {
+                return i >>> 2;
+            }
+        },
+        REVERSE {
+            int key(SplittableRandom rnd, int i, int n) {
+                return (n - i) >>> 2;
+            }
+        },
+        RUNS {
+            int key(SplittableRandom rnd, int i, int n) {
+                int r = i & 1023;
+                return ((i >>> 10) & 1) == 0 ? r : 1023 - r;
+            }
+        };
+        abstract int key(SplittableRandom rnd, int i, int n);
+    }
+
+    static final int[] SIZES = {
+        0, 1, 2, 31, 1000, (1 << 13) - 1, 1 << 13, 10_000,
+        100_000, 1_000_000, 3_000_000
+    };
+
+    static Elem[] generate(Pattern p, int n, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        Elem[] a = new Elem[n];
+        for (int i = 0; i < n; ++i)
+            a[i] = new Elem(p.key(rnd, i, n), i);
+        return a;
+    }
+
+    public static void main(String[] args) throws Throwable {
+        long seed = new SplittableRandom().nextLong();
+        System.out.println("seed = " + seed);
+        SplittableRandom rnd = new SplittableRandom(seed);
+        for (int n : SIZES) {
+            for (Pattern p : Pattern.values()) {
+                Elem[] a = generate(p, n, rnd.nextLong());
+                int lo = (n < 4) ? 0 : rnd.nextInt(n >>> 2);
+                int hi = (n < 4) ? n : n - rnd.nextInt(n >>> 2);
+                String desc = p + " n=" + n;
+                check(desc + " comparator", a, 0, n, null, DESCENDING);
+                check(desc + " comparator range", a, lo, hi, null,
+                      Comparator.naturalOrder());
+                check(desc + " comparable", a, 0, n, null, null);
+                check(desc + " comparable range", a, lo, hi,
+                      new Elem[n + 3], null);
+                if (lo > 0)
+                    check(desc + " short workspace", a, lo, hi,
+                          new Elem[lo], null);
+            }
+        }
+    }
+
+    /**
+     * Sorts a copy of the given range of a using parallelSort with
+     * the given workspace (with c, else by natural order using
+     * ComparableTimSort), and checks it.
+     */
+    static void check(String desc, Elem[] a, int lo, int hi, Elem[] work,
+                      Comparator<Elem> c) throws Throwable {
+        Elem[] actual = a.clone();
+        Elem[] expected = a.clone();
+        int workBase = (work == null) ? 0 : work.length - (hi - lo);
+        if (workBase < 0)
+            workBase = 0;
+        int workLen = (work == null) ? 0 : work.length - workBase;
+        if (c != null) {
+            TIM_SORT.invoke(actual, lo, hi, c, work, workBase, workLen);
+            Arrays.sort(expected, lo, hi, c);
+        } else {
+            COMPARABLE_TIM_SORT.invoke(actual, lo, hi, work, workBase,
+                                       workLen);
+            Arrays.sort(expected, lo, hi);
+        }
+        Comparator<Elem> cmp = (c == null) ? Comparator.naturalOrder() : c;
+        for (int i = 0; i < a.length; ++i) {
+            if (actual[i] != expected[i])
+                throw new AssertionError
+                    (desc + ": mismatch at " + i + ": " + actual[i] +
+                     " != " + expected[i]);
+            if (i < lo || i >= hi) {
+                if (actual[i] != a[i])
+                    throw new AssertionError
+                        (desc + ": element " + i + " outside range moved");
+            }
+            else if (i > lo) {
+                Elem x = actual[i - 1], y = actual[i];
+                int d = cmp.compare(x, y);
+                if (d > 0)
+                    throw new AssertionError
+                        (desc + ": out of order at " + i + ": " + x +
+                         " " + y);
+                if (d == 0 && x.seq >= y.seq)
+                    throw new AssertionError
+                        (desc + ": not stable at " + i + ": " + x +
+                         " " + y);
+            }
+        }
+    }
+}
@@ -24,14 +24,17 @@
 /*
  * @test
  * @bug 6330307 6355645
- * @summary Check for race conditions in COWArray classes
+ * @summary Check for race conditions in COWArray and COWHash classes
  * @author Martin Buchholz
  */
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CopyOnWriteHashMap;
+import java.util.concurrent.CopyOnWriteHashSet;
 
 public class RacingCows {
     private static void realMain(String[] args) throws Throwable {
@@ -57,6 +60,41 @@ public class RacingCows {
         }
         t1.join();
 
+        //------------ CopyOnWriteHashSet --------------------------------
+        final Set<Integer> s3 = new CopyOnWriteHashSet<>();
+        final Set<Integer> s4 = new CopyOnWriteHashSet<>();
+        final Map<Integer,Integer> m1 = new CopyOnWriteHashMap<>();
+        s3.add(1);
+
+        final Thread t4 = new CheckedThread() { public void realRun() {
+            for (int i = 0; i < iterations; i++) {
+                s4.add(two);
+                s4.add(three);
+                s4.remove(two);
+                s4.remove(three);
+                m1.put(i & 7, i);
+                m1.remove((i + 4) & 7);
+            }}};
+        t4.start();
+
+        for (int i = 0; i < iterations; i++) {
+            check(! s3.equals(s4));
+            check(! s4.equals(s3));
+
+            // CopyOnWriteHashSet(mutatingCollection)
+            try { new CopyOnWriteHashSet<Integer>(s4); }
+            catch (Throwable t) { unexpected(t); }
+
+            // addAll(mutatingCollection)
+            try { new CopyOnWriteHashSet<Integer>().addAll(s4); }
+            catch (Throwable t) { unexpected(t); }
+
+            // CopyOnWriteHashMap.putAll(mutatingMap)
+            try { new CopyOnWriteHashMap<Integer,Integer>().putAll(m1); }
+            catch (Throwable t) { unexpected(t); }
+        }
+        t4.join();
+
         //------------ CopyOnWriteArrayList ------------------------------
         final List<Integer> l1 = new CopyOnWriteArrayList<>();
         final List<Integer> l2 = new CopyOnWriteArrayList<>();
@@ -0,0 +1,170 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+/*
+ * @test
+ * @summary Stress test that threads of a thread-per-task executor
+ * blocked in j.u.c. synchronizers are parked, not blocked on monitors
+ * @library /lib/testlibrary/
+ * @run main/othervm ParkedBlocking
+ */
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+import jdk.testlibrary.Utils;
+
+public class ParkedBlocking {
+    static final long LONG_DELAY_MS = Utils.adjustTimeout(10_000);
+    static final int NTHREADS = 16;
+
+    /** Threads created by the executor, so their states can be checked */
+    static final List<Thread> threads = new ArrayList<>();
+
+    static final ThreadFactory factory = r -> {
+        Thread t = new Thread(r);
+        t.setDaemon(true);
+        synchronized (threads) { threads.add(t); }
+        return t;
+    };
+
+    /** A task that completes only when explicitly completed */
+    static final class Pending extends RecursiveAction {
+        protected void compute() {}
+    }
+
+    static void await(CountDownLatch latch) throws InterruptedException {
+        if (!latch.await(LONG_DELAY_MS, MILLISECONDS))
+            throw new AssertionError("timed out waiting for latch");
+    }
+
+    /**
+     * Waits until all live threads are parked, failing if any is
+     * left blocked on a monitor or waiting without a blocker (as in
+     * Object.wait).
+     */
+    static void checkParked(String what) {
+        List<Thread> ts;
+        synchronized (threads) { ts = new ArrayList<>(threads); }
+        long startTime = System.nanoTime();
+        for (;;) {
+            StringBuilder sb = new StringBuilder();
+            for (Thread t : ts) {
+                Thread.State s = t.getState();
+                if ((s == Thread.State.WAITING ||
+                     s == Thread.State.TIMED_WAITING) &&
+                    LockSupport.getBlocker(t) != null)
+                    continue;
+                if (s != Thread.State.TERMINATED)
+                    sb.append(' ').append(t.getName()).append('=').append(s);
+            }
+            if (sb.length() == 0) {
+                passed++;
+                return;
+            }
+            if (System.nanoTime() - startTime >
+                MILLISECONDS.toNanos(LONG_DELAY_MS))
+                throw new AssertionError(what + ": not parked:" + sb);
+            Thread.yield();
+        }
+    }
+
+    static void reset() {
+        synchronized (threads) { threads.clear(); }
+    }
+
+    static void joinAndGet() throws Throwable {
+        reset();
+        ExecutorService e = Executors.newThreadPerTaskExecutor(factory);
+        Pending task = new Pending();
+        List<Future<?>> fs = new ArrayList<>();
+        for (int i = 0; i < NTHREADS; i++) {
+            fs.add(e.submit(() -> task.join()));
+            fs.add(e.submit(() -> task.get()));
+            fs.add(e.submit(() -> task.get(LONG_DELAY_MS, MILLISECONDS)));
+        }
+        checkParked("ForkJoinTask.join/get");
+        task.complete(null);
+        for (Future<?> f : fs)
+            f.get(LONG_DELAY_MS, MILLISECONDS);
+        e.shutdown();
+        if (!e.awaitTermination(LONG_DELAY_MS, MILLISECONDS))
+            throw new AssertionError("executor did not terminate");
+    }
+
+    static void awaitTermination() throws Throwable {
+        reset();
+        ExecutorService e = Executors.newThreadPerTaskExecutor(factory);
+        ForkJoinPool pool = new ForkJoinPool(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pool.execute(() -> {
+            try { release.await(); } catch (InterruptedException ie) {}
+        });
+        pool.shutdown();
+        List<Future<?>> fs = new ArrayList<>();
+        for (int i = 0; i < NTHREADS; i++)
+            fs.add(e.submit(() -> pool.awaitTermination(LONG_DELAY_MS,
+                                                        MILLISECONDS)));
+        checkParked("ForkJoinPool.awaitTermination");
+        release.countDown();
+        for (Future<?> f : fs)
+            if (!Boolean.TRUE.equals(f.get(LONG_DELAY_MS, MILLISECONDS)))
+                throw new AssertionError("pool did not terminate");
+        e.shutdown();
+        if (!e.awaitTermination(LONG_DELAY_MS, MILLISECONDS))
+            throw new AssertionError("executor did not terminate");
+    }
+
+    static void contendedCopyOnWrite() throws Throwable {
+        reset();
+        ExecutorService e = Executors.newThreadPerTaskExecutor(factory);
+        CopyOnWriteArrayList<Integer> list = new CopyOnWriteArrayList<>();
+        list.add(-1);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<?>> fs = new ArrayList<>();
+        // holds the list's lock while waiting for release
+        fs.add(e.submit(() -> list.removeIf(x -> {
+            locked.countDown();
+            try { await(release); }
+            catch (InterruptedException ie) { throw new AssertionError(ie); }
+            return false;
+        })));
+        await(locked);
+        for (int i = 0; i < NTHREADS; i++) {
+            final int k = i;
+            fs.add(e.submit(() -> list.add(k)));
+        }
+        checkParked("CopyOnWriteArrayList.add");
+        release.countDown();
+        for (Future<?> f : fs)
+            f.get(LONG_DELAY_MS, MILLISECONDS);
+        if (list.size() != NTHREADS + 1)
+            throw new AssertionError("size " + list.size());
+        e.shutdown();
+        if (!e.awaitTermination(LONG_DELAY_MS, MILLISECONDS))
+            throw new AssertionError("executor did not terminate");
+    }
+
+    static volatile int passed = 0;
+
+    public static void main(String[] args) throws Throwable {
+        joinAndGet();
+        awaitTermination();
+        contendedCopyOnWrite();
+        System.out.printf("%nPassed = %d%n%n", passed);
+    }
+}
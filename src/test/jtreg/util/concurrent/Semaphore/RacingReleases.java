@@ -12,6 +12,7 @@
  */
 
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.StripedSemaphore;
 
 public class RacingReleases {
 
@@ -81,9 +82,62 @@ public class RacingReleases {
         }
     }
 
+    /** Like test, but for StripedSemaphore */
+    public static void testStriped(final boolean interruptibly)
+        throws Throwable {
+        for (int i = 0; i < iterations; i++) {
+            final StripedSemaphore sem = new StripedSemaphore(0);
+            final Throwable[] badness = new Throwable[1];
+            Runnable blocker = new Runnable() {
+                public void run() {
+                    try {
+                        if (interruptibly)
+                            sem.acquire();
+                        else
+                            sem.acquireUninterruptibly();
+                    } catch (Throwable t) {
+                        badness[0] = t;
+                        throw new Error(t);
+                    }}};
+            Runnable signaller = new Runnable() {
+                public void run() {
+                    try {
+                        sem.release();
+                    } catch (Throwable t) {
+                        badness[0] = t;
+                        throw new Error(t);
+                    }}};
+            Thread[] threads = {
+                new Thread(blocker), new Thread(blocker),
+                new Thread(signaller), new Thread(signaller) };
+            java.util.Collections.shuffle(java.util.Arrays.asList(threads));
+            for (Thread thread : threads)
+                thread.start();
+            for (Thread thread : threads) {
+                thread.join(60 * 1000);
+                if (thread.isAlive())
+                    throw new Error
+                        (String.format
+                         ("StripedSemaphore stuck: permits %d, thread waiting %s%n",
+                          sem.availablePermits(),
+                          sem.hasQueuedThreads() ? "true" : "false"));
+            }
+            if (badness[0] != null)
+                throw new Error(badness[0]);
+            if (sem.availablePermits() != 0)
+              throw new Error(String.valueOf(sem.availablePermits()));
+            if (sem.hasQueuedThreads())
+              throw new Error(String.valueOf(sem.hasQueuedThreads()));
+            if (sem.getQueueLength() != 0)
+              throw new Error(String.valueOf(sem.getQueueLength()));
+        }
+    }
+
     public static void main(String[] args) throws Throwable {
         for (boolean fair : new boolean[] { true, false })
             for (boolean interruptibly : new boolean[] { true, false })
                 test(fair, interruptibly);
+        for (boolean interruptibly : new boolean[] { true, false })
+            testStriped(interruptibly);
     }
 }
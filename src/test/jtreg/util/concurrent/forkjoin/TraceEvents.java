@@ -0,0 +1,78 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+/*
+ * @test
+ * @summary Check events exported by ForkJoinPool.exportTrace
+ * @run main/othervm -Djava.util.concurrent.ForkJoinPool.traceCapacity=1000 TraceEvents
+ */
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class TraceEvents {
+    static final class Fib extends RecursiveTask<Integer> {
+        final int n;
+        Fib(int n) { this.n = n; }
+        protected Integer compute() {
+            if (n <= 1)
+                return n;
+            Fib f1 = new Fib(n - 1);
+            f1.fork();
+            return new Fib(n - 2).compute() + f1.join();
+        }
+    }
+
+    static void check(boolean cond, String msg) {
+        if (!cond)
+            throw new AssertionError(msg);
+    }
+
+    public static void main(String[] args) throws Throwable {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        check(pool.invoke(new Fib(24)) == 46368, "wrong result");
+        StringBuilder sb = new StringBuilder();
+        pool.exportTrace(sb);
+        String[] lines = sb.toString().split("\n");
+        check(lines.length > 0, "no events");
+        check(lines.length <= 4 * 1024, "too many events: " + lines.length);
+        Map<String, Integer> counts = new HashMap<>();
+        long prev = Long.MIN_VALUE;
+        for (String line : lines) {
+            String[] f = line.split(" ");
+            check(f.length >= 4, "malformed: " + line);
+            long time = Long.parseLong(f[0]);
+            check(prev == Long.MIN_VALUE || time - prev >= 0,
+                  "out of order: " + line);
+            prev = time;
+            int worker = Integer.parseInt(f[1]);
+            check(worker >= 0, "bad worker: " + line);
+            check(Integer.parseInt(f[3]) >= 0, "bad size: " + line);
+            switch (f[2]) {
+            case "push": case "pop":
+                check(f.length == 5 && f[4].startsWith("TraceEvents$Fib@"),
+                      "bad task: " + line);
+                break;
+            case "steal":
+                check(f.length == 6, "no source: " + line);
+                break;
+            case "idle": case "park": case "unpark":
+                check(f.length == 4, "unexpected task: " + line);
+                break;
+            default:
+                throw new AssertionError("unknown event: " + line);
+            }
+            counts.merge(f[2], 1, Integer::sum);
+        }
+        check(counts.containsKey("push"), "no pushes: " + counts);
+        check(counts.containsKey("pop"), "no pops: " + counts);
+        check(counts.containsKey("steal"), "no steals: " + counts);
+        pool.shutdown();
+        System.out.println(counts);
+    }
+}
@@ -4,6 +4,9 @@
  * http://creativecommons.org/publicdomain/zero/1.0/
  */
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.concurrent.*;
 import java.util.*;
 
@@ -15,7 +18,26 @@ class ArraysSort {
     static final Comparator<Object> cmp = (Object x, Object y) ->
         ((Long)x).compareTo((Long)y);
 
-    public static void main(String[] args) throws Exception {
+    /**
+     * java.util.TimSort.parallelSort, if present and accessible (run
+     * with --add-opens java.base/java.util=ALL-UNNAMED), else null.
+     */
+    static final MethodHandle timParallelSort = timParallelSort();
+
+    static MethodHandle timParallelSort() {
+        try {
+            Class<?> c = Class.forName("java.util.TimSort");
+            return MethodHandles.privateLookupIn(c, MethodHandles.lookup())
+                .findStatic(c, "parallelSort", MethodType.methodType
+                            (void.class, Object[].class, int.class, int.class,
+                             Comparator.class, Object[].class, int.class,
+                             int.class));
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    public static void main(String[] args) throws Throwable {
         int n = 1 << 22;
         int reps = 30;
         int sreps = 2;
@@ -53,6 +75,10 @@ class ArraysSort {
         System.out.println(pool);
         cseqTest(a, n, 2);
         System.out.println(pool);
+        if (timParallelSort != null) {
+            timParTest(a, n, reps);
+            System.out.println(pool);
+        }
     }
 
     static void seqTest(Long[] a, int n, int reps) {
@@ -119,6 +145,22 @@ class ArraysSort {
         }
     }
 
+    static void timParTest(Long[] a, int n, int reps) throws Throwable {
+        System.out.printf("Sorting %d longs, %d replications\n", n, reps);
+        long start = System.nanoTime();
+        for (int i = 0; i < reps; ++i) {
+            new RandomRepacker(null, numbers, a, 0, n, n).invoke();
+            long last = System.nanoTime();
+            timParallelSort.invoke((Object[])a, 0, n, cmp, null, 0, 0);
+            long now = System.nanoTime();
+            double total = (double)(now - start) / NPS;
+            double elapsed = (double)(now - last) / NPS;
+            System.out.printf("Par Tim  sort time:  %7.3f total %9.3f\n",
+                              elapsed, total);
+            new OrderChecker(null, a, 0, n, n).invoke();
+        }
+    }
+
     static void checkSorted(Long[] a) {
         int n = a.length;
         long x = a[0].longValue(), y;
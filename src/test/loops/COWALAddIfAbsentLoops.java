@@ -25,6 +25,12 @@ public class COWALAddIfAbsentLoops {
 
     static final int REPS = Integer.getInteger("reps", 3);
 
+    /**
+     * Set to n > 1 to perform addIfAbsent in batches of n elements
+     * using CopyOnWriteArrayList.mutate.
+     */
+    static final int BATCH = Integer.getInteger("batch", 1);
+
     public static void main(String[] args) throws Exception {
         for (int reps = 0; reps < REPS; ++reps) {
             for (int i = 1; i <= MAX_STRIPES; ++i)
@@ -66,9 +72,25 @@ public class COWALAddIfAbsentLoops {
             final CopyOnWriteArrayList<Integer> list = this.list;
             int origin = id, inc = stride, adds = 0;
             started.arriveAndAwaitAdvance();
-            for (int i = origin; i < SIZE; i += inc) {
-                if (list.addIfAbsent(i))
-                    ++adds;
+            if (BATCH > 1) {
+                int[] added = new int[1];
+                for (int i = origin; i < SIZE; i += inc * BATCH) {
+                    final int first = i;
+                    list.mutate(l -> {
+                        for (int j = first, k = 0;
+                             k < BATCH && j < SIZE; j += inc, ++k) {
+                            if (!l.contains(j) && l.add(j))
+                                ++added[0];
+                        }
+                    });
+                }
+                adds = added[0];
+            }
+            else {
+                for (int i = origin; i < SIZE; i += inc) {
+                    if (list.addIfAbsent(i))
+                        ++adds;
+                }
             }
             result.getAndAdd(adds);
         }
@@ -6,6 +6,7 @@
 
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
+import java.util.function.Predicate;
 
 /**
  * A simple test for evaluating different implementations of
@@ -13,6 +14,9 @@ import java.util.concurrent.atomic.*;
  *
  * This benchmark differs from COWALAddIfAbsentLoops mainly by having
  * a more expensive element equals method.
+ *
+ * Run with -Dhash=true to instead use CopyOnWriteHashSet.add, for
+ * comparison with a hash-indexed copy-on-write set.
  */
 public class COWALAddIfAbsentStringLoops {
 
@@ -28,6 +32,8 @@ public class COWALAddIfAbsentStringLoops {
 
     static final int REPS = Integer.getInteger("reps", 3);
 
+    static final boolean HASH = Boolean.getBoolean("hash");
+
     public static void main(String[] args) throws Exception {
         for (int reps = 0; reps < REPS; ++reps) {
             for (int i = 1; i <= MAX_STRIPES; ++i)
@@ -41,10 +47,13 @@ public class COWALAddIfAbsentStringLoops {
         result.set(0);
         Thread[] ts = new Thread[CACHE_HIT_FACTOR*n];
         Phaser started = new Phaser(ts.length + 1);
-        CopyOnWriteArrayList<String> list =
-            new CopyOnWriteArrayList<String>();
+        Predicate<String> adder;
+        if (HASH)
+            adder = new CopyOnWriteHashSet<String>()::add;
+        else
+            adder = new CopyOnWriteArrayList<String>()::addIfAbsent;
         for (int i = 0; i < ts.length; ++i)
-            (ts[i] = new Thread(new Task(i%n, n, list, started))).start();
+            (ts[i] = new Thread(new Task(i%n, n, adder, started))).start();
         long p = started.arriveAndAwaitAdvance();
         long st = System.nanoTime();
         for (Thread thread : ts)
@@ -57,21 +66,21 @@ public class COWALAddIfAbsentStringLoops {
 
     static final class Task implements Runnable {
         final int id, stride;
-        final CopyOnWriteArrayList<String> list;
+        final Predicate<String> adder;
         final Phaser started;
         Task(int id, int stride,
-             CopyOnWriteArrayList<String> list, Phaser started) {
+             Predicate<String> adder, Phaser started) {
             this.id = id;
             this.stride = stride;
-            this.list = list;
+            this.adder = adder;
             this.started = started;
         }
         public void run() {
-            final CopyOnWriteArrayList<String> list = this.list;
+            final Predicate<String> adder = this.adder;
             int origin = id, inc = stride, adds = 0;
             started.arriveAndAwaitAdvance();
             for (int i = origin; i < SIZE; i += inc) {
-                if (list.addIfAbsent("asjdklfjsdfjsdjf" + i))
+                if (adder.test("asjdklfjsdfjsdjf" + i))
                     ++adds;
             }
             result.getAndAdd(adds);
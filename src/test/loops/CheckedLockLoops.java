@@ -12,6 +12,9 @@ import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.CohortLock;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -22,6 +25,15 @@ public final class CheckedLockLoops {
     static boolean print = false;
     static boolean doBuiltin = true;
 
+    /**
+     * Number of sockets (NUMA nodes) to report separately, set using
+     * -Dsockets=n. Worker threads are assigned to sockets round-robin;
+     * this is used as the CohortLock node hint, and, if greater than
+     * one, per-socket throughput is reported for each lock.
+     */
+    static final int sockets = Math.max(1, Integer.getInteger("sockets", 1));
+    static final ThreadLocal<Integer> socket = ThreadLocal.withInitial(() -> 0);
+
     public static void main(String[] args) throws Exception {
         int maxThreads = 100;
         int iters = 2000000;
@@ -68,6 +80,11 @@ public final class CheckedLockLoops {
         new ReentrantLockLoop().test(v, nthreads, iters);
         Thread.sleep(10);
 
+        if (print)
+            System.out.print("CohortLock            ");
+        new CohortLockLoop().test(v, nthreads, iters);
+        Thread.sleep(10);
+
         if (print)
             System.out.print("FairReentrantLock     ");
         new FairReentrantLockLoop().test(v, nthreads, fairIters);
@@ -128,6 +145,8 @@ public final class CheckedLockLoops {
         volatile int result;
         volatile int failures;
         final LoopHelpers.BarrierTimer timer = new LoopHelpers.BarrierTimer();
+        final AtomicInteger arrivals = new AtomicInteger();
+        final AtomicLongArray socketEndTimes = new AtomicLongArray(sockets);
         CyclicBarrier barrier;
 
         final int setValue(int v) {
@@ -156,6 +175,8 @@ public final class CheckedLockLoops {
                 long tpi = time / (iters * nthreads);
                 System.out.print("\t" + LoopHelpers.rightJustify(tpi) + " ns per update");
                 System.out.println();
+                if (sockets > 1 && nthreads > 1)
+                    printSocketTimes(nthreads);
             }
 
             if (result == 0) // avoid overoptimization
@@ -164,11 +185,29 @@ public final class CheckedLockLoops {
                 throw new Error("lock protection failure");
         }
 
+        /**
+         * Prints, for each socket, the time per update of its
+         * threads, measured until the last of them completed.
+         */
+        final void printSocketTimes(int nthreads) {
+            for (int s = 0; s < sockets && s < nthreads; ++s) {
+                int n = (nthreads - s + sockets - 1) / sockets;
+                long time = socketEndTimes.get(s) - timer.startTime;
+                long tpi = time / ((long)iters * n);
+                System.out.println("    socket " + s + "\t\t" +
+                                   LoopHelpers.rightJustify(tpi) +
+                                   " ns per update");
+            }
+        }
+
         abstract int loop(int n);
         public final void run() {
             try {
+                int s = arrivals.getAndIncrement() % sockets;
+                socket.set(s);
                 barrier.await();
                 result += loop(iters);
+                socketEndTimes.accumulateAndGet(s, System.nanoTime(), Math::max);
                 barrier.await();
             }
             catch (Exception ie) {
@@ -229,6 +268,27 @@ public final class CheckedLockLoops {
         }
     }
 
+    private static class CohortLockLoop extends LockLoop {
+        private final CohortLock lock =
+            new CohortLock(sockets, t -> socket.get());
+        final int loop(int n) {
+            final CohortLock lock = this.lock;
+            int sum = 0;
+            int x = 0;
+            while (n-- > 0) {
+                lock.lock();
+                try {
+                    x = setValue(LoopHelpers.compute1(getValue()));
+                }
+                finally {
+                    lock.unlock();
+                }
+                sum += LoopHelpers.compute2(x);
+            }
+            return sum;
+        }
+    }
+
     private static class MutexLoop extends LockLoop {
         private final Mutex lock = new Mutex();
         final int loop(int n) {
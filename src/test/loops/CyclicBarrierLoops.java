@@ -10,7 +10,10 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 /**
- * Based loosely on Java Grande Forum barrierBench
+ * Based loosely on Java Grande Forum barrierBench.
+ * Usage: CyclicBarrierLoops [maxThreads [maxIters]].  Thread counts
+ * of at least 32 (on multiprocessors) exercise the combining tree;
+ * a smaller maxIters keeps such runs short.
  */
 public class CyclicBarrierLoops {
     static final int NCPUS = Runtime.getRuntime().availableProcessors();
@@ -45,14 +48,17 @@ public class CyclicBarrierLoops {
 
     public static void main(String[] args) throws Exception {
         int nthreads = NCPUS;
+        int lastSize = LAST_SIZE;
 
         if (args.length > 0)
             nthreads = Integer.parseInt(args[0]);
+        if (args.length > 1)
+            lastSize = Integer.parseInt(args[1]);
 
         System.out.printf("max %d Threads\n", nthreads);
 
         for (int k = 2; k <= nthreads; k *= 2) {
-            for (int size = FIRST_SIZE; size <= LAST_SIZE; size *= 10) {
+            for (int size = FIRST_SIZE; size <= lastSize; size *= 10) {
                 long startTime = System.nanoTime();
 
                 CyclicBarrier barrier = new CyclicBarrier(k);
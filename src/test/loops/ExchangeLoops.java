@@ -4,6 +4,7 @@
  * explained at http://creativecommons.org/publicdomain/zero/1.0/
  */
 
+import java.util.Arrays;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
 import java.util.concurrent.locks.*;
@@ -13,6 +14,7 @@ public class ExchangeLoops {
 
     static final int  DEFAULT_THREADS = NCPUS + 2;
     static final long DEFAULT_TRIAL_MILLIS = 10000;
+    static int batch = 0; // if positive, use exchangeAll
 
     public static void main(String[] args) throws Exception {
         int maxThreads = DEFAULT_THREADS;
@@ -27,6 +29,8 @@ public class ExchangeLoops {
                 trialMillis = Integer.parseInt(args[argc]);
             else if (option.equals("-r"))
                 nReps = Integer.parseInt(args[argc]);
+            else if (option.equals("-b"))
+                batch = Integer.parseInt(args[argc]);
             else
                 maxThreads = Integer.parseInt(option);
             argc++;
@@ -36,6 +40,8 @@ public class ExchangeLoops {
         System.out.print("ExchangeTest");
         System.out.print(" -t " + trialMillis);
         System.out.print(" -r " + nReps);
+        if (batch > 0)
+            System.out.print(" -b " + batch);
         System.out.print(" max threads " + maxThreads);
         System.out.println();
         long warmupTime = 2000;
@@ -81,7 +87,7 @@ public class ExchangeLoops {
         Runner[] runners = new Runner[nThreads];
         Thread[] threads = new Thread[nThreads];
         for (int i = 0; i < nThreads; ++i) {
-            runners[i] = new Runner(x);
+            runners[i] = (batch > 0) ? new BatchRunner(x) : new Runner(x);
             threads[i] = new Thread(runners[i]);
             //            int h = System.identityHashCode(threads[i]);
             //            h ^= h << 1;
@@ -116,7 +122,7 @@ public class ExchangeLoops {
         //        x.printStats();
     }
 
-    static final class Runner implements Runnable {
+    static class Runner implements Runnable {
         final Exchanger exchanger;
         final Object mine = new Integer(2688);
         volatile int iters;
@@ -139,4 +145,28 @@ public class ExchangeLoops {
             }
         }
     }
+
+    /**
+     * Exchanges batches of items, counting each item as an iteration.
+     */
+    static final class BatchRunner extends Runner {
+        BatchRunner(Exchanger x) { super(x); }
+
+        public void run() {
+            Exchanger<Object> x = exchanger;
+            Object[] a = new Object[batch];
+            Arrays.fill(a, mine);
+            int i = 0;
+            try {
+                for (;;) {
+                    int n = x.exchangeAll(a);
+                    if (n != batch || a[0] == null)
+                        throw new Error();
+                    i += n;
+                }
+            } catch (InterruptedException ie) {
+                iters = i;
+            }
+        }
+    }
 }
@@ -11,6 +11,9 @@ public class FJPhaserJacobi {
 
     static int dimGran;
 
+    /** If true (-Dtiered=true), use a self-tiered phaser */
+    static final boolean TIERED = Boolean.getBoolean("tiered");
+
     static final double EPSILON = 0.0001;  // convergence criterion
 
     public static void main(String[] args) throws Exception {
@@ -115,7 +118,7 @@ public class FJPhaserJacobi {
 
     static class MyPhaser extends Phaser {
         final int max;
-        MyPhaser(int steps) { this.max = steps - 1; }
+        MyPhaser(int steps) { super(0, TIERED); this.max = steps - 1; }
         public boolean onAdvance(int phase, int registeredParties) {
             return phase >= max || registeredParties <= 0;
         }
@@ -9,6 +9,7 @@ import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
 
 // parallel sums and cumulations
+// (run with LocalityGroups as common pool factory to test locality)
 
 public class FJSums {
     static int THRESHOLD;
@@ -47,8 +47,7 @@ public class Heat {
             return;
         }
 
-        ForkJoinPool g = (procs == 0) ? new ForkJoinPool() :
-            new ForkJoinPool(procs);
+        ForkJoinPool g = LocalityGroups.newPool(procs);
 
         System.out.print("parallelism = " + g.getParallelism());
         System.out.print(" granularity = " + leafmaxcol);
@@ -44,7 +44,7 @@ public final class LU {
             return;
         }
         ForkJoinPool pool = (procs == 0) ? ForkJoinPool.commonPool() :
-            new ForkJoinPool(procs);
+            LocalityGroups.newPool(procs);
         System.out.println("procs: " + pool.getParallelism() +
                            " n: " + n + " runs: " + runs);
         for (int run = 0; run < runs; ++run) {
@@ -0,0 +1,51 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * A ForkJoinWorkerThreadFactory assigning workers round-robin to
+ * the number of locality groups given by system property
+ * "locality.groups" (default 2), for use in locality benchmarks.
+ * Groups are only hints; threads are not bound to processors.  To
+ * use with the common pool, run with
+ * -Djava.util.concurrent.ForkJoinPool.common.threadFactory=LocalityGroups
+ */
+public class LocalityGroups
+    implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+    static final String GROUPS = "locality.groups";
+
+    final int groups = Integer.getInteger(GROUPS, 2);
+    final AtomicInteger seq = new AtomicInteger();
+
+    public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+        return ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+    }
+
+    public int localityGroup(ForkJoinWorkerThread worker) {
+        return (groups > 1) ? seq.getAndIncrement() % groups : 0;
+    }
+
+    /**
+     * Returns a LocalityGroups factory if system property
+     * "locality.groups" is set, else the default factory.
+     */
+    static ForkJoinPool.ForkJoinWorkerThreadFactory factory() {
+        return (System.getProperty(GROUPS) != null) ? new LocalityGroups() :
+            ForkJoinPool.defaultForkJoinWorkerThreadFactory;
+    }
+
+    /**
+     * Returns a pool with the given parallelism, or if zero the
+     * number of available processors, using factory().
+     */
+    static ForkJoinPool newPool(int procs) {
+        if (procs == 0)
+            procs = Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(procs, factory(), null, false);
+    }
+}
@@ -12,6 +12,9 @@ import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.CohortLock;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -22,6 +25,15 @@ public final class LockLoops {
     static final LoopHelpers.SimpleRandom rng = new LoopHelpers.SimpleRandom();
     static boolean print = false;
     static boolean doBuiltin = true;
+
+    /**
+     * Number of sockets (NUMA nodes) to report separately, set using
+     * -Dsockets=n. Worker threads are assigned to sockets round-robin;
+     * this is used as the CohortLock node hint, and, if greater than
+     * one, per-socket throughput is reported for each lock.
+     */
+    static final int sockets = Math.max(1, Integer.getInteger("sockets", 1));
+    static final ThreadLocal<Integer> socket = ThreadLocal.withInitial(() -> 0);
     static boolean doReadWrite = true;
     static boolean doSemaphore = true;
     static boolean doStampedLock = true;
@@ -90,6 +102,11 @@ public final class LockLoops {
         new ReentrantLockLoop().test(v, nthreads, iters);
         Thread.sleep(10);
 
+        if (print)
+            System.out.print("CohortLock            ");
+        new CohortLockLoop().test(v, nthreads, iters);
+        Thread.sleep(10);
+
         if (doReadWrite) {
             if (print)
                 System.out.print("ReentrantWriteLock    ");
@@ -166,6 +183,8 @@ public final class LockLoops {
         int iters;
         volatile int result;
         final LoopHelpers.BarrierTimer timer = new LoopHelpers.BarrierTimer();
+        final AtomicInteger arrivals = new AtomicInteger();
+        final AtomicLongArray socketEndTimes = new AtomicLongArray(sockets);
         CyclicBarrier barrier;
 
         final void test(int initialValue, int nthreads, int iters) throws Exception {
@@ -183,16 +202,36 @@ public final class LockLoops {
                 //                double secs = (double) time / 1000000000.0;
                 //                System.out.print("\t " + secs + "s run time");
                 System.out.println();
+                if (sockets > 1 && nthreads > 1)
+                    printSocketTimes(nthreads);
             }
 
             if (result == 0) // avoid overoptimization
                 System.out.println("useless result: " + result);
         }
+        /**
+         * Prints, for each socket, the time per update of its
+         * threads, measured until the last of them completed.
+         */
+        final void printSocketTimes(int nthreads) {
+            for (int s = 0; s < sockets && s < nthreads; ++s) {
+                int n = (nthreads - s + sockets - 1) / sockets;
+                long time = socketEndTimes.get(s) - timer.startTime;
+                long tpi = time / ((long)iters * n);
+                System.out.println("    socket " + s + "\t\t" +
+                                   LoopHelpers.rightJustify(tpi) +
+                                   " ns per update");
+            }
+        }
+
         abstract int loop(int n);
         public final void run() {
             try {
+                int s = arrivals.getAndIncrement() % sockets;
+                socket.set(s);
                 barrier.await();
                 result += loop(iters);
+                socketEndTimes.accumulateAndGet(s, System.nanoTime(), Math::max);
                 barrier.await();
             }
             catch (Exception ie) {
@@ -258,6 +297,25 @@ public final class LockLoops {
         }
     }
 
+    private static class CohortLockLoop extends LockLoop {
+        private final CohortLock lock =
+            new CohortLock(sockets, t -> socket.get());
+        final int loop(int n) {
+            int sum = 0;
+            while (n-- > 0) {
+                lock.lock();
+                try {
+                    v = LoopHelpers.compute1(v);
+                }
+                finally {
+                    lock.unlock();
+                }
+                sum += LoopHelpers.compute2(v);
+            }
+            return sum;
+        }
+    }
+
     private static class FairReentrantLockLoop extends LockLoop {
         private final ReentrantLock lock = new ReentrantLock(true);
         final int loop(int n) {
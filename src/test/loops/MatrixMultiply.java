@@ -55,7 +55,7 @@ public class MatrixMultiply {
         }
 
         ForkJoinPool pool = (procs == 0) ? ForkJoinPool.commonPool() :
-            new ForkJoinPool(procs);
+            LocalityGroups.newPool(procs);
         System.out.println("procs: " + pool.getParallelism() +
                            " n: " + n + " granularity: " + granularity +
                            " runs: " + runs);
@@ -67,7 +67,7 @@ public class MatrixMultiply {
         for (int i = 0; i < runs; ++i) {
             init(a, b, n);
             long start = System.nanoTime();
-            new Multiplier(a, 0, 0, b, 0, 0, c, 0, 0, n).invoke();
+            pool.invoke(new Multiplier(a, 0, 0, b, 0, 0, c, 0, 0, n));
             long time = System.nanoTime() - start;
             double secs = ((double)time) / NPS;
             Thread.sleep(100);
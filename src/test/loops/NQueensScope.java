@@ -0,0 +1,140 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Speculative N-Queens search for any one solution, using a
+ * ForkJoinTaskScope that cancels remaining subtasks when one finds a
+ * solution. Compare to NQueensCS, which counts all solutions.  Each
+ * run also reports the number of board positions examined, which
+ * without cancellation would continue across all subtasks until the
+ * slowest one finds or exhausts its subtree.
+ */
+public final class NQueensScope {
+
+    static final int FIRST_SIZE = 8;
+    static final int LAST_SIZE = 28;
+
+    /** Depth below which subtrees are searched sequentially */
+    static final int FORK_DEPTH = 3;
+
+    /** for time conversion */
+    static final long NPS = (1000L * 1000 * 1000);
+
+    /** Thrown by subtasks that find no solution */
+    static final class NoSolution extends RuntimeException {
+        NoSolution() { super(null, null, false, false); }
+    }
+    static final NoSolution NO_SOLUTION = new NoSolution();
+
+    static final LongAdder positions = new LongAdder();
+
+    public static void main(String[] args) throws Exception {
+        int procs = 0;
+        try {
+            if (args.length > 0)
+                procs = Integer.parseInt(args[0]);
+        }
+        catch (Exception e) {
+            System.out.println("Usage: java NQueensScope <threads> ");
+            return;
+        }
+        for (int reps = 0; reps < 2; ++reps) {
+            ForkJoinPool g = (procs == 0) ? ForkJoinPool.commonPool() :
+                new ForkJoinPool(procs);
+            for (int i = FIRST_SIZE; i <= LAST_SIZE; i++)
+                test(g, i);
+            System.out.println(g);
+            if (g != ForkJoinPool.commonPool())
+                g.shutdown();
+            Thread.sleep(100);
+        }
+    }
+
+    static void test(ForkJoinPool g, int bs) throws Exception {
+        positions.reset();
+        long start = System.nanoTime();
+        int[] board = g.submit(() -> solve(bs)).get();
+        long time = System.nanoTime() - start;
+        double secs = ((double)time) / NPS;
+        if (!isSolution(board, bs))
+            throw new Error();
+        System.out.printf("NQueensScope %3d", bs);
+        System.out.printf(" Time: %7.3f", secs);
+        System.out.printf(" Positions: %12d", positions.sum());
+        System.out.println();
+    }
+
+    static int[] solve(int bs) throws ExecutionException {
+        try (ForkJoinTaskScope<int[]> scope =
+             ForkJoinTaskScope.cancelOnSuccess()) {
+            scope.fork(() -> search(scope, new int[0], bs));
+            return scope.join().result();
+        }
+    }
+
+    // Boards are represented as arrays where each cell
+    // holds the column number of the queen in that row
+
+    static int[] search(ForkJoinTaskScope<int[]> scope, int[] sofar, int bs) {
+        int row = sofar.length;
+        if (row < FORK_DEPTH && row < bs) {
+            for (int q = 0; q < bs; ++q) {
+                if (safe(sofar, row, q)) {
+                    int[] next = Arrays.copyOf(sofar, row + 1);
+                    next[row] = q;
+                    scope.fork(() -> search(scope, next, bs));
+                }
+            }
+            throw NO_SOLUTION; // children report any solution
+        }
+        int[] board = Arrays.copyOf(sofar, bs);
+        if (place(scope, board, row, bs))
+            return board;
+        throw NO_SOLUTION;
+    }
+
+    /**
+     * Sequential backtracking, abandoned if the scope is shut down.
+     */
+    static boolean place(ForkJoinTaskScope<int[]> scope,
+                         int[] board, int row, int bs) {
+        if (row >= bs)
+            return true;
+        if (scope.isShutdown())
+            return false;
+        positions.increment();
+        for (int q = 0; q < bs; ++q) {
+            if (safe(board, row, q)) {
+                board[row] = q;
+                if (place(scope, board, row + 1, bs))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean safe(int[] board, int row, int q) {
+        for (int i = 0; i < row; i++) {
+            int p = board[i];
+            if (q == p || q == p - (row - i) || q == p + (row - i))
+                return false;
+        }
+        return true;
+    }
+
+    static boolean isSolution(int[] board, int bs) {
+        if (board == null || board.length != bs)
+            return false;
+        for (int r = 0; r < bs; r++)
+            if (!safe(board, r, board[r]))
+                return false;
+        return true;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+/*
+ * Compares multi-field snapshot reads and conditional updates of a
+ * two-field point protected by a ReentrantReadWriteLock, by a
+ * StampedLock using hand-written optimistic retry loops, by a
+ * StampedLock using its read and update helper methods, and by a
+ * SequenceLock using its read method.
+ *
+ * Usage: OptimisticReadLoops [maxThreads [writesPer256]]
+ */
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.SequenceLock;
+import java.util.concurrent.locks.StampedLock;
+
+public final class OptimisticReadLoops {
+    static final ExecutorService pool = Executors.newCachedThreadPool();
+    static boolean print = false;
+    static int iters = 1000000;
+    static int writesPer256 = 8;
+
+    public static void main(String[] args) throws Exception {
+        int maxThreads = 64;
+        if (args.length > 0)
+            maxThreads = Integer.parseInt(args[0]);
+        if (args.length > 1)
+            writesPer256 = Integer.parseInt(args[1]);
+
+        System.out.println("Warmup...");
+        for (int i = 0; i < 2; ++i)
+            oneTest(2);
+        print = true;
+
+        for (int k = 1, i = 1; i <= maxThreads;) {
+            System.out.println("Threads: " + i);
+            oneTest(i);
+            if (i == k) {
+                k = i << 1;
+                i = i + (i >>> 1);
+            }
+            else
+                i = k;
+        }
+        pool.shutdown();
+    }
+
+    static void oneTest(int nthreads) throws Exception {
+        if (print)
+            System.out.print("ReentrantReadWriteLock");
+        new PointLoop(new RWPoint(), nthreads).test();
+        Thread.sleep(10);
+
+        if (print)
+            System.out.print("StampedLock manual    ");
+        new PointLoop(new ManualStampedPoint(), nthreads).test();
+        Thread.sleep(10);
+
+        if (print)
+            System.out.print("StampedLock read/update");
+        new PointLoop(new HelperStampedPoint(), nthreads).test();
+        Thread.sleep(10);
+
+        if (print)
+            System.out.print("SequenceLock read     ");
+        new PointLoop(new SequencePoint(), nthreads).test();
+        Thread.sleep(10);
+    }
+
+    abstract static class Point {
+        double x, y;
+        abstract double distanceFromOrigin();
+        abstract void moveIfAtOrigin(double newX, double newY);
+        abstract void reset();
+    }
+
+    static final class RWPoint extends Point {
+        final ReentrantReadWriteLock rwl = new ReentrantReadWriteLock();
+        double distanceFromOrigin() {
+            ReentrantReadWriteLock.ReadLock l = rwl.readLock();
+            l.lock();
+            try {
+                return Math.hypot(x, y);
+            } finally { l.unlock(); }
+        }
+        void moveIfAtOrigin(double newX, double newY) {
+            ReentrantReadWriteLock.WriteLock l = rwl.writeLock();
+            l.lock();
+            try {
+                if (x == 0.0 && y == 0.0) {
+                    x = newX;
+                    y = newY;
+                }
+            } finally { l.unlock(); }
+        }
+        void reset() {
+            ReentrantReadWriteLock.WriteLock l = rwl.writeLock();
+            l.lock();
+            try {
+                x = y = 0.0;
+            } finally { l.unlock(); }
+        }
+    }
+
+    static final class ManualStampedPoint extends Point {
+        final StampedLock sl = new StampedLock();
+        double distanceFromOrigin() {
+            long stamp = sl.tryOptimisticRead();
+            try {
+                retryHoldingLock: for (;; stamp = sl.readLock()) {
+                    if (stamp == 0L)
+                        continue retryHoldingLock;
+                    double currentX = x;
+                    double currentY = y;
+                    if (!sl.validate(stamp))
+                        continue retryHoldingLock;
+                    return Math.hypot(currentX, currentY);
+                }
+            } finally {
+                if (StampedLock.isReadLockStamp(stamp))
+                    sl.unlockRead(stamp);
+            }
+        }
+        void moveIfAtOrigin(double newX, double newY) {
+            long stamp = sl.tryOptimisticRead();
+            try {
+                retryHoldingLock: for (;; stamp = sl.writeLock()) {
+                    if (stamp == 0L)
+                        continue retryHoldingLock;
+                    double currentX = x;
+                    double currentY = y;
+                    if (!sl.validate(stamp))
+                        continue retryHoldingLock;
+                    if (currentX != 0.0 || currentY != 0.0)
+                        break;
+                    stamp = sl.tryConvertToWriteLock(stamp);
+                    if (stamp == 0L)
+                        continue retryHoldingLock;
+                    x = newX;
+                    y = newY;
+                    return;
+                }
+            } finally {
+                if (StampedLock.isWriteLockStamp(stamp))
+                    sl.unlockWrite(stamp);
+            }
+        }
+        void reset() {
+            long stamp = sl.writeLock();
+            try {
+                x = y = 0.0;
+            } finally { sl.unlockWrite(stamp); }
+        }
+    }
+
+    static final class HelperStampedPoint extends Point {
+        final StampedLock sl = new StampedLock();
+        double distanceFromOrigin() {
+            return sl.read(() -> Math.hypot(x, y));
+        }
+        void moveIfAtOrigin(double newX, double newY) {
+            sl.update(() -> x == 0.0 && y == 0.0,
+                      atOrigin -> {
+                          if (atOrigin) { x = newX; y = newY; }
+                          return null; });
+        }
+        void reset() {
+            sl.update(() -> null, v -> { x = y = 0.0; return null; });
+        }
+    }
+
+    static final class SequencePoint extends Point {
+        final SequenceLock sl = new SequenceLock();
+        double distanceFromOrigin() {
+            return sl.read(() -> Math.hypot(x, y));
+        }
+        void moveIfAtOrigin(double newX, double newY) {
+            sl.lock();
+            try {
+                if (x == 0.0 && y == 0.0) {
+                    x = newX;
+                    y = newY;
+                }
+            } finally { sl.unlock(); }
+        }
+        void reset() {
+            sl.lock();
+            try {
+                x = y = 0.0;
+            } finally { sl.unlock(); }
+        }
+    }
+
+    static final class PointLoop implements Runnable {
+        final Point point;
+        final int nthreads;
+        final LoopHelpers.BarrierTimer timer = new LoopHelpers.BarrierTimer();
+        final CyclicBarrier barrier;
+        volatile double result;
+
+        PointLoop(Point point, int nthreads) {
+            this.point = point;
+            this.nthreads = nthreads;
+            barrier = new CyclicBarrier(nthreads + 1, timer);
+        }
+
+        void test() throws Exception {
+            for (int i = 0; i < nthreads; ++i)
+                pool.execute(this);
+            barrier.await();
+            barrier.await();
+            if (print) {
+                long time = timer.getTime();
+                long tpi = time / ((long) iters * nthreads);
+                System.out.println("\t" + LoopHelpers.rightJustify(tpi) +
+                                   " ns per op");
+            }
+            if (result == 0.0) // avoid overoptimization
+                System.out.println("useless result: " + result);
+        }
+
+        public void run() {
+            final Point p = point;
+            LoopHelpers.SimpleRandom rng = new LoopHelpers.SimpleRandom();
+            try {
+                barrier.await();
+                double sum = 0.0;
+                for (int n = iters; n > 0; --n) {
+                    int r = rng.next() & 255;
+                    if (r >= writesPer256)
+                        sum += p.distanceFromOrigin();
+                    else if ((r & 1) == 0)
+                        p.moveIfAtOrigin(r, n);
+                    else
+                        p.reset();
+                }
+                result += sum;
+                barrier.await();
+            }
+            catch (Exception ie) {
+                return;
+            }
+        }
+    }
+}
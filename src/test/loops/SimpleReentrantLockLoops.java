@@ -14,11 +14,18 @@ public final class SimpleReentrantLockLoops {
     static final LoopHelpers.SimpleRandom rng = new LoopHelpers.SimpleRandom();
     static boolean print = false;
     static int iters = 2000000;
+    static int spins = 0;
 
+    /**
+     * Usage: SimpleReentrantLockLoops [maxThreads [spinLimit]]
+     */
     public static void main(String[] args) throws Exception {
         int maxThreads = 100;
         if (args.length > 0)
             maxThreads = Integer.parseInt(args[0]);
+        if (args.length > 1)
+            spins = Integer.parseInt(args[1]);
+        System.out.println("Spin limit: " + spins);
 
         new ReentrantLockLoop(1).test();
         new ReentrantLockLoop(1).test();
@@ -49,6 +56,7 @@ public final class SimpleReentrantLockLoops {
         ReentrantLockLoop(int nthreads) {
             this.nthreads = nthreads;
             barrier = new CyclicBarrier(nthreads+1, timer);
+            lock.setSpinLimit(spins);
         }
 
         final void test() throws Exception {
@@ -8,8 +8,16 @@ import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.StripedSemaphore;
 
+/**
+ * Usage: SimpleSemaphoreLoops [maxThreads].  Use -Dstriped=true to
+ * test StripedSemaphore, and -Dpermits=n to use n permits (default 1,
+ * as a lock).
+ */
 public final class SimpleSemaphoreLoops {
+    static final boolean STRIPED = Boolean.getBoolean("striped");
+    static final int PERMITS = Integer.getInteger("permits", 1);
     static final ExecutorService pool = Executors.newCachedThreadPool();
     static final LoopHelpers.SimpleRandom rng = new LoopHelpers.SimpleRandom();
     static boolean print = false;
@@ -38,7 +46,8 @@ public final class SimpleSemaphoreLoops {
     static final class SemaphoreLoop implements Runnable {
         private int v = rng.next();
         private volatile int result = 17;
-        private final Semaphore lock = new Semaphore(1, false);
+        private final Semaphore lock = new Semaphore(PERMITS, false);
+        private final StripedSemaphore slock = new StripedSemaphore(PERMITS);
         private final LoopHelpers.BarrierTimer timer = new LoopHelpers.BarrierTimer();
         private final CyclicBarrier barrier;
         private final int nthreads;
@@ -68,13 +77,18 @@ public final class SimpleSemaphoreLoops {
 
         public final void run() {
             final Semaphore lock = this.lock;
+            final StripedSemaphore slock = this.slock;
+            final boolean striped = STRIPED;
             try {
                 barrier.await();
                 int sum = v + 1;
                 int x = 0;
                 int n = iters;
                 while (n-- > 0) {
-                    lock.acquireUninterruptibly();
+                    if (striped)
+                        slock.acquireUninterruptibly();
+                    else
+                        lock.acquireUninterruptibly();
                     int k = (sum & 3);
                     if (k > 0) {
                         x = v;
@@ -83,7 +97,10 @@ public final class SimpleSemaphoreLoops {
                         v = x;
                     }
                     else x = sum + 1;
-                    lock.release();
+                    if (striped)
+                        slock.release();
+                    else
+                        lock.release();
                     if ((x += readBarrier) == 0)
                         ++readBarrier;
                     for (int l = x & 7; l > 0; --l)
@@ -9,7 +9,10 @@ import java.util.concurrent.*;
 //import jsr166y.*;
 
 /**
- * Based loosely on Java Grande Forum barrierBench
+ * Based loosely on Java Grande Forum barrierBench.
+ * Usage: TieredPhaserLoops [maxThreads [tasksPerPhaser]].  A
+ * tasksPerPhaser of 0 uses a single self-tiered phaser instead of a
+ * manually constructed tree.
  */
 public class TieredPhaserLoops {
     static final int NCPUS = Runtime.getRuntime().availableProcessors();
@@ -22,7 +25,7 @@ public class TieredPhaserLoops {
     static int tasksPerPhaser = Math.max(NCPUS / 8, 4);
 
     static void build(Runnable[] actions, int sz, int lo, int hi, Phaser b) {
-        if (hi - lo > tasksPerPhaser) {
+        if (tasksPerPhaser > 0 && hi - lo > tasksPerPhaser) {
             for (int i = lo; i < hi; i += tasksPerPhaser) {
                 int j = Math.min(i + tasksPerPhaser, hi);
                 build(actions, sz, i, j, new Phaser(b));
@@ -59,14 +62,17 @@ public class TieredPhaserLoops {
         if (args.length > 1)
             tasksPerPhaser = Integer.parseInt(args[1]);
 
-        System.out.printf("Max %d Threads, %d tasks per phaser\n", nthreads, tasksPerPhaser);
+        if (tasksPerPhaser > 0)
+            System.out.printf("Max %d Threads, %d tasks per phaser\n", nthreads, tasksPerPhaser);
+        else
+            System.out.printf("Max %d Threads, self-tiered phaser\n", nthreads);
 
         for (int k = 2; k <= nthreads; k *= 2) {
             for (int size = FIRST_SIZE; size <= LAST_SIZE; size *= 10) {
                 long startTime = System.nanoTime();
 
                 Runnable[] actions = new Runnable [k];
-                build(actions, size, 0, k, new Phaser());
+                build(actions, size, 0, k, new Phaser(0, tasksPerPhaser <= 0));
                 Future<?>[] futures = new Future<?>[k];
                 for (int i = 0; i < k; ++i) {
                     futures[i] = pool.submit(actions[i]);
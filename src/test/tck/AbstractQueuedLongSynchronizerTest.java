@@ -1064,6 +1064,58 @@ public class AbstractQueuedLongSynchronizerTest extends JSR166TestCase {
         awaitTermination(t2);
     }
 
+    /**
+     * signalAll transfers all waiters that have not been cancelled,
+     * which then reacquire in the order in which they waited
+     */
+    public void testSignalAll_Order() {
+        final Mutex sync = new Mutex();
+        final ConditionObject c = sync.newCondition();
+        final int n = 8, cancelled = n / 2;
+        final Thread[] waiters = new Thread[n];
+        final Thread[] reacquired = new Thread[n];
+        final int[] count = new int[1];
+        for (int i = 0; i < n; i++) {
+            final boolean cancel = (i == cancelled);
+            waiters[i] = newStartedThread(new CheckedRunnable() {
+                public void realRun() {
+                    sync.acquire();
+                    try {
+                        c.await();
+                        assertFalse(cancel);
+                    } catch (InterruptedException ie) {
+                        assertTrue(cancel);
+                    }
+                    reacquired[count[0]++] = Thread.currentThread();
+                    sync.release();
+                }});
+            for (long startTime = System.nanoTime();;) {
+                sync.acquire();
+                int len = sync.getWaitQueueLength(c);
+                sync.release();
+                if (len == i + 1)
+                    break;
+                if (millisElapsedSince(startTime) > LONG_DELAY_MS)
+                    throw new AssertionError("timed out");
+                Thread.yield();
+            }
+        }
+        sync.acquire();
+        waiters[cancelled].interrupt();
+        waitForQueuedThread(sync, waiters[cancelled]);
+        c.signalAll();
+        assertHasWaitersLocked(sync, c, NO_THREADS);
+        assertHasExclusiveQueuedThreads(sync, waiters);
+        sync.release();
+        for (Thread t : waiters)
+            awaitTermination(t);
+        assertEquals(n, count[0]);
+        assertSame(waiters[cancelled], reacquired[0]);
+        for (int i = 0, j = 1; i < n; i++)
+            if (i != cancelled)
+                assertSame(waiters[i], reacquired[j++]);
+    }
+
     /**
      * toString indicates current state
      */
@@ -1309,4 +1361,67 @@ public class AbstractQueuedLongSynchronizerTest extends JSR166TestCase {
         awaitTermination(thread);
     }
 
+    /**
+     * A Mutex exposing spin limit control.
+     */
+    static class SpinLimitedMutex extends Mutex {
+        void spinLimit(int spins) { setSpinLimit(spins); }
+        int spinLimit() { return getSpinLimit(); }
+    }
+
+    /**
+     * Spinning is initially disabled; getSpinLimit returns the value
+     * set by setSpinLimit, which rejects negative values
+     */
+    public void testSpinLimit() {
+        SpinLimitedMutex sync = new SpinLimitedMutex();
+        assertEquals(0, sync.spinLimit());
+        sync.spinLimit(0);
+        assertEquals(0, sync.spinLimit());
+        sync.spinLimit(1000);
+        assertEquals(1000, sync.spinLimit());
+        try {
+            sync.spinLimit(-1);
+            shouldThrow();
+        } catch (IllegalArgumentException success) {}
+        assertEquals(1000, sync.spinLimit());
+        assertEquals(0, serialClone(sync).spinLimit());
+    }
+
+    /**
+     * Contended acquires maintain mutual exclusion with spinning
+     * disabled, with the default spin limit, and with a large limit
+     */
+    public void testSpinLimit_MutualExclusion() throws InterruptedException {
+        for (int spins : new int[] { 0, -1, 1 << 16 }) {
+            final SpinLimitedMutex sync = new SpinLimitedMutex();
+            if (spins >= 0)
+                sync.spinLimit(spins);
+            final int nthreads = 4;
+            final int iters = 2000;
+            final int[] count = new int[1];
+            Thread[] threads = new Thread[nthreads];
+            for (int i = 0; i < nthreads; i++) {
+                final boolean timed = (i & 1) != 0;
+                threads[i] = newStartedThread(new CheckedRunnable() {
+                    public void realRun() throws InterruptedException {
+                        for (int j = 0; j < iters; j++) {
+                            if (timed)
+                                assertTrue(sync.tryAcquireNanos
+                                           (MILLISECONDS.toNanos(LONG_DELAY_MS)));
+                            else
+                                sync.acquire();
+                            try {
+                                count[0]++;
+                            } finally { sync.release(); }
+                        }
+                    }});
+            }
+            for (Thread t : threads)
+                awaitTermination(t);
+            assertEquals(nthreads * iters, count[0]);
+            assertFalse(sync.hasQueuedThreads());
+        }
+    }
+
 }
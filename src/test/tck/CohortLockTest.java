@@ -0,0 +1,262 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.CohortLock;
+import java.util.concurrent.locks.Condition;
+import java.util.function.ToIntFunction;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+public class CohortLockTest extends JSR166TestCase {
+    public static void main(String[] args) {
+        main(suite(), args);
+    }
+    public static Test suite() {
+        return new TestSuite(CohortLockTest.class);
+    }
+
+    /**
+     * Node hint placing threads whose names start with "B" in cohort
+     * 1, and all others in cohort 0.
+     */
+    static final ToIntFunction<Thread> byName =
+        t -> t.getName().startsWith("B") ? 1 : 0;
+
+    /**
+     * Spin-waits until lock.hasQueuedThread(t) becomes true.
+     */
+    void waitForQueuedThread(CohortLock lock, Thread t) {
+        long startTime = System.nanoTime();
+        while (!lock.hasQueuedThread(t)) {
+            if (millisElapsedSince(startTime) > LONG_DELAY_MS)
+                throw new AssertionError("timed out");
+            Thread.yield();
+        }
+        assertTrue(t.isAlive());
+    }
+
+    /**
+     * Constructors reject non-positive cohort counts and null hints
+     */
+    public void testConstructor_Exceptions() {
+        try {
+            new CohortLock(0);
+            shouldThrow();
+        } catch (IllegalArgumentException success) {}
+        try {
+            new CohortLock(-1, byName);
+            shouldThrow();
+        } catch (IllegalArgumentException success) {}
+        try {
+            new CohortLock(2, null);
+            shouldThrow();
+        } catch (NullPointerException success) {}
+    }
+
+    /**
+     * Constructor creates unlocked lock with given number of cohorts
+     */
+    public void testConstructor() {
+        CohortLock lock = new CohortLock(3);
+        assertEquals(3, lock.getCohortCount());
+        assertFalse(lock.isLocked());
+        assertFalse(lock.isFair());
+        assertEquals(0, lock.getHoldCount());
+    }
+
+    /**
+     * locking an unlocked lock succeeds, and holds are reentrant
+     */
+    public void testLock() {
+        CohortLock lock = new CohortLock(2, byName);
+        lock.lock();
+        assertTrue(lock.isLocked());
+        assertTrue(lock.isHeldByCurrentThread());
+        lock.lock();
+        assertEquals(2, lock.getHoldCount());
+        assertTrue(lock.tryLock());
+        assertEquals(3, lock.getHoldCount());
+        lock.unlock();
+        lock.unlock();
+        lock.unlock();
+        assertFalse(lock.isLocked());
+        assertEquals(0, lock.getHoldCount());
+    }
+
+    /**
+     * Unlocking an unlocked lock throws IllegalMonitorStateException
+     */
+    public void testUnlock_IMSE() {
+        CohortLock lock = new CohortLock(2);
+        try {
+            lock.unlock();
+            shouldThrow();
+        } catch (IllegalMonitorStateException success) {}
+    }
+
+    /**
+     * On release, the lock is passed to a thread of the releasing
+     * thread's cohort in preference to an earlier-queued thread of
+     * another cohort
+     */
+    public void testPassWithinCohort() throws InterruptedException {
+        final CohortLock lock = new CohortLock(2, byName);
+        final List<String> order =
+            Collections.synchronizedList(new ArrayList<String>());
+        class Locker extends CheckedRunnable {
+            public void realRun() {
+                lock.lock();
+                try {
+                    order.add(Thread.currentThread().getName());
+                } finally { lock.unlock(); }
+            }
+        }
+        lock.lock();
+        Thread a1 = new Thread(new Locker(), "A1");
+        Thread b1 = new Thread(new Locker(), "B1");
+        Thread a2 = new Thread(new Locker(), "A2");
+        a1.start();
+        waitForQueuedThread(lock, a1);
+        b1.start();
+        waitForQueuedThread(lock, b1);
+        a2.start();
+        assertThreadBlocks(a2, Thread.State.WAITING);
+        assertFalse(lock.hasQueuedThread(a2));
+        lock.unlock();
+        awaitTermination(a1);
+        awaitTermination(a2);
+        awaitTermination(b1);
+        assertEquals(List.of("A1", "A2", "B1"), order);
+        assertFalse(lock.isLocked());
+    }
+
+    /**
+     * tryLock on a lock held by another thread returns false
+     */
+    public void testTryLock_Held() throws InterruptedException {
+        final CohortLock lock = new CohortLock(2, byName);
+        lock.lock();
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws InterruptedException {
+                assertFalse(lock.tryLock());
+                assertFalse(lock.tryLock(timeoutMillis(), MILLISECONDS));
+            }});
+        awaitTermination(t);
+        lock.unlock();
+    }
+
+    /**
+     * lockInterruptibly is interruptible
+     */
+    public void testLockInterruptibly_Interruptible()
+            throws InterruptedException {
+        final CohortLock lock = new CohortLock(2, byName);
+        lock.lock();
+        Thread t = newStartedThread(new CheckedInterruptedRunnable() {
+            public void realRun() throws InterruptedException {
+                lock.lockInterruptibly();
+            }});
+        waitForQueuedThread(lock, t);
+        t.interrupt();
+        awaitTermination(t);
+        lock.unlock();
+        assertFalse(lock.isLocked());
+    }
+
+    /**
+     * Condition waits release the lock, including to threads of
+     * other cohorts, and reacquire it with the saved hold count
+     */
+    public void testAwaitSignal() throws InterruptedException {
+        final CohortLock lock = new CohortLock(2, byName);
+        final Condition c = lock.newCondition();
+        final CountDownLatch waiting = new CountDownLatch(1);
+        Thread waiter = new Thread(new CheckedRunnable() {
+            public void realRun() throws InterruptedException {
+                lock.lock();
+                lock.lock();
+                try {
+                    waiting.countDown();
+                    c.await();
+                    assertEquals(2, lock.getHoldCount());
+                } finally {
+                    lock.unlock();
+                    lock.unlock();
+                }
+            }}, "A");
+        waiter.start();
+        await(waiting);
+        Thread signaller = new Thread(new CheckedRunnable() {
+            public void realRun() {
+                lock.lock();
+                try {
+                    assertTrue(lock.hasWaiters(c));
+                    c.signal();
+                } finally { lock.unlock(); }
+            }}, "B");
+        signaller.start();
+        awaitTermination(signaller);
+        awaitTermination(waiter);
+        assertFalse(lock.isLocked());
+    }
+
+    /**
+     * Concurrent mixed acquisitions by threads of several cohorts
+     * maintain mutual exclusion
+     */
+    public void testMutualExclusion() throws InterruptedException {
+        final CohortLock lock = new CohortLock(3);
+        final AtomicInteger holders = new AtomicInteger();
+        final int nthreads = 6;
+        final int iters = 2000;
+        Thread[] threads = new Thread[nthreads];
+        for (int i = 0; i < nthreads; i++) {
+            threads[i] = newStartedThread(new CheckedRunnable() {
+                public void realRun() throws InterruptedException {
+                    for (int j = 0; j < iters; j++) {
+                        switch (j & 3) {
+                        case 0: lock.lockInterruptibly(); break;
+                        case 1:
+                            if (!lock.tryLock())
+                                lock.lock();
+                            break;
+                        default: lock.lock(); break;
+                        }
+                        try {
+                            assertEquals(1, holders.incrementAndGet());
+                            holders.decrementAndGet();
+                        } finally { lock.unlock(); }
+                    }
+                }});
+        }
+        for (Thread t : threads)
+            awaitTermination(t);
+        assertFalse(lock.isLocked());
+    }
+
+    /**
+     * A serialized lock deserializes as unlocked
+     */
+    public void testSerialization() {
+        CohortLock lock = new CohortLock(2, byName);
+        lock.lock();
+        CohortLock clone = serialClone(lock);
+        assertFalse(clone.isLocked());
+        assertEquals(2, clone.getCohortCount());
+        clone.lock();
+        assertTrue(clone.isHeldByCurrentThread());
+        clone.unlock();
+        lock.unlock();
+    }
+}
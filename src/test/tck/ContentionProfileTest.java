@@ -0,0 +1,208 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ContentionProfile;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+public class ContentionProfileTest extends JSR166TestCase {
+    public static void main(String[] args) {
+        main(suite(), args);
+    }
+    public static Test suite() {
+        return new TestSuite(ContentionProfileTest.class);
+    }
+
+    static long sum(long[] histogram) {
+        long s = 0L;
+        for (long n : histogram)
+            s += n;
+        return s;
+    }
+
+    void assertEmpty(ContentionProfile p) {
+        assertEquals(0L, p.getUncontendedAcquireCount());
+        assertEquals(0L, p.getContendedAcquireCount());
+        assertEquals(0L, p.getTotalWaitNanos());
+        assertEquals(0L, p.getMaxWaitNanos());
+        assertEquals(0L, p.getTotalHoldNanos());
+        assertEquals(0L, p.getMaxHoldNanos());
+        assertEquals(0L, sum(p.getWaitTimeHistogram()));
+        assertEquals(0L, sum(p.getHoldTimeHistogram()));
+        assertEquals(0L, sum(p.getQueueLengthHistogram()));
+    }
+
+    /**
+     * Profiling is initially disabled; enabling it installs an empty
+     * profile, replacing any previous one, and disabling discards it
+     */
+    public void testEnableDisable() {
+        ReentrantLock lock = new ReentrantLock();
+        assertNull(lock.getContentionProfile());
+        lock.setContentionProfiling(true);
+        ContentionProfile p = lock.getContentionProfile();
+        assertNotNull(p);
+        assertEmpty(p);
+        lock.lock();
+        lock.unlock();
+        assertEquals(1L, p.getUncontendedAcquireCount());
+        lock.setContentionProfiling(true);
+        assertNotSame(p, lock.getContentionProfile());
+        assertEmpty(lock.getContentionProfile());
+        lock.setContentionProfiling(false);
+        assertNull(lock.getContentionProfile());
+        lock.lock();
+        lock.unlock();
+        assertEquals(1L, p.getUncontendedAcquireCount());
+    }
+
+    /**
+     * Uncontended acquires are counted, and each outermost hold is
+     * timed once
+     */
+    public void testUncontendedHolds() throws InterruptedException {
+        ReentrantLock lock = new ReentrantLock();
+        lock.setContentionProfiling(true);
+        ContentionProfile p = lock.getContentionProfile();
+        long startTime = System.nanoTime();
+        lock.lock();
+        lock.lock();
+        delay(1);
+        lock.unlock();
+        lock.unlock();
+        long elapsed = System.nanoTime() - startTime;
+        assertEquals(2L, p.getUncontendedAcquireCount());
+        assertEquals(0L, p.getContendedAcquireCount());
+        assertEquals(1L, sum(p.getHoldTimeHistogram()));
+        assertTrue(p.getTotalHoldNanos() >= MILLISECONDS.toNanos(1));
+        assertTrue(p.getTotalHoldNanos() <= elapsed);
+        assertEquals(p.getTotalHoldNanos(), p.getMaxHoldNanos());
+    }
+
+    /**
+     * A contended acquire records its wait time and a queue length
+     * sample
+     */
+    public void testContendedAcquire() throws InterruptedException {
+        final ReentrantLock lock = new ReentrantLock();
+        lock.setContentionProfiling(true);
+        ContentionProfile p = lock.getContentionProfile();
+        lock.lock();
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                lock.lock();
+                lock.unlock();
+            }});
+        waitForQueuedThread(lock, t);
+        delay(1);
+        lock.unlock();
+        awaitTermination(t);
+        assertEquals(1L, p.getUncontendedAcquireCount());
+        assertEquals(1L, p.getContendedAcquireCount());
+        assertEquals(1L, sum(p.getWaitTimeHistogram()));
+        assertTrue(p.getTotalWaitNanos() >= MILLISECONDS.toNanos(1));
+        assertEquals(p.getTotalWaitNanos(), p.getMaxWaitNanos());
+        assertEquals(1L, sum(p.getQueueLengthHistogram()));
+        assertEquals(0L, p.getQueueLengthHistogram()[0]);
+        assertEquals(2L, sum(p.getHoldTimeHistogram()));
+        assertTrue(p.getMaxHoldNanos() >= MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * Condition waits end the current hold and start a new one upon
+     * reacquisition
+     */
+    public void testConditionWait() throws InterruptedException {
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition c = lock.newCondition();
+        final CountDownLatch locked = new CountDownLatch(1);
+        lock.setContentionProfiling(true);
+        ContentionProfile p = lock.getContentionProfile();
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws InterruptedException {
+                lock.lock();
+                try {
+                    locked.countDown();
+                    c.await();
+                } finally { lock.unlock(); }
+            }});
+        await(locked);
+        lock.lock();
+        try {
+            assertTrue(lock.hasWaiters(c));
+            c.signal();
+        } finally { lock.unlock(); }
+        awaitTermination(t);
+        // Whether this thread's lock() and t's reacquire are each
+        // contended depends on timing, but every acquire is counted
+        // exactly once
+        assertEquals(3L, sum(p.getHoldTimeHistogram()));
+        assertEquals(3L, p.getUncontendedAcquireCount() +
+                     p.getContendedAcquireCount());
+    }
+
+    /**
+     * Read and write acquires of a ReentrantReadWriteLock are
+     * counted, but only write holds are timed
+     */
+    public void testReadWriteLock() {
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        lock.setContentionProfiling(true);
+        ContentionProfile p = lock.getContentionProfile();
+        lock.readLock().lock();
+        lock.readLock().unlock();
+        assertEquals(1L, p.getUncontendedAcquireCount());
+        assertEquals(0L, sum(p.getHoldTimeHistogram()));
+        lock.writeLock().lock();
+        lock.writeLock().unlock();
+        assertEquals(2L, p.getUncontendedAcquireCount());
+        assertEquals(1L, sum(p.getHoldTimeHistogram()));
+        lock.setContentionProfiling(false);
+        assertNull(lock.getContentionProfile());
+    }
+
+    /**
+     * A deserialized lock has profiling disabled
+     */
+    public void testSerialization() {
+        ReentrantLock lock = new ReentrantLock();
+        lock.setContentionProfiling(true);
+        assertNull(serialClone(lock).getContentionProfile());
+    }
+
+    /**
+     * toString summarizes counts
+     */
+    public void testToString() {
+        ReentrantLock lock = new ReentrantLock();
+        lock.setContentionProfiling(true);
+        lock.lock();
+        lock.unlock();
+        String s = lock.getContentionProfile().toString();
+        assertTrue(s.contains("uncontended = 1"));
+        assertTrue(s.contains("contended = 0"));
+    }
+
+    /**
+     * Spin-waits until lock.hasQueuedThread(t) becomes true.
+     */
+    void waitForQueuedThread(ReentrantLock lock, Thread t) {
+        long startTime = System.nanoTime();
+        while (!lock.hasQueuedThread(t)) {
+            if (millisElapsedSince(startTime) > LONG_DELAY_MS)
+                throw new AssertionError("timed out");
+            Thread.yield();
+        }
+        assertTrue(t.isAlive());
+    }
+}
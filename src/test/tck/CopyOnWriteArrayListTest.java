@@ -702,4 +702,76 @@ public class CopyOnWriteArrayListTest extends JSR166TestCase {
         assertTrue(y.isEmpty());
     }
 
+    /**
+     * mutate applies all changes made to the copy in one update
+     */
+    public void testMutate() {
+        CopyOnWriteArrayList<Integer> list = populatedList(SIZE);
+        Object[] before = list.toArray();
+        List<Integer> snapshot = list.subList(0, 0);
+        Iterator<Integer> it = list.iterator();
+        list.mutate(copy -> {
+            assertEquals(SIZE, copy.size());
+            assertEquals(SIZE, list.size());
+            for (int i = 0; i < SIZE; i++)
+                copy.add(SIZE + i);
+            copy.remove(Integer.valueOf(0));
+            copy.set(0, -1);
+            assertEquals(SIZE, list.size());
+        });
+        assertEquals(2 * SIZE - 1, list.size());
+        assertEquals(-1, (int) list.get(0));
+        assertEquals(2, (int) list.get(1));
+        assertEquals(2 * SIZE - 1, (int) list.get(2 * SIZE - 2));
+        for (Object x : before)
+            assertEquals(x, it.next());
+        assertFalse(it.hasNext());
+        assertThrows(
+            java.util.ConcurrentModificationException.class,
+            () -> snapshot.size());
+    }
+
+    /**
+     * mutate leaves the list unchanged if the action throws
+     */
+    public void testMutate_Exception() {
+        CopyOnWriteArrayList<Integer> list = populatedList(SIZE);
+        Object[] before = list.toArray();
+        try {
+            list.mutate(copy -> {
+                copy.clear();
+                throw new ArithmeticException();
+            });
+            shouldThrow();
+        } catch (ArithmeticException success) {}
+        assertTrue(Arrays.equals(before, list.toArray()));
+    }
+
+    /**
+     * mutate throws ConcurrentModificationException if the action
+     * modifies the list directly, and NullPointerException given a
+     * null action
+     */
+    public void testMutate_Exceptions() {
+        CopyOnWriteArrayList<Integer> list = populatedList(SIZE);
+        assertThrows(
+            java.util.ConcurrentModificationException.class,
+            () -> list.mutate(copy -> list.add(SIZE)));
+        assertThrows(
+            NullPointerException.class,
+            () -> list.mutate(null));
+    }
+
+    /**
+     * changes made to a retained copy after mutate returns have no
+     * effect
+     */
+    public void testMutate_RetainedCopy() {
+        CopyOnWriteArrayList<Integer> list = populatedList(SIZE);
+        List<List<Integer>> holder = new ArrayList<>();
+        list.mutate(copy -> holder.add(copy));
+        holder.get(0).clear();
+        assertEquals(SIZE, list.size());
+    }
+
 }
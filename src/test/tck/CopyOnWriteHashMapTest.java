@@ -0,0 +1,329 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteHashMap;
+
+import junit.framework.Test;
+
+public class CopyOnWriteHashMapTest extends JSR166TestCase {
+    public static void main(String[] args) {
+        main(suite(), args);
+    }
+    public static Test suite() {
+        class Implementation implements MapImplementation {
+            public Class<?> klazz() { return CopyOnWriteHashMap.class; }
+            public Map emptyMap() { return new CopyOnWriteHashMap(); }
+            public Object makeKey(int i) { return i; }
+            public Object makeValue(int i) { return i; }
+            public boolean isConcurrent() { return true; }
+            public boolean permitsNullKeys() { return false; }
+            public boolean permitsNullValues() { return false; }
+            public boolean supportsSetValue() { return true; }
+        }
+        return newTestSuite(
+            CopyOnWriteHashMapTest.class,
+            MapTest.testSuite(new Implementation()));
+    }
+
+    /**
+     * Returns a new map from Integers 1-5 to Strings "A"-"E".
+     */
+    private static CopyOnWriteHashMap<Integer, String> map5() {
+        CopyOnWriteHashMap<Integer, String> map = new CopyOnWriteHashMap<>();
+        assertTrue(map.isEmpty());
+        map.put(one, "A");
+        map.put(two, "B");
+        map.put(three, "C");
+        map.put(four, "D");
+        map.put(five, "E");
+        assertFalse(map.isEmpty());
+        assertEquals(5, map.size());
+        return map;
+    }
+
+    /** Key with a constant hash code, forcing collisions */
+    static final class BadHashKey {
+        final int i;
+        BadHashKey(int i) { this.i = i; }
+        public int hashCode() { return 42; }
+        public boolean equals(Object x) {
+            return (x instanceof BadHashKey) && ((BadHashKey)x).i == i;
+        }
+    }
+
+    /**
+     * get returns the value for each key, and null for absent keys
+     */
+    public void testGet() {
+        CopyOnWriteHashMap<Integer, String> map = map5();
+        assertEquals("A", map.get(one));
+        assertEquals("E", map.get(five));
+        assertNull(map.get(six));
+        assertNull(map.get(zero));
+    }
+
+    /**
+     * Many mappings, including colliding keys, can be added,
+     * found, and removed
+     */
+    public void testManyMappings() {
+        CopyOnWriteHashMap<Object, Integer> map = new CopyOnWriteHashMap<>();
+        final int n = 1000;
+        for (int i = 0; i < n; i++) {
+            assertNull(map.put(i, i));
+            assertNull(map.put(new BadHashKey(i), i));
+        }
+        assertEquals(2 * n, map.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, (int) map.get(i));
+            assertEquals(i, (int) map.get(new BadHashKey(i)));
+        }
+        for (int i = 0; i < n; i += 2) {
+            assertEquals(i, (int) map.remove(i));
+            assertEquals(i, (int) map.remove(new BadHashKey(i)));
+        }
+        assertEquals(n, map.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals((i & 1) != 0, map.containsKey(i));
+            assertEquals((i & 1) != 0, map.containsKey(new BadHashKey(i)));
+        }
+    }
+
+    /**
+     * put replaces values of existing keys, and putIfAbsent does not
+     */
+    public void testPutAndPutIfAbsent() {
+        CopyOnWriteHashMap<Integer, String> map = map5();
+        assertEquals("A", map.put(one, "Z"));
+        assertEquals("Z", map.get(one));
+        assertEquals("Z", map.putIfAbsent(one, "Y"));
+        assertEquals("Z", map.get(one));
+        assertNull(map.putIfAbsent(six, "F"));
+        assertEquals("F", map.get(six));
+        assertEquals(6, map.size());
+    }
+
+    /**
+     * remove(key, value) and replace methods succeed only when the
+     * key is present and, if given, the old value matches
+     */
+    public void testConditionalRemoveAndReplace() {
+        CopyOnWriteHashMap<Integer, String> map = map5();
+        assertFalse(map.remove(one, "Z"));
+        assertTrue(map.remove(one, "A"));
+        assertFalse(map.containsKey(one));
+        assertNull(map.replace(one, "A"));
+        assertFalse(map.containsKey(one));
+        assertEquals("B", map.replace(two, "Z"));
+        assertFalse(map.replace(two, "B", "Y"));
+        assertTrue(map.replace(two, "Z", "Y"));
+        assertEquals("Y", map.get(two));
+    }
+
+    /**
+     * Iteration follows insertion order, and re-putting a key does
+     * not change its position
+     */
+    public void testIterationOrder() {
+        CopyOnWriteHashMap<Integer, String> map = new CopyOnWriteHashMap<>();
+        List<Integer> keys = new ArrayList<>();
+        for (int i = SIZE; i > 0; i--) {
+            map.put(i * 7, "x");
+            keys.add(i * 7);
+        }
+        map.put(keys.get(0), "y");
+        assertEquals(keys, new ArrayList<>(map.keySet()));
+        assertEquals(keys, Arrays.asList(map.keySet().toArray()));
+    }
+
+    /**
+     * Iterators traverse a snapshot, and their removals write through
+     */
+    public void testIteratorSnapshot() {
+        CopyOnWriteHashMap<Integer, String> map = map5();
+        Iterator<Map.Entry<Integer, String>> it = map.entrySet().iterator();
+        map.clear();
+        int count = 0;
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+        assertEquals(5, count);
+        try {
+            it.next();
+            shouldThrow();
+        } catch (NoSuchElementException success) {}
+
+        map = map5();
+        Iterator<Integer> kit = map.keySet().iterator();
+        try {
+            kit.remove();
+            shouldThrow();
+        } catch (IllegalStateException success) {}
+        assertEquals(one, kit.next());
+        kit.remove();
+        assertFalse(map.containsKey(one));
+        assertEquals(two, kit.next());
+        assertEquals(4, map.size());
+    }
+
+    /**
+     * Entry setValue writes through to the map
+     */
+    public void testEntrySetValue() {
+        CopyOnWriteHashMap<Integer, String> map = map5();
+        Map.Entry<Integer, String> e = map.entrySet().iterator().next();
+        assertEquals("A", e.setValue("Z"));
+        assertEquals("Z", e.getValue());
+        assertEquals("Z", map.get(one));
+    }
+
+    /**
+     * Removals through views are reflected in the map
+     */
+    public void testViewRemovals() {
+        CopyOnWriteHashMap<Integer, String> map = map5();
+        assertTrue(map.keySet().remove(one));
+        assertFalse(map.keySet().remove(one));
+        assertTrue(map.values().remove("B"));
+        assertFalse(map.containsKey(two));
+        Set<Map.Entry<Integer, String>> es = map.entrySet();
+        assertFalse(es.remove(Map.entry(three, "Z")));
+        assertTrue(es.remove(Map.entry(three, "C")));
+        assertTrue(es.contains(Map.entry(four, "D")));
+        assertTrue(map.keySet().removeIf(k -> k == 4));
+        assertEquals(1, map.size());
+        assertEquals("E", map.get(five));
+    }
+
+    /**
+     * Bulk removals through each view remove exactly the matching
+     * mappings, preserving the order and lookup of the survivors
+     */
+    public void testViewBulkRemovals() {
+        final int n = 1000;
+        CopyOnWriteHashMap<Integer, String> map = new CopyOnWriteHashMap<>();
+        for (int i = 0; i < n; ++i)
+            map.put(i, "v" + i);
+        assertFalse(map.keySet().removeIf(k -> k < 0));
+        assertFalse(map.keySet().removeAll(List.of(-1, n)));
+        assertTrue(map.keySet().removeIf(k -> k % 2 == 0));
+        assertTrue(map.keySet().removeAll(List.of(1, 3, n)));
+        assertTrue(map.values().retainAll(List.of("v5", "v7", "v9", "v11")));
+        assertEquals(List.of(5, 7, 9, 11), new ArrayList<>(map.keySet()));
+        assertTrue(map.values().removeIf(v -> v.equals("v7")));
+        assertTrue(map.values().removeAll(List.of("v9")));
+        assertTrue(map.entrySet().removeAll(List.of(Map.entry(5, "v5"))));
+        assertFalse(map.entrySet().removeIf(e -> e.getValue().equals("v0")));
+        assertEquals(Map.of(11, "v11"), map);
+        assertTrue(map.entrySet().retainAll(List.of()));
+        assertTrue(map.isEmpty());
+        for (int i = 0; i < n; ++i)
+            map.put(i, "w" + i);
+        assertTrue(map.entrySet().removeIf(e -> e.getKey() >= 10));
+        for (int i = 0; i < n; ++i)
+            assertEquals((i < 10) ? "w" + i : null, map.get(i));
+        assertNull(map.put(n, "x"));
+        assertEquals(11, map.size());
+    }
+
+    /**
+     * A bulk removal filter that modifies the map causes
+     * ConcurrentModificationException, without removing mappings
+     */
+    public void testViewBulkRemovals_CME() {
+        CopyOnWriteHashMap<Integer, String> map = map5();
+        try {
+            map.keySet().removeIf(k -> map.put(six, "F") == null);
+            shouldThrow();
+        } catch (ConcurrentModificationException success) {}
+        assertEquals(6, map.size());
+    }
+
+    /**
+     * Bulk removals throw NullPointerException given null arguments
+     */
+    public void testViewBulkRemovals_NPE() {
+        CopyOnWriteHashMap<Integer, String> map = map5();
+        assertThrows(
+            NullPointerException.class,
+            () -> map.keySet().removeAll(null),
+            () -> map.keySet().retainAll(null),
+            () -> map.keySet().removeIf(null),
+            () -> map.values().removeAll(null),
+            () -> map.values().retainAll(null),
+            () -> map.values().removeIf(null),
+            () -> map.entrySet().removeAll(null),
+            () -> map.entrySet().retainAll(null),
+            () -> map.entrySet().removeIf(null));
+        assertEquals(5, map.size());
+    }
+
+    /**
+     * putAll adds all mappings, replacing existing ones
+     */
+    public void testPutAll() {
+        CopyOnWriteHashMap<Integer, String> map = map5();
+        Map<Integer, String> m = new HashMap<>();
+        for (int i = 0; i < SIZE; i++)
+            m.put(i, "v" + i);
+        map.putAll(m);
+        assertEquals(Math.max(SIZE, 6), map.size());
+        assertEquals("v1", map.get(one));
+        assertEquals(map, new CopyOnWriteHashMap<>(map));
+        assertEquals(map.hashCode(), new HashMap<>(map).hashCode());
+    }
+
+    /**
+     * Null arguments throw NullPointerException
+     */
+    public void testNullArguments() {
+        CopyOnWriteHashMap<Integer, String> map = map5();
+        assertThrows(
+            NullPointerException.class,
+            () -> map.get(null),
+            () -> map.containsKey(null),
+            () -> map.containsValue(null),
+            () -> map.put(null, "A"),
+            () -> map.put(one, null),
+            () -> map.putIfAbsent(null, "A"),
+            () -> map.remove(null),
+            () -> map.replace(null, "A"),
+            () -> map.replace(one, null, "A"),
+            () -> map.putAll(null),
+            () -> new CopyOnWriteHashMap<Integer, String>(null));
+        Map<Integer, String> m = new HashMap<>();
+        m.put(six, null);
+        assertThrows(NullPointerException.class, () -> map.putAll(m));
+        assertEquals(5, map.size());
+    }
+
+    /**
+     * A deserialized/reserialized map equals original, and preserves
+     * iteration order
+     */
+    public void testSerialization() throws Exception {
+        CopyOnWriteHashMap<Integer, String> x = map5();
+        x.remove(three);
+        x.put(three, "C");
+        CopyOnWriteHashMap<Integer, String> y = serialClone(x);
+        assertNotSame(x, y);
+        assertEquals(x.size(), y.size());
+        assertEquals(x, y);
+        assertEquals(x.toString(), y.toString());
+        y.put(six, "F");
+        assertEquals(6, y.size());
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.CopyOnWriteHashSet;
+
+import junit.framework.Test;
+
+public class CopyOnWriteHashSetTest extends JSR166TestCase {
+    public static void main(String[] args) {
+        main(suite(), args);
+    }
+    public static Test suite() {
+        class Implementation implements CollectionImplementation {
+            public Class<?> klazz() { return CopyOnWriteHashSet.class; }
+            public Set emptyCollection() { return new CopyOnWriteHashSet(); }
+            public Object makeElement(int i) { return i; }
+            public boolean isConcurrent() { return true; }
+            public boolean permitsNulls() { return false; }
+        }
+        return newTestSuite(
+                CopyOnWriteHashSetTest.class,
+                CollectionTest.testSuite(new Implementation()));
+    }
+
+    static CopyOnWriteHashSet<Integer> populatedSet(int n) {
+        CopyOnWriteHashSet<Integer> a = new CopyOnWriteHashSet<>();
+        assertTrue(a.isEmpty());
+        for (int i = 0; i < n; i++)
+            assertTrue(a.add(i));
+        assertEquals(n == 0, a.isEmpty());
+        assertEquals(n, a.size());
+        return a;
+    }
+
+    /**
+     * Default-constructed set is empty
+     */
+    public void testConstructor() {
+        CopyOnWriteHashSet a = new CopyOnWriteHashSet();
+        assertTrue(a.isEmpty());
+    }
+
+    /**
+     * Collection-constructed set holds all of its distinct elements
+     */
+    public void testConstructor3() {
+        List<Integer> ints = new ArrayList<>();
+        for (int i = 0; i < SIZE; ++i) {
+            ints.add(i);
+            ints.add(i);
+        }
+        CopyOnWriteHashSet<Integer> a = new CopyOnWriteHashSet<>(ints);
+        assertEquals(SIZE, a.size());
+        for (int i = 0; i < SIZE; ++i)
+            assertTrue(a.contains(i));
+    }
+
+    /**
+     * add and addAll add only elements not already present
+     */
+    public void testAdd() {
+        CopyOnWriteHashSet<Integer> full = populatedSet(3);
+        assertFalse(full.add(one));
+        assertEquals(3, full.size());
+        assertTrue(full.addAll(Arrays.asList(three, four, one)));
+        assertEquals(5, full.size());
+        assertFalse(full.addAll(Arrays.asList(three, four, one)));
+        assertEquals(5, full.size());
+    }
+
+    /**
+     * contains and remove work for large sets
+     */
+    public void testLargeSet() {
+        final int n = 10000;
+        CopyOnWriteHashSet<String> set = new CopyOnWriteHashSet<>();
+        List<String> elements = new ArrayList<>();
+        for (int i = 0; i < n; ++i)
+            elements.add("s" + i);
+        assertTrue(set.addAll(elements));
+        assertEquals(n, set.size());
+        for (int i = 0; i < n; i += 3)
+            assertTrue(set.remove("s" + i));
+        for (int i = 0; i < n; ++i)
+            assertEquals(i % 3 != 0, set.contains("s" + i));
+    }
+
+    /**
+     * removeAll and retainAll remove exactly the matching elements,
+     * preserving the order of the survivors
+     */
+    public void testRemoveAllAndRetainAll() {
+        CopyOnWriteHashSet<Integer> set = populatedSet(SIZE);
+        assertFalse(set.removeAll(List.of(-1, SIZE)));
+        assertFalse(set.retainAll(set));
+        List<Integer> odds = new ArrayList<>(), evens = new ArrayList<>();
+        for (int i = 0; i < SIZE; ++i)
+            ((i % 2 == 0) ? evens : odds).add(i);
+        assertTrue(set.removeAll(Set.copyOf(evens)));
+        assertEquals(odds, new ArrayList<>(set));
+        assertTrue(set.retainAll(List.of(1, 3, SIZE)));
+        assertEquals(List.of(1, 3), new ArrayList<>(set));
+        assertFalse(set.contains(5));
+        assertTrue(set.add(5));
+        assertTrue(set.retainAll(List.of()));
+        assertTrue(set.isEmpty());
+        assertThrows(
+            NullPointerException.class,
+            () -> set.removeAll(null),
+            () -> set.retainAll(null),
+            () -> set.removeIf(null));
+    }
+
+    /**
+     * Iteration follows insertion order, over a snapshot
+     */
+    public void testIterator() {
+        CopyOnWriteHashSet<Integer> set = new CopyOnWriteHashSet<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = SIZE; i > 0; --i) {
+            set.add(i * 31);
+            expected.add(i * 31);
+        }
+        Iterator<Integer> it = set.iterator();
+        set.clear();
+        List<Integer> seen = new ArrayList<>();
+        while (it.hasNext())
+            seen.add(it.next());
+        assertEquals(expected, seen);
+        assertTrue(set.isEmpty());
+    }
+
+    /**
+     * iterator remove writes through to the set
+     */
+    public void testIteratorRemove() {
+        CopyOnWriteHashSet<Integer> set = populatedSet(5);
+        Iterator<Integer> it = set.iterator();
+        it.next();
+        it.remove();
+        assertEquals(4, set.size());
+        assertFalse(set.contains(0));
+        assertTrue(set.removeIf(x -> x > 2));
+        assertEquals(Set.of(1, 2), set);
+    }
+
+    /**
+     * toArray and spliterator return elements in insertion order
+     */
+    public void testToArrayAndSpliterator() {
+        CopyOnWriteHashSet<Integer> set = populatedSet(SIZE);
+        Integer[] expected = new Integer[SIZE];
+        for (int i = 0; i < SIZE; ++i)
+            expected[i] = i;
+        assertTrue(Arrays.equals(expected, set.toArray()));
+        assertTrue(Arrays.equals(expected, set.toArray(new Integer[0])));
+        Spliterator<Integer> s = set.spliterator();
+        assertTrue(s.hasCharacteristics(Spliterator.DISTINCT));
+        assertTrue(s.hasCharacteristics(Spliterator.NONNULL));
+        assertEquals(SIZE, s.getExactSizeIfKnown());
+    }
+
+    /**
+     * Null elements are rejected
+     */
+    public void testNulls() {
+        CopyOnWriteHashSet<Integer> set = populatedSet(3);
+        assertThrows(
+            NullPointerException.class,
+            () -> set.add(null),
+            () -> set.contains(null),
+            () -> set.remove(null),
+            () -> set.addAll(Arrays.asList(four, null)));
+        assertEquals(3, set.size());
+    }
+
+    /**
+     * Sets with equal elements are equal, regardless of order
+     */
+    public void testEquals() {
+        CopyOnWriteHashSet<Integer> a = populatedSet(3);
+        CopyOnWriteHashSet<Integer> b = new CopyOnWriteHashSet<>();
+        b.add(2);
+        b.add(1);
+        b.add(0);
+        assertEquals(a, b);
+        assertEquals(b, a);
+        assertEquals(a.hashCode(), b.hashCode());
+        b.add(3);
+        assertFalse(a.equals(b));
+        assertFalse(b.equals(a));
+    }
+
+    /**
+     * A deserialized/reserialized set equals original
+     */
+    public void testSerialization() throws Exception {
+        Set x = populatedSet(SIZE);
+        Set y = serialClone(x);
+
+        assertNotSame(y, x);
+        assertEquals(x.size(), y.size());
+        assertEquals(x.toString(), y.toString());
+        assertTrue(Arrays.equals(x.toArray(), y.toArray()));
+        assertEquals(x, y);
+        assertEquals(y, x);
+    }
+}
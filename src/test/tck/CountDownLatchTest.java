@@ -193,4 +193,75 @@ public class CountDownLatchTest extends JSR166TestCase {
         assertTrue(s.toString().contains("Count = 0"));
     }
 
+    /**
+     * A latch with a large count is released only after that many
+     * countDowns by many threads, and counting down further has no
+     * effect
+     */
+    public void testLargeCount() throws InterruptedException {
+        final int nThreads = 16, perThread = 100;
+        final CountDownLatch l = new CountDownLatch(nThreads * perThread);
+        assertEquals(nThreads * perThread, l.getCount());
+        Thread waiter = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws InterruptedException {
+                l.await();
+                assertEquals(0, l.getCount());
+            }});
+        for (int i = 0; i < nThreads; i++) {
+            newStartedThread(new CheckedRunnable() {
+                public void realRun() {
+                    for (int j = 0; j < perThread; j++) {
+                        assertTrue(l.getCount() > 0);
+                        l.countDown();
+                    }
+                }});
+        }
+        awaitTermination(waiter);
+        assertEquals(0, l.getCount());
+        l.countDown();
+        assertEquals(0, l.getCount());
+        assertTrue(l.toString().contains("Count = 0"));
+    }
+
+    /**
+     * A latch with a large count counted down by a single thread
+     * is released exactly when the count reaches zero
+     */
+    public void testLargeCount_SingleThread() throws InterruptedException {
+        final int n = 1000;
+        final CountDownLatch l = new CountDownLatch(n);
+        for (int i = n; i > 1; i--) {
+            assertEquals(i, l.getCount());
+            l.countDown();
+            assertFalse(l.await(0L, MILLISECONDS));
+        }
+        l.countDown();
+        assertTrue(l.await(0L, MILLISECONDS));
+        assertEquals(0, l.getCount());
+    }
+
+    /**
+     * Spinning is initially disabled; getSpinLimit returns the value
+     * set by setSpinLimit, which rejects negative values; awaiting
+     * threads are released when spinning is enabled
+     */
+    public void testSpinLimit() throws InterruptedException {
+        final CountDownLatch l = new CountDownLatch(2);
+        assertEquals(0, l.getSpinLimit());
+        l.setSpinLimit(1 << 10);
+        assertEquals(1 << 10, l.getSpinLimit());
+        try {
+            l.setSpinLimit(-1);
+            shouldThrow();
+        } catch (IllegalArgumentException success) {}
+        assertEquals(1 << 10, l.getSpinLimit());
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws InterruptedException {
+                l.await();
+            }});
+        l.countDown();
+        l.countDown();
+        awaitTermination(t);
+        assertEquals(0, l.getCount());
+    }
 }
@@ -14,6 +14,7 @@ import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import junit.framework.Test;
 import junit.framework.TestSuite;
@@ -459,4 +460,127 @@ public class CyclicBarrierTest extends JSR166TestCase {
             assertEquals(0, barrier.getNumberWaiting());
         }
     }
+
+    /** A number of parties large enough to use a combining tree */
+    static final int MANY = 64;
+
+    /**
+     * A barrier with many parties trips repeatedly, running its
+     * action once per trip and returning distinct arrival indices,
+     * with zero returned to the thread running the action
+     */
+    public void testManyParties() throws Exception {
+        final int cycles = 20;
+        final AtomicInteger trips = new AtomicInteger();
+        final AtomicIntegerArray seen = new AtomicIntegerArray(cycles * MANY);
+        final ThreadLocal<Boolean> ranAction = new ThreadLocal<>();
+        final CyclicBarrier barrier = new CyclicBarrier(MANY, new Runnable() {
+            public void run() {
+                trips.getAndIncrement();
+                ranAction.set(Boolean.TRUE);
+            }});
+        Thread[] ts = new Thread[MANY];
+        for (int j = 0; j < MANY; j++) {
+            ts[j] = newStartedThread(new CheckedRunnable() {
+                public void realRun() throws Exception {
+                    for (int i = 0; i < cycles; i++) {
+                        ranAction.remove();
+                        int index = barrier.await();
+                        assertTrue(index >= 0 && index < MANY);
+                        assertEquals(index == 0, ranAction.get() != null);
+                        assertEquals(i + 1, trips.get());
+                        assertEquals(1, seen.incrementAndGet(i * MANY + index));
+                    }
+                }});
+        }
+        for (Thread t : ts)
+            awaitTermination(t);
+        assertEquals(cycles, trips.get());
+        for (int i = 0; i < cycles * MANY; i++)
+            assertEquals(1, seen.get(i));
+        assertFalse(barrier.isBroken());
+        assertEquals(0, barrier.getNumberWaiting());
+    }
+
+    /**
+     * Reset of a barrier with many parties causes all waiting
+     * threads to throw BrokenBarrierException, and the barrier can
+     * then be reused
+     */
+    public void testManyParties_Reset() throws Exception {
+        final CyclicBarrier barrier = new CyclicBarrier(MANY);
+        Thread[] ts = new Thread[MANY - 1];
+        for (int j = 0; j < ts.length; j++) {
+            ts[j] = new ThreadShouldThrow(BrokenBarrierException.class) {
+                public void realRun() throws Exception {
+                    barrier.await();
+                }};
+            ts[j].start();
+        }
+        awaitNumberWaiting(barrier, MANY - 1);
+        barrier.reset();
+        for (Thread t : ts)
+            awaitTermination(t);
+        assertFalse(barrier.isBroken());
+        assertEquals(0, barrier.getNumberWaiting());
+
+        for (int j = 0; j < ts.length; j++)
+            ts[j] = newStartedThread(new CheckedRunnable() {
+                public void realRun() throws Exception {
+                    barrier.await();
+                }});
+        awaitNumberWaiting(barrier, MANY - 1);
+        barrier.await();
+        for (Thread t : ts)
+            awaitTermination(t);
+    }
+
+    /**
+     * A timeout in a barrier with many parties breaks the barrier,
+     * and an interrupt of a waiting thread does as well
+     */
+    public void testManyParties_TimeoutAndInterrupt() throws Exception {
+        final CyclicBarrier barrier = new CyclicBarrier(MANY);
+        Thread[] ts = new Thread[MANY / 2];
+        for (int j = 0; j < ts.length; j++) {
+            ts[j] = new ThreadShouldThrow(BrokenBarrierException.class) {
+                public void realRun() throws Exception {
+                    barrier.await();
+                }};
+            ts[j].start();
+        }
+        awaitNumberWaiting(barrier, ts.length);
+        long startTime = System.nanoTime();
+        try {
+            barrier.await(timeoutMillis(), MILLISECONDS);
+            shouldThrow();
+        } catch (TimeoutException success) {}
+        assertTrue(millisElapsedSince(startTime) >= timeoutMillis());
+        for (Thread t : ts)
+            awaitTermination(t);
+        assertTrue(barrier.isBroken());
+        assertEquals(0, barrier.getNumberWaiting());
+
+        barrier.reset();
+        final CountDownLatch pleaseInterrupt = new CountDownLatch(1);
+        Thread t1 = newStartedThread(new CheckedInterruptedRunnable() {
+            public void realRun() throws Exception {
+                pleaseInterrupt.countDown();
+                barrier.await();
+            }});
+        for (int j = 0; j < ts.length; j++) {
+            ts[j] = new ThreadShouldThrow(BrokenBarrierException.class) {
+                public void realRun() throws Exception {
+                    barrier.await();
+                }};
+            ts[j].start();
+        }
+        await(pleaseInterrupt);
+        awaitNumberWaiting(barrier, ts.length + 1);
+        t1.interrupt();
+        awaitTermination(t1);
+        for (Thread t : ts)
+            awaitTermination(t);
+        assertTrue(barrier.isBroken());
+    }
 }
@@ -11,6 +11,7 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Exchanger;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import junit.framework.Test;
 import junit.framework.TestSuite;
@@ -150,4 +151,154 @@ public class ExchangerTest extends JSR166TestCase {
         awaitTermination(t3);
     }
 
+    /**
+     * exchangeAll exchanges elements across two threads, up to the
+     * shorter array length, and leaves other elements unchanged
+     */
+    public void testExchangeAll() {
+        final Exchanger<Integer> e = new Exchanger<>();
+        Thread t1 = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws InterruptedException {
+                Integer[] a = { one, two, three };
+                assertEquals(2, e.exchangeAll(a));
+                assertSame(four, a[0]);
+                assertNull(a[1]);
+                assertSame(three, a[2]);
+            }});
+        Thread t2 = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws Exception {
+                Integer[] a = { four, null };
+                assertEquals(2, e.exchangeAll(a, LONG_DELAY_MS, MILLISECONDS));
+                assertSame(one, a[0]);
+                assertSame(two, a[1]);
+            }});
+
+        awaitTermination(t1);
+        awaitTermination(t2);
+    }
+
+    /**
+     * exchangeAll paired with exchange exchanges the first element
+     */
+    public void testExchangeAll_Exchange() {
+        final Exchanger<Integer> e = new Exchanger<>();
+        Thread t1 = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws InterruptedException {
+                Integer[] a = { one, two };
+                assertEquals(1, e.exchangeAll(a));
+                assertSame(three, a[0]);
+                assertSame(two, a[1]);
+                a[0] = null;
+                assertEquals(1, e.exchangeAll(a));
+                assertSame(four, a[0]);
+            }});
+        Thread t2 = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws InterruptedException {
+                assertSame(one, e.exchange(three));
+                assertNull(e.exchange(four));
+            }});
+
+        awaitTermination(t1);
+        awaitTermination(t2);
+    }
+
+    /**
+     * exchangeAll throws IllegalArgumentException given an empty
+     * array, and NullPointerException given null
+     */
+    public void testExchangeAll_IAE() throws Exception {
+        final Exchanger<Integer> e = new Exchanger<>();
+        try {
+            e.exchangeAll(new Integer[0]);
+            shouldThrow();
+        } catch (IllegalArgumentException success) {}
+        try {
+            e.exchangeAll(new Integer[0], LONG_DELAY_MS, MILLISECONDS);
+            shouldThrow();
+        } catch (IllegalArgumentException success) {}
+        try {
+            e.exchangeAll(null);
+            shouldThrow();
+        } catch (NullPointerException success) {}
+    }
+
+    /**
+     * timeout during wait for timed exchangeAll throws
+     * TimeoutException and leaves the array unchanged
+     */
+    public void testExchangeAll_TimeoutException() {
+        final Exchanger<Integer> e = new Exchanger<>();
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws Exception {
+                Integer[] a = { one };
+                long startTime = System.nanoTime();
+                try {
+                    e.exchangeAll(a, timeoutMillis(), MILLISECONDS);
+                    shouldThrow();
+                } catch (TimeoutException success) {}
+                assertTrue(millisElapsedSince(startTime) >= timeoutMillis());
+                assertSame(one, a[0]);
+            }});
+
+        awaitTermination(t);
+    }
+
+    /**
+     * interrupt during wait for exchangeAll throws InterruptedException
+     */
+    public void testExchangeAll_InterruptedException() {
+        final Exchanger<Integer> e = new Exchanger<>();
+        final CountDownLatch threadStarted = new CountDownLatch(1);
+        Thread t = newStartedThread(new CheckedInterruptedRunnable() {
+            public void realRun() throws InterruptedException {
+                threadStarted.countDown();
+                e.exchangeAll(new Integer[] { one });
+            }});
+
+        await(threadStarted);
+        t.interrupt();
+        awaitTermination(t);
+    }
+
+    /**
+     * Many threads exchanging batches and single items concurrently
+     * all receive only items presented by others, and preserve the
+     * total multiset of items
+     */
+    public void testExchangeAll_Concurrent() throws InterruptedException {
+        final Exchanger<Integer> e = new Exchanger<>();
+        final int nThreads = 4, rounds = 1000, batch = 8;
+        final long[] sums = new long[nThreads];
+        final AtomicInteger remaining = new AtomicInteger(nThreads * rounds);
+        Thread[] threads = new Thread[nThreads];
+        long expected = 0L;
+        for (int i = 0; i < nThreads; i++) {
+            final int k = i;
+            final Integer[] a = new Integer[batch];
+            for (int j = 0; j < batch; j++) {
+                a[j] = k * batch + j;
+                expected += a[j];
+            }
+            threads[i] = newStartedThread(new CheckedRunnable() {
+                public void realRun() throws InterruptedException {
+                    while (remaining.getAndDecrement() > 0) {
+                        try {
+                            assertEquals(batch, e.exchangeAll(
+                                a, timeoutMillis(), MILLISECONDS));
+                        } catch (TimeoutException partnerFinished) {}
+                    }
+                    long s = 0L;
+                    for (Integer x : a)
+                        s += x;
+                    sums[k] = s;
+                }});
+        }
+        for (Thread t : threads)
+            awaitTermination(t);
+        long total = 0L;
+        for (long s : sums)
+            total += s;
+        assertEquals(expected, total);
+    }
+
 }
@@ -20,8 +20,10 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import junit.framework.Test;
 import junit.framework.TestSuite;
@@ -68,6 +70,83 @@ public class ExecutorsTest extends JSR166TestCase {
         } catch (NullPointerException success) {}
     }
 
+    /**
+     * A newThreadPerTaskExecutor runs each task in a new thread
+     * created by the given ThreadFactory
+     */
+    public void testNewThreadPerTaskExecutor1() throws Exception {
+        final AtomicInteger created = new AtomicInteger();
+        final ExecutorService e = Executors.newThreadPerTaskExecutor(
+            r -> { created.getAndIncrement(); return new Thread(r); });
+        try (PoolCleaner cleaner = cleaner(e)) {
+            final CountDownLatch running = new CountDownLatch(3);
+            final CountDownLatch done = new CountDownLatch(1);
+            for (int i = 0; i < 3; i++)
+                e.execute(new CheckedRunnable() {
+                    public void realRun() {
+                        running.countDown();
+                        await(done);
+                    }});
+            await(running);
+            assertEquals(3, created.get());
+            done.countDown();
+            assertSame(one, e.submit(() -> one).get(LONG_DELAY_MS, MILLISECONDS));
+            assertEquals(4, created.get());
+        }
+    }
+
+    /**
+     * A newThreadPerTaskExecutor with null ThreadFactory throws NPE
+     */
+    public void testNewThreadPerTaskExecutor2() {
+        try {
+            ExecutorService e = Executors.newThreadPerTaskExecutor(null);
+            shouldThrow();
+        } catch (NullPointerException success) {}
+    }
+
+    /**
+     * A newThreadPerTaskExecutor terminates when shut down and all
+     * tasks complete, and rejects tasks after shutdown
+     */
+    public void testNewThreadPerTaskExecutor3() throws Exception {
+        final ExecutorService e =
+            Executors.newThreadPerTaskExecutor(new SimpleThreadFactory());
+        final CountDownLatch done = new CountDownLatch(1);
+        e.execute(new CheckedRunnable() {
+            public void realRun() { await(done); }});
+        e.shutdown();
+        assertTrue(e.isShutdown());
+        assertFalse(e.isTerminated());
+        assertFalse(e.awaitTermination(timeoutMillis(), MILLISECONDS));
+        try {
+            e.execute(new NoOpRunnable());
+            shouldThrow();
+        } catch (RejectedExecutionException success) {}
+        done.countDown();
+        assertTrue(e.awaitTermination(LONG_DELAY_MS, MILLISECONDS));
+        assertTrue(e.isTerminated());
+    }
+
+    /**
+     * shutdownNow of a newThreadPerTaskExecutor interrupts running
+     * tasks and returns an empty list
+     */
+    public void testNewThreadPerTaskExecutor4() throws Exception {
+        final ExecutorService e =
+            Executors.newThreadPerTaskExecutor(new SimpleThreadFactory());
+        final CountDownLatch running = new CountDownLatch(1);
+        e.execute(new CheckedInterruptedRunnable() {
+            public void realRun() throws InterruptedException {
+                running.countDown();
+                Thread.sleep(LONG_DELAY_MS);
+            }});
+        await(running);
+        assertTrue(e.shutdownNow().isEmpty());
+        assertTrue(e.awaitTermination(LONG_DELAY_MS, MILLISECONDS));
+        assertTrue(e.isTerminated());
+    }
+
     /**
      * A new SingleThreadExecutor can execute runnables
      */
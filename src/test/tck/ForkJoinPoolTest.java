@@ -13,7 +13,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
@@ -408,6 +410,143 @@ public class ForkJoinPoolTest extends JSR166TestCase {
         }
     }
 
+    /**
+     * The default factory places all workers in locality group zero
+     */
+    public void testDefaultLocalityGroup() throws Throwable {
+        ForkJoinPool p = new ForkJoinPool(1);
+        try (PoolCleaner cleaner = cleaner(p)) {
+            ForkJoinTask<Integer> f = p.submit(() ->
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory.localityGroup(
+                    (ForkJoinWorkerThread) Thread.currentThread()));
+            assertEquals(0, (int) f.get());
+        }
+    }
+
+    /**
+     * A factory's localityGroup is invoked by each worker when it
+     * starts, and tasks complete with workers in different groups
+     */
+    public void testLocalityGroups() throws Throwable {
+        final Set<Thread> started = ConcurrentHashMap.newKeySet();
+        final AtomicInteger seq = new AtomicInteger();
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory =
+            new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+                public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+                    return ForkJoinPool.defaultForkJoinWorkerThreadFactory
+                        .newThread(pool);
+                }
+                public int localityGroup(ForkJoinWorkerThread worker) {
+                    assertSame(Thread.currentThread(), worker);
+                    started.add(worker);
+                    return seq.getAndIncrement() & 1;
+                }};
+        ForkJoinPool p = new ForkJoinPool(4, factory, null, false);
+        try (PoolCleaner cleaner = cleaner(p)) {
+            assertEquals(6765, (int) p.invoke(new FibTask(20)));
+            assertFalse(started.isEmpty());
+        }
+    }
+
+    /**
+     * exportTrace appends nothing unless tracing is enabled, else
+     * well-formed events, and throws NullPointerException given null
+     */
+    public void testExportTrace() throws Throwable {
+        ForkJoinPool p = new ForkJoinPool(2);
+        try (PoolCleaner cleaner = cleaner(p)) {
+            assertEquals(6765, (int) p.invoke(new FibTask(20)));
+            StringBuilder sb = new StringBuilder();
+            p.exportTrace(sb);
+            if (System.getProperty(
+                    "java.util.concurrent.ForkJoinPool.traceCapacity") == null)
+                assertEquals(0, sb.length());
+            else {
+                for (String line : sb.toString().split("\n")) {
+                    String[] f = line.split(" ");
+                    assertTrue(f.length >= 4);
+                    assertTrue(Integer.parseInt(f[3]) >= 0);
+                }
+            }
+            try {
+                p.exportTrace(null);
+                shouldThrow();
+            } catch (NullPointerException success) {}
+        }
+    }
+
+    /**
+     * Completed submit(ForkJoinTask, priority) and submit(Callable,
+     * priority) return results, for all priorities
+     */
+    public void testSubmitWithPriority() throws Throwable {
+        ForkJoinPool p = new ForkJoinPool(2);
+        try (PoolCleaner cleaner = cleaner(p)) {
+            for (int i = 0; i <= ForkJoinPool.MAX_PRIORITY; i++) {
+                ForkJoinTask<Integer> f = p.submit(new FibTask(8), i);
+                assertEquals(21, (int) f.get());
+                assertSame(TEST_STRING, p.submit(new StringTask(), i).get());
+            }
+        }
+    }
+
+    /**
+     * submit with priority throws IllegalArgumentException given an
+     * out of range priority, and NullPointerException given a null task
+     */
+    public void testSubmitWithPriority_Exceptions() {
+        ForkJoinPool p = new ForkJoinPool(1);
+        try (PoolCleaner cleaner = cleaner(p)) {
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> p.submit(new FibTask(8), -1),
+                () -> p.submit(new FibTask(8), ForkJoinPool.MAX_PRIORITY + 1),
+                () -> p.getQueuedSubmissionCount(-1),
+                () -> p.getQueuedSubmissionCount(ForkJoinPool.MAX_PRIORITY + 1));
+            assertThrows(
+                NullPointerException.class,
+                () -> p.submit((ForkJoinTask<?>) null, 1),
+                () -> p.submit((Callable<?>) null, 1));
+        }
+    }
+
+    /**
+     * Tasks submitted with a positive priority run before most
+     * previously queued tasks with priority zero, and queued
+     * submissions are counted by priority
+     */
+    public void testSubmitWithPriority_Order() throws Throwable {
+        final int n = 100;
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        ForkJoinPool p = new ForkJoinPool(1);
+        try (PoolCleaner cleaner = cleaner(p)) {
+            p.execute(new CheckedRunnable() {
+                public void realRun() {
+                    started.countDown();
+                    await(release);
+                }});
+            await(started);
+            for (int i = 0; i < n; i++) {
+                final Integer x = i;
+                p.submit(ForkJoinTask.adapt(() -> order.add(x)));
+            }
+            p.submit(ForkJoinTask.adapt(() -> order.add(-1)), 1);
+            p.submit(ForkJoinTask.adapt(() -> order.add(-2)), 2);
+            assertEquals(n, p.getQueuedSubmissionCount(0));
+            assertEquals(1, p.getQueuedSubmissionCount(1));
+            assertEquals(1, p.getQueuedSubmissionCount(2));
+            assertEquals(n + 2, p.getQueuedSubmissionCount());
+            release.countDown();
+            assertTrue(p.awaitQuiescence(LONG_DELAY_MS, MILLISECONDS));
+            assertEquals(n + 2, order.size());
+            assertTrue(order.indexOf(-1) < n / 2);
+            assertTrue(order.indexOf(-2) < n / 2);
+            assertEquals(0, p.getQueuedSubmissionCount());
+        }
+    }
+
     // FJ Versions of AbstractExecutorService tests
 
     /**
@@ -0,0 +1,390 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinTaskScope;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+public class ForkJoinTaskScopeTest extends JSR166TestCase {
+    public static void main(String[] args) {
+        main(suite(), args);
+    }
+    public static Test suite() {
+        return new TestSuite(ForkJoinTaskScopeTest.class);
+    }
+
+    public static final class FJException extends RuntimeException {
+        FJException() { super(); }
+    }
+
+    /**
+     * Returns a callable that forks a binary tree of the given depth
+     * of tasks in the scope, each counting in the given counter.
+     */
+    static Callable<Integer> tree(ForkJoinTaskScope<Integer> scope,
+                                  AtomicInteger count, int depth) {
+        return () -> {
+            count.getAndIncrement();
+            if (depth > 0) {
+                scope.fork(tree(scope, count, depth - 1));
+                scope.fork(tree(scope, count, depth - 1));
+            }
+            return depth;
+        };
+    }
+
+    /**
+     * join waits for all tasks, including those forked by other
+     * tasks, and reports no failure if none occurred
+     */
+    public void testJoin() throws Exception {
+        ForkJoinPool p = new ForkJoinPool(2);
+        try (PoolCleaner cleaner = cleaner(p)) {
+            AtomicInteger count = new AtomicInteger();
+            ForkJoinTaskScope<Integer> scope =
+                ForkJoinTaskScope.cancelOnFailure();
+            ForkJoinTask<Integer> root = p.submit(() -> {
+                scope.fork(tree(scope, count, 6));
+                scope.join();
+                return count.get();
+            });
+            assertEquals(127, (int) root.get(LONG_DELAY_MS, MILLISECONDS));
+            assertEquals(127, count.get());
+            assertNull(scope.exception());
+            scope.throwIfFailed();
+            assertFalse(scope.isShutdown());
+        }
+    }
+
+    /**
+     * Returns a callable that forks a chain of the given length of
+     * tasks in the scope, each forking its successor.
+     */
+    static Callable<Integer> chain(ForkJoinTaskScope<Integer> scope,
+                                   AtomicInteger count, int length) {
+        return () -> {
+            count.getAndIncrement();
+            if (length > 1)
+                scope.fork(chain(scope, count, length - 1));
+            return length;
+        };
+    }
+
+    /**
+     * Concurrent joins each wait for all tasks of long chains, each
+     * forked while joins are in progress
+     */
+    public void testConcurrentJoinsOfChains() throws Exception {
+        final int length = 10000, chains = 4;
+        ForkJoinPool p = new ForkJoinPool(2);
+        try (PoolCleaner cleaner = cleaner(p)) {
+            AtomicInteger count = new AtomicInteger();
+            ForkJoinTaskScope<Integer> scope =
+                ForkJoinTaskScope.cancelOnFailure();
+            for (int i = 0; i < chains; i++)
+                scope.fork(chain(scope, count, length));
+            List<ForkJoinTask<Integer>> joins = new ArrayList<>();
+            for (int i = 0; i < 2; i++)
+                joins.add(p.submit(() -> {
+                    scope.join();
+                    return count.get();
+                }));
+            scope.join();
+            assertEquals(chains * length, count.get());
+            for (ForkJoinTask<Integer> j : joins)
+                assertEquals(chains * length,
+                             (int) j.get(LONG_DELAY_MS, MILLISECONDS));
+            scope.throwIfFailed();
+        }
+    }
+
+    /**
+     * join from an external thread waits for tasks forked in the
+     * common pool, whose results are then available
+     */
+    public void testJoinExternal() throws Exception {
+        ForkJoinTaskScope<Integer> scope = ForkJoinTaskScope.cancelOnFailure();
+        List<ForkJoinTask<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final int k = i;
+            tasks.add(scope.fork(() -> k));
+        }
+        assertSame(scope, scope.join());
+        for (int i = 0; i < 20; i++) {
+            ForkJoinTask<Integer> t = tasks.get(i);
+            assertTrue(t.isDone());
+            assertFalse(t.isCompletedAbnormally());
+            assertEquals(i, (int) t.join());
+        }
+        scope.throwIfFailed();
+    }
+
+    /**
+     * On the first failure in a cancelOnFailure scope, tasks that
+     * have not started are cancelled and never run
+     */
+    public void testCancelOnFailure() throws Exception {
+        ForkJoinPool p = new ForkJoinPool(1);
+        try (PoolCleaner cleaner = cleaner(p)) {
+            ForkJoinTaskScope<Integer> scope =
+                ForkJoinTaskScope.cancelOnFailure();
+            AtomicInteger runs = new AtomicInteger();
+            FJException fail = new FJException();
+            List<ForkJoinTask<Integer>> others = new ArrayList<>();
+            p.submit(() -> {
+                // queued behind the only worker, which runs this task
+                for (int i = 0; i < 10; i++)
+                    others.add(scope.fork(() -> runs.incrementAndGet()));
+                ForkJoinTask<Integer> failer =
+                    scope.fork(() -> { throw fail; });
+                assertTrue(failer.tryUnfork());
+                failer.quietlyInvoke();
+                assertFalse(failer.isCancelled());
+                assertSame(fail, failer.getException());
+            }).get(LONG_DELAY_MS, MILLISECONDS);
+            scope.join();
+            assertTrue(scope.isShutdown());
+            assertSame(fail, scope.exception());
+            try {
+                scope.throwIfFailed();
+                shouldThrow();
+            } catch (ExecutionException success) {
+                assertSame(fail, success.getCause());
+            }
+            assertEquals(0, runs.get());
+            for (ForkJoinTask<Integer> t : others)
+                assertTrue(t.isCancelled());
+        }
+    }
+
+    /**
+     * Failures of tasks after shutdown are not recorded
+     */
+    public void testFailureAfterShutdown() {
+        ForkJoinTaskScope<Integer> scope = ForkJoinTaskScope.cancelOnFailure();
+        CountDownLatch started = new CountDownLatch(1);
+        ForkJoinTask<Integer> t = scope.fork(() -> {
+            started.countDown();
+            while (!scope.isShutdown())
+                Thread.yield();
+            throw new FJException();
+        });
+        await(started);
+        scope.shutdown();
+        scope.join();
+        assertTrue(t.isDone());
+        assertNull(scope.exception());
+    }
+
+    /**
+     * The first task to complete in a cancelOnSuccess scope provides
+     * the result, and running tasks observe shutdown, but are not
+     * cancelled
+     */
+    public void testCancelOnSuccess() throws Exception {
+        ForkJoinTaskScope<Integer> scope = ForkJoinTaskScope.cancelOnSuccess();
+        CountDownLatch started = new CountDownLatch(1);
+        ForkJoinTask<Integer> looper = scope.fork(() -> {
+            started.countDown();
+            while (!scope.isShutdown())
+                Thread.yield();
+            return 2;
+        });
+        await(started);
+        ForkJoinTask<Integer> winner = scope.fork(() -> 1);
+        assertEquals(1, (int) scope.join().result());
+        assertTrue(scope.isShutdown());
+        assertTrue(looper.isDone());
+        assertFalse(looper.isCancelled());
+        assertEquals(2, (int) looper.join());
+        assertFalse(winner.isCancelled());
+        assertEquals(1, (int) winner.join());
+        assertNull(scope.exception());
+    }
+
+    /**
+     * Failures do not shut down a cancelOnSuccess scope, and result
+     * reports the first if no task succeeds
+     */
+    public void testCancelOnSuccess_AllFail() throws Exception {
+        ForkJoinTaskScope<Integer> scope = ForkJoinTaskScope.cancelOnSuccess();
+        FJException fail = new FJException();
+        for (int i = 0; i < 5; i++)
+            scope.fork(() -> { throw fail; });
+        scope.join();
+        assertFalse(scope.isShutdown());
+        assertSame(fail, scope.exception());
+        try {
+            scope.result();
+            shouldThrow();
+        } catch (ExecutionException success) {
+            assertSame(fail, success.getCause());
+        }
+    }
+
+    /**
+     * Failed tasks do not prevent a later success
+     */
+    public void testCancelOnSuccess_SomeFail() throws Exception {
+        ForkJoinTaskScope<String> scope = ForkJoinTaskScope.cancelOnSuccess();
+        scope.fork(() -> { throw new FJException(); }).quietlyJoin();
+        scope.fork(() -> TEST_STRING);
+        assertSame(TEST_STRING, scope.join().result());
+    }
+
+    /**
+     * Checked exceptions are recorded unwrapped, but tasks complete
+     * exceptionally as for adapted callables
+     */
+    public void testCheckedException() {
+        ForkJoinTaskScope<Integer> scope = ForkJoinTaskScope.cancelOnFailure();
+        Exception ex = new Exception();
+        ForkJoinTask<Integer> t = scope.fork(() -> { throw ex; });
+        scope.join();
+        assertSame(ex, scope.exception());
+        assertTrue(t.isCompletedAbnormally());
+        assertTrue(t.getException() instanceof RuntimeException);
+    }
+
+    /**
+     * result throws IllegalStateException for cancelOnFailure scopes,
+     * and if no task completed
+     */
+    public void testResult_ISE() {
+        ForkJoinTaskScope<Integer> s1 = ForkJoinTaskScope.cancelOnFailure();
+        s1.fork(() -> 1);
+        s1.join();
+        ForkJoinTaskScope<Integer> s2 = ForkJoinTaskScope.cancelOnSuccess();
+        assertThrows(
+            IllegalStateException.class,
+            () -> { try { s1.result(); }
+                catch (ExecutionException e) { threadUnexpectedException(e); } },
+            () -> { try { s2.join().result(); }
+                catch (ExecutionException e) { threadUnexpectedException(e); } });
+    }
+
+    /**
+     * Tasks forked after shutdown are cancelled and never run
+     */
+    public void testForkAfterShutdown() {
+        ForkJoinTaskScope<Integer> scope = ForkJoinTaskScope.cancelOnFailure();
+        scope.shutdown();
+        assertTrue(scope.isShutdown());
+        AtomicInteger runs = new AtomicInteger();
+        ForkJoinTask<Integer> t = scope.fork(() -> runs.incrementAndGet());
+        assertTrue(t.isCancelled());
+        scope.join();
+        assertEquals(0, runs.get());
+    }
+
+    /**
+     * close shuts down and waits for all tasks
+     */
+    public void testClose() {
+        ForkJoinTaskScope<Integer> scope;
+        ForkJoinTask<Integer> t;
+        CountDownLatch started = new CountDownLatch(1);
+        try (ForkJoinTaskScope<Integer> s =
+             ForkJoinTaskScope.cancelOnFailure()) {
+            scope = s;
+            t = s.fork(() -> {
+                started.countDown();
+                while (!s.isShutdown())
+                    Thread.yield();
+                return 1;
+            });
+            await(started);
+        }
+        assertTrue(scope.isShutdown());
+        assertTrue(t.isDone());
+    }
+
+    /**
+     * close does not return while a task is still running, even if
+     * it does not check for shutdown
+     */
+    public void testCloseWaitsForRunningTask() {
+        AtomicInteger finished = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        ForkJoinTask<Integer> t;
+        try (ForkJoinTaskScope<Integer> scope =
+             ForkJoinTaskScope.cancelOnFailure()) {
+            t = scope.fork(() -> {
+                started.countDown();
+                Thread.sleep(SHORT_DELAY_MS);
+                return finished.incrementAndGet();
+            });
+            await(started);
+        }
+        assertEquals(1, finished.get());
+        assertFalse(t.isCancelled());
+        assertEquals(1, (int) t.join());
+    }
+
+    /**
+     * join in a cancelOnSuccess scope waits for running tasks that
+     * lost to the winner, while cancelling those not yet started
+     */
+    public void testJoinWaitsForRunningLoser() throws Exception {
+        ForkJoinPool p = new ForkJoinPool(2);
+        try (PoolCleaner cleaner = cleaner(p)) {
+            AtomicInteger finished = new AtomicInteger();
+            CountDownLatch started = new CountDownLatch(1);
+            ForkJoinTaskScope<Integer> scope =
+                ForkJoinTaskScope.cancelOnSuccess();
+            List<ForkJoinTask<Integer>> slow = new ArrayList<>();
+            p.submit(() -> {
+                slow.add(scope.fork(() -> {
+                    started.countDown();
+                    Thread.sleep(SHORT_DELAY_MS);
+                    return 2 + finished.getAndIncrement();
+                }));
+                await(started); // stolen by the other worker
+                // queued behind the winner, so not yet started
+                ForkJoinTask<Integer> pending =
+                    scope.fork(() -> 3 + finished.getAndIncrement());
+                ForkJoinTask<Integer> winner = scope.fork(() -> 1);
+                assertTrue(winner.tryUnfork());
+                winner.invoke();
+                assertTrue(pending.isCancelled());
+            }).get(LONG_DELAY_MS, MILLISECONDS);
+            assertEquals(1, (int) scope.join().result());
+            assertEquals(1, finished.get());
+            assertFalse(slow.get(0).isCancelled());
+            assertEquals(2, (int) slow.get(0).join());
+        }
+    }
+
+    /**
+     * fork(null) throws NullPointerException
+     */
+    public void testFork_NPE() {
+        ForkJoinTaskScope<Integer> scope = ForkJoinTaskScope.cancelOnFailure();
+        assertThrows(NullPointerException.class,
+                     () -> scope.fork(null));
+    }
+
+    /**
+     * toString indicates shutdown state
+     */
+    public void testToString() {
+        ForkJoinTaskScope<Integer> scope = ForkJoinTaskScope.cancelOnFailure();
+        assertTrue(scope.toString().contains("[Open]"));
+        scope.shutdown();
+        assertTrue(scope.toString().contains("[Shutdown]"));
+    }
+}
@@ -565,6 +565,15 @@ public class JSR166TestCase extends TestCase {
                 "AtomicReferenceArray9Test",
                 "ExecutorCompletionService9Test",
                 "ForkJoinPool9Test",
+                "StripedReadWriteLockTest",
+                "CohortLockTest",
+                "ContentionProfileTest",
+                "CopyOnWriteHashMapTest",
+                "CopyOnWriteHashSetTest",
+                "SequenceLockTest",
+                "StripedSemaphoreTest",
+                "RateLimiterTest",
+                "ForkJoinTaskScopeTest",
             };
             addNamedTestClasses(suite, java9TestClassNames);
         }
@@ -791,4 +791,92 @@ public class PhaserTest extends JSR166TestCase {
         assertState(phaser, 1, THREADS + 1, THREADS + 1);
     }
 
+    /**
+     * A tiered phaser reports its initial parties as a whole, and
+     * has no parent
+     */
+    public void testTieredConstructor() {
+        Phaser phaser = new Phaser(100, true);
+        assertNull(phaser.getParent());
+        assertSame(phaser, phaser.getRoot());
+        assertState(phaser, 0, 100, 100);
+        assertTrue(phaser.toString().contains("parties = 100"));
+        assertState(new Phaser(0, true), 0, 0, 0);
+        try {
+            new Phaser(-1, true);
+            shouldThrow();
+        } catch (IllegalArgumentException success) {}
+    }
+
+    /**
+     * Many parties of a tiered phaser repeatedly advance it, with
+     * onAdvance invoked once per phase with the total number of
+     * registered parties
+     */
+    public void testTieredArriveAndAwaitAdvance() {
+        final int parties = 128, phases = 20;
+        final AtomicInteger advances = new AtomicInteger();
+        final Phaser phaser = new Phaser(parties, true) {
+            protected boolean onAdvance(int phase, int registeredParties) {
+                assertEquals(advances.getAndIncrement(), phase);
+                assertEquals(parties, registeredParties);
+                return false;
+            }};
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < parties; i++)
+            threads.add(newStartedThread(new CheckedRunnable() {
+                public void realRun() {
+                    for (int k = 0; k < phases; k++)
+                        assertEquals(k + 1, phaser.arriveAndAwaitAdvance());
+                }}));
+        for (Thread thread : threads)
+            awaitTermination(thread);
+        assertEquals(phases, advances.get());
+        assertState(phaser, phases, parties, parties);
+    }
+
+    /**
+     * Parties may register and deregister with a tiered phaser
+     * independently of which threads arrive, and the phaser
+     * terminates when none remain
+     */
+    public void testTieredRegisterAndDeregister() {
+        final Phaser phaser = new Phaser(0, true);
+        final int n = 20;
+        for (int i = 0; i < n; i++)
+            assertEquals(0, phaser.register());
+        assertEquals(0, phaser.bulkRegister(n));
+        assertState(phaser, 0, 2 * n, 2 * n);
+        for (int i = 0; i < n; i++)
+            assertEquals(0, phaser.arrive());
+        assertState(phaser, 0, 2 * n, n);
+        for (int i = 1; i < n; i++)
+            assertEquals(0, phaser.arriveAndDeregister());
+        assertState(phaser, 0, n + 1, 1);
+        assertEquals(0, phaser.arrive());
+        assertState(phaser, 1, n + 1, n + 1);
+        for (int i = 0; i < n; i++)
+            assertEquals(1, phaser.arriveAndDeregister());
+        assertState(phaser, 1, 1, 1);
+        assertEquals(1, phaser.arriveAndDeregister());
+        assertTerminated(phaser, 2);
+    }
+
+    /**
+     * Arrival of an unregistered party at a tiered phaser throws
+     * IllegalStateException
+     */
+    public void testTieredArrive_IllegalState() {
+        final Phaser phaser = new Phaser(3, true);
+        assertThrows(
+            IllegalStateException.class,
+            () -> new Phaser(0, true).arrive(),
+            () -> new Phaser(0, true).arriveAndDeregister(),
+            () -> new Phaser(0, true).arriveAndAwaitAdvance());
+        assertEquals(0, phaser.arrive());
+        assertEquals(0, phaser.arrive());
+        assertState(phaser, 0, 3, 1);
+        assertEquals(0, phaser.arriveAndDeregister());
+        assertState(phaser, 1, 2, 2);
+    }
 }
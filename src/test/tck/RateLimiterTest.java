@@ -0,0 +1,257 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RateLimiter;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+public class RateLimiterTest extends JSR166TestCase {
+    public static void main(String[] args) {
+        main(suite(), args);
+    }
+    public static Test suite() {
+        return new TestSuite(RateLimiterTest.class);
+    }
+
+    /**
+     * Returns a limiter that replenishes permits very slowly.
+     */
+    static RateLimiter slowLimiter(int burst) {
+        return new RateLimiter(1, 1000, SECONDS, burst);
+    }
+
+    /**
+     * Constructors throw IllegalArgumentException given non-positive
+     * arguments, and NullPointerException given a null unit
+     */
+    public void testConstructor_IAE() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new RateLimiter(0, 1, SECONDS),
+            () -> new RateLimiter(1, 0, SECONDS),
+            () -> new RateLimiter(1, 1, SECONDS, 0),
+            () -> new RateLimiter(1, Long.MAX_VALUE, SECONDS, 2));
+        assertThrows(
+            NullPointerException.class,
+            () -> new RateLimiter(1, 1, null));
+    }
+
+    /**
+     * A new limiter has a full burst of permits available
+     */
+    public void testConstructor() {
+        RateLimiter limiter = new RateLimiter(10, 1, SECONDS, 5);
+        assertEquals(5, limiter.getBurst());
+        assertEquals(100_000_000L, limiter.getIntervalNanos());
+        assertEquals(5, limiter.availablePermits());
+        assertEquals(1L, new RateLimiter(10, 1, NANOSECONDS)
+                     .getIntervalNanos());
+        assertEquals(3, new RateLimiter(3, 1, SECONDS).getBurst());
+    }
+
+    /**
+     * tryAcquire succeeds for up to a burst of permits, then fails
+     */
+    public void testTryAcquire() {
+        RateLimiter limiter = slowLimiter(3);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire(2));
+        assertFalse(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire(0));
+        assertEquals(0, limiter.availablePermits());
+    }
+
+    /**
+     * tryAcquire of more permits than the burst size fails without
+     * consuming permits
+     */
+    public void testTryAcquire_MoreThanBurst() {
+        RateLimiter limiter = slowLimiter(3);
+        assertFalse(limiter.tryAcquire(4));
+        assertEquals(3, limiter.availablePermits());
+        assertTrue(limiter.tryAcquire(3));
+    }
+
+    /**
+     * Acquisition methods throw IllegalArgumentException given
+     * negative or excessive permits
+     */
+    public void testAcquire_IAE() {
+        RateLimiter limiter = slowLimiter(1);
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> limiter.tryAcquire(-1),
+            () -> limiter.tryAcquire(Integer.MAX_VALUE));
+        try {
+            limiter.acquire(-1);
+            shouldThrow();
+        } catch (IllegalArgumentException success) {
+        } catch (InterruptedException fail) { threadUnexpectedException(fail); }
+        try {
+            limiter.tryAcquire(-1, LONG_DELAY_MS, MILLISECONDS);
+            shouldThrow();
+        } catch (IllegalArgumentException success) {
+        } catch (InterruptedException fail) { threadUnexpectedException(fail); }
+        assertEquals(1, limiter.availablePermits());
+    }
+
+    /**
+     * Timed tryAcquire fails immediately if permits would not become
+     * available in time, without consuming permits
+     */
+    public void testTimedTryAcquire_Fails() throws InterruptedException {
+        RateLimiter limiter = slowLimiter(1);
+        assertTrue(limiter.tryAcquire());
+        long startTime = System.nanoTime();
+        assertFalse(limiter.tryAcquire(1, LONG_DELAY_MS, MILLISECONDS));
+        assertTrue(millisElapsedSince(startTime) < LONG_DELAY_MS);
+        assertEquals(0, limiter.availablePermits());
+    }
+
+    /**
+     * Timed tryAcquire with a zero or negative timeout behaves like
+     * untimed tryAcquire, succeeding if the permits are available
+     */
+    public void testTimedTryAcquire_NonPositiveTimeout()
+        throws InterruptedException {
+        for (long timeout : new long[] { 0L, -1L, Long.MIN_VALUE }) {
+            RateLimiter limiter = slowLimiter(1);
+            assertTrue(limiter.tryAcquire(1, timeout, NANOSECONDS));
+            assertFalse(limiter.tryAcquire(1, timeout, NANOSECONDS));
+            assertTrue(limiter.tryAcquire(0, timeout, NANOSECONDS));
+            assertEquals(0, limiter.availablePermits());
+            limiter = slowLimiter(3);
+            assertTrue(limiter.tryAcquire(3, timeout, MILLISECONDS));
+            assertFalse(limiter.tryAcquire(1, timeout, MILLISECONDS));
+        }
+    }
+
+    /**
+     * Timed tryAcquire waits for permits to be replenished
+     */
+    public void testTimedTryAcquire_Waits() throws InterruptedException {
+        long period = timeoutMillis();
+        RateLimiter limiter = new RateLimiter(1, period, MILLISECONDS);
+        assertTrue(limiter.tryAcquire());
+        long startTime = System.nanoTime();
+        assertTrue(limiter.tryAcquire(1, LONG_DELAY_MS, MILLISECONDS));
+        assertTrue(millisElapsedSince(startTime) >= period - 1);
+        assertFalse(limiter.tryAcquire());
+    }
+
+    /**
+     * acquire waits for permits to be replenished, at the given rate
+     */
+    public void testAcquire_Rate() throws InterruptedException {
+        long period = timeoutMillis();
+        RateLimiter limiter = new RateLimiter(4, period, MILLISECONDS, 2);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < 10; i++)
+            limiter.acquire();
+        // 8 permits beyond the initial burst, at 4 per period
+        assertTrue(millisElapsedSince(startTime) >= 2 * period - 1);
+    }
+
+    /**
+     * acquire of more permits than the burst size succeeds by waiting
+     */
+    public void testAcquire_MoreThanBurst() throws InterruptedException {
+        long period = timeoutMillis();
+        RateLimiter limiter = new RateLimiter(2, period, MILLISECONDS, 1);
+        long startTime = System.nanoTime();
+        limiter.acquire(3);
+        assertTrue(millisElapsedSince(startTime) >= period - 1);
+    }
+
+    /**
+     * acquire and timed tryAcquire throw InterruptedException if
+     * interrupted before or while waiting, and an interrupted waiter
+     * returns its reservation
+     */
+    public void testAcquire_Interruptible() {
+        final RateLimiter limiter = slowLimiter(1);
+        assertTrue(limiter.tryAcquire());
+        final CountDownLatch pleaseInterrupt = new CountDownLatch(2);
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                Thread.currentThread().interrupt();
+                try {
+                    limiter.acquire();
+                    shouldThrow();
+                } catch (InterruptedException success) {}
+                assertFalse(Thread.interrupted());
+
+                pleaseInterrupt.countDown();
+                try {
+                    limiter.acquire();
+                    shouldThrow();
+                } catch (InterruptedException success) {}
+                assertFalse(Thread.interrupted());
+
+                Thread.currentThread().interrupt();
+                try {
+                    limiter.tryAcquire(1, 2000, SECONDS);
+                    shouldThrow();
+                } catch (InterruptedException success) {}
+                assertFalse(Thread.interrupted());
+
+                pleaseInterrupt.countDown();
+                try {
+                    limiter.tryAcquire(1, 2000, SECONDS);
+                    shouldThrow();
+                } catch (InterruptedException success) {}
+                assertFalse(Thread.interrupted());
+            }});
+
+        for (int n = 2; n > 0; n--) {
+            while (pleaseInterrupt.getCount() != n - 1)
+                Thread.yield();
+            assertThreadBlocks(t, Thread.State.TIMED_WAITING);
+            assertEquals(-1, limiter.availablePermits());
+            t.interrupt();
+        }
+        awaitTermination(t);
+        assertEquals(0, limiter.availablePermits());
+    }
+
+    /**
+     * Concurrent acquirers are together limited to the given rate
+     */
+    public void testAcquire_Concurrent() throws InterruptedException {
+        final long period = timeoutMillis();
+        final RateLimiter limiter =
+            new RateLimiter(4, period, MILLISECONDS, 1);
+        final int nThreads = 3, perThread = 3;
+        long startTime = System.nanoTime();
+        Thread[] threads = new Thread[nThreads];
+        for (int i = 0; i < nThreads; i++)
+            threads[i] = newStartedThread(new CheckedRunnable() {
+                public void realRun() throws InterruptedException {
+                    for (int j = 0; j < perThread; j++)
+                        limiter.acquire();
+                }});
+        for (Thread t : threads)
+            awaitTermination(t);
+        // 8 permits beyond the initial burst, at 4 per period
+        assertTrue(millisElapsedSince(startTime) >= 2 * period - 1);
+    }
+
+    /**
+     * toString indicates the number of available permits
+     */
+    public void testToString() {
+        RateLimiter limiter = slowLimiter(2);
+        assertTrue(limiter.toString().contains("Permits = 2"));
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.toString().contains("Permits = 1"));
+    }
+}
@@ -1070,6 +1070,30 @@ public class RecursiveActionTest extends JSR166TestCase {
         testInvokeOnPool(singletonPool(), a);
     }
 
+    /**
+     * shouldSplit returns false if size does not exceed grain, and
+     * otherwise true unless the worker holds a surplus of tasks
+     */
+    public void testShouldSplit() {
+        assertFalse(ForkJoinTask.shouldSplit(5, 5));
+        assertTrue(ForkJoinTask.shouldSplit(6, 5));
+        RecursiveAction a = new CheckedRecursiveAction() {
+            protected void realCompute() {
+                assertTrue(shouldSplit(2, 1));
+                assertFalse(shouldSplit(1, 1));
+                FibAction[] fs = new FibAction[8];
+                for (int i = 0; i < fs.length; i++)
+                    assertSame(fs[i] = new FibAction(i), fs[i].fork());
+                assertTrue(getSurplusQueuedTaskCount() > 3);
+                assertFalse(shouldSplit(Long.MAX_VALUE, 1));
+                helpQuiesce();
+                assertTrue(shouldSplit(2, 1));
+                for (FibAction f : fs)
+                    checkCompletedNormally(f);
+            }};
+        testInvokeOnPool(singletonPool(), a);
+    }
+
     /**
      * peekNextLocalTask returns most recent unexecuted task.
      */
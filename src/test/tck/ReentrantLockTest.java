@@ -1195,4 +1195,40 @@ public class ReentrantLockTest extends JSR166TestCase {
             assertFalse(thread.isAlive());
         }
     }
+
+    /**
+     * Spinning is initially disabled; getSpinLimit returns the value
+     * set by setSpinLimit, which rejects negative values; contended
+     * locking maintains mutual exclusion when spinning is enabled
+     */
+    public void testSpinLimit()      { testSpinLimit(false); }
+    public void testSpinLimit_fair() { testSpinLimit(true); }
+    public void testSpinLimit(boolean fair) {
+        final ReentrantLock lock = new ReentrantLock(fair);
+        assertEquals(0, lock.getSpinLimit());
+        lock.setSpinLimit(1 << 10);
+        assertEquals(1 << 10, lock.getSpinLimit());
+        try {
+            lock.setSpinLimit(-1);
+            shouldThrow();
+        } catch (IllegalArgumentException success) {}
+        assertEquals(1 << 10, lock.getSpinLimit());
+        assertEquals(0, serialClone(lock).getSpinLimit());
+        final int nthreads = 4, iters = 2000;
+        final int[] count = new int[1];
+        Thread[] threads = new Thread[nthreads];
+        for (int i = 0; i < nthreads; i++)
+            threads[i] = newStartedThread(new CheckedRunnable() {
+                public void realRun() {
+                    for (int j = 0; j < iters; j++) {
+                        lock.lock();
+                        try {
+                            count[0]++;
+                        } finally { lock.unlock(); }
+                    }
+                }});
+        for (Thread t : threads)
+            awaitTermination(t);
+        assertEquals(nthreads * iters, count[0]);
+    }
 }
@@ -1680,4 +1680,22 @@ public class ReentrantReadWriteLockTest extends JSR166TestCase {
         assertTrue(lock.writeLock().toString().contains("Unlocked"));
     }
 
+    /**
+     * Spinning is initially disabled; getSpinLimit returns the value
+     * set by setSpinLimit, which rejects negative values
+     */
+    public void testSpinLimit()      { testSpinLimit(false); }
+    public void testSpinLimit_fair() { testSpinLimit(true); }
+    public void testSpinLimit(boolean fair) {
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock(fair);
+        assertEquals(0, lock.getSpinLimit());
+        lock.setSpinLimit(1 << 10);
+        assertEquals(1 << 10, lock.getSpinLimit());
+        try {
+            lock.setSpinLimit(-1);
+            shouldThrow();
+        } catch (IllegalArgumentException success) {}
+        assertEquals(1 << 10, lock.getSpinLimit());
+        assertEquals(0, serialClone(lock).getSpinLimit());
+    }
 }
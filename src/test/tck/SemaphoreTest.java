@@ -648,4 +648,22 @@ public class SemaphoreTest extends JSR166TestCase {
         assertTrue(s.toString().contains("Permits = -2"));
     }
 
+    /**
+     * Spinning is initially disabled; getSpinLimit returns the value
+     * set by setSpinLimit, which rejects negative values
+     */
+    public void testSpinLimit()      { testSpinLimit(false); }
+    public void testSpinLimit_fair() { testSpinLimit(true); }
+    public void testSpinLimit(boolean fair) {
+        Semaphore s = new Semaphore(1, fair);
+        assertEquals(0, s.getSpinLimit());
+        s.setSpinLimit(1 << 10);
+        assertEquals(1 << 10, s.getSpinLimit());
+        try {
+            s.setSpinLimit(-1);
+            shouldThrow();
+        } catch (IllegalArgumentException success) {}
+        assertEquals(1 << 10, s.getSpinLimit());
+        assertEquals(0, serialClone(s).getSpinLimit());
+    }
 }
@@ -0,0 +1,295 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.SequenceLock;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+public class SequenceLockTest extends JSR166TestCase {
+    public static void main(String[] args) {
+        main(suite(), args);
+    }
+    public static Test suite() {
+        return new TestSuite(SequenceLockTest.class);
+    }
+
+    /**
+     * A new lock is unlocked with an even sequence number
+     */
+    public void testConstructor() {
+        SequenceLock lock = new SequenceLock();
+        assertFalse(lock.isLocked());
+        assertEquals(0L, lock.getSequence());
+        assertEquals(0L, lock.getHoldCount());
+        assertFalse(new SequenceLock(0).isLocked());
+    }
+
+    /**
+     * Each outermost lock and unlock advances the sequence number,
+     * and reentrant holds do not
+     */
+    public void testLockAdvancesSequence() {
+        SequenceLock lock = new SequenceLock();
+        lock.lock();
+        assertEquals(1L, lock.getSequence());
+        assertTrue(lock.isLocked());
+        assertTrue(lock.isHeldByCurrentThread());
+        assertTrue(lock.tryLock());
+        assertEquals(2L, lock.getHoldCount());
+        assertEquals(1L, lock.getSequence());
+        lock.unlock();
+        assertEquals(1L, lock.getSequence());
+        lock.unlock();
+        assertEquals(2L, lock.getSequence());
+        assertFalse(lock.isLocked());
+        assertEquals(2L, lock.awaitAvailability());
+    }
+
+    /**
+     * unlock throws IllegalMonitorStateException if not held
+     */
+    public void testUnlock_IMSE() {
+        SequenceLock lock = new SequenceLock();
+        try {
+            lock.unlock();
+            shouldThrow();
+        } catch (IllegalMonitorStateException success) {}
+    }
+
+    /**
+     * newCondition throws UnsupportedOperationException
+     */
+    public void testNewCondition_UOE() {
+        SequenceLock lock = new SequenceLock();
+        try {
+            lock.newCondition();
+            shouldThrow();
+        } catch (UnsupportedOperationException success) {}
+    }
+
+    /**
+     * awaitAvailability blocks while another thread holds the lock,
+     * and tryAwaitAvailability times out
+     */
+    public void testAwaitAvailability() throws Exception {
+        final SequenceLock lock = new SequenceLock();
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        Thread holder = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws InterruptedException {
+                lock.lock();
+                try {
+                    locked.countDown();
+                    await(release);
+                } finally { lock.unlock(); }
+            }});
+        await(locked);
+        try {
+            lock.tryAwaitAvailability(timeoutMillis(), MILLISECONDS);
+            shouldThrow();
+        } catch (TimeoutException success) {}
+        Thread waiter = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                assertEquals(2L, lock.awaitAvailability());
+            }});
+        assertThreadBlocks(waiter, Thread.State.WAITING);
+        release.countDown();
+        awaitTermination(holder);
+        awaitTermination(waiter);
+        assertEquals(2L, lock.tryAwaitAvailability(LONG_DELAY_MS, MILLISECONDS));
+    }
+
+    /**
+     * read of an uncontended lock invokes the reader once without
+     * advancing the sequence number
+     */
+    public void testRead_Unlocked() {
+        SequenceLock lock = new SequenceLock();
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals("x", lock.read(() -> {
+            calls.getAndIncrement();
+            assertFalse(lock.isLocked());
+            return "x";
+        }));
+        assertEquals(42L, lock.readLong(() -> {
+            calls.getAndIncrement();
+            return 42L;
+        }));
+        assertEquals(2, calls.get());
+        assertEquals(0L, lock.getSequence());
+    }
+
+    /**
+     * read retries when a write intervenes, and eventually invokes
+     * the reader holding the lock
+     */
+    public void testRead_Invalidated() throws InterruptedException {
+        final SequenceLock lock = new SequenceLock();
+        final AtomicInteger calls = new AtomicInteger();
+        long r = lock.readLong(() -> {
+            if (lock.isHeldByCurrentThread())
+                return -1L;
+            calls.getAndIncrement();
+            Thread t = newStartedThread(new CheckedRunnable() {
+                public void realRun() {
+                    lock.lock();
+                    lock.unlock();
+                }});
+            awaitTermination(t);
+            return 1L;
+        });
+        assertEquals(-1L, r);
+        assertTrue(calls.get() > 1);
+        assertFalse(lock.isLocked());
+    }
+
+    /**
+     * read invoked while holding the lock invokes the reader once
+     */
+    public void testRead_HoldingLock() {
+        SequenceLock lock = new SequenceLock();
+        AtomicInteger calls = new AtomicInteger();
+        lock.lock();
+        try {
+            assertEquals(Integer.valueOf(1),
+                         lock.read(() -> calls.incrementAndGet()));
+            assertEquals(1L, lock.getSequence());
+            assertEquals(1L, lock.getHoldCount());
+        } finally { lock.unlock(); }
+    }
+
+    /**
+     * An exception thrown by a reader with no concurrent write is
+     * propagated without locking; one thrown during an invalidated
+     * attempt causes a retry
+     */
+    public void testRead_Exception() throws InterruptedException {
+        final SequenceLock lock = new SequenceLock();
+        try {
+            lock.read(() -> { throw new ArithmeticException(); });
+            shouldThrow();
+        } catch (ArithmeticException success) {}
+        assertEquals(0L, lock.getSequence());
+        final AtomicInteger calls = new AtomicInteger();
+        assertEquals("ok", lock.read(() -> {
+            if (calls.getAndIncrement() == 0) {
+                Thread t = newStartedThread(new CheckedRunnable() {
+                    public void realRun() {
+                        lock.lock();
+                        lock.unlock();
+                    }});
+                awaitTermination(t);
+                throw new ArithmeticException();
+            }
+            return "ok";
+        }));
+        assertEquals(2, calls.get());
+    }
+
+    /**
+     * read and readLong throw NullPointerException given null readers
+     */
+    public void testRead_NPE() {
+        SequenceLock lock = new SequenceLock();
+        assertThrows(
+            NullPointerException.class,
+            () -> lock.read(null),
+            () -> lock.readLong(null));
+    }
+
+    /**
+     * Readers never observe partial updates of multiple non-volatile
+     * fields
+     */
+    public void testRead_Consistency() throws InterruptedException {
+        final SequenceLock lock = new SequenceLock();
+        final long[] pair = new long[2];
+        final int iters = 20000;
+        Thread writer = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                for (int i = 1; i <= iters; i++) {
+                    lock.lock();
+                    try {
+                        pair[0] = i;
+                        pair[1] = -i;
+                    } finally { lock.unlock(); }
+                }
+            }});
+        Thread reader = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                long last = 0L;
+                while (last < iters) {
+                    long sum = lock.readLong(() -> pair[0] + pair[1]);
+                    assertEquals(0L, sum);
+                    last = lock.readLong(() -> pair[0]);
+                }
+            }});
+        awaitTermination(writer);
+        awaitTermination(reader);
+        assertEquals(2L * iters, lock.getSequence());
+    }
+
+    /**
+     * Snapshots returned by read are never torn, even with several
+     * readers racing a writer that updates many plain fields
+     */
+    public void testRead_NoTornSnapshots() throws InterruptedException {
+        final SequenceLock lock = new SequenceLock();
+        final long[] fields = new long[8];
+        final int iters = 20000;
+        final int nReaders = 2;
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread writer = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                for (int i = 1; i <= iters; i++) {
+                    lock.lock();
+                    try {
+                        for (int j = 0; j < fields.length; j++)
+                            fields[j] = i;
+                    } finally { lock.unlock(); }
+                }
+                done.countDown();
+            }});
+        Thread[] readers = new Thread[nReaders];
+        for (int r = 0; r < nReaders; r++)
+            readers[r] = newStartedThread(new CheckedRunnable() {
+                public void realRun() {
+                    long last = 0L;
+                    do {
+                        long[] snapshot = lock.read(() -> fields.clone());
+                        for (long x : snapshot)
+                            assertEquals(snapshot[0], x);
+                        assertTrue(snapshot[0] >= last);
+                        last = snapshot[0];
+                    } while (done.getCount() != 0L);
+                }});
+        awaitTermination(writer);
+        for (Thread reader : readers)
+            awaitTermination(reader);
+        assertEquals(2L * iters, lock.getSequence());
+    }
+
+    /**
+     * A serialized lock deserializes as unlocked
+     */
+    public void testSerialization() {
+        SequenceLock lock = new SequenceLock();
+        lock.lock();
+        SequenceLock clone = serialClone(lock);
+        assertTrue(lock.isLocked());
+        assertFalse(clone.isLocked());
+        assertEquals(0L, clone.getSequence());
+        clone.lock();
+        clone.unlock();
+        lock.unlock();
+    }
+}
@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.StampedLock;
 import java.util.function.BiConsumer;
@@ -1375,4 +1376,189 @@ public class StampedLockTest extends JSR166TestCase {
         }
     }
 
+    /**
+     * read returns the reader's result, invoking it once
+     * optimistically when uncontended
+     */
+    public void testRead_Optimistic() {
+        final StampedLock lock = new StampedLock();
+        final AtomicInteger calls = new AtomicInteger();
+        long stamp = lock.tryOptimisticRead();
+        assertEquals("x", lock.read(() -> {
+            calls.getAndIncrement();
+            assertFalse(lock.isReadLocked());
+            assertFalse(lock.isWriteLocked());
+            return "x"; }));
+        assertEquals(1, calls.get());
+        assertUnlocked(lock);
+        assertTrue(lock.validate(stamp));
+    }
+
+    /**
+     * read retries a reader whose optimistic attempt was invalidated
+     * by a write, including when the reader throws
+     */
+    public void testRead_RetriesWhenInvalidated() {
+        for (boolean throwing : new boolean[] { false, true }) {
+            final StampedLock lock = new StampedLock();
+            final AtomicInteger calls = new AtomicInteger();
+            assertEquals(Integer.valueOf(2), lock.read(() -> {
+                int c = calls.incrementAndGet();
+                if (c == 1) {
+                    lock.unlockWrite(lock.writeLock());
+                    if (throwing)
+                        throw new IllegalStateException();
+                }
+                return c; }));
+            assertUnlocked(lock);
+        }
+    }
+
+    /**
+     * read falls back to the read lock when the reader is repeatedly
+     * invalidated
+     */
+    public void testRead_FallsBackToReadLock() {
+        final StampedLock lock = new StampedLock();
+        final AtomicInteger calls = new AtomicInteger();
+        Boolean readLocked = lock.read(() -> {
+            calls.getAndIncrement();
+            if (lock.isReadLocked())
+                return Boolean.TRUE;
+            lock.unlockWrite(lock.writeLock());
+            return Boolean.FALSE; });
+        assertTrue(readLocked);
+        assertTrue(calls.get() > 1);
+        assertUnlocked(lock);
+    }
+
+    /**
+     * read propagates an exception thrown by a validated reader
+     */
+    public void testRead_Exception() {
+        final StampedLock lock = new StampedLock();
+        final AtomicInteger calls = new AtomicInteger();
+        try {
+            lock.read(() -> {
+                calls.getAndIncrement();
+                throw new IllegalStateException(); });
+            shouldThrow();
+        } catch (IllegalStateException success) {}
+        assertEquals(1, calls.get());
+        assertUnlocked(lock);
+    }
+
+    /**
+     * read blocks while write-locked, then reads holding the read lock
+     */
+    public void testRead_WriteLocked() throws InterruptedException {
+        final StampedLock lock = new StampedLock();
+        long ws = lock.writeLock();
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                assertEquals("x", lock.read(() -> {
+                    assertTrue(lock.isReadLocked());
+                    return "x"; }));
+            }});
+        assertThreadBlocks(t, Thread.State.WAITING);
+        lock.unlockWrite(ws);
+        awaitTermination(t);
+        assertUnlocked(lock);
+    }
+
+    /**
+     * update applies the writer holding the write lock to an
+     * optimistic snapshot when the lock can be converted
+     */
+    public void testUpdate_Converts() {
+        final StampedLock lock = new StampedLock();
+        final AtomicInteger calls = new AtomicInteger();
+        long stamp = lock.tryOptimisticRead();
+        assertEquals("xy", lock.update(() -> {
+                calls.getAndIncrement();
+                assertFalse(lock.isWriteLocked());
+                return "x"; },
+            x -> {
+                assertTrue(lock.isWriteLocked());
+                return x + "y"; }));
+        assertEquals(1, calls.get());
+        assertUnlocked(lock);
+        assertFalse(lock.validate(stamp));
+    }
+
+    /**
+     * update rereads holding the write lock if its snapshot was
+     * invalidated
+     */
+    public void testUpdate_RereadsWhenInvalidated() {
+        for (boolean throwing : new boolean[] { false, true }) {
+            final StampedLock lock = new StampedLock();
+            final AtomicInteger calls = new AtomicInteger();
+            assertEquals(Integer.valueOf(2), lock.update(() -> {
+                    int c = calls.incrementAndGet();
+                    if (c == 1) {
+                        lock.unlockWrite(lock.writeLock());
+                        if (throwing)
+                            throw new IllegalStateException();
+                    }
+                    else
+                        assertTrue(lock.isWriteLocked());
+                    return c; },
+                c -> c));
+            assertUnlocked(lock);
+        }
+    }
+
+    /**
+     * update waits for readers, and releases the write lock if
+     * either function throws
+     */
+    public void testUpdate_ReadLockedAndExceptions()
+            throws InterruptedException {
+        final StampedLock lock = new StampedLock();
+        long rs = lock.readLock();
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                assertEquals("x", lock.update(() -> "x", x -> x));
+            }});
+        assertThreadBlocks(t, Thread.State.WAITING);
+        lock.unlockRead(rs);
+        awaitTermination(t);
+        assertUnlocked(lock);
+        try {
+            lock.update(() -> "x", x -> { throw new IllegalStateException(); });
+            shouldThrow();
+        } catch (IllegalStateException success) {}
+        assertUnlocked(lock);
+        rs = lock.readLock();
+        t = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                try {
+                    lock.update(() -> {
+                            if (lock.isWriteLocked())
+                                throw new IllegalStateException();
+                            return "x"; },
+                        x -> x);
+                    shouldThrow();
+                } catch (IllegalStateException success) {}
+            }});
+        assertThreadBlocks(t, Thread.State.WAITING);
+        lock.unlockRead(rs);
+        awaitTermination(t);
+        assertUnlocked(lock);
+    }
+
+    /**
+     * read and update throw NullPointerException given null functions
+     */
+    public void testReadUpdate_NPE() {
+        final StampedLock lock = new StampedLock();
+        assertThrows(
+            NullPointerException.class,
+            () -> lock.read(null),
+            () -> lock.update(null, x -> x),
+            () -> lock.update(() -> "x", null));
+        assertUnlocked(lock);
+    }
+
 }
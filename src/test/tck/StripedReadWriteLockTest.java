@@ -0,0 +1,491 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.StripedReadWriteLock;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+public class StripedReadWriteLockTest extends JSR166TestCase {
+    public static void main(String[] args) {
+        main(suite(), args);
+    }
+    public static Test suite() {
+        return new TestSuite(StripedReadWriteLockTest.class);
+    }
+
+    /**
+     * Subclass to expose protected methods
+     */
+    static class PublicStripedReadWriteLock extends StripedReadWriteLock {
+        public Thread getOwner() {
+            return super.getOwner();
+        }
+    }
+
+    /**
+     * Checks that lock is not locked in either mode.
+     */
+    void assertUnlocked(PublicStripedReadWriteLock lock) {
+        assertFalse(lock.isWriteLocked());
+        assertFalse(lock.isWriteLockedByCurrentThread());
+        assertFalse(lock.writeLock().isHeldByCurrentThread());
+        assertEquals(0, lock.getWriteHoldCount());
+        assertEquals(0, lock.getReadHoldCount());
+        assertEquals(0, lock.getReadLockCount());
+        assertNull(lock.getOwner());
+    }
+
+    /**
+     * Constructor creates lock in unlocked state
+     */
+    public void testConstructor() {
+        assertUnlocked(new PublicStripedReadWriteLock());
+    }
+
+    /**
+     * write-locking and read-locking an unlocked lock succeed
+     */
+    public void testLock() {
+        PublicStripedReadWriteLock lock = new PublicStripedReadWriteLock();
+        lock.writeLock().lock();
+        assertTrue(lock.isWriteLocked());
+        assertTrue(lock.isWriteLockedByCurrentThread());
+        assertSame(Thread.currentThread(), lock.getOwner());
+        assertEquals(1, lock.getWriteHoldCount());
+        lock.writeLock().unlock();
+        assertUnlocked(lock);
+
+        lock.readLock().lock();
+        assertFalse(lock.isWriteLocked());
+        assertEquals(1, lock.getReadLockCount());
+        assertEquals(1, lock.getReadHoldCount());
+        lock.readLock().unlock();
+        assertUnlocked(lock);
+    }
+
+    /**
+     * getWriteHoldCount and getReadHoldCount track reentrant holds
+     */
+    public void testHoldCounts() {
+        StripedReadWriteLock lock = new StripedReadWriteLock();
+        for (int i = 1; i <= SIZE; i++) {
+            lock.writeLock().lock();
+            assertEquals(i, lock.getWriteHoldCount());
+            assertEquals(i, lock.writeLock().getHoldCount());
+        }
+        for (int i = SIZE; i > 0; i--) {
+            lock.writeLock().unlock();
+            assertEquals(i - 1, lock.getWriteHoldCount());
+        }
+        for (int i = 1; i <= SIZE; i++) {
+            lock.readLock().lock();
+            assertEquals(i, lock.getReadHoldCount());
+            assertEquals(1, lock.getReadLockCount());
+        }
+        for (int i = SIZE; i > 0; i--) {
+            lock.readLock().unlock();
+            assertEquals(i - 1, lock.getReadHoldCount());
+        }
+        assertEquals(0, lock.getReadLockCount());
+    }
+
+    /**
+     * unlocking an unheld read or write lock throws IllegalMonitorStateException
+     */
+    public void testUnlock_IMSE() {
+        StripedReadWriteLock lock = new StripedReadWriteLock();
+        try {
+            lock.writeLock().unlock();
+            shouldThrow();
+        } catch (IllegalMonitorStateException success) {}
+        try {
+            lock.readLock().unlock();
+            shouldThrow();
+        } catch (IllegalMonitorStateException success) {}
+    }
+
+    /**
+     * Read locks can be held by multiple threads at once
+     */
+    public void testMultipleReadLocks() throws InterruptedException {
+        final StripedReadWriteLock lock = new StripedReadWriteLock();
+        lock.readLock().lock();
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws InterruptedException {
+                assertTrue(lock.readLock().tryLock());
+                assertEquals(2, lock.getReadLockCount());
+                lock.readLock().unlock();
+                assertTrue(lock.readLock().tryLock(LONG_DELAY_MS, MILLISECONDS));
+                lock.readLock().unlock();
+                lock.readLock().lock();
+                lock.readLock().unlock();
+            }});
+        awaitTermination(t);
+        lock.readLock().unlock();
+        assertEquals(0, lock.getReadLockCount());
+    }
+
+    /**
+     * A writer blocks until a reader releases
+     */
+    public void testWriteBlocksForReader() throws InterruptedException {
+        final PublicStripedReadWriteLock lock = new PublicStripedReadWriteLock();
+        final AtomicBoolean released = new AtomicBoolean(false);
+        lock.readLock().lock();
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                lock.writeLock().lock();
+                assertTrue(released.get());
+                assertEquals(0, lock.getReadLockCount());
+                lock.writeLock().unlock();
+            }});
+        assertThreadBlocks(t, Thread.State.TIMED_WAITING);
+        assertSame(t, lock.getOwner());
+        assertFalse(lock.writeLock().tryLock());
+        released.set(true);
+        lock.readLock().unlock();
+        awaitTermination(t);
+        assertUnlocked(lock);
+    }
+
+    /**
+     * A reader blocks until a writer releases
+     */
+    public void testReadBlocksForWriter() throws InterruptedException {
+        final PublicStripedReadWriteLock lock = new PublicStripedReadWriteLock();
+        lock.writeLock().lock();
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                assertFalse(lock.readLock().tryLock());
+                lock.readLock().lock();
+                assertFalse(lock.isWriteLocked());
+                lock.readLock().unlock();
+            }});
+        waitForQueuedThread(lock, t);
+        lock.writeLock().unlock();
+        awaitTermination(t);
+        assertUnlocked(lock);
+    }
+
+    /**
+     * A writer queued behind readers waiting for another writer is
+     * eventually enabled
+     */
+    public void testQueuedWriterAfterQueuedReaders() throws InterruptedException {
+        final PublicStripedReadWriteLock lock = new PublicStripedReadWriteLock();
+        lock.writeLock().lock();
+        Thread t1 = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                lock.readLock().lock();
+                lock.readLock().unlock();
+            }});
+        waitForQueuedThread(lock, t1);
+        Thread t2 = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                lock.writeLock().lock();
+                lock.writeLock().unlock();
+            }});
+        waitForQueuedThread(lock, t2);
+        lock.writeLock().unlock();
+        awaitTermination(t1);
+        awaitTermination(t2);
+        assertUnlocked(lock);
+    }
+
+    /**
+     * A reentrant read acquisition does not block behind a writer
+     * waiting for the reader to release
+     */
+    public void testReentrantReadWhileWriterWaits() throws InterruptedException {
+        final PublicStripedReadWriteLock lock = new PublicStripedReadWriteLock();
+        lock.readLock().lock();
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                lock.writeLock().lock();
+                lock.writeLock().unlock();
+            }});
+        assertThreadBlocks(t, Thread.State.TIMED_WAITING);
+        lock.readLock().lock();
+        assertTrue(lock.readLock().tryLock());
+        assertEquals(3, lock.getReadHoldCount());
+        lock.readLock().unlock();
+        lock.readLock().unlock();
+        lock.readLock().unlock();
+        awaitTermination(t);
+        assertUnlocked(lock);
+    }
+
+    /**
+     * A writer may acquire the read lock, and downgrade by releasing
+     * the write lock
+     */
+    public void testDowngrade() throws InterruptedException {
+        final PublicStripedReadWriteLock lock = new PublicStripedReadWriteLock();
+        lock.writeLock().lock();
+        lock.readLock().lock();
+        lock.writeLock().unlock();
+        assertFalse(lock.isWriteLocked());
+        assertEquals(1, lock.getReadHoldCount());
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                assertTrue(lock.readLock().tryLock());
+                lock.readLock().unlock();
+                assertFalse(lock.writeLock().tryLock());
+            }});
+        awaitTermination(t);
+        lock.readLock().unlock();
+        assertUnlocked(lock);
+    }
+
+    /**
+     * Timed tryLock of write lock times out while a reader holds the lock
+     */
+    public void testWriteTryLock_Timeout() throws InterruptedException {
+        final PublicStripedReadWriteLock lock = new PublicStripedReadWriteLock();
+        lock.readLock().lock();
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws InterruptedException {
+                long startTime = System.nanoTime();
+                long timeoutMillis = timeoutMillis();
+                assertFalse(lock.writeLock().tryLock(timeoutMillis, MILLISECONDS));
+                assertTrue(millisElapsedSince(startTime) >= timeoutMillis);
+                assertFalse(lock.isWriteLocked());
+            }});
+        awaitTermination(t);
+        assertFalse(lock.writeLock().tryLock());
+        lock.readLock().unlock();
+        assertTrue(lock.writeLock().tryLock());
+        lock.writeLock().unlock();
+        assertUnlocked(lock);
+    }
+
+    /**
+     * Timed tryLock of read lock times out while another thread holds
+     * the write lock
+     */
+    public void testReadTryLock_Timeout() throws InterruptedException {
+        final PublicStripedReadWriteLock lock = new PublicStripedReadWriteLock();
+        lock.writeLock().lock();
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws InterruptedException {
+                long startTime = System.nanoTime();
+                long timeoutMillis = timeoutMillis();
+                assertFalse(lock.readLock().tryLock(timeoutMillis, MILLISECONDS));
+                assertTrue(millisElapsedSince(startTime) >= timeoutMillis);
+                assertEquals(0, lock.getReadHoldCount());
+            }});
+        awaitTermination(t);
+        lock.writeLock().unlock();
+        assertUnlocked(lock);
+    }
+
+    /**
+     * write lockInterruptibly is interruptible while waiting for readers
+     */
+    public void testWriteLockInterruptibly_Interruptible()
+            throws InterruptedException {
+        final PublicStripedReadWriteLock lock = new PublicStripedReadWriteLock();
+        lock.readLock().lock();
+        Thread t = newStartedThread(new CheckedInterruptedRunnable() {
+            public void realRun() throws InterruptedException {
+                lock.writeLock().lockInterruptibly();
+            }});
+        assertThreadBlocks(t, Thread.State.TIMED_WAITING);
+        t.interrupt();
+        awaitTermination(t);
+        assertFalse(lock.isWriteLocked());
+        assertTrue(lock.readLock().tryLock());
+        lock.readLock().unlock();
+        lock.readLock().unlock();
+        assertUnlocked(lock);
+    }
+
+    /**
+     * read lockInterruptibly is interruptible while a writer holds the lock
+     */
+    public void testReadLockInterruptibly_Interruptible()
+            throws InterruptedException {
+        final PublicStripedReadWriteLock lock = new PublicStripedReadWriteLock();
+        lock.writeLock().lock();
+        Thread t = newStartedThread(new CheckedInterruptedRunnable() {
+            public void realRun() throws InterruptedException {
+                lock.readLock().lockInterruptibly();
+            }});
+        waitForQueuedThread(lock, t);
+        t.interrupt();
+        awaitTermination(t);
+        lock.writeLock().unlock();
+        assertUnlocked(lock);
+    }
+
+    /**
+     * Read lock does not support conditions
+     */
+    public void testReadLockNewCondition() {
+        StripedReadWriteLock lock = new StripedReadWriteLock();
+        try {
+            lock.readLock().newCondition();
+            shouldThrow();
+        } catch (UnsupportedOperationException success) {}
+    }
+
+    /**
+     * Write lock condition await returns with the write lock held and
+     * no readers present, even if readers entered during the wait
+     */
+    public void testAwaitExcludesReaders() throws InterruptedException {
+        final PublicStripedReadWriteLock lock = new PublicStripedReadWriteLock();
+        final Condition c = lock.writeLock().newCondition();
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch readLocked = new CountDownLatch(1);
+        final CountDownLatch releaseReader = new CountDownLatch(1);
+        final AtomicBoolean readerDone = new AtomicBoolean(false);
+        Thread waiter = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws InterruptedException {
+                lock.writeLock().lock();
+                locked.countDown();
+                assertFalse(c.await(timeoutMillis(), MILLISECONDS));
+                assertTrue(lock.isWriteLockedByCurrentThread());
+                assertTrue(readerDone.get());
+                assertEquals(0, lock.getReadLockCount());
+                lock.writeLock().unlock();
+            }});
+        await(locked);
+        Thread reader = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                lock.readLock().lock();
+                readLocked.countDown();
+                await(releaseReader);
+                readerDone.set(true);
+                lock.readLock().unlock();
+            }});
+        await(readLocked);
+        long startTime = System.nanoTime();
+        while (!lock.isWriteLocked()) {
+            if (millisElapsedSince(startTime) > LONG_DELAY_MS)
+                throw new AssertionError("timed out");
+            Thread.yield();
+        }
+        assertSame(waiter, lock.getOwner());
+        releaseReader.countDown();
+        awaitTermination(reader);
+        awaitTermination(waiter);
+        assertUnlocked(lock);
+    }
+
+    /**
+     * Condition methods throw IllegalMonitorStateException if the
+     * write lock is not held
+     */
+    public void testCondition_IMSE() throws InterruptedException {
+        StripedReadWriteLock lock = new StripedReadWriteLock();
+        Condition c = lock.writeLock().newCondition();
+        try {
+            c.await();
+            shouldThrow();
+        } catch (IllegalMonitorStateException success) {}
+        try {
+            c.signal();
+            shouldThrow();
+        } catch (IllegalMonitorStateException success) {}
+    }
+
+    /**
+     * Concurrent readers and writers maintain mutual exclusion
+     */
+    public void testMutualExclusion() throws InterruptedException {
+        final StripedReadWriteLock lock = new StripedReadWriteLock();
+        final AtomicInteger readers = new AtomicInteger();
+        final AtomicInteger writers = new AtomicInteger();
+        final int nthreads = 4;
+        final int iters = 2000;
+        Thread[] threads = new Thread[nthreads];
+        for (int i = 0; i < nthreads; i++) {
+            final boolean writer = (i == 0);
+            threads[i] = newStartedThread(new CheckedRunnable() {
+                public void realRun() {
+                    for (int j = 0; j < iters; j++) {
+                        if (writer || (j & 31) == 0) {
+                            lock.writeLock().lock();
+                            try {
+                                assertEquals(1, writers.incrementAndGet());
+                                assertEquals(0, readers.get());
+                                writers.decrementAndGet();
+                            } finally { lock.writeLock().unlock(); }
+                        } else {
+                            lock.readLock().lock();
+                            try {
+                                readers.incrementAndGet();
+                                assertEquals(0, writers.get());
+                                readers.decrementAndGet();
+                            } finally { lock.readLock().unlock(); }
+                        }
+                    }
+                }});
+        }
+        for (Thread t : threads)
+            awaitTermination(t);
+        assertEquals(0, lock.getReadLockCount());
+        assertFalse(lock.isWriteLocked());
+    }
+
+    /**
+     * A serialized lock deserializes as unlocked
+     */
+    public void testSerialization() {
+        StripedReadWriteLock lock = new StripedReadWriteLock();
+        lock.writeLock().lock();
+        lock.readLock().lock();
+        StripedReadWriteLock clone = serialClone(lock);
+        assertFalse(clone.isWriteLocked());
+        assertEquals(0, clone.getReadLockCount());
+        assertEquals(0, clone.getReadHoldCount());
+        clone.writeLock().lock();
+        clone.readLock().lock();
+        clone.readLock().unlock();
+        clone.writeLock().unlock();
+        lock.readLock().unlock();
+        lock.writeLock().unlock();
+    }
+
+    /**
+     * toString indicates current lock state
+     */
+    public void testToString() {
+        StripedReadWriteLock lock = new StripedReadWriteLock();
+        assertTrue(lock.toString().contains("Write locks = 0"));
+        assertTrue(lock.toString().contains("Readers = 0"));
+        assertTrue(lock.writeLock().toString().contains("Unlocked"));
+        lock.writeLock().lock();
+        assertTrue(lock.toString().contains("Write locks = 1"));
+        assertTrue(lock.writeLock().toString().contains("Locked by"));
+        lock.writeLock().unlock();
+        lock.readLock().lock();
+        assertTrue(lock.toString().contains("Readers = 1"));
+        assertTrue(lock.readLock().toString().contains("Readers = 1"));
+        lock.readLock().unlock();
+    }
+
+    /**
+     * Spin-waits until lock.hasQueuedThread(t) becomes true.
+     */
+    void waitForQueuedThread(StripedReadWriteLock lock, Thread t) {
+        long startTime = System.nanoTime();
+        while (!lock.hasQueuedThread(t)) {
+            if (millisElapsedSince(startTime) > LONG_DELAY_MS)
+                throw new AssertionError("timed out");
+            Thread.yield();
+        }
+        assertTrue(t.isAlive());
+    }
+}
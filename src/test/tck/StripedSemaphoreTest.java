@@ -0,0 +1,276 @@
+/*
+ * Written by Doug Lea with assistance from members of JCP JSR-166
+ * Expert Group and released to the public domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.StripedSemaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+public class StripedSemaphoreTest extends JSR166TestCase {
+    public static void main(String[] args) {
+        main(suite(), args);
+    }
+    public static Test suite() {
+        return new TestSuite(StripedSemaphoreTest.class);
+    }
+
+    /** Waits until the semaphore has the given number of waiters */
+    void awaitQueueLength(StripedSemaphore s, int n) {
+        long startTime = System.nanoTime();
+        while (s.getQueueLength() != n) {
+            if (millisElapsedSince(startTime) > LONG_DELAY_MS)
+                fail("timed out");
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Zero, negative, and positive initial values are allowed
+     */
+    public void testConstructor() {
+        assertEquals(0, new StripedSemaphore(0).availablePermits());
+        assertEquals(-1, new StripedSemaphore(-1).availablePermits());
+        assertEquals(1000, new StripedSemaphore(1000).availablePermits());
+        assertTrue(new StripedSemaphore(7).toString().contains("Permits = 7"));
+    }
+
+    /**
+     * tryAcquire succeeds when sufficient permits, else fails
+     */
+    public void testTryAcquireInSameThread() {
+        StripedSemaphore s = new StripedSemaphore(2);
+        assertTrue(s.tryAcquire());
+        assertTrue(s.tryAcquire());
+        assertEquals(0, s.availablePermits());
+        assertFalse(s.tryAcquire());
+        assertFalse(s.tryAcquire(1));
+        s.release(2);
+        assertEquals(2, s.availablePermits());
+    }
+
+    /**
+     * tryAcquire(n) takes permits spread across cells, and fails
+     * when there are not enough in total
+     */
+    public void testTryAcquireNGathersPermits() {
+        final int n = 1000;
+        StripedSemaphore s = new StripedSemaphore(n);
+        assertTrue(s.tryAcquire(n - 1));
+        assertEquals(1, s.availablePermits());
+        assertFalse(s.tryAcquire(2));
+        assertTrue(s.tryAcquire(1));
+        assertEquals(0, s.availablePermits());
+        for (int i = 0; i < n; i++)
+            s.release();
+        assertTrue(s.tryAcquire(n));
+        assertEquals(0, s.availablePermits());
+    }
+
+    /**
+     * timed tryAcquire times out when no permits are available
+     */
+    public void testTryAcquire_timeout() throws InterruptedException {
+        StripedSemaphore s = new StripedSemaphore(2);
+        long startTime = System.nanoTime();
+        assertFalse(s.tryAcquire(3, timeoutMillis(), MILLISECONDS));
+        assertTrue(millisElapsedSince(startTime) >= timeoutMillis());
+        assertFalse(s.hasQueuedThreads());
+        assertEquals(2, s.availablePermits());
+    }
+
+    /**
+     * A negative initial permit count must be released before
+     * permits can be acquired
+     */
+    public void testNegativePermits() {
+        StripedSemaphore s = new StripedSemaphore(-2);
+        s.release(2);
+        assertEquals(0, s.availablePermits());
+        assertFalse(s.tryAcquire());
+        s.release();
+        assertTrue(s.tryAcquire());
+    }
+
+    /**
+     * A released permit is acquired by a waiting thread
+     */
+    public void testReleaseAcquireDifferentThreads() {
+        final StripedSemaphore s = new StripedSemaphore(0);
+        final int rounds = 4;
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws InterruptedException {
+                for (int i = 0; i < rounds; i++) {
+                    if (i % 2 == 0)
+                        s.acquire();
+                    else
+                        s.acquireUninterruptibly(3);
+                }}});
+
+        for (int i = 0; i < rounds; i++) {
+            awaitQueueLength(s, 1);
+            assertTrue(s.hasQueuedThreads());
+            if (i % 2 == 0)
+                s.release();
+            else
+                s.release(3);
+        }
+        awaitTermination(t);
+        assertEquals(0, s.availablePermits());
+        assertFalse(s.hasQueuedThreads());
+    }
+
+    /**
+     * A thread waiting for many permits does not block threads
+     * waiting for fewer that can be satisfied
+     */
+    public void testNoHeadOfLineBlocking() throws InterruptedException {
+        final StripedSemaphore s = new StripedSemaphore(0);
+        Thread big = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws InterruptedException {
+                s.acquire(10);
+            }});
+        awaitQueueLength(s, 1);
+        Thread small = newStartedThread(new CheckedRunnable() {
+            public void realRun() throws InterruptedException {
+                s.acquire(2);
+            }});
+        awaitQueueLength(s, 2);
+        s.release(2);
+        awaitTermination(small);
+        assertTrue(big.isAlive());
+        assertEquals(1, s.getQueueLength());
+        assertEquals(0, s.availablePermits());
+        s.release(10);
+        awaitTermination(big);
+        assertEquals(0, s.availablePermits());
+    }
+
+    /**
+     * acquire and timed tryAcquire are interruptible, and an
+     * interrupted waiter leaves no trace
+     */
+    public void testInterruptible() {
+        final StripedSemaphore s = new StripedSemaphore(0);
+        final CountDownLatch pleaseInterrupt = new CountDownLatch(2);
+        Thread t1 = newStartedThread(new CheckedInterruptedRunnable() {
+            public void realRun() throws InterruptedException {
+                pleaseInterrupt.countDown();
+                s.acquire(2);
+            }});
+        Thread t2 = newStartedThread(new CheckedInterruptedRunnable() {
+            public void realRun() throws InterruptedException {
+                pleaseInterrupt.countDown();
+                s.tryAcquire(LONG_DELAY_MS, MILLISECONDS);
+            }});
+        await(pleaseInterrupt);
+        awaitQueueLength(s, 2);
+        assertThreadBlocks(t1, Thread.State.WAITING);
+        assertThreadBlocks(t2, Thread.State.TIMED_WAITING);
+        t1.interrupt();
+        t2.interrupt();
+        awaitTermination(t1);
+        awaitTermination(t2);
+        assertFalse(s.hasQueuedThreads());
+        assertEquals(0, s.availablePermits());
+        Thread.currentThread().interrupt();
+        try {
+            s.acquire();
+            shouldThrow();
+        } catch (InterruptedException success) {}
+        assertFalse(Thread.interrupted());
+    }
+
+    /**
+     * acquireUninterruptibly continues to wait when interrupted, and
+     * returns with interrupt status set
+     */
+    public void testUninterruptible() {
+        final StripedSemaphore s = new StripedSemaphore(0);
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                s.acquireUninterruptibly(2);
+                assertTrue(Thread.interrupted());
+            }});
+        awaitQueueLength(s, 1);
+        t.interrupt();
+        assertThreadBlocks(t, Thread.State.WAITING);
+        s.release(2);
+        awaitTermination(t);
+    }
+
+    /**
+     * drainPermits reports and removes all available permits
+     */
+    public void testDrainPermits() {
+        StripedSemaphore s = new StripedSemaphore(0);
+        assertEquals(0, s.drainPermits());
+        s.release(1000);
+        assertEquals(1000, s.drainPermits());
+        assertEquals(0, s.availablePermits());
+        s = new StripedSemaphore(-3);
+        assertEquals(-3, s.drainPermits());
+        s.release();
+        assertTrue(s.tryAcquire());
+    }
+
+    /**
+     * Negative arguments throw IllegalArgumentException
+     */
+    public void testIllegalArguments() throws InterruptedException {
+        StripedSemaphore s = new StripedSemaphore(1);
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> s.acquireUninterruptibly(-1),
+            () -> s.tryAcquire(-1),
+            () -> s.release(-1));
+        try {
+            s.acquire(-1);
+            shouldThrow();
+        } catch (IllegalArgumentException success) {}
+        try {
+            s.tryAcquire(-1, 0L, MILLISECONDS);
+            shouldThrow();
+        } catch (IllegalArgumentException success) {}
+        assertEquals(1, s.availablePermits());
+    }
+
+    /**
+     * Many threads acquiring and releasing varying numbers of
+     * permits never exceed the number of permits, and all permits
+     * are available afterwards
+     */
+    public void testManyThreads() {
+        final int permits = 16, nThreads = 8, iters = 2000;
+        final StripedSemaphore s = new StripedSemaphore(permits);
+        final AtomicInteger inUse = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < nThreads; i++) {
+            final int k = 1 + i % 4;
+            threads.add(newStartedThread(new CheckedRunnable() {
+                public void realRun() throws InterruptedException {
+                    for (int j = 0; j < iters; j++) {
+                        if ((j & 1) == 0)
+                            s.acquire(k);
+                        else if (!s.tryAcquire(k))
+                            continue;
+                        assertTrue(inUse.addAndGet(k) <= permits);
+                        inUse.addAndGet(-k);
+                        s.release(k);
+                    }
+                }}));
+        }
+        for (Thread t : threads)
+            awaitTermination(t);
+        assertEquals(permits, s.availablePermits());
+        assertFalse(s.hasQueuedThreads());
+    }
+}